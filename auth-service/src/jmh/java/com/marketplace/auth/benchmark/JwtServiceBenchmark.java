@@ -0,0 +1,92 @@
+package com.marketplace.auth.benchmark;
+
+import com.marketplace.auth.config.JwtProperties;
+import com.marketplace.auth.config.JwtProperties.SigningAlgorithm;
+import com.marketplace.auth.service.JwtService;
+import com.marketplace.auth.util.KeyPairGeneratorUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of token issuance and validation per signing algorithm.
+ * Run with {@code -prof gc} for allocation per operation ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final String EMAIL = "benchmark@example.com";
+    private static final List<String> ROLES = List.of("CUSTOMER");
+
+    @Param({"RS256", "ES256", "EDDSA"})
+    private SigningAlgorithm algorithm;
+
+    private Path keyDir;
+    private JwtService jwtService;
+    private String accessToken;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        KeyPair keyPair = KeyPairGeneratorUtil.generateKeyPair(algorithm);
+        keyDir = Files.createTempDirectory("jwt-benchmark");
+        Path privateKey = Files.writeString(keyDir.resolve("private_key.pem"), KeyPairGeneratorUtil.toPem(keyPair.getPrivate()));
+        Path publicKey = Files.writeString(keyDir.resolve("public_key.pem"), KeyPairGeneratorUtil.toPem(keyPair.getPublic()));
+
+        JwtProperties properties = new JwtProperties(
+                privateKey.toUri().toString(), publicKey.toUri().toString(),
+                15, 7, algorithm, null, List.of(), 300);
+        jwtService = new JwtService(properties, new DefaultResourceLoader());
+        jwtService.init();
+        accessToken = jwtService.generateAccessToken(USER_ID, EMAIL, ROLES);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try (var files = Files.list(keyDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(keyDir);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(USER_ID, EMAIL, ROLES);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return jwtService.generateRefreshToken(USER_ID);
+    }
+
+    @Benchmark
+    public Claims validateAndParseToken() {
+        return jwtService.validateAndParseToken(accessToken);
+    }
+}
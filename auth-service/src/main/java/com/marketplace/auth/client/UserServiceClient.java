@@ -1,6 +1,8 @@
 package com.marketplace.auth.client;
 
 import com.marketplace.auth.config.UserServiceProperties;
+import com.marketplace.shared.dto.BulkDeleteUsersRequest;
+import com.marketplace.shared.dto.BulkDeleteUsersResponse;
 import com.marketplace.shared.dto.CreateUserRequest;
 import com.marketplace.shared.dto.UserResponse;
 import com.marketplace.auth.exception.UserServiceException;
@@ -18,6 +20,7 @@ import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -147,6 +150,60 @@ public class UserServiceClient {
         }
     }
 
+    /**
+     * Delete several users from the User Service in one request.
+     * Users that no longer exist are reported as not found.
+     *
+     * @param userIds the user IDs to delete
+     * @return deleted and not found user IDs
+     * @throws UserServiceException if the deletion fails
+     */
+    @CircuitBreaker(name = "userService", fallbackMethod = "deleteUsersFallback")
+    public BulkDeleteUsersResponse deleteUsers(List<UUID> userIds) {
+        log.info("Deleting {} users from User Service", userIds.size());
+
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.set(SERVICE_SECRET_HEADER, properties.sharedSecret());
+
+            // Propagate correlation ID for distributed tracing
+            String correlationId = MDC.get("correlationId");
+            if (correlationId != null) {
+                headers.set(CORRELATION_ID_HEADER, correlationId);
+            }
+
+            HttpEntity<BulkDeleteUsersRequest> httpEntity = new HttpEntity<>(new BulkDeleteUsersRequest(userIds), headers);
+
+            ResponseEntity<BulkDeleteUsersResponse> response = restTemplate.exchange(
+                    properties.baseUrl() + INTERNAL_USER_ENDPOINT,
+                    org.springframework.http.HttpMethod.DELETE,
+                    httpEntity,
+                    BulkDeleteUsersResponse.class
+            );
+
+            BulkDeleteUsersResponse result = response.getBody();
+            if (result == null) {
+                throw new UserServiceException("User Service returned empty bulk delete response");
+            }
+            log.info("Bulk delete completed in User Service: {} deleted, {} not found",
+                    result.deleted().size(), result.notFound().size());
+            return result;
+
+        } catch (HttpClientErrorException e) {
+            log.error("Client error bulk deleting users from User Service: status={}", e.getStatusCode());
+            throw new UserServiceException("User Service returned client error during bulk deletion: " + e.getStatusCode(), e);
+
+        } catch (HttpServerErrorException e) {
+            log.error("Server error bulk deleting users from User Service: status={}", e.getStatusCode());
+            throw new UserServiceException("User Service returned server error during bulk deletion: " + e.getStatusCode(), e);
+
+        } catch (ResourceAccessException e) {
+            log.error("Failed to connect to User Service for bulk deletion");
+            throw new UserServiceException("Failed to connect to User Service for bulk deletion", e);
+        }
+    }
+
     /**
      * Get user by ID from the User Service.
      * Used to fetch user roles during login.
@@ -226,6 +283,16 @@ public class UserServiceClient {
         throw new UserServiceException("User Service is currently unavailable for deletion.", e);
     }
 
+    /**
+     * Fallback method for deleteUsers when User Service is unavailable.
+     */
+    @SuppressWarnings("unused")
+    private BulkDeleteUsersResponse deleteUsersFallback(List<UUID> userIds, Exception e) {
+        log.error("Circuit breaker activated for User Service. Bulk delete fallback triggered for {} users",
+                userIds.size(), e);
+        throw new UserServiceException("User Service is currently unavailable for deletion.", e);
+    }
+
     /**
      * Fallback method for getUserById when User Service is unavailable.
      * Returns null to allow login to proceed with default role.
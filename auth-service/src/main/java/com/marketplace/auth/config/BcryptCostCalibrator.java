@@ -0,0 +1,62 @@
+package com.marketplace.auth.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * Picks the BCrypt cost that best matches a target hash latency on the current hardware.
+ * Each cost step doubles the work, so the minimum cost is measured and higher costs are extrapolated.
+ */
+final class BcryptCostCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BcryptCostCalibrator.class);
+    private static final String SAMPLE_PASSWORD = "calibration-Password-123!";
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private BcryptCostCalibrator() {
+    }
+
+    /**
+     * @return the highest cost within [minCost, maxCost] whose expected hash time stays within the target
+     */
+    static int calibrate(PasswordHashingProperties properties) {
+        if (!properties.calibrate()) {
+            log.info("BCrypt calibration disabled, using configured cost {}", properties.cost());
+            return properties.cost();
+        }
+
+        int minCost = properties.minCost();
+        int maxCost = Math.max(minCost, properties.maxCost());
+        double baseMillis = medianHashMillis(minCost);
+
+        int cost = minCost;
+        while (cost < maxCost && baseMillis * (1L << (cost + 1 - minCost)) <= properties.targetHashMillis()) {
+            cost++;
+        }
+
+        log.info("BCrypt calibrated: cost {} (~{} ms per hash, target {} ms, cost {} measured at {} ms)",
+                cost, Math.round(baseMillis * (1L << (cost - minCost))), properties.targetHashMillis(),
+                minCost, Math.round(baseMillis));
+        return cost;
+    }
+
+    private static double medianHashMillis(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            encoder.encode(SAMPLE_PASSWORD);
+        }
+
+        long[] samples = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long started = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(samples);
+        return samples[MEASURED_ROUNDS / 2] / 1_000_000.0;
+    }
+}
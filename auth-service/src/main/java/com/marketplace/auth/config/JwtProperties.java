@@ -1,10 +1,15 @@
 package com.marketplace.auth.config;
 
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import java.security.Key;
+import java.util.List;
 
 /**
  * Configuration properties for JWT token management.
@@ -23,6 +28,88 @@ public record JwtProperties(
     int accessTokenExpirationMinutes,
     
     @Min(value = 1, message = "Refresh token expiration must be at least 1 day")
-    int refreshTokenExpirationDays
+    int refreshTokenExpirationDays,
+
+    /**
+     * Algorithm of the signing key pair; RS256 when unset. Verification keys may use any
+     * supported algorithm, so tokens signed before a switch stay valid until they expire.
+     */
+    SigningAlgorithm signingAlgorithm,
+
+    /**
+     * Key ID ({@code kid}) of the signing key. Defaults to the RFC 7638 thumbprint of the public key.
+     */
+    String keyId,
+
+    /**
+     * Retired or upcoming public keys that remain valid for verification and are published in the JWKS.
+     */
+    @Valid
+    List<VerificationKey> additionalVerificationKeys,
+
+    @Min(value = 0, message = "JWKS max age cannot be negative")
+    int jwksMaxAgeSeconds
 ) {
+
+    public JwtProperties {
+        signingAlgorithm = signingAlgorithm != null ? signingAlgorithm : SigningAlgorithm.RS256;
+        additionalVerificationKeys = additionalVerificationKeys != null ? List.copyOf(additionalVerificationKeys) : List.of();
+    }
+
+    /**
+     * Supported JWS signing algorithms and the JCA key algorithm of their key pairs.
+     */
+    public enum SigningAlgorithm {
+        RS256(Jwts.SIG.RS256, "RSA"),
+        /** ECDSA on the P-256 curve. */
+        ES256(Jwts.SIG.ES256, "EC"),
+        /** Ed25519. */
+        EDDSA(Jwts.SIG.EdDSA, "Ed25519");
+
+        private final SignatureAlgorithm jwsAlgorithm;
+        private final String keyAlgorithm;
+
+        SigningAlgorithm(SignatureAlgorithm jwsAlgorithm, String keyAlgorithm) {
+            this.jwsAlgorithm = jwsAlgorithm;
+            this.keyAlgorithm = keyAlgorithm;
+        }
+
+        public SignatureAlgorithm jwsAlgorithm() {
+            return jwsAlgorithm;
+        }
+
+        /**
+         * JWS {@code alg} header value.
+         */
+        public String id() {
+            return jwsAlgorithm.getId();
+        }
+
+        public String keyAlgorithm() {
+            return keyAlgorithm;
+        }
+
+        /**
+         * The algorithm a key is used with, based on its JCA key algorithm.
+         */
+        public static SigningAlgorithm forKey(Key key) {
+            return switch (key.getAlgorithm()) {
+                case "RSA" -> RS256;
+                case "EC" -> ES256;
+                case "EdDSA", "Ed25519" -> EDDSA;
+                default -> throw new IllegalArgumentException("Unsupported key algorithm: " + key.getAlgorithm());
+            };
+        }
+    }
+
+    /**
+     * Public key accepted for verification in addition to the signing key.
+     */
+    public record VerificationKey(
+        String keyId,
+
+        @NotBlank(message = "Verification key path must be configured")
+        String publicKeyPath
+    ) {
+    }
 }
@@ -0,0 +1,53 @@
+package com.marketplace.auth.config;
+
+import com.marketplace.auth.service.InMemoryLoginAttemptStore;
+import com.marketplace.auth.service.JdbcLoginAttemptStore;
+import com.marketplace.auth.service.LoginAttemptStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the brute-force login attempt store.
+ * Uses the in-process store by default, or the Postgres-backed shared store when
+ * {@code login-protection.shared-store.enabled} is set (several auth-service replicas).
+ */
+@Configuration
+public class LoginProtectionConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginProtectionConfig.class);
+
+    @Bean
+    public LoginAttemptStore loginAttemptStore(LoginProtectionProperties properties,
+                                               JdbcTemplate jdbcTemplate,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        Duration window = Duration.ofMinutes(properties.windowMinutes());
+        InMemoryLoginAttemptStore local = new InMemoryLoginAttemptStore(
+                window, properties.stripes(), properties.maxKeysPerStripe());
+
+        meterRegistry.ifAvailable(registry -> Gauge.builder("login.attempts.tracked.keys", local,
+                        InMemoryLoginAttemptStore::trackedKeys)
+                .description("Emails and IPs with failed logins tracked in memory")
+                .tag("service", "auth-service")
+                .register(registry));
+
+        if (!properties.sharedStore().enabled()) {
+            log.info("Login attempt store: in-memory ({} min window)", properties.windowMinutes());
+            return local;
+        }
+
+        log.info("Login attempt store: shared via Postgres ({} min window, {} s buckets, synced every {} s)",
+                properties.windowMinutes(), properties.sharedStore().bucketSeconds(),
+                properties.sharedStore().syncIntervalSeconds());
+        return new JdbcLoginAttemptStore(local, jdbcTemplate, window,
+                Duration.ofSeconds(properties.sharedStore().bucketSeconds()),
+                Duration.ofSeconds(properties.sharedStore().syncIntervalSeconds()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.marketplace.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Configuration properties for brute-force login protection.
+ * Binds to 'login-protection' prefix in application.yml
+ */
+@ConfigurationProperties(prefix = "login-protection")
+@Validated
+public record LoginProtectionProperties(
+    @Min(value = 1, message = "Max failures per email must be at least 1")
+    int maxFailuresPerEmail,
+
+    @Min(value = 1, message = "Max failures per IP must be at least 1")
+    int maxFailuresPerIp,
+
+    @Min(value = 1, message = "Window must be at least 1 minute")
+    int windowMinutes,
+
+    @Min(value = 1, message = "Stripe count must be at least 1")
+    int stripes,
+
+    @Min(value = 1, message = "Max keys per stripe must be at least 1")
+    int maxKeysPerStripe,
+
+    /**
+     * Use the first X-Forwarded-For address as client IP (only behind a trusted proxy).
+     */
+    boolean trustForwardedFor,
+
+    /**
+     * Addresses or CIDR ranges of internal callers (e.g. catalog-service proxying Basic-auth logins).
+     * Their X-Forwarded-For is trusted; without one they are not subject to the per-IP limit.
+     */
+    @NotNull
+    List<String> trustedProxies,
+
+    @Min(value = 100, message = "Maintenance interval must be at least 100ms")
+    long maintenanceIntervalMs,
+
+    @Valid
+    @NotNull
+    SharedStore sharedStore
+) {
+
+    /**
+     * Aggregates failure counts across auth-service replicas through Postgres.
+     */
+    public record SharedStore(
+        boolean enabled,
+
+        @Min(value = 1, message = "Shared store bucket must be at least 1 second")
+        int bucketSeconds,
+
+        /**
+         * How often counts are exchanged with the shared table; bounds how late a replica sees
+         * failures counted by the others.
+         */
+        @Min(value = 1, message = "Shared store sync interval must be at least 1 second")
+        int syncIntervalSeconds
+    ) {
+    }
+}
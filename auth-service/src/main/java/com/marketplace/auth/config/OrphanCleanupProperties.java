@@ -0,0 +1,35 @@
+package com.marketplace.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration properties for the orphaned user cleanup scheduler.
+ * Binds to 'orphan-cleanup' prefix in application.yml
+ */
+@ConfigurationProperties(prefix = "orphan-cleanup")
+@Validated
+public record OrphanCleanupProperties(
+    /**
+     * Orphaned users claimed per page and deleted with one bulk User Service call.
+     */
+    @Min(value = 1, message = "Batch size must be at least 1")
+    @Max(value = 500, message = "Batch size cannot exceed the User Service bulk delete limit of 500")
+    int batchSize,
+
+    /**
+     * Bulk delete calls in flight at once.
+     */
+    @Min(value = 1, message = "Max concurrency must be at least 1")
+    int maxConcurrency,
+
+    /**
+     * A claimed batch is not picked up again (by any replica) for this long.
+     */
+    @Min(value = 1, message = "Lease must be at least 1 second")
+    int leaseSeconds
+) {
+}
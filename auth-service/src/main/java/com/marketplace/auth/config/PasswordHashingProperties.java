@@ -0,0 +1,49 @@
+package com.marketplace.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration properties for BCrypt cost calibration and the bounded password hashing pool.
+ * Binds to 'password-hashing' prefix in application.yml
+ */
+@ConfigurationProperties(prefix = "password-hashing")
+@Validated
+public record PasswordHashingProperties(
+    /**
+     * Measure BCrypt on startup and pick the cost closest to the target latency.
+     * When disabled, {@code cost} is used as is.
+     */
+    boolean calibrate,
+
+    @Min(value = 4, message = "BCrypt cost must be at least 4")
+    @Max(value = 31, message = "BCrypt cost must be at most 31")
+    int cost,
+
+    @Min(value = 1, message = "Target hash time must be at least 1ms")
+    int targetHashMillis,
+
+    @Min(value = 10, message = "Minimum BCrypt cost must be at least 10")
+    @Max(value = 31, message = "Minimum BCrypt cost must be at most 31")
+    int minCost,
+
+    @Min(value = 10, message = "Maximum BCrypt cost must be at least 10")
+    @Max(value = 31, message = "Maximum BCrypt cost must be at most 31")
+    int maxCost,
+
+    /**
+     * Hashing threads; 0 uses half of the available processors.
+     */
+    @Min(value = 0, message = "Worker threads cannot be negative")
+    int workerThreads,
+
+    @Min(value = 1, message = "Queue capacity must be at least 1")
+    int queueCapacity,
+
+    @Min(value = 1, message = "Max wait must be at least 1ms")
+    int maxWaitMillis
+) {
+}
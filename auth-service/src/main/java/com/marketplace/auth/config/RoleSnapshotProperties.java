@@ -0,0 +1,26 @@
+package com.marketplace.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration properties for the local user role snapshot.
+ * Binds to 'role-snapshot' prefix in application.yml
+ */
+@ConfigurationProperties(prefix = "role-snapshot")
+@Validated
+public record RoleSnapshotProperties(
+    @Min(value = 1, message = "Role snapshot TTL must be at least 1 minute")
+    int ttlMinutes,
+
+    boolean warmupOnStartup,
+
+    @Min(value = 0, message = "Warmup batch size cannot be negative")
+    int warmupMaxUsers,
+
+    @Min(value = 1, message = "Refresh queue capacity must be at least 1")
+    int refreshQueueCapacity
+) {
+}
@@ -12,13 +12,13 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class SecurityConfig {
 
     /**
-     * BCrypt password encoder with strength factor 12.
-     * Provides strong password hashing with computational cost suitable for authentication.
+     * BCrypt password encoder with a strength factor calibrated on startup to the configured
+     * target latency. Existing hashes keep verifying at the cost they were created with.
      *
      * @return configured BCryptPasswordEncoder
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties) {
+        return new BCryptPasswordEncoder(BcryptCostCalibrator.calibrate(passwordHashingProperties));
     }
 }
@@ -0,0 +1,22 @@
+package com.marketplace.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Configuration properties for keyed hashing of refresh and password reset tokens.
+ * Binds to 'token-hashing' prefix in application.yml
+ */
+@ConfigurationProperties(prefix = "token-hashing")
+@Validated
+public record TokenHashingProperties(
+    @NotBlank(message = "Token hashing secret must be configured")
+    @Size(min = 32, message = "Token hashing secret must be at least 32 characters")
+    String secret,
+
+    boolean legacyFallbackEnabled
+) {
+}
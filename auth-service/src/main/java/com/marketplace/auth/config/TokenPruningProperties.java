@@ -0,0 +1,53 @@
+package com.marketplace.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Configuration properties for the refresh/reset token pruner.
+ * Binds to 'token-pruning' prefix in application.yml
+ */
+@ConfigurationProperties(prefix = "token-pruning")
+@Validated
+public record TokenPruningProperties(
+    boolean enabled,
+
+    @Min(value = 1, message = "Pruning interval must be at least 1 minute")
+    int intervalMinutes,
+
+    /**
+     * Monthly partitions created ahead of the current month.
+     */
+    @Min(value = 1, message = "At least one month must be created ahead")
+    int monthsAhead,
+
+    /**
+     * A month partition is dropped once its whole range is older than this.
+     */
+    @Min(value = 0, message = "Expired grace period cannot be negative")
+    int expiredGraceHours,
+
+    /**
+     * Revoked refresh tokens and used reset tokens are deleted after this.
+     */
+    @Min(value = 0, message = "Spent token retention cannot be negative")
+    int spentRetentionHours,
+
+    @Min(value = 1, message = "Batch size must be at least 1")
+    int batchSize,
+
+    @Min(value = 0, message = "Batch pause cannot be negative")
+    long batchPauseMs,
+
+    @Min(value = 1, message = "Max batches per run must be at least 1")
+    int maxBatchesPerRun,
+
+    /**
+     * Lock timeout for partition DDL, so it never queues behind token reads and writes.
+     */
+    @Min(value = 1, message = "DDL lock timeout must be at least 1ms")
+    long ddlLockTimeoutMs
+) {
+}
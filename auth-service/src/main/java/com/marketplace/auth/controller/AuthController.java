@@ -4,15 +4,18 @@ import com.marketplace.auth.dto.ErrorResponse;
 import com.marketplace.auth.dto.auth.*;
 import com.marketplace.auth.service.AuthService;
 import com.marketplace.auth.service.JwtService;
+import com.marketplace.auth.service.LoginAttemptService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -31,10 +34,12 @@ public class AuthController {
 
     private final AuthService authService;
     private final JwtService jwtService;
+    private final LoginAttemptService loginAttemptService;
 
-    public AuthController(AuthService authService, JwtService jwtService) {
+    public AuthController(AuthService authService, JwtService jwtService, LoginAttemptService loginAttemptService) {
         this.authService = authService;
         this.jwtService = jwtService;
+        this.loginAttemptService = loginAttemptService;
     }
 
     /**
@@ -71,11 +76,13 @@ public class AuthController {
             @ApiResponse(responseCode = "401", description = "Invalid credentials",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "423", description = "Account locked",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Too many failed attempts from this client",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         log.info("Login request received for email: {}", request.email());
-        AuthResponse response = authService.login(request);
+        AuthResponse response = authService.login(request, loginAttemptService.resolveClientIp(httpRequest));
         return ResponseEntity.ok(response);
     }
 
@@ -172,6 +179,23 @@ public class AuthController {
                 .body(publicKey);
     }
 
+    /**
+     * Get the JWT verification keys as a JWK Set.
+     */
+    @GetMapping("/jwks")
+    @Operation(summary = "Get JWK Set", description = "Get all currently valid JWT verification keys, selected by the token's kid header")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "JWK Set retrieved successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))
+    })
+    public ResponseEntity<String> getJwks() {
+        log.debug("JWKS request received");
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwtService.getJwksMaxAge()).cachePublic())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jwtService.getJwksJson());
+    }
+
     /**
      * Cleanup old refresh tokens.
      */
@@ -0,0 +1,83 @@
+package com.marketplace.auth.controller;
+
+import com.marketplace.auth.config.UserServiceProperties;
+import com.marketplace.auth.exception.InvalidSharedSecretException;
+import com.marketplace.auth.service.RoleSnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotEmpty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Internal endpoints for User Service to keep the auth-side role snapshot in sync
+ * (called by its {@code RoleSnapshotNotifier}). Requires the service shared secret header.
+ */
+@RestController
+@RequestMapping("/api/v1/auth/internal/users")
+@Tag(name = "Internal", description = "Service-to-service endpoints")
+@Validated
+public class RoleSnapshotController {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleSnapshotController.class);
+    private static final String SERVICE_SECRET_HEADER = "X-Service-Secret";
+
+    private final RoleSnapshotService roleSnapshotService;
+    private final UserServiceProperties userServiceProperties;
+
+    public RoleSnapshotController(RoleSnapshotService roleSnapshotService, UserServiceProperties userServiceProperties) {
+        this.roleSnapshotService = roleSnapshotService;
+        this.userServiceProperties = userServiceProperties;
+    }
+
+    /**
+     * Replace the role snapshot of a user.
+     */
+    @PutMapping("/{userId}/roles")
+    @Operation(summary = "Push user roles (Internal)", description = "Replace the cached roles of a user after they change in User Service")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Roles stored"),
+        @ApiResponse(responseCode = "403", description = "Invalid shared secret")
+    })
+    public ResponseEntity<Void> putRoles(
+            @PathVariable UUID userId,
+            @RequestBody @NotEmpty List<String> roles,
+            @RequestHeader(value = SERVICE_SECRET_HEADER, required = false) String sharedSecret) {
+        validateSharedSecret(sharedSecret);
+        roleSnapshotService.record(userId, roles);
+        log.info("Role snapshot updated for user {}: {}", userId, roles);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Evict the role snapshot of a user so the next login reads roles from User Service.
+     */
+    @DeleteMapping("/{userId}/roles")
+    @Operation(summary = "Invalidate user roles (Internal)", description = "Evict the cached roles of a user")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Snapshot evicted"),
+        @ApiResponse(responseCode = "403", description = "Invalid shared secret")
+    })
+    public ResponseEntity<Void> evictRoles(
+            @PathVariable UUID userId,
+            @RequestHeader(value = SERVICE_SECRET_HEADER, required = false) String sharedSecret) {
+        validateSharedSecret(sharedSecret);
+        roleSnapshotService.evict(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private void validateSharedSecret(String sharedSecret) {
+        if (sharedSecret == null || !sharedSecret.equals(userServiceProperties.sharedSecret())) {
+            log.error("Invalid or missing shared secret in internal role snapshot request");
+            throw new InvalidSharedSecretException("Invalid service authentication");
+        }
+    }
+}
@@ -10,6 +10,9 @@ import java.util.UUID;
 /**
  * Entity representing a password reset token.
  * Used for secure password recovery flow.
+ * Tokens are looked up by their indexed selector; rows created before selectors
+ * were introduced have a null selector and a BCrypt hash.
+ * The table is range-partitioned by expiry month; expired months are dropped by the token pruner.
  */
 @Entity
 @Table(name = "password_reset_tokens")
@@ -23,7 +26,10 @@ public class PasswordResetToken {
     @Column(nullable = false, length = 255)
     private String email;
 
-    @Column(name = "token_hash", nullable = false, unique = true)
+    @Column(name = "selector", length = 64)
+    private String selector;
+
+    @Column(name = "token_hash", nullable = false)
     private String tokenHash;
 
     @Column(name = "expires_at", nullable = false)
@@ -46,6 +52,13 @@ public class PasswordResetToken {
         this.expiresAt = expiresAt;
     }
 
+    public PasswordResetToken(String email, String selector, String tokenHash, LocalDateTime expiresAt) {
+        this.email = email;
+        this.selector = selector;
+        this.tokenHash = tokenHash;
+        this.expiresAt = expiresAt;
+    }
+
     // Business methods
     public void markAsUsed() {
         this.usedAt = LocalDateTime.now();
@@ -80,6 +93,14 @@ public class PasswordResetToken {
         this.email = email;
     }
 
+    public String getSelector() {
+        return selector;
+    }
+
+    public void setSelector(String selector) {
+        this.selector = selector;
+    }
+
     public String getTokenHash() {
         return tokenHash;
     }
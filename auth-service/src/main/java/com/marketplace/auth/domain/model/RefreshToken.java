@@ -10,6 +10,9 @@ import java.util.UUID;
 /**
  * Entity representing a refresh token.
  * Stores hashed refresh tokens with expiration and revocation tracking.
+ * Tokens are looked up by their indexed selector (the JWT id); rows created
+ * before selectors were introduced have a null selector and a BCrypt hash.
+ * The table is range-partitioned by expiry month; expired months are dropped by the token pruner.
  */
 @Entity
 @Table(name = "refresh_tokens")
@@ -23,7 +26,10 @@ public class RefreshToken {
     @Column(name = "user_id", nullable = false)
     private UUID userId;
 
-    @Column(name = "token_hash", nullable = false, unique = true)
+    @Column(name = "selector", length = 64)
+    private String selector;
+
+    @Column(name = "token_hash", nullable = false)
     private String tokenHash;
 
     @Column(name = "expires_at", nullable = false)
@@ -46,6 +52,13 @@ public class RefreshToken {
         this.expiresAt = expiresAt;
     }
 
+    public RefreshToken(UUID userId, String selector, String tokenHash, LocalDateTime expiresAt) {
+        this.userId = userId;
+        this.selector = selector;
+        this.tokenHash = tokenHash;
+        this.expiresAt = expiresAt;
+    }
+
     // Business methods
     public void revoke() {
         this.revokedAt = LocalDateTime.now();
@@ -80,6 +93,14 @@ public class RefreshToken {
         this.userId = userId;
     }
 
+    public String getSelector() {
+        return selector;
+    }
+
+    public void setSelector(String selector) {
+        this.selector = selector;
+    }
+
     public String getTokenHash() {
         return tokenHash;
     }
@@ -0,0 +1,66 @@
+package com.marketplace.auth.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Entity holding a local snapshot of a user's roles as owned by User Service.
+ * Read on login and token refresh; kept fresh by TTL-based background refresh and explicit invalidation.
+ */
+@Entity
+@Table(name = "user_role_snapshots")
+public class UserRoleSnapshot {
+
+    private static final String ROLE_SEPARATOR = ",";
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "roles", nullable = false, length = 500)
+    private String roles;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+
+    protected UserRoleSnapshot() {
+    }
+
+    public UserRoleSnapshot(UUID userId, List<String> roles) {
+        this.userId = userId;
+        this.roles = joinRoles(roles);
+        this.refreshedAt = LocalDateTime.now();
+    }
+
+    public boolean isStale(Duration ttl) {
+        return refreshedAt.plus(ttl).isBefore(LocalDateTime.now());
+    }
+
+    public List<String> getRoleList() {
+        return Arrays.stream(roles.split(ROLE_SEPARATOR))
+                .filter(role -> !role.isBlank())
+                .toList();
+    }
+
+    public static String joinRoles(List<String> roles) {
+        return String.join(ROLE_SEPARATOR, roles);
+    }
+
+    // Getters
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getRoles() {
+        return roles;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+}
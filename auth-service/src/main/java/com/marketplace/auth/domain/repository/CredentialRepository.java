@@ -2,6 +2,9 @@ package com.marketplace.auth.domain.repository;
 
 import com.marketplace.auth.domain.model.Credential;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -36,4 +39,26 @@ public interface CredentialRepository extends JpaRepository<Credential, UUID> {
      * @return true if exists, false otherwise
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Lock an account without loading it.
+     *
+     * @param id the credential ID
+     * @return number of credentials updated
+     */
+    @Modifying
+    @Query("UPDATE Credential c SET c.status = com.marketplace.auth.domain.model.CredentialStatus.LOCKED, " +
+           "c.updatedAt = CURRENT_TIMESTAMP WHERE c.id = :id")
+    int lock(@Param("id") UUID id);
+
+    /**
+     * Clear the failed login count of an account without loading it.
+     *
+     * @param id the credential ID
+     * @return number of credentials updated
+     */
+    @Modifying
+    @Query("UPDATE Credential c SET c.failedLoginCount = 0, c.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE c.id = :id AND c.failedLoginCount > 0")
+    int resetFailedLoginCount(@Param("id") UUID id);
 }
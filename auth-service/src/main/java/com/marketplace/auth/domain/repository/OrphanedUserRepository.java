@@ -2,8 +2,13 @@ package com.marketplace.auth.domain.repository;
 
 import com.marketplace.auth.domain.model.OrphanedUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,4 +27,38 @@ public interface OrphanedUserRepository extends JpaRepository<OrphanedUser, Long
      * Find orphaned user by userId.
      */
     boolean existsByUserId(UUID userId);
+
+    /**
+     * Lock the next page of PENDING orphaned users after {@code afterId} whose last attempt
+     * (if any) started before {@code retryBefore}. Rows locked by another replica are skipped.
+     * Must be called within a transaction; the locks are held until it ends.
+     *
+     * @param afterId keyset cursor (last id of the previous page)
+     * @param retryBefore rows attempted after this are still leased by a running attempt
+     * @param limit page size
+     * @return pending orphaned users ordered by id
+     */
+    @Query(value = "SELECT * FROM orphaned_users WHERE status = 'PENDING' AND id > :afterId " +
+            "AND (last_retry_at IS NULL OR last_retry_at < :retryBefore) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OrphanedUser> lockPendingPage(@Param("afterId") long afterId,
+                                       @Param("retryBefore") LocalDateTime retryBefore,
+                                       @Param("limit") int limit);
+
+    /**
+     * Set the status of the given orphaned users.
+     */
+    @Modifying
+    @Query("UPDATE OrphanedUser o SET o.status = :status WHERE o.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("status") OrphanedUser.OrphanedUserStatus status);
+
+    /**
+     * Mark the given orphaned users FAILED once they have used up their attempts.
+     */
+    @Modifying
+    @Query("UPDATE OrphanedUser o SET o.status = com.marketplace.auth.domain.model.OrphanedUser.OrphanedUserStatus.FAILED " +
+           "WHERE o.id IN :ids AND o.retryCount >= :maxRetries")
+    int markFailedWhenExhausted(@Param("ids") Collection<Long> ids, @Param("maxRetries") int maxRetries);
 }
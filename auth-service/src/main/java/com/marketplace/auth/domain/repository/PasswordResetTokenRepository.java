@@ -2,8 +2,12 @@ package com.marketplace.auth.domain.repository;
 
 import com.marketplace.auth.domain.model.PasswordResetToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,12 +18,23 @@ import java.util.UUID;
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, UUID> {
 
     /**
-     * Find password reset token by token hash.
+     * Find password reset token by its indexed selector.
      *
-     * @param tokenHash the BCrypt hash of the token
+     * @param selector the selector embedded in the token
      * @return Optional containing the password reset token if found
      */
-    Optional<PasswordResetToken> findByTokenHash(String tokenHash);
+    Optional<PasswordResetToken> findBySelector(String selector);
+
+    /**
+     * Find unused, unexpired reset tokens issued before selectors were introduced.
+     * Used only as a migration fallback; empty once the last legacy token expires.
+     *
+     * @param now the current time
+     * @return legacy reset tokens that can still be redeemed
+     */
+    @Query("SELECT prt FROM PasswordResetToken prt WHERE prt.selector IS NULL " +
+           "AND prt.usedAt IS NULL AND prt.expiresAt > :now")
+    List<PasswordResetToken> findRedeemableLegacyTokens(@Param("now") LocalDateTime now);
 
     /**
      * Find the most recent valid password reset token for an email.
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,12 +19,21 @@ import java.util.UUID;
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
 
     /**
-     * Find refresh token by token hash.
+     * Find refresh token by its indexed selector.
      *
-     * @param tokenHash the BCrypt hash of the token
+     * @param selector the selector embedded in the token
      * @return Optional containing the refresh token if found
      */
-    Optional<RefreshToken> findByTokenHash(String tokenHash);
+    Optional<RefreshToken> findBySelector(String selector);
+
+    /**
+     * Find a user's refresh tokens issued before selectors were introduced.
+     * Used only as a migration fallback; bounded by the user's own tokens.
+     *
+     * @param userId the user ID
+     * @return legacy refresh tokens of the user
+     */
+    List<RefreshToken> findByUserIdAndSelectorIsNull(UUID userId);
 
     /**
      * Delete all expired or revoked tokens older than the specified date.
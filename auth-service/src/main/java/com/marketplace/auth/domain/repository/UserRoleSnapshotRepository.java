@@ -0,0 +1,42 @@
+package com.marketplace.auth.domain.repository;
+
+import com.marketplace.auth.domain.model.UserRoleSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for UserRoleSnapshot entity.
+ */
+@Repository
+public interface UserRoleSnapshotRepository extends JpaRepository<UserRoleSnapshot, UUID> {
+
+    /**
+     * Insert or replace the roles of a user. Safe against concurrent first writes for the same user.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO user_role_snapshots (user_id, roles, refreshed_at) " +
+            "VALUES (:userId, :roles, :refreshedAt) " +
+            "ON CONFLICT (user_id) DO UPDATE SET roles = EXCLUDED.roles, refreshed_at = EXCLUDED.refreshed_at",
+            nativeQuery = true)
+    void upsert(@Param("userId") UUID userId,
+                @Param("roles") String roles,
+                @Param("refreshedAt") LocalDateTime refreshedAt);
+
+    /**
+     * Find users with credentials but no role snapshot yet (e.g. registered before snapshots existed).
+     */
+    @Query(value = "SELECT c.user_id FROM credentials c " +
+            "WHERE NOT EXISTS (SELECT 1 FROM user_role_snapshots s WHERE s.user_id = c.user_id) " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<UUID> findUserIdsWithoutSnapshot(@Param("limit") int limit);
+}
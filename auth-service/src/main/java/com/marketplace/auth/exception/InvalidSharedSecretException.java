@@ -0,0 +1,11 @@
+package com.marketplace.auth.exception;
+
+/**
+ * Exception thrown when an internal endpoint is called without a valid service shared secret.
+ */
+public class InvalidSharedSecretException extends RuntimeException {
+
+    public InvalidSharedSecretException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.marketplace.auth.exception;
+
+/**
+ * Exception thrown when the password hashing pool is saturated and a request cannot be served in time.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingUnavailableException(long retryAfterSeconds) {
+        super("Authentication is temporarily overloaded. Please try again later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
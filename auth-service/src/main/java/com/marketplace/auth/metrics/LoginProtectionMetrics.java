@@ -0,0 +1,71 @@
+package com.marketplace.auth.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Metrics for brute-force login protection: attempts blocked before any database or BCrypt work,
+ * recorded failures and persisted lockouts.
+ * Uses Micrometer if available, otherwise uses simple meter registry for logging.
+ */
+@Component
+public class LoginProtectionMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginProtectionMetrics.class);
+
+    private final Counter blockedByIpCounter;
+    private final Counter blockedByEmailCounter;
+    private final Counter failureCounter;
+    private final Counter lockoutCounter;
+
+    public LoginProtectionMetrics(@Autowired(required = false) MeterRegistry meterRegistry) {
+        // Use provided registry or fallback to simple registry
+        if (meterRegistry == null) {
+            log.info("No MeterRegistry found, using SimpleMeterRegistry for metrics");
+            meterRegistry = new SimpleMeterRegistry();
+        }
+
+        this.blockedByIpCounter = Counter.builder("login.attempts.blocked")
+                .description("Login attempts rejected by the brute-force limiter")
+                .tag("service", "auth-service")
+                .tag("scope", "ip")
+                .register(meterRegistry);
+
+        this.blockedByEmailCounter = Counter.builder("login.attempts.blocked")
+                .description("Login attempts rejected by the brute-force limiter")
+                .tag("service", "auth-service")
+                .tag("scope", "email")
+                .register(meterRegistry);
+
+        this.failureCounter = Counter.builder("login.attempts.failed")
+                .description("Failed login attempts")
+                .tag("service", "auth-service")
+                .register(meterRegistry);
+
+        this.lockoutCounter = Counter.builder("login.lockouts")
+                .description("Accounts locked after too many failed attempts")
+                .tag("service", "auth-service")
+                .register(meterRegistry);
+    }
+
+    public void incrementBlockedByIp() {
+        blockedByIpCounter.increment();
+    }
+
+    public void incrementBlockedByEmail() {
+        blockedByEmailCounter.increment();
+    }
+
+    public void incrementFailure() {
+        failureCounter.increment();
+    }
+
+    public void incrementLockout() {
+        lockoutCounter.increment();
+    }
+}
@@ -0,0 +1,108 @@
+package com.marketplace.auth.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics for the bounded password hashing pool: queue depth, queue wait, hash time and rejections.
+ * Uses Micrometer if available, otherwise uses simple meter registry for logging.
+ */
+@Component
+public class PasswordHashingMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingMetrics.class);
+    private static final double DEFAULT_HASH_MILLIS = 250.0;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingMetrics(@Autowired(required = false) MeterRegistry meterRegistry) {
+        // Use provided registry or fallback to simple registry
+        if (meterRegistry == null) {
+            log.info("No MeterRegistry found, using SimpleMeterRegistry for metrics");
+            meterRegistry = new SimpleMeterRegistry();
+        }
+        this.meterRegistry = meterRegistry;
+
+        this.waitTimer = Timer.builder("password.hashing.wait")
+                .description("Time password hashing tasks spend queued before a worker picks them up")
+                .tag("service", "auth-service")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+
+        this.encodeTimer = Timer.builder("password.hashing.duration")
+                .description("BCrypt computation time")
+                .tag("service", "auth-service")
+                .tag("operation", "encode")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+
+        this.matchTimer = Timer.builder("password.hashing.duration")
+                .description("BCrypt computation time")
+                .tag("service", "auth-service")
+                .tag("operation", "matches")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+                .description("Password hashing requests rejected because the pool was saturated")
+                .tag("service", "auth-service")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Register queue depth and active worker gauges for the hashing executor.
+     */
+    public void bindExecutor(ThreadPoolExecutor executor) {
+        Gauge.builder("password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a worker")
+                .tag("service", "auth-service")
+                .register(meterRegistry);
+
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing workers currently busy")
+                .tag("service", "auth-service")
+                .register(meterRegistry);
+    }
+
+    public void recordWait(long nanos) {
+        waitTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordEncode(long nanos) {
+        encodeTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordMatch(long nanos) {
+        matchTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void incrementRejected() {
+        rejectedCounter.increment();
+    }
+
+    /**
+     * Average observed BCrypt time, used to estimate how long the queue takes to drain.
+     */
+    public double averageHashMillis() {
+        long count = encodeTimer.count() + matchTimer.count();
+        if (count == 0) {
+            return DEFAULT_HASH_MILLIS;
+        }
+        double totalMillis = encodeTimer.totalTime(TimeUnit.MILLISECONDS) + matchTimer.totalTime(TimeUnit.MILLISECONDS);
+        return totalMillis / count;
+    }
+}
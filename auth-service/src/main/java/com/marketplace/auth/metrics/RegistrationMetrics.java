@@ -10,7 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
- * Metrics service for tracking registration and compensating transaction metrics.
+ * Metrics service for tracking registration metrics.
  * Uses Micrometer if available, otherwise uses simple meter registry for logging.
  */
 @Component
@@ -19,9 +19,6 @@ public class RegistrationMetrics {
     private static final Logger log = LoggerFactory.getLogger(RegistrationMetrics.class);
     private final Counter registrationSuccessCounter;
     private final Counter registrationFailureCounter;
-    private final Counter compensatingDeleteSuccessCounter;
-    private final Counter compensatingDeleteFailureCounter;
-    private final Counter orphanedUserSavedCounter;
     private final Timer registrationTimer;
 
     public RegistrationMetrics(@Autowired(required = false) MeterRegistry meterRegistry) {
@@ -42,22 +39,6 @@ public class RegistrationMetrics {
                 .tag("service", "auth-service")
                 .register(meterRegistry);
 
-        // Compensating transaction metrics
-        this.compensatingDeleteSuccessCounter = Counter.builder("compensating.delete.success")
-                .description("Number of successful compensating deletes")
-                .tag("service", "auth-service")
-                .register(meterRegistry);
-
-        this.compensatingDeleteFailureCounter = Counter.builder("compensating.delete.failure")
-                .description("Number of failed compensating deletes")
-                .tag("service", "auth-service")
-                .register(meterRegistry);
-
-        this.orphanedUserSavedCounter = Counter.builder("orphaned.user.saved")
-                .description("Number of orphaned users saved for cleanup")
-                .tag("service", "auth-service")
-                .register(meterRegistry);
-
         // Registration timing
         this.registrationTimer = Timer.builder("registration.duration")
                 .description("Registration request duration")
@@ -73,18 +54,6 @@ public class RegistrationMetrics {
         registrationFailureCounter.increment();
     }
 
-    public void incrementCompensatingDeleteSuccess() {
-        compensatingDeleteSuccessCounter.increment();
-    }
-
-    public void incrementCompensatingDeleteFailure() {
-        compensatingDeleteFailureCounter.increment();
-    }
-
-    public void incrementOrphanedUserSaved() {
-        orphanedUserSavedCounter.increment();
-    }
-
     public Timer.Sample startRegistrationTimer() {
         return Timer.start();
     }
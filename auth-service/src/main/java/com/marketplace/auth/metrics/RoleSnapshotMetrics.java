@@ -0,0 +1,90 @@
+package com.marketplace.auth.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Metrics for the user role snapshot: lookups by outcome, hit ratio and User Service refreshes.
+ * A stale snapshot is still served (and refreshed in the background), so it counts as a hit.
+ * Uses Micrometer if available, otherwise uses simple meter registry for logging.
+ */
+@Component
+public class RoleSnapshotMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleSnapshotMetrics.class);
+
+    private final Counter hitCounter;
+    private final Counter staleCounter;
+    private final Counter missCounter;
+    private final Counter refreshSuccessCounter;
+    private final Counter refreshFailureCounter;
+
+    public RoleSnapshotMetrics(@Autowired(required = false) MeterRegistry meterRegistry) {
+        // Use provided registry or fallback to simple registry
+        if (meterRegistry == null) {
+            log.info("No MeterRegistry found, using SimpleMeterRegistry for metrics");
+            meterRegistry = new SimpleMeterRegistry();
+        }
+
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.staleCounter = lookupCounter(meterRegistry, "stale");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+
+        Gauge.builder("role.snapshot.hit.ratio", this, RoleSnapshotMetrics::hitRatio)
+                .description("Share of role lookups served without a synchronous User Service call")
+                .tag("service", "auth-service")
+                .register(meterRegistry);
+
+        this.refreshSuccessCounter = Counter.builder("role.snapshot.refresh")
+                .description("Role snapshot refreshes from User Service")
+                .tag("service", "auth-service")
+                .tag("result", "success")
+                .register(meterRegistry);
+
+        this.refreshFailureCounter = Counter.builder("role.snapshot.refresh")
+                .description("Role snapshot refreshes from User Service")
+                .tag("service", "auth-service")
+                .tag("result", "failure")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("role.snapshot.lookups")
+                .description("Role snapshot lookups by outcome")
+                .tag("service", "auth-service")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public void incrementHit() {
+        hitCounter.increment();
+    }
+
+    public void incrementStale() {
+        staleCounter.increment();
+    }
+
+    public void incrementMiss() {
+        missCounter.increment();
+    }
+
+    public void incrementRefreshSuccess() {
+        refreshSuccessCounter.increment();
+    }
+
+    public void incrementRefreshFailure() {
+        refreshFailureCounter.increment();
+    }
+
+    private double hitRatio() {
+        double served = hitCounter.count() + staleCounter.count();
+        double total = served + missCounter.count();
+        return total == 0 ? 0.0 : served / total;
+    }
+}
@@ -0,0 +1,111 @@
+package com.marketplace.auth.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics for the partitioned token tables: size, dead tuples and partition count per table
+ * (sampled by the pruner after each run, not on scrape), rows and partitions pruned, and run duration.
+ * The prune rate is the rate of {@code token.pruning.rows.deleted} and {@code token.pruning.partitions.dropped}.
+ * Uses Micrometer if available, otherwise uses simple meter registry for logging.
+ */
+@Component
+public class TokenPruningMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenPruningMetrics.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TableMeters> tables = new ConcurrentHashMap<>();
+    private final Timer runTimer;
+
+    public TokenPruningMetrics(@Autowired(required = false) MeterRegistry meterRegistry) {
+        // Use provided registry or fallback to simple registry
+        if (meterRegistry == null) {
+            log.info("No MeterRegistry found, using SimpleMeterRegistry for metrics");
+            meterRegistry = new SimpleMeterRegistry();
+        }
+        this.meterRegistry = meterRegistry;
+
+        this.runTimer = Timer.builder("token.pruning.duration")
+                .description("Duration of a token pruning run")
+                .tag("service", "auth-service")
+                .register(meterRegistry);
+    }
+
+    public void recordTableStats(String table, long sizeBytes, long deadTuples, long partitions) {
+        TableMeters meters = meters(table);
+        meters.sizeBytes.set(sizeBytes);
+        meters.deadTuples.set(deadTuples);
+        meters.partitions.set(partitions);
+    }
+
+    public void recordRowsDeleted(String table, int rows) {
+        meters(table).rowsDeleted.increment(rows);
+    }
+
+    public void incrementPartitionsDropped(String table) {
+        meters(table).partitionsDropped.increment();
+    }
+
+    public void recordRun(Duration duration) {
+        runTimer.record(duration);
+    }
+
+    private TableMeters meters(String table) {
+        return tables.computeIfAbsent(table, t -> new TableMeters(meterRegistry, t));
+    }
+
+    private static final class TableMeters {
+
+        final AtomicLong sizeBytes = new AtomicLong();
+        final AtomicLong deadTuples = new AtomicLong();
+        final AtomicLong partitions = new AtomicLong();
+        final Counter rowsDeleted;
+        final Counter partitionsDropped;
+
+        TableMeters(MeterRegistry registry, String table) {
+            Gauge.builder("token.table.size.bytes", sizeBytes, AtomicLong::get)
+                    .description("Total size of the token table including partitions and indexes")
+                    .tag("service", "auth-service")
+                    .tag("table", table)
+                    .baseUnit("bytes")
+                    .register(registry);
+
+            Gauge.builder("token.table.dead.tuples", deadTuples, AtomicLong::get)
+                    .description("Dead tuples across the token table partitions")
+                    .tag("service", "auth-service")
+                    .tag("table", table)
+                    .register(registry);
+
+            Gauge.builder("token.table.partitions", partitions, AtomicLong::get)
+                    .description("Partitions attached to the token table")
+                    .tag("service", "auth-service")
+                    .tag("table", table)
+                    .register(registry);
+
+            this.rowsDeleted = Counter.builder("token.pruning.rows.deleted")
+                    .description("Expired or spent tokens deleted row-wise")
+                    .tag("service", "auth-service")
+                    .tag("table", table)
+                    .register(registry);
+
+            this.partitionsDropped = Counter.builder("token.pruning.partitions.dropped")
+                    .description("Fully expired month partitions dropped")
+                    .tag("service", "auth-service")
+                    .tag("table", table)
+                    .register(registry);
+        }
+    }
+}
@@ -1,20 +1,40 @@
 package com.marketplace.auth.scheduler;
 
 import com.marketplace.auth.client.UserServiceClient;
+import com.marketplace.auth.config.OrphanCleanupProperties;
 import com.marketplace.auth.domain.model.OrphanedUser;
 import com.marketplace.auth.domain.repository.OrphanedUserRepository;
+import com.marketplace.shared.dto.BulkDeleteUsersResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Scheduled task to cleanup orphaned users from User Service.
  * Runs every 5 minutes to retry failed compensating transactions.
+ * Registration no longer creates orphans (profiles are created from the UserRegistered
+ * outbox event); this drains records left by the earlier synchronous registration flow.
+ *
+ * <p>PENDING rows are claimed page by page (keyset on id, {@code FOR UPDATE SKIP LOCKED}) in short
+ * transactions that stamp the attempt, which leases the rows to this run, so several auth-service
+ * replicas share the work without overlap. Each page is deleted with one bulk User Service call on
+ * a virtual thread, with at most {@code max-concurrency} calls in flight; the outcome is written in
+ * another short transaction. No database connection is held during HTTP calls.
  */
 @Component
 public class OrphanedUserCleanupScheduler {
@@ -24,12 +44,18 @@ public class OrphanedUserCleanupScheduler {
 
     private final OrphanedUserRepository orphanedUserRepository;
     private final UserServiceClient userServiceClient;
+    private final OrphanCleanupProperties properties;
+    private final TransactionTemplate transactionTemplate;
 
     public OrphanedUserCleanupScheduler(
             OrphanedUserRepository orphanedUserRepository,
-            UserServiceClient userServiceClient) {
+            UserServiceClient userServiceClient,
+            OrphanCleanupProperties properties,
+            PlatformTransactionManager transactionManager) {
         this.orphanedUserRepository = orphanedUserRepository;
         this.userServiceClient = userServiceClient;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -37,57 +63,113 @@ public class OrphanedUserCleanupScheduler {
      * Runs every 5 minutes.
      */
     @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.MINUTES)
-    @Transactional
     public void cleanupOrphanedUsers() {
-        List<OrphanedUser> pendingUsers = orphanedUserRepository.findByStatus(
-                OrphanedUser.OrphanedUserStatus.PENDING);
+        Semaphore inFlight = new Semaphore(properties.maxConcurrency());
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long afterId = 0L;
+        int claimed = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (true) {
+                inFlight.acquire();
+                List<OrphanedUser> page = claimPage(afterId);
+                if (page.isEmpty()) {
+                    inFlight.release();
+                    break;
+                }
+
+                claimed += page.size();
+                afterId = page.get(page.size() - 1).getId();
+                boolean lastPage = page.size() < properties.batchSize();
+
+                executor.submit(() -> {
+                    try {
+                        if (deletePage(page)) {
+                            completed.addAndGet(page.size());
+                        } else {
+                            failed.addAndGet(page.size());
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+
+                if (lastPage) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Orphaned user cleanup interrupted");
+        } catch (Exception e) {
+            log.error("Orphaned user cleanup failed while claiming work", e);
+        }
 
-        if (pendingUsers.isEmpty()) {
+        if (claimed == 0) {
             log.debug("No orphaned users to cleanup");
             return;
         }
-
-        log.info("Starting orphaned user cleanup. Found {} pending users", pendingUsers.size());
-
-        for (OrphanedUser orphanedUser : pendingUsers) {
-            processOrphanedUser(orphanedUser);
-        }
-
-        log.info("Orphaned user cleanup completed");
+        log.info("Orphaned user cleanup completed: {} claimed, {} deleted, {} failed",
+                claimed, completed.get(), failed.get());
     }
 
     /**
-     * Process a single orphaned user.
+     * Lock the next page of PENDING rows and stamp the attempt, in its own transaction.
      */
-    private void processOrphanedUser(OrphanedUser orphanedUser) {
-        try {
-            log.info("Attempting to delete orphaned user: userId={}, retryCount={}", 
-                    orphanedUser.getUserId(), orphanedUser.getRetryCount());
-
-            // Attempt to delete user from User Service
-            userServiceClient.deleteUser(orphanedUser.getUserId());
+    private List<OrphanedUser> claimPage(long afterId) {
+        List<OrphanedUser> page = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OrphanedUser> locked = orphanedUserRepository.lockPendingPage(
+                    afterId, now.minusSeconds(properties.leaseSeconds()), properties.batchSize());
+            locked.forEach(OrphanedUser::incrementRetryCount);
+            return locked;
+        });
+        return page != null ? page : List.of();
+    }
 
-            // Mark as completed
-            orphanedUser.markCompleted();
-            orphanedUserRepository.save(orphanedUser);
+    /**
+     * Delete one page with a single bulk call and record the outcome.
+     *
+     * @return true if the User Service call succeeded
+     */
+    private boolean deletePage(List<OrphanedUser> page) {
+        List<Long> ids = new ArrayList<>(page.size());
+        List<UUID> userIds = new ArrayList<>(page.size());
+        for (OrphanedUser orphanedUser : page) {
+            ids.add(orphanedUser.getId());
+            userIds.add(orphanedUser.getUserId());
+        }
 
-            log.info("Successfully deleted orphaned user: userId={}", orphanedUser.getUserId());
+        try {
+            BulkDeleteUsersResponse response = userServiceClient.deleteUsers(userIds);
+
+            // Users that no longer exist need no further attempts either
+            Set<UUID> done = new HashSet<>(response.deleted());
+            done.addAll(response.notFound());
+            List<Long> completedIds = page.stream()
+                    .filter(orphanedUser -> done.contains(orphanedUser.getUserId()))
+                    .map(OrphanedUser::getId)
+                    .toList();
+
+            if (!completedIds.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> orphanedUserRepository.updateStatus(
+                        completedIds, OrphanedUser.OrphanedUserStatus.COMPLETED));
+            }
+            log.info("Deleted orphaned users: {} of {} in page", completedIds.size(), page.size());
+            return true;
 
         } catch (Exception e) {
-            log.error("Failed to delete orphaned user: userId={}, retryCount={}", 
-                    orphanedUser.getUserId(), orphanedUser.getRetryCount(), e);
-
-            // Increment retry count
-            orphanedUser.incrementRetryCount();
-
-            // Mark as failed if max retries exceeded
-            if (orphanedUser.getRetryCount() >= MAX_RETRY_COUNT) {
-                orphanedUser.markFailed();
-                log.error("Max retries exceeded for orphaned user: userId={}, marking as FAILED", 
-                        orphanedUser.getUserId());
+            log.error("Failed to delete page of {} orphaned users (ids {}..{}): {}",
+                    page.size(), ids.get(0), ids.get(ids.size() - 1), e.getMessage());
+
+            // Rows stay PENDING and are retried once their lease expires, unless out of attempts
+            Integer exhausted = transactionTemplate.execute(status ->
+                    orphanedUserRepository.markFailedWhenExhausted(ids, MAX_RETRY_COUNT));
+            if (exhausted != null && exhausted > 0) {
+                log.error("Max retries exceeded for {} orphaned users, marking as FAILED", exhausted);
             }
-
-            orphanedUserRepository.save(orphanedUser);
+            return false;
         }
     }
 }
@@ -0,0 +1,44 @@
+package com.marketplace.auth.scheduler;
+
+import com.marketplace.auth.config.RoleSnapshotProperties;
+import com.marketplace.auth.service.RoleSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warms role snapshots on startup for users that do not have one yet
+ * (e.g. accounts registered before snapshots existed), so their first login
+ * does not have to call User Service. Runs in the background and does not delay readiness.
+ */
+@Component
+public class RoleSnapshotWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleSnapshotWarmer.class);
+
+    private final RoleSnapshotService roleSnapshotService;
+    private final RoleSnapshotProperties properties;
+
+    public RoleSnapshotWarmer(RoleSnapshotService roleSnapshotService, RoleSnapshotProperties properties) {
+        this.roleSnapshotService = roleSnapshotService;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (!properties.warmupOnStartup() || properties.warmupMaxUsers() == 0) {
+            return;
+        }
+
+        Thread.ofVirtual().name("role-snapshot-warmup").start(() -> {
+            try {
+                int warmed = roleSnapshotService.warmUp(properties.warmupMaxUsers());
+                log.info("Role snapshot warmup completed: {} snapshots created", warmed);
+            } catch (Exception e) {
+                log.warn("Role snapshot warmup failed: {}", e.getMessage());
+            }
+        });
+    }
+}
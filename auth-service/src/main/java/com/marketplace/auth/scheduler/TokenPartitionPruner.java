@@ -0,0 +1,242 @@
+package com.marketplace.auth.scheduler;
+
+import com.marketplace.auth.config.TokenPruningProperties;
+import com.marketplace.auth.metrics.TokenPruningMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduled maintenance of the month-partitioned token tables (see V8 migration).
+ *
+ * <p>Each run, per table:
+ * <ol>
+ *   <li>creates the partitions of the current and upcoming months;</li>
+ *   <li>drops month partitions whose whole range expired more than the grace period ago;</li>
+ *   <li>deletes the remaining expired and spent (revoked/used) rows in small keyset-paged batches,
+ *       each in its own short transaction, pausing between batches;</li>
+ *   <li>samples table size, dead tuples and partition count into {@link TokenPruningMetrics}.</li>
+ * </ol>
+ * Partition DDL runs with a short lock timeout so it gives up instead of blocking logins.
+ * All steps are idempotent, so replicas running the pruner concurrently are harmless.
+ */
+@Component
+public class TokenPartitionPruner {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenPartitionPruner.class);
+
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final LocalDateTime KEYSET_START_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID KEYSET_START_ID = new UUID(0L, 0L);
+
+    private static final List<TokenTable> TABLES = List.of(
+            new TokenTable("refresh_tokens", "revoked_at"),
+            new TokenTable("password_reset_tokens", "used_at"));
+
+    private static final String PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = ?::regclass";
+    private static final String STATS_SQL =
+            "SELECT COALESCE(SUM(pg_total_relation_size(c.oid)), 0), COALESCE(SUM(s.n_dead_tup), 0), COUNT(*) " +
+            "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "LEFT JOIN pg_stat_user_tables s ON s.relid = c.oid " +
+            "WHERE i.inhparent = ?::regclass";
+    // Deletes one batch after the (expires_at, id) cursor and returns the new cursor with the batch size
+    private static final String DELETE_BATCH_SQL =
+            "WITH batch AS (" +
+            "  SELECT id, expires_at FROM %1$s " +
+            "  WHERE (expires_at, id) > (?, ?) AND (expires_at < ? OR %2$s < ?) " +
+            "  ORDER BY expires_at, id LIMIT ?" +
+            "), deleted AS (" +
+            "  DELETE FROM %1$s t USING batch b WHERE t.id = b.id AND t.expires_at = b.expires_at " +
+            "  RETURNING t.expires_at, t.id" +
+            ") " +
+            "SELECT expires_at, id, COUNT(*) OVER () FROM deleted ORDER BY expires_at DESC, id DESC LIMIT 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TokenPruningProperties properties;
+    private final TokenPruningMetrics metrics;
+
+    public TokenPartitionPruner(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                TokenPruningProperties properties,
+                                TokenPruningMetrics metrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    @Scheduled(initialDelay = 1, fixedDelayString = "${token-pruning.interval-minutes:15}",
+            timeUnit = TimeUnit.MINUTES)
+    public void prune() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        for (TokenTable table : TABLES) {
+            try {
+                createUpcomingPartitions(table, now);
+                int dropped = dropExpiredPartitions(table, now);
+                int deleted = deleteStragglers(table, now);
+                if (dropped > 0 || deleted > 0) {
+                    log.info("Pruned {}: {} partitions dropped, {} rows deleted", table.name(), dropped, deleted);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Token pruning failed for {}: {}", table.name(), e.getMostSpecificCause().getMessage());
+            }
+            recordStats(table);
+        }
+        metrics.recordRun(Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private void createUpcomingPartitions(TokenTable table, LocalDateTime now) {
+        Set<String> existing = partitionNames(table);
+        YearMonth current = YearMonth.from(now);
+
+        for (int i = 0; i <= properties.monthsAhead(); i++) {
+            YearMonth month = current.plusMonths(i);
+            String partition = partitionName(table, month);
+            if (existing.contains(partition)) {
+                continue;
+            }
+            try {
+                runDdl(String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                        partition, table.name(), month.atDay(1), month.plusMonths(1).atDay(1)));
+                log.info("Created token partition {}", partition);
+            } catch (DataAccessException e) {
+                // Lock timeout, or the DEFAULT partition already holds rows of that month
+                log.warn("Could not create token partition {}: {}", partition, e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private int dropExpiredPartitions(TokenTable table, LocalDateTime now) {
+        LocalDateTime cutoff = now.minusHours(properties.expiredGraceHours());
+        int dropped = 0;
+
+        for (String partition : partitionNames(table)) {
+            YearMonth month = partitionMonth(table, partition);
+            if (month == null || month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                continue;
+            }
+            try {
+                runDdl("DROP TABLE IF EXISTS " + partition);
+                metrics.incrementPartitionsDropped(table.name());
+                dropped++;
+            } catch (DataAccessException e) {
+                log.warn("Could not drop token partition {}: {}", partition, e.getMostSpecificCause().getMessage());
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Delete expired and spent rows that are not covered by a droppable partition
+     * (current months and the DEFAULT partition), walking the (expires_at, id) index with a cursor
+     * so that no batch rescans the rows deleted by the previous one.
+     */
+    private int deleteStragglers(TokenTable table, LocalDateTime now) {
+        String sql = String.format(DELETE_BATCH_SQL, table.name(), table.spentColumn());
+        Timestamp expiredBefore = Timestamp.valueOf(now.minusHours(properties.expiredGraceHours()));
+        Timestamp spentBefore = Timestamp.valueOf(now.minusHours(properties.spentRetentionHours()));
+
+        Object[] cursor = {Timestamp.valueOf(KEYSET_START_TIME), KEYSET_START_ID};
+        int total = 0;
+
+        for (int batch = 0; batch < properties.maxBatchesPerRun(); batch++) {
+            List<Object[]> result = jdbcTemplate.query(sql,
+                    (rs, rowNum) -> new Object[]{rs.getTimestamp(1), rs.getObject(2, UUID.class), rs.getInt(3)},
+                    cursor[0], cursor[1], expiredBefore, spentBefore, properties.batchSize());
+            if (result.isEmpty()) {
+                break;
+            }
+
+            int deleted = (int) result.get(0)[2];
+            cursor = new Object[]{result.get(0)[0], result.get(0)[1]};
+            total += deleted;
+            metrics.recordRowsDeleted(table.name(), deleted);
+
+            if (deleted < properties.batchSize() || !pauseBetweenBatches()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private boolean pauseBetweenBatches() {
+        try {
+            Thread.sleep(properties.batchPauseMs());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void recordStats(TokenTable table) {
+        try {
+            jdbcTemplate.query(STATS_SQL, rs -> {
+                metrics.recordTableStats(table.name(), rs.getLong(1), rs.getLong(2), rs.getLong(3));
+            }, table.name());
+        } catch (DataAccessException e) {
+            log.debug("Could not read token table stats for {}: {}", table.name(), e.getMessage());
+        }
+    }
+
+    private void runDdl(String sql) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = " + properties.ddlLockTimeoutMs());
+            jdbcTemplate.execute(sql);
+        });
+    }
+
+    private Set<String> partitionNames(TokenTable table) {
+        return new HashSet<>(jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, table.name()));
+    }
+
+    private static String partitionName(TokenTable table, YearMonth month) {
+        return table.name() + "_p" + MONTH_SUFFIX.format(month);
+    }
+
+    /**
+     * Month of a {@code <table>_pYYYY_MM} partition, or null for the DEFAULT partition.
+     */
+    private static YearMonth partitionMonth(TokenTable table, String partition) {
+        String prefix = table.name() + "_p";
+        if (!partition.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(prefix.length()), MONTH_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A partitioned token table and the column marking a token as spent.
+     */
+    private record TokenTable(String name, String spentColumn) {
+    }
+}
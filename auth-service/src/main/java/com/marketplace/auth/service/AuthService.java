@@ -1,19 +1,18 @@
 package com.marketplace.auth.service;
 
-import com.marketplace.auth.client.UserServiceClient;
 import com.marketplace.auth.config.JwtProperties;
+import com.marketplace.auth.config.OutboxProperties;
 import com.marketplace.auth.domain.model.Credential;
-import com.marketplace.auth.domain.model.OrphanedUser;
 import com.marketplace.auth.domain.model.PasswordResetToken;
 import com.marketplace.auth.domain.model.RefreshToken;
 import com.marketplace.auth.domain.repository.CredentialRepository;
-import com.marketplace.auth.domain.repository.OrphanedUserRepository;
 import com.marketplace.auth.domain.repository.PasswordResetTokenRepository;
 import com.marketplace.auth.domain.repository.RefreshTokenRepository;
 import com.marketplace.auth.dto.auth.*;
 import com.marketplace.auth.metrics.RegistrationMetrics;
-import com.marketplace.shared.dto.CreateUserRequest;
-import com.marketplace.shared.dto.UserResponse;
+import com.marketplace.shared.dto.event.UserRegisteredEvent;
+import com.marketplace.shared.outbox.OutboxMessage;
+import com.marketplace.shared.outbox.OutboxWriter;
 import com.marketplace.auth.exception.*;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -22,15 +21,20 @@ import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.security.SecureRandom;
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Base64;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -42,48 +46,57 @@ public class AuthService {
 
     private static final Logger log = LoggerFactory.getLogger(AuthService.class);
     private static final String DEFAULT_ROLE = "CUSTOMER";
-    private static final int RESET_TOKEN_BYTES = 32;
     private static final int RESET_TOKEN_EXPIRATION_HOURS = 1;
-    private static final int MAX_FAILED_LOGIN_ATTEMPTS = 5;
+    private static final String USER_AGGREGATE = "USER";
 
     private final CredentialRepository credentialRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
-    private final OrphanedUserRepository orphanedUserRepository;
-    private final UserServiceClient userServiceClient;
     private final JwtService jwtService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtProperties jwtProperties;
     private final RegistrationMetrics registrationMetrics;
-    private final SecureRandom secureRandom;
+    private final TokenHashingService tokenHashingService;
+    private final RoleSnapshotService roleSnapshotService;
+    private final LoginAttemptService loginAttemptService;
+    private final OutboxWriter outboxWriter;
+    private final OutboxProperties outboxProperties;
+    private final TransactionTemplate transactionTemplate;
 
     public AuthService(
             CredentialRepository credentialRepository,
             RefreshTokenRepository refreshTokenRepository,
             PasswordResetTokenRepository passwordResetTokenRepository,
-            OrphanedUserRepository orphanedUserRepository,
-            UserServiceClient userServiceClient,
             JwtService jwtService,
-            PasswordEncoder passwordEncoder,
+            PasswordHashingService passwordHashingService,
             JwtProperties jwtProperties,
-            RegistrationMetrics registrationMetrics) {
+            RegistrationMetrics registrationMetrics,
+            TokenHashingService tokenHashingService,
+            RoleSnapshotService roleSnapshotService,
+            LoginAttemptService loginAttemptService,
+            OutboxWriter outboxWriter,
+            OutboxProperties outboxProperties,
+            PlatformTransactionManager transactionManager) {
         this.credentialRepository = credentialRepository;
         this.refreshTokenRepository = refreshTokenRepository;
         this.passwordResetTokenRepository = passwordResetTokenRepository;
-        this.orphanedUserRepository = orphanedUserRepository;
-        this.userServiceClient = userServiceClient;
         this.jwtService = jwtService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtProperties = jwtProperties;
         this.registrationMetrics = registrationMetrics;
-        this.secureRandom = new SecureRandom();
+        this.tokenHashingService = tokenHashingService;
+        this.roleSnapshotService = roleSnapshotService;
+        this.loginAttemptService = loginAttemptService;
+        this.outboxWriter = outboxWriter;
+        this.outboxProperties = outboxProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
-     * Register a new user with credential creation and User Service integration.
-     * Implements orchestration pattern: creates user in User Service FIRST,
-     * then saves credentials. If credential save fails, performs compensating
-     * transaction to delete user from User Service.
+     * Register a new user.
+     * Credentials, the role snapshot, the first refresh token and a {@code UserRegistered} outbox
+     * event are committed in one local transaction; User Service creates the profile from the event
+     * once the outbox relay has published it. The password is hashed before the transaction starts.
      *
      * @param request registration request
      * @return authentication response with tokens
@@ -101,44 +114,26 @@ public class AuthService {
                 throw new DuplicateEmailException(request.email());
             }
 
+            // Hash outside the transaction so no connection is held while BCrypt runs
+            String passwordHash = passwordHashingService.encode(request.password());
+
             UUID userId = UUID.randomUUID();
             MDC.put("userId", userId.toString());
 
-            // Step 1: Create user in User Service FIRST (outside transaction boundary)
-            CreateUserRequest createUserRequest = new CreateUserRequest(
-                    userId,
-                    request.email(),
-                    request.name(),
-                    List.of(DEFAULT_ROLE)
-            );
-            
-            UserResponse userResponse = userServiceClient.createUser(createUserRequest);
-            log.info("User created successfully in User Service: {}", userId);
-
-            // Step 2: Save credentials in Auth Service (within transaction)
             try {
-                AuthResponse response = saveCredentialsAndGenerateTokens(userId, request);
+                AuthResponse response = transactionTemplate.execute(
+                        status -> saveCredentialsAndGenerateTokens(userId, request, passwordHash));
                 registrationMetrics.incrementRegistrationSuccess();
                 registrationMetrics.recordRegistrationTime(timerSample);
                 return response;
-            } catch (Exception e) {
-                log.error("Failed to save credentials for user: {}. Initiating compensating transaction.", userId, e);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent registration for the same email won the unique constraint
+                log.warn("Registration failed: email already exists - {}", request.email());
+                registrationMetrics.incrementRegistrationFailure();
+                throw new DuplicateEmailException(request.email());
+            } catch (RuntimeException e) {
+                log.error("Failed to save credentials for user: {}", userId, e);
                 registrationMetrics.incrementRegistrationFailure();
-                
-                // Step 3: Compensating transaction - delete user from User Service
-                try {
-                    userServiceClient.deleteUser(userId);
-                    log.info("Successfully deleted user from User Service as part of compensating transaction: {}", userId);
-                    registrationMetrics.incrementCompensatingDeleteSuccess();
-                } catch (Exception deleteException) {
-                    // If compensating delete fails, save to orphaned_users table for cleanup
-                    log.error("Failed to delete user from User Service. Saving to orphaned_users table: {}", 
-                            userId, deleteException);
-                    registrationMetrics.incrementCompensatingDeleteFailure();
-                    saveOrphanedUser(userId, request.email());
-                }
-                
-                // Re-throw original exception to return error to client
                 throw e;
             }
         } catch (Exception e) {
@@ -148,25 +143,30 @@ public class AuthService {
     }
 
     /**
-     * Save credentials and generate tokens within a transaction.
-     * This method is separate to ensure transaction boundary is clear.
+     * Save credentials, record the UserRegistered event and generate tokens.
+     * Runs inside the registration transaction.
      */
-    @Transactional
-    private AuthResponse saveCredentialsAndGenerateTokens(UUID userId, RegisterRequest request) {
+    private AuthResponse saveCredentialsAndGenerateTokens(UUID userId, RegisterRequest request, String passwordHash) {
         // Create and save credential
-        String passwordHash = passwordEncoder.encode(request.password());
         Credential credential = new Credential(userId, request.email(), passwordHash);
-        credential = credentialRepository.save(credential);
+        credentialRepository.saveAndFlush(credential);
         
         log.debug("Credential created for user: {}", userId);
 
-        // Generate tokens
         List<String> roles = List.of(DEFAULT_ROLE);
-        String accessToken = jwtService.generateAccessToken(userId, request.email(), roles);
-        String refreshToken = jwtService.generateRefreshToken(userId);
+        roleSnapshotService.record(userId, roles);
 
-        // Save hashed refresh token
-        saveRefreshToken(userId, refreshToken);
+        UUID eventId = UUID.randomUUID();
+        long sequenceNumber = outboxWriter.nextSequenceNumber(USER_AGGREGATE, userId);
+        outboxWriter.append(USER_AGGREGATE, userId, sequenceNumber, new OutboxMessage(
+                outboxProperties.userEventsTopic(), userId.toString(), eventId, UserRegisteredEvent.EVENT_TYPE,
+                new UserRegisteredEvent(eventId, userId, request.email(), request.name(), roles,
+                        OffsetDateTime.now(ZoneOffset.UTC)),
+                Map.of()));
+
+        // Generate tokens
+        String accessToken = jwtService.generateAccessToken(userId, request.email(), roles);
+        String refreshToken = issueRefreshToken(userId);
 
         log.info("Registration completed successfully for user: {}", userId);
         
@@ -180,37 +180,28 @@ public class AuthService {
         );
     }
 
-    /**
-     * Save orphaned user record for cleanup scheduler.
-     */
-    @Transactional
-    private void saveOrphanedUser(UUID userId, String email) {
-        try {
-            OrphanedUser orphanedUser = new OrphanedUser(userId, email);
-            orphanedUserRepository.save(orphanedUser);
-            registrationMetrics.incrementOrphanedUserSaved();
-            log.info("Saved orphaned user record for cleanup: userId={}, email={}", userId, email);
-        } catch (Exception e) {
-            log.error("Failed to save orphaned user record: userId={}, email={}", userId, email, e);
-            // Don't throw - this is best effort logging
-        }
-    }
-
     /**
      * Authenticate user and issue tokens.
+     * Brute-force limits are checked before any database access or BCrypt work; failed attempts
+     * are counted in memory and only the transition to a locked account is written.
+     * The credential is read and the password checked outside any transaction, so no connection is
+     * held while waiting for the hashing pool; the writes run in short transactions afterwards.
      *
      * @param request login request
+     * @param clientIp client IP address used for per-IP throttling (may be null)
      * @return authentication response with tokens
      */
-    @Transactional
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientIp) {
         MDC.put("operation", "login");
         log.info("Processing login for email: {}", request.email());
 
+        loginAttemptService.checkAllowed(request.email(), clientIp);
+
         // Find credential
         Credential credential = credentialRepository.findByEmail(request.email())
                 .orElseThrow(() -> {
                     log.warn("Login failed: credential not found for email - {}", request.email());
+                    loginAttemptService.recordFailure(request.email(), clientIp);
                     return new InvalidCredentialsException();
                 });
 
@@ -223,29 +214,24 @@ public class AuthService {
         }
 
         // Validate password
-        if (!passwordEncoder.matches(request.password(), credential.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.password(), credential.getPasswordHash())) {
             log.warn("Login failed: invalid password for email - {}", request.email());
-            credential.incrementFailedLoginCount();
-            credentialRepository.save(credential);
-            
-            if (credential.isLocked()) {
-                log.warn("Account locked after {} failed attempts - {}", 
-                        MAX_FAILED_LOGIN_ATTEMPTS, request.email());
+
+            if (loginAttemptService.recordFailure(request.email(), clientIp)) {
+                // Persist only the lockout transition
+                transactionTemplate.executeWithoutResult(status -> credentialRepository.lock(credential.getId()));
+                loginAttemptService.recordLockout();
+                log.warn("Account locked after too many failed attempts - {}", request.email());
                 throw new AccountLockedException();
             }
             
             throw new InvalidCredentialsException();
         }
 
-        // Reset failed login count on successful login
-        if (credential.getFailedLoginCount() > 0) {
-            credential.resetFailedLoginCount();
-            credentialRepository.save(credential);
-            log.debug("Failed login count reset for user: {}", credential.getUserId());
-        }
+        loginAttemptService.recordSuccess(request.email());
 
-        // Fetch user roles from User Service
-        List<String> roles = fetchUserRoles(credential.getUserId());
+        // Roles come from the local snapshot; User Service is only called when there is none
+        List<String> roles = roleSnapshotService.getRoles(credential.getUserId());
         
         // Generate tokens
         String accessToken = jwtService.generateAccessToken(
@@ -253,10 +239,14 @@ public class AuthService {
                 credential.getEmail(), 
                 roles
         );
-        String refreshToken = jwtService.generateRefreshToken(credential.getUserId());
-
-        // Save hashed refresh token
-        saveRefreshToken(credential.getUserId(), refreshToken);
+        String refreshToken = transactionTemplate.execute(status -> {
+            // Reset failed login count on successful login (accounts with counts from before in-memory limiting)
+            if (credential.getFailedLoginCount() > 0) {
+                credentialRepository.resetFailedLoginCount(credential.getId());
+                log.debug("Failed login count reset for user: {}", credential.getUserId());
+            }
+            return issueRefreshToken(credential.getUserId());
+        });
 
         log.info("Login successful for user: {} with roles: {}", credential.getUserId(), roles);
 
@@ -270,24 +260,6 @@ public class AuthService {
         );
     }
 
-    /**
-     * Fetch user roles from User Service.
-     * Falls back to default role if User Service is unavailable.
-     */
-    private List<String> fetchUserRoles(UUID userId) {
-        try {
-            UserResponse userResponse = userServiceClient.getUserById(userId);
-            if (userResponse != null && userResponse.roles() != null && !userResponse.roles().isEmpty()) {
-                log.debug("Fetched roles from User Service for user {}: {}", userId, userResponse.roles());
-                return userResponse.roles();
-            }
-        } catch (Exception e) {
-            log.warn("Failed to fetch roles from User Service for user {}: {}. Using default role.", 
-                    userId, e.getMessage());
-        }
-        return List.of(DEFAULT_ROLE);
-    }
-
     /**
      * Refresh access token using refresh token.
      *
@@ -299,13 +271,19 @@ public class AuthService {
         MDC.put("operation", "refreshToken");
         log.info("Processing token refresh");
 
-        // Find refresh token by comparing hashes (prefer the most recent match)
-        RefreshToken storedToken = refreshTokenRepository.findAll().stream()
-                .filter(rt -> passwordEncoder.matches(request.refreshToken(), rt.getTokenHash()))
-                .max(java.util.Comparator.comparing(
-                        RefreshToken::getCreatedAt,
-                        java.util.Comparator.nullsLast(java.util.Comparator.naturalOrder())
-                ))
+        // Verify signature and read the selector (jti) before touching the database
+        Claims claims;
+        try {
+            claims = jwtService.validateAndParseToken(request.refreshToken());
+        } catch (ExpiredJwtException e) {
+            log.warn("Refresh failed: token has expired");
+            throw new TokenExpiredException();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Refresh failed: token is malformed");
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+
+        RefreshToken storedToken = findStoredRefreshToken(claims, request.refreshToken())
                 .orElseThrow(() -> {
                     log.warn("Refresh failed: token not found");
                     return new InvalidTokenException("Invalid refresh token");
@@ -329,20 +307,19 @@ public class AuthService {
                 .orElseThrow(() -> new ResourceNotFoundException("User credential not found"));
 
         // Generate new tokens
-        List<String> roles = List.of(DEFAULT_ROLE);
+        List<String> roles = roleSnapshotService.getRoles(credential.getUserId());
         String newAccessToken = jwtService.generateAccessToken(
                 credential.getUserId(),
                 credential.getEmail(),
                 roles
         );
-        String newRefreshToken = jwtService.generateRefreshToken(credential.getUserId());
 
         // Revoke old refresh token
         storedToken.revoke();
         refreshTokenRepository.save(storedToken);
 
-        // Save new refresh token
-        saveRefreshToken(credential.getUserId(), newRefreshToken);
+        // Issue and save new refresh token
+        String newRefreshToken = issueRefreshToken(credential.getUserId());
 
         log.info("Token refresh successful for user: {}", credential.getUserId());
 
@@ -371,18 +348,18 @@ public class AuthService {
         credentialRepository.findByEmail(request.email()).ifPresent(credential -> {
             MDC.put("userId", credential.getUserId().toString());
 
-            // Generate secure random token
-            byte[] tokenBytes = new byte[RESET_TOKEN_BYTES];
-            secureRandom.nextBytes(tokenBytes);
-            String resetToken = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+            // Generate secure random selector/verifier token
+            TokenHashingService.SplitToken splitToken = tokenHashingService.generate();
+            String resetToken = splitToken.value();
 
-            // Hash token for storage
-            String tokenHash = passwordEncoder.encode(resetToken);
+            // Keyed hash of the verifier for storage
+            String tokenHash = tokenHashingService.hash(splitToken.verifier());
 
             // Create reset token entity
             LocalDateTime expiresAt = LocalDateTime.now().plusHours(RESET_TOKEN_EXPIRATION_HOURS);
             PasswordResetToken passwordResetToken = new PasswordResetToken(
                     request.email(),
+                    splitToken.selector(),
                     tokenHash,
                     expiresAt
             );
@@ -410,10 +387,8 @@ public class AuthService {
         MDC.put("operation", "resetPassword");
         log.info("Processing password reset with token");
 
-        // Find reset token by comparing hashes
-        PasswordResetToken resetToken = passwordResetTokenRepository.findAll().stream()
-                .filter(prt -> passwordEncoder.matches(request.token(), prt.getTokenHash()))
-                .findFirst()
+        // Find reset token by selector and verify its keyed hash
+        PasswordResetToken resetToken = findStoredResetToken(request.token())
                 .orElseThrow(() -> {
                     log.warn("Password reset failed: invalid token");
                     return new InvalidTokenException("Invalid or expired reset token");
@@ -437,7 +412,7 @@ public class AuthService {
         MDC.put("userId", credential.getUserId().toString());
 
         // Update password
-        String newPasswordHash = passwordEncoder.encode(request.newPassword());
+        String newPasswordHash = passwordHashingService.encode(request.newPassword());
         credential.setPasswordHash(newPasswordHash);
         credential.activate(); // Reset failed login count and unlock if locked
         credentialRepository.save(credential);
@@ -513,15 +488,67 @@ public class AuthService {
     }
 
     /**
-     * Save hashed refresh token to database.
+     * Generate a refresh token and save its keyed hash under its selector (jti).
+     *
+     * @return the refresh token to hand to the client
      */
-    private void saveRefreshToken(UUID userId, String refreshToken) {
-        String tokenHash = passwordEncoder.encode(refreshToken);
+    private String issueRefreshToken(UUID userId) {
+        String selector = tokenHashingService.newSelector();
+        String refreshToken = jwtService.generateRefreshToken(userId, selector);
+        String tokenHash = tokenHashingService.hash(refreshToken);
         LocalDateTime expiresAt = LocalDateTime.now().plusDays(jwtProperties.refreshTokenExpirationDays());
         
-        RefreshToken token = new RefreshToken(userId, tokenHash, expiresAt);
+        RefreshToken token = new RefreshToken(userId, selector, tokenHash, expiresAt);
         refreshTokenRepository.save(token);
         
         log.debug("Refresh token saved for user: {}", userId);
+        return refreshToken;
+    }
+
+    /**
+     * Resolve a refresh token with one indexed lookup by selector and one constant-time compare.
+     * Tokens issued before selectors existed are matched with BCrypt against the user's own
+     * legacy rows only, until they are rotated or expire.
+     */
+    private Optional<RefreshToken> findStoredRefreshToken(Claims claims, String refreshToken) {
+        if (claims.getId() != null) {
+            Optional<RefreshToken> bySelector = refreshTokenRepository.findBySelector(claims.getId());
+            if (bySelector.isPresent()) {
+                return bySelector.filter(rt -> tokenHashingService.matches(refreshToken, rt.getTokenHash()));
+            }
+        }
+
+        if (!tokenHashingService.isLegacyFallbackEnabled() || claims.getSubject() == null) {
+            return Optional.empty();
+        }
+
+        UUID userId = UUID.fromString(claims.getSubject());
+        return refreshTokenRepository.findByUserIdAndSelectorIsNull(userId).stream()
+                .filter(rt -> passwordHashingService.matches(refreshToken, rt.getTokenHash()))
+                .max(Comparator.comparing(
+                        RefreshToken::getCreatedAt,
+                        Comparator.nullsLast(Comparator.naturalOrder())
+                ));
+    }
+
+    /**
+     * Resolve a password reset token with one indexed lookup by selector and one
+     * constant-time compare. Legacy tokens (no selector) are matched with BCrypt against
+     * the still-redeemable legacy rows only.
+     */
+    private Optional<PasswordResetToken> findStoredResetToken(String token) {
+        Optional<TokenHashingService.SplitToken> splitToken = tokenHashingService.parse(token);
+        if (splitToken.isPresent()) {
+            return passwordResetTokenRepository.findBySelector(splitToken.get().selector())
+                    .filter(prt -> tokenHashingService.matches(splitToken.get().verifier(), prt.getTokenHash()));
+        }
+
+        if (!tokenHashingService.isLegacyFallbackEnabled()) {
+            return Optional.empty();
+        }
+
+        return passwordResetTokenRepository.findRedeemableLegacyTokens(LocalDateTime.now()).stream()
+                .filter(prt -> passwordHashingService.matches(token, prt.getTokenHash()))
+                .findFirst();
     }
 }
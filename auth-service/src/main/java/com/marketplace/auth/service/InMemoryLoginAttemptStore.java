@@ -0,0 +1,50 @@
+package com.marketplace.auth.service;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * In-process login attempt store backed by a {@link SlidingWindowCounter}.
+ * Counts are per replica; use {@link JdbcLoginAttemptStore} to aggregate across replicas.
+ */
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private final SlidingWindowCounter counter;
+    private final Clock clock;
+
+    public InMemoryLoginAttemptStore(Duration window, int stripes, int maxKeysPerStripe) {
+        this(window, stripes, maxKeysPerStripe, Clock.systemUTC());
+    }
+
+    InMemoryLoginAttemptStore(Duration window, int stripes, int maxKeysPerStripe, Clock clock) {
+        this.counter = new SlidingWindowCounter(window.toMillis(), stripes, maxKeysPerStripe);
+        this.clock = clock;
+    }
+
+    @Override
+    public double recordFailure(String key) {
+        return counter.increment(key, clock.millis());
+    }
+
+    @Override
+    public double failures(String key) {
+        return counter.estimate(key, clock.millis());
+    }
+
+    @Override
+    public void reset(String key) {
+        counter.reset(key);
+    }
+
+    @Override
+    public void maintain() {
+        counter.sweepNextStripe(clock.millis());
+    }
+
+    /**
+     * Number of keys currently tracked.
+     */
+    public int trackedKeys() {
+        return counter.size();
+    }
+}
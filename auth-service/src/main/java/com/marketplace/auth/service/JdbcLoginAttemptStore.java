@@ -0,0 +1,187 @@
+package com.marketplace.auth.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Login attempt store that aggregates failure counts across auth-service replicas.
+ *
+ * <p>Decisions are always made locally and never wait on the database: each replica counts in its
+ * own {@link InMemoryLoginAttemptStore} and accumulates deltas. Every {@code syncInterval},
+ * {@link #maintain()} flushes them in one batch into the unlogged {@code login_attempt_counts} table
+ * (per key and time bucket) and reads back only the buckets changed since the previous sync
+ * ({@code updated_at}), keeping the cluster-wide buckets of the window in memory. A key's failures
+ * are the larger of the local estimate and the cluster total plus unflushed local deltas, so other
+ * replicas' failures are seen at most one sync interval late. Resets zero the key's buckets rather
+ * than deleting them, so that other replicas pick them up. If the database is unavailable, the store
+ * degrades to per-replica counting.
+ */
+public class JdbcLoginAttemptStore implements LoginAttemptStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcLoginAttemptStore.class);
+
+    /**
+     * Changes are re-read this far back, so rows stamped before a sync but committed after it are not missed.
+     */
+    private static final long COMMIT_LAG_MILLIS = 5_000;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO login_attempt_counts (attempt_key, bucket_start, failures, updated_at) " +
+            "VALUES (?, ?, ?, clock_timestamp()) " +
+            "ON CONFLICT (attempt_key, bucket_start) DO UPDATE " +
+            "SET failures = login_attempt_counts.failures + EXCLUDED.failures, updated_at = EXCLUDED.updated_at";
+    private static final String CHANGES_SQL =
+            "SELECT attempt_key, bucket_start, failures, updated_at FROM login_attempt_counts " +
+            "WHERE updated_at > ? AND bucket_start >= ?";
+    private static final String PURGE_SQL = "DELETE FROM login_attempt_counts WHERE bucket_start < ?";
+    private static final String RESET_SQL =
+            "UPDATE login_attempt_counts SET failures = 0, updated_at = clock_timestamp() WHERE attempt_key = ?";
+
+    private final InMemoryLoginAttemptStore local;
+    private final JdbcTemplate jdbcTemplate;
+    private final long windowMillis;
+    private final long bucketMillis;
+    private final long syncIntervalMillis;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<String, LongAdder> pendingDeltas = new ConcurrentHashMap<>();
+    /** Cluster-wide failures per key and bucket start (epoch millis) within the window. */
+    private final ConcurrentHashMap<String, Map<Long, Long>> clusterBuckets = new ConcurrentHashMap<>();
+    /** Latest {@code updated_at} read, in database time. */
+    private Timestamp syncedUpTo = new Timestamp(0);
+    private long nextSyncMillis;
+    private long nextPurgeMillis;
+
+    public JdbcLoginAttemptStore(InMemoryLoginAttemptStore local, JdbcTemplate jdbcTemplate,
+                                 Duration window, Duration bucket, Duration syncInterval) {
+        this(local, jdbcTemplate, window, bucket, syncInterval, Clock.systemUTC());
+    }
+
+    JdbcLoginAttemptStore(InMemoryLoginAttemptStore local, JdbcTemplate jdbcTemplate,
+                          Duration window, Duration bucket, Duration syncInterval, Clock clock) {
+        this.local = local;
+        this.jdbcTemplate = jdbcTemplate;
+        this.windowMillis = window.toMillis();
+        this.bucketMillis = bucket.toMillis();
+        this.syncIntervalMillis = syncInterval.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public double recordFailure(String key) {
+        double localFailures = local.recordFailure(key);
+        pendingDeltas.computeIfAbsent(key, k -> new LongAdder()).increment();
+        return Math.max(localFailures, clusterFailures(key));
+    }
+
+    @Override
+    public double failures(String key) {
+        return Math.max(local.failures(key), clusterFailures(key));
+    }
+
+    @Override
+    public void reset(String key) {
+        // Pending deltas (even flushed, zeroed ones) mean the key may already be in the table
+        boolean shared = clusterBuckets.remove(key) != null | pendingDeltas.remove(key) != null;
+        local.reset(key);
+        if (shared) {
+            try {
+                jdbcTemplate.update(RESET_SQL, key);
+            } catch (DataAccessException e) {
+                log.warn("Failed to reset shared login attempts: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sweep the local counter; sync with the shared table once the sync interval has passed.
+     */
+    @Override
+    public void maintain() {
+        local.maintain();
+        long now = clock.millis();
+        if (now < nextSyncMillis) {
+            return;
+        }
+        nextSyncMillis = now + syncIntervalMillis;
+        long windowStart = now - windowMillis;
+        try {
+            flush();
+            loadChanges(windowStart);
+            if (now >= nextPurgeMillis) {
+                jdbcTemplate.update(PURGE_SQL, new Timestamp(windowStart));
+                nextPurgeMillis = now + bucketMillis;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to synchronize shared login attempts, using local counts: {}", e.getMessage());
+        }
+        dropExpired(windowStart);
+    }
+
+    private void flush() {
+        Timestamp bucketStart = new Timestamp(clock.millis() - Math.floorMod(clock.millis(), bucketMillis));
+        List<Object[]> batch = new ArrayList<>();
+        pendingDeltas.forEach((key, delta) -> {
+            long failures = delta.sumThenReset();
+            if (failures > 0) {
+                batch.add(new Object[]{key, bucketStart, failures});
+            } else {
+                pendingDeltas.remove(key, delta);
+            }
+        });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        }
+    }
+
+    /**
+     * Read the buckets changed since the last sync; buckets hold absolute counts, so re-reading the
+     * overlap is harmless.
+     */
+    private void loadChanges(long windowStart) {
+        Timestamp since = new Timestamp(syncedUpTo.getTime() - COMMIT_LAG_MILLIS);
+        Timestamp[] latest = {syncedUpTo};
+        jdbcTemplate.query(CHANGES_SQL,
+                rs -> {
+                    clusterBuckets.computeIfAbsent(rs.getString(1), k -> new ConcurrentHashMap<>())
+                            .put(rs.getTimestamp(2).getTime(), rs.getLong(3));
+                    Timestamp updatedAt = rs.getTimestamp(4);
+                    if (updatedAt.after(latest[0])) {
+                        latest[0] = updatedAt;
+                    }
+                },
+                since, new Timestamp(windowStart));
+        syncedUpTo = latest[0];
+    }
+
+    private void dropExpired(long windowStart) {
+        clusterBuckets.values().forEach(buckets -> buckets.keySet().removeIf(bucketStart -> bucketStart < windowStart));
+        clusterBuckets.values().removeIf(Map::isEmpty);
+    }
+
+    private double clusterFailures(String key) {
+        long total = 0;
+        Map<Long, Long> buckets = clusterBuckets.get(key);
+        if (buckets != null) {
+            long windowStart = clock.millis() - windowMillis;
+            for (Map.Entry<Long, Long> bucket : buckets.entrySet()) {
+                if (bucket.getKey() >= windowStart) {
+                    total += bucket.getValue();
+                }
+            }
+        }
+        LongAdder pending = pendingDeltas.get(key);
+        return total + (pending != null ? pending.sum() : 0L);
+    }
+}
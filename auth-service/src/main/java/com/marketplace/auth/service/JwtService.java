@@ -1,8 +1,9 @@
 package com.marketplace.auth.service;
 
 import com.marketplace.auth.config.JwtProperties;
+import com.marketplace.auth.config.JwtProperties.SigningAlgorithm;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.Jwks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
@@ -16,13 +17,17 @@ import java.security.*;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Service for JWT token generation, validation, and management.
- * Uses RS256 algorithm with RSA key pair.
+ * Signs with the configured algorithm (RS256, ES256 or EdDSA). Tokens carry a {@code kid} header so that
+ * several public keys, possibly of different algorithms, can be valid at once while keys or
+ * algorithms are rotated.
  */
 @Service
 public class JwtService {
@@ -33,21 +38,46 @@ public class JwtService {
 
     private final JwtProperties jwtProperties;
     private final ResourceLoader resourceLoader;
+    private final SigningAlgorithm signingAlgorithm;
     
     private PrivateKey privateKey;
     private PublicKey publicKey;
+    private String signingKeyId;
+    private Map<String, PublicKey> verificationKeys;
+    private String jwksJson;
+    private JwtParser parser;
 
     public JwtService(JwtProperties jwtProperties, ResourceLoader resourceLoader) {
         this.jwtProperties = jwtProperties;
         this.resourceLoader = resourceLoader;
+        this.signingAlgorithm = jwtProperties.signingAlgorithm();
     }
 
     @PostConstruct
     public void init() throws IOException, NoSuchAlgorithmException, InvalidKeySpecException {
-        log.info("Initializing JWT service with RS256 algorithm");
+        log.info("Initializing JWT service with {} algorithm", signingAlgorithm.id());
         this.privateKey = loadPrivateKey(jwtProperties.privateKeyPath());
         this.publicKey = loadPublicKey(jwtProperties.publicKeyPath());
-        log.info("JWT keys loaded successfully");
+        if (SigningAlgorithm.forKey(publicKey) != signingAlgorithm) {
+            throw new InvalidKeySpecException("Public key " + jwtProperties.publicKeyPath()
+                    + " is not a " + signingAlgorithm.keyAlgorithm() + " key");
+        }
+        this.signingKeyId = keyIdOrThumbprint(jwtProperties.keyId(), publicKey);
+
+        // Signing key first: consumers fall back to the first key for tokens without a kid
+        Map<String, PublicKey> keys = new LinkedHashMap<>();
+        keys.put(signingKeyId, publicKey);
+        for (JwtProperties.VerificationKey additional : jwtProperties.additionalVerificationKeys()) {
+            PublicKey key = loadPublicKey(additional.publicKeyPath());
+            keys.putIfAbsent(keyIdOrThumbprint(additional.keyId(), key), key);
+        }
+        this.verificationKeys = Collections.unmodifiableMap(keys);
+        this.jwksJson = buildJwks(verificationKeys);
+        this.parser = Jwts.parser()
+                .keyLocator(this::locateVerificationKey)
+                .build();
+        log.info("JWT keys loaded successfully: signing kid={}, verification kids={}",
+                signingKeyId, verificationKeys.keySet());
     }
 
     /**
@@ -68,7 +98,8 @@ public class JwtService {
                 .claim(ROLES_CLAIM, roles)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiration))
-                .signWith(privateKey, Jwts.SIG.RS256)
+                .header().keyId(signingKeyId).and()
+                .signWith(privateKey, signingAlgorithm.jwsAlgorithm())
                 .compact();
     }
 
@@ -79,15 +110,28 @@ public class JwtService {
      * @return JWT refresh token string
      */
     public String generateRefreshToken(UUID userId) {
+        return generateRefreshToken(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Generate a refresh token carrying the given token ID.
+     * The token ID is used as the indexed selector of the stored refresh token.
+     *
+     * @param userId the user ID
+     * @param tokenId the token ID (jti claim)
+     * @return JWT refresh token string
+     */
+    public String generateRefreshToken(UUID userId, String tokenId) {
         Instant now = Instant.now();
         Instant expiration = now.plus(jwtProperties.refreshTokenExpirationDays(), ChronoUnit.DAYS);
 
         return Jwts.builder()
                 .subject(userId.toString())
-                .id(UUID.randomUUID().toString())
+                .id(tokenId)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiration))
-                .signWith(privateKey, Jwts.SIG.RS256)
+                .header().keyId(signingKeyId).and()
+                .signWith(privateKey, signingAlgorithm.jwsAlgorithm())
                 .compact();
     }
 
@@ -100,10 +144,7 @@ public class JwtService {
      */
     public Claims validateAndParseToken(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(publicKey)
-                    .build()
-                    .parseSignedClaims(token)
+            return parser.parseSignedClaims(token)
                     .getPayload();
         } catch (ExpiredJwtException e) {
             log.warn("Token expired: {}", e.getMessage());
@@ -173,6 +214,74 @@ public class JwtService {
         return new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
     }
 
+    /**
+     * Get the verification keys as a JWK Set document (RFC 7517), signing key first.
+     *
+     * @return JWKS JSON string
+     */
+    public String getJwksJson() {
+        return jwksJson;
+    }
+
+    /**
+     * How long consumers may cache the JWKS document.
+     */
+    public Duration getJwksMaxAge() {
+        return Duration.ofSeconds(jwtProperties.jwksMaxAgeSeconds());
+    }
+
+    /**
+     * Get the key ID placed in the {@code kid} header of newly issued tokens.
+     */
+    public String getSigningKeyId() {
+        return signingKeyId;
+    }
+
+    /**
+     * Get the algorithm newly issued tokens are signed with.
+     */
+    public SigningAlgorithm getSigningAlgorithm() {
+        return signingAlgorithm;
+    }
+
+    /**
+     * Select the verification key by {@code kid}; tokens issued before key IDs were
+     * introduced carry none and are verified with the first key of their {@code alg},
+     * which is the signing key unless the algorithm has since been switched.
+     */
+    private Key locateVerificationKey(Header header) {
+        String keyId = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        if (keyId == null) {
+            return verificationKeys.values().stream()
+                    .filter(key -> SigningAlgorithm.forKey(key).id().equals(header.getAlgorithm()))
+                    .findFirst()
+                    .orElse(publicKey);
+        }
+        PublicKey key = verificationKeys.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key id: " + keyId);
+        }
+        return key;
+    }
+
+    private static String keyIdOrThumbprint(String keyId, PublicKey key) {
+        if (keyId != null && !keyId.isBlank()) {
+            return keyId;
+        }
+        return Jwks.builder().key(key).idFromThumbprint().build().getId();
+    }
+
+    private static String buildJwks(Map<String, PublicKey> keys) {
+        return keys.entrySet().stream()
+                .map(entry -> Jwks.json(Jwks.builder()
+                        .key(entry.getValue())
+                        .id(entry.getKey())
+                        .algorithm(SigningAlgorithm.forKey(entry.getValue()).id())
+                        .publicKeyUse("sig")
+                        .build()))
+                .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+    }
+
     /**
      * Load private key from PEM file.
      */
@@ -188,12 +297,12 @@ public class JwtService {
         
         byte[] keyBytes = Base64.getDecoder().decode(keyContent);
         PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(keyBytes);
-        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        KeyFactory keyFactory = KeyFactory.getInstance(signingAlgorithm.keyAlgorithm());
         return keyFactory.generatePrivate(keySpec);
     }
 
     /**
-     * Load public key from PEM file.
+     * Load public key from PEM file, of any supported algorithm.
      */
     private PublicKey loadPublicKey(String path) throws IOException, NoSuchAlgorithmException, InvalidKeySpecException {
         Resource resource = resourceLoader.getResource(path);
@@ -207,7 +316,13 @@ public class JwtService {
         
         byte[] keyBytes = Base64.getDecoder().decode(keyContent);
         X509EncodedKeySpec keySpec = new X509EncodedKeySpec(keyBytes);
-        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-        return keyFactory.generatePublic(keySpec);
+        for (SigningAlgorithm algorithm : SigningAlgorithm.values()) {
+            try {
+                return KeyFactory.getInstance(algorithm.keyAlgorithm()).generatePublic(keySpec);
+            } catch (InvalidKeySpecException e) {
+                // Not a key of this algorithm, try the next one
+            }
+        }
+        throw new InvalidKeySpecException("Unsupported public key in " + path);
     }
 }
@@ -0,0 +1,178 @@
+package com.marketplace.auth.service;
+
+import com.marketplace.auth.config.LoginProtectionProperties;
+import com.marketplace.auth.exception.AccountLockedException;
+import com.marketplace.auth.exception.TooManyLoginAttemptsException;
+import com.marketplace.auth.metrics.LoginProtectionMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Brute-force protection for login, evaluated before any database access or BCrypt work.
+ * Failed attempts are counted per email and per client IP over a sliding window in a
+ * {@link LoginAttemptStore}; only the transition to a locked account is persisted by the caller.
+ */
+@Service
+public class LoginAttemptService {
+
+    private static final String EMAIL_SCOPE = "email:";
+    private static final String IP_SCOPE = "ip:";
+    private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private final LoginAttemptStore store;
+    private final LoginProtectionProperties properties;
+    private final LoginProtectionMetrics metrics;
+    private final List<AddressRange> trustedProxies;
+
+    public LoginAttemptService(
+            LoginAttemptStore store,
+            LoginProtectionProperties properties,
+            LoginProtectionMetrics metrics) {
+        this.store = store;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.trustedProxies = properties.trustedProxies().stream()
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .map(AddressRange::parse)
+                .toList();
+    }
+
+    /**
+     * Reject the attempt up front if the client IP or the email is over its failure limit.
+     *
+     * @throws TooManyLoginAttemptsException if the client IP is throttled
+     * @throws AccountLockedException if the email has too many recent failures
+     */
+    public void checkAllowed(String email, String clientIp) {
+        if (clientIp != null && store.failures(ipKey(clientIp)) >= properties.maxFailuresPerIp()) {
+            metrics.incrementBlockedByIp();
+            throw new TooManyLoginAttemptsException(properties.windowMinutes() * 60L);
+        }
+        if (store.failures(emailKey(email)) >= properties.maxFailuresPerEmail()) {
+            metrics.incrementBlockedByEmail();
+            throw new AccountLockedException();
+        }
+    }
+
+    /**
+     * Record a failed attempt for the email and the client IP.
+     *
+     * @return true if this failure brought the email to its limit, i.e. the account should now be locked
+     */
+    public boolean recordFailure(String email, String clientIp) {
+        metrics.incrementFailure();
+        if (clientIp != null) {
+            store.recordFailure(ipKey(clientIp));
+        }
+        double failures = store.recordFailure(emailKey(email));
+        return failures >= properties.maxFailuresPerEmail();
+    }
+
+    /**
+     * Record that the account was locked (the lock itself is persisted by the caller).
+     */
+    public void recordLockout() {
+        metrics.incrementLockout();
+    }
+
+    /**
+     * Clear the failure count of an email after a successful login.
+     */
+    public void recordSuccess(String email) {
+        store.reset(emailKey(email));
+    }
+
+    /**
+     * Resolve the client IP of a request. X-Forwarded-For is honoured when configured globally or
+     * when the request comes from a trusted internal proxy. A trusted proxy that forwards no client
+     * address yields null, so its logins are not throttled as if they all came from one client.
+     */
+    public String resolveClientIp(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        boolean trustedProxy = isTrustedProxy(remoteAddr);
+        if (properties.trustForwardedFor() || trustedProxy) {
+            String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma >= 0 ? forwardedFor.substring(0, comma) : forwardedFor).trim();
+            }
+        }
+        return trustedProxy ? null : remoteAddr;
+    }
+
+    @Scheduled(fixedDelayString = "${login-protection.maintenance-interval-ms:2000}")
+    public void maintain() {
+        store.maintain();
+    }
+
+    private static String emailKey(String email) {
+        return EMAIL_SCOPE + email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String clientIp) {
+        return IP_SCOPE + clientIp;
+    }
+
+    private boolean isTrustedProxy(String remoteAddr) {
+        if (trustedProxies.isEmpty() || remoteAddr == null) {
+            return false;
+        }
+        byte[] address;
+        try {
+            address = InetAddress.getByName(remoteAddr).getAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+        for (AddressRange range : trustedProxies) {
+            if (range.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * An IPv4 or IPv6 address range in CIDR notation; a bare address is a single-host range.
+     */
+    private record AddressRange(byte[] network, int prefixLength) {
+
+        static AddressRange parse(String cidr) {
+            int slash = cidr.indexOf('/');
+            String host = slash >= 0 ? cidr.substring(0, slash) : cidr;
+            try {
+                byte[] network = InetAddress.getByName(host).getAddress();
+                int prefixLength = slash >= 0 ? Integer.parseInt(cidr.substring(slash + 1)) : network.length * 8;
+                if (prefixLength < 0 || prefixLength > network.length * 8) {
+                    throw new IllegalArgumentException("Invalid prefix length in trusted proxy: " + cidr);
+                }
+                return new AddressRange(network, prefixLength);
+            } catch (UnknownHostException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid trusted proxy address: " + cidr, e);
+            }
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            if (!Arrays.equals(address, 0, fullBytes, network, 0, fullBytes)) {
+                return false;
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
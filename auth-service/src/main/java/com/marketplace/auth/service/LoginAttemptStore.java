@@ -0,0 +1,34 @@
+package com.marketplace.auth.service;
+
+/**
+ * Storage for failed login counts over a sliding window, keyed by scope and subject
+ * (e.g. {@code email:alice@example.com}, {@code ip:203.0.113.7}).
+ * The in-process {@link InMemoryLoginAttemptStore} is the default; {@link JdbcLoginAttemptStore}
+ * shares counts across replicas.
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * Record a failed attempt.
+     *
+     * @param key scoped key
+     * @return failures within the window, including this one
+     */
+    double recordFailure(String key);
+
+    /**
+     * @param key scoped key
+     * @return failures within the window
+     */
+    double failures(String key);
+
+    /**
+     * Forget all failures of a key (e.g. after a successful login).
+     */
+    void reset(String key);
+
+    /**
+     * Periodic housekeeping: drop expired windows and, for shared stores, synchronize counts.
+     */
+    void maintain();
+}
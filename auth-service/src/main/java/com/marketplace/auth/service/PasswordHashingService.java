@@ -0,0 +1,152 @@
+package com.marketplace.auth.service;
+
+import com.marketplace.auth.config.PasswordHashingProperties;
+import com.marketplace.auth.exception.PasswordHashingUnavailableException;
+import com.marketplace.auth.metrics.PasswordHashingMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated, bounded worker pool.
+ * At most {@code workerThreads} hashes run at once, so a login spike cannot take every CPU core
+ * from the rest of the service. When the queue is full, or a task is not finished within
+ * {@code maxWaitMillis}, the request is rejected with a Retry-After estimate instead of piling up.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingMetrics metrics;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            PasswordHashingProperties properties,
+            PasswordHashingMetrics metrics) {
+        this.passwordEncoder = passwordEncoder;
+        this.metrics = metrics;
+        this.maxWaitMillis = properties.maxWaitMillis();
+
+        int threads = properties.workerThreads() > 0
+                ? properties.workerThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        metrics.bindExecutor(executor);
+
+        log.info("Password hashing pool started: {} workers, queue capacity {}, max wait {} ms",
+                threads, properties.queueCapacity(), maxWaitMillis);
+    }
+
+    /**
+     * Hash a raw password.
+     *
+     * @param rawPassword the raw password
+     * @return BCrypt hash
+     * @throws PasswordHashingUnavailableException if the pool is saturated
+     */
+    public String encode(String rawPassword) {
+        return execute(() -> {
+            long started = System.nanoTime();
+            String hash = passwordEncoder.encode(rawPassword);
+            metrics.recordEncode(System.nanoTime() - started);
+            return hash;
+        });
+    }
+
+    /**
+     * Verify a raw password (or legacy token) against a BCrypt hash.
+     *
+     * @param rawPassword the raw value
+     * @param encodedPassword the stored hash
+     * @return true if the value matches
+     * @throws PasswordHashingUnavailableException if the pool is saturated
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(() -> {
+            long started = System.nanoTime();
+            boolean matches = passwordEncoder.matches(rawPassword, encodedPassword);
+            metrics.recordMatch(System.nanoTime() - started);
+            return matches;
+        });
+    }
+
+    private <T> T execute(Callable<T> hashing) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                metrics.recordWait(System.nanoTime() - enqueuedAt);
+                return hashing.call();
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue full ({} waiting), rejecting request", executor.getQueue().size());
+            throw reject();
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+
+        } catch (TimeoutException e) {
+            // Not started yet: drop it so the worker does not spend CPU on an abandoned request
+            future.cancel(false);
+            log.warn("Password hashing did not complete within {} ms, rejecting request", maxWaitMillis);
+            throw reject();
+
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw reject();
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private PasswordHashingUnavailableException reject() {
+        metrics.incrementRejected();
+        return new PasswordHashingUnavailableException(estimateRetryAfterSeconds());
+    }
+
+    /**
+     * Time for the current backlog to drain, rounded up to whole seconds (at least 1).
+     */
+    private long estimateRetryAfterSeconds() {
+        double backlog = executor.getQueue().size() + executor.getActiveCount();
+        double drainMillis = backlog * metrics.averageHashMillis() / executor.getMaximumPoolSize();
+        return Math.max(1L, (long) Math.ceil(drainMillis / 1000.0));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,182 @@
+package com.marketplace.auth.service;
+
+import com.marketplace.auth.client.UserServiceClient;
+import com.marketplace.auth.config.RoleSnapshotProperties;
+import com.marketplace.auth.domain.model.UserRoleSnapshot;
+import com.marketplace.auth.domain.repository.UserRoleSnapshotRepository;
+import com.marketplace.auth.metrics.RoleSnapshotMetrics;
+import com.marketplace.shared.dto.UserResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves user roles from a local snapshot instead of calling User Service on every login and refresh.
+ *
+ * <ul>
+ *   <li>Fresh snapshot: returned directly.</li>
+ *   <li>Stale snapshot (older than the TTL): returned, and refreshed from User Service in the background.</li>
+ *   <li>No snapshot: fetched synchronously from User Service and stored; the default role is used
+ *       (and not stored) if User Service is unavailable.</li>
+ * </ul>
+ * Snapshots are written on registration. User Service pushes the roles of users it creates and
+ * evicts the snapshots of users it deletes, after its transaction commits and on a best-effort basis.
+ *
+ * <p>Staleness: a role change that User Service reports reaches new tokens immediately. If the
+ * notification is lost, or roles are changed without one (e.g. directly in the User Service
+ * database), the old roles are served until the snapshot is older than {@code role-snapshot.ttl-minutes}
+ * and the background refresh has stored the new ones. Access tokens issued before that keep their
+ * roles until they expire, so the worst case is the snapshot TTL plus the access token lifetime
+ * ({@code jwt.access-token-expiration-minutes}), 60 + 15 minutes with the default settings.
+ */
+@Service
+public class RoleSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleSnapshotService.class);
+    private static final String DEFAULT_ROLE = "CUSTOMER";
+
+    private final UserRoleSnapshotRepository snapshotRepository;
+    private final UserServiceClient userServiceClient;
+    private final RoleSnapshotMetrics metrics;
+    private final Duration ttl;
+    private final ThreadPoolExecutor refreshExecutor;
+    private final Set<UUID> refreshesInFlight = ConcurrentHashMap.newKeySet();
+
+    public RoleSnapshotService(
+            UserRoleSnapshotRepository snapshotRepository,
+            UserServiceClient userServiceClient,
+            RoleSnapshotProperties properties,
+            RoleSnapshotMetrics metrics) {
+        this.snapshotRepository = snapshotRepository;
+        this.userServiceClient = userServiceClient;
+        this.metrics = metrics;
+        this.ttl = Duration.ofMinutes(properties.ttlMinutes());
+        this.refreshExecutor = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.refreshQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "role-snapshot-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+    }
+
+    /**
+     * Get the roles of a user, preferring the local snapshot.
+     *
+     * @param userId the user ID
+     * @return the user's roles, never empty
+     */
+    public List<String> getRoles(UUID userId) {
+        Optional<UserRoleSnapshot> snapshot = snapshotRepository.findById(userId);
+
+        if (snapshot.isPresent()) {
+            if (snapshot.get().isStale(ttl)) {
+                metrics.incrementStale();
+                scheduleRefresh(userId);
+            } else {
+                metrics.incrementHit();
+            }
+            return snapshot.get().getRoleList();
+        }
+
+        metrics.incrementMiss();
+        return refresh(userId).orElseGet(() -> {
+            log.warn("No role snapshot and User Service unavailable for user {}. Using default role.", userId);
+            return List.of(DEFAULT_ROLE);
+        });
+    }
+
+    /**
+     * Store the roles of a user (on registration, or when pushed by User Service).
+     */
+    public void record(UUID userId, List<String> roles) {
+        snapshotRepository.upsert(userId, UserRoleSnapshot.joinRoles(roles), LocalDateTime.now());
+        log.debug("Role snapshot stored for user {}: {}", userId, roles);
+    }
+
+    /**
+     * Drop the snapshot of a user so the next lookup reads roles from User Service.
+     */
+    public void evict(UUID userId) {
+        if (snapshotRepository.existsById(userId)) {
+            snapshotRepository.deleteById(userId);
+            log.info("Role snapshot evicted for user {}", userId);
+        }
+    }
+
+    /**
+     * Fetch roles from User Service and store them.
+     *
+     * @return the fetched roles, or empty if User Service is unavailable or returned none
+     */
+    public Optional<List<String>> refresh(UUID userId) {
+        try {
+            UserResponse user = userServiceClient.getUserById(userId);
+            if (user != null && user.roles() != null && !user.roles().isEmpty()) {
+                record(userId, user.roles());
+                metrics.incrementRefreshSuccess();
+                return Optional.of(user.roles());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to fetch roles from User Service for user {}: {}", userId, e.getMessage());
+        }
+        metrics.incrementRefreshFailure();
+        return Optional.empty();
+    }
+
+    /**
+     * Warm snapshots for users that have credentials but no snapshot yet.
+     *
+     * @param maxUsers maximum number of users to fetch
+     * @return number of snapshots created
+     */
+    public int warmUp(int maxUsers) {
+        List<UUID> userIds = snapshotRepository.findUserIdsWithoutSnapshot(maxUsers);
+        int warmed = 0;
+        for (UUID userId : userIds) {
+            if (refresh(userId).isPresent()) {
+                warmed++;
+            }
+        }
+        return warmed;
+    }
+
+    private void scheduleRefresh(UUID userId) {
+        if (!refreshesInFlight.add(userId)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh(userId);
+                } finally {
+                    refreshesInFlight.remove(userId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Queue full: keep serving the stale snapshot, a later lookup retries
+            refreshesInFlight.remove(userId);
+            log.debug("Role snapshot refresh queue full, skipping refresh for user {}", userId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdown();
+    }
+}
@@ -0,0 +1,154 @@
+package com.marketplace.auth.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Striped, lock-free sliding-window event counter.
+ *
+ * <p>Each key keeps the count of the current and previous fixed window; the sliding estimate weights
+ * the previous window by how much of it still overlaps the sliding window. Updates are CAS loops on
+ * an immutable per-key state, so concurrent failures against a hot key never block. Keys are spread
+ * over independent stripes that are swept for expired entries one at a time and capped in size, so
+ * a flood of distinct keys cannot grow memory without bound.
+ *
+ * <p>A full stripe evicts its least recently updated keys in a batch (1/16 of the stripe) to make
+ * room, so every key that fails is counted. A key that keeps failing is only evicted if a whole
+ * stripe's worth of new keys fails between two of its failures.
+ */
+final class SlidingWindowCounter {
+
+    private final long windowMillis;
+    private final int maxKeysPerStripe;
+    private final int evictionBatch;
+    private final Map<String, AtomicReference<Window>>[] stripes;
+    private int nextStripeToSweep;
+
+    @SuppressWarnings("unchecked")
+    SlidingWindowCounter(long windowMillis, int stripeCount, int maxKeysPerStripe) {
+        this.windowMillis = windowMillis;
+        this.maxKeysPerStripe = maxKeysPerStripe;
+        this.evictionBatch = Math.max(1, maxKeysPerStripe / 16);
+        this.stripes = new Map[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Count one event and return the sliding-window estimate including it.
+     */
+    double increment(String key, long nowMillis) {
+        Map<String, AtomicReference<Window>> stripe = stripe(key);
+        AtomicReference<Window> state = stripe.get(key);
+        if (state == null) {
+            if (stripe.size() >= maxKeysPerStripe) {
+                makeRoom(stripe, nowMillis);
+            }
+            state = stripe.computeIfAbsent(key, k -> new AtomicReference<>(new Window(windowStart(nowMillis), 0, 0, nowMillis)));
+        }
+
+        while (true) {
+            Window current = state.get();
+            Window rolled = current.rollTo(windowStart(nowMillis), windowMillis);
+            Window next = new Window(rolled.start(), rolled.count() + 1, rolled.previousCount(), nowMillis);
+            if (state.compareAndSet(current, next)) {
+                return next.estimate(nowMillis, windowMillis);
+            }
+        }
+    }
+
+    /**
+     * Sliding-window estimate for a key without counting an event.
+     */
+    double estimate(String key, long nowMillis) {
+        AtomicReference<Window> state = stripe(key).get(key);
+        if (state == null) {
+            return 0.0;
+        }
+        return state.get().rollTo(windowStart(nowMillis), windowMillis).estimate(nowMillis, windowMillis);
+    }
+
+    void reset(String key) {
+        stripe(key).remove(key);
+    }
+
+    /**
+     * Drop expired keys from the next stripe (round-robin), keeping each call cheap.
+     */
+    void sweepNextStripe(long nowMillis) {
+        int index = nextStripeToSweep;
+        nextStripeToSweep = (index + 1) % stripes.length;
+        sweep(stripes[index], nowMillis);
+    }
+
+    int size() {
+        int size = 0;
+        for (Map<String, AtomicReference<Window>> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Drop expired keys, or if none are, the least recently updated ones. Serialized per stripe so
+     * that concurrent inserts into a full stripe scan it once.
+     */
+    private void makeRoom(Map<String, AtomicReference<Window>> stripe, long nowMillis) {
+        synchronized (stripe) {
+            if (stripe.size() < maxKeysPerStripe) {
+                return;
+            }
+            sweep(stripe, nowMillis);
+            if (stripe.size() < maxKeysPerStripe) {
+                return;
+            }
+            long[] updatedAt = stripe.values().stream().mapToLong(state -> state.get().updatedAt()).toArray();
+            if (updatedAt.length == 0) {
+                return;
+            }
+            Arrays.sort(updatedAt);
+            long cutoff = updatedAt[Math.min(evictionBatch, updatedAt.length) - 1];
+            stripe.values().removeIf(state -> state.get().updatedAt() <= cutoff);
+        }
+    }
+
+    private void sweep(Map<String, AtomicReference<Window>> stripe, long nowMillis) {
+        long currentStart = windowStart(nowMillis);
+        stripe.entrySet().removeIf(entry -> entry.getValue().get().start() + windowMillis < currentStart);
+    }
+
+    private Map<String, AtomicReference<Window>> stripe(String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+
+    private long windowStart(long nowMillis) {
+        return nowMillis - Math.floorMod(nowMillis, windowMillis);
+    }
+
+    /**
+     * Counts of the fixed window starting at {@code start} and of the one before it, and when the
+     * key last counted an event.
+     */
+    private record Window(long start, long count, long previousCount, long updatedAt) {
+
+        Window rollTo(long currentStart, long windowMillis) {
+            if (start == currentStart) {
+                return this;
+            }
+            if (start + windowMillis == currentStart) {
+                return new Window(currentStart, 0, count, updatedAt);
+            }
+            return new Window(currentStart, 0, 0, updatedAt);
+        }
+
+        double estimate(long nowMillis, long windowMillis) {
+            double previousWeight = (double) (windowMillis - (nowMillis - start)) / windowMillis;
+            return count + previousCount * Math.max(0.0, previousWeight);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.marketplace.auth.service;
+
+import com.marketplace.auth.config.TokenHashingProperties;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Service for selector/verifier tokens and their keyed hashes.
+ * The selector is stored in clear and indexed so a token resolves to a single row;
+ * the verifier is stored only as an HMAC-SHA256 digest and compared in constant time.
+ */
+@Service
+public class TokenHashingService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int SELECTOR_BYTES = 16;
+    private static final int VERIFIER_BYTES = 32;
+    private static final char SEPARATOR = '.';
+
+    private final SecretKeySpec hashingKey;
+    private final SecureRandom secureRandom;
+    private final ThreadLocal<Mac> macHolder;
+    private final TokenHashingProperties properties;
+
+    public TokenHashingService(TokenHashingProperties properties) {
+        this.properties = properties;
+        this.hashingKey = new SecretKeySpec(
+                properties.secret().getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.secureRandom = new SecureRandom();
+        this.macHolder = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Generate a new selector/verifier pair.
+     *
+     * @return split token whose {@link SplitToken#value()} is handed to the client
+     */
+    public SplitToken generate() {
+        return new SplitToken(newSelector(), randomString(VERIFIER_BYTES));
+    }
+
+    /**
+     * Generate a random selector for tokens whose verifier is produced elsewhere
+     * (e.g. a signed refresh JWT carrying the selector as its {@code jti}).
+     *
+     * @return URL-safe random selector
+     */
+    public String newSelector() {
+        return randomString(SELECTOR_BYTES);
+    }
+
+    /**
+     * Split a client-supplied token into selector and verifier.
+     *
+     * @param token the raw token
+     * @return split token, or empty if the token is not in selector/verifier format
+     */
+    public Optional<SplitToken> parse(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int separatorIndex = token.indexOf(SEPARATOR);
+        if (separatorIndex <= 0 || separatorIndex == token.length() - 1
+                || token.indexOf(SEPARATOR, separatorIndex + 1) >= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new SplitToken(
+                token.substring(0, separatorIndex),
+                token.substring(separatorIndex + 1)));
+    }
+
+    /**
+     * Compute the keyed hash stored for a verifier.
+     *
+     * @param verifier the secret part of a token
+     * @return Base64url-encoded HMAC-SHA256 digest
+     */
+    public String hash(String verifier) {
+        byte[] digest = macHolder.get().doFinal(verifier.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    /**
+     * Check a verifier against a stored hash in constant time.
+     *
+     * @param verifier the secret part of a token
+     * @param storedHash the stored keyed hash
+     * @return true if the verifier matches
+     */
+    public boolean matches(String verifier, String storedHash) {
+        if (verifier == null || storedHash == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                hash(verifier).getBytes(StandardCharsets.US_ASCII),
+                storedHash.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Whether tokens issued before selectors existed may still be verified with BCrypt.
+     */
+    public boolean isLegacyFallbackEnabled() {
+        return properties.legacyFallbackEnabled();
+    }
+
+    private String randomString(int numBytes) {
+        byte[] bytes = new byte[numBytes];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hashingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize " + HMAC_ALGORITHM, e);
+        }
+    }
+
+    /**
+     * Token split into an indexed lookup selector and a secret verifier.
+     */
+    public record SplitToken(String selector, String verifier) {
+
+        public String value() {
+            return selector + SEPARATOR + verifier;
+        }
+    }
+}
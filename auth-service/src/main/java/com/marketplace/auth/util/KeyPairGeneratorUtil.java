@@ -1,35 +1,40 @@
 package com.marketplace.auth.util;
 
+import com.marketplace.auth.config.JwtProperties.SigningAlgorithm;
+
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.*;
+import java.security.spec.ECGenParameterSpec;
 import java.util.Base64;
 
 /**
- * Utility to generate RSA key pair for JWT signing and verification.
+ * Utility to generate a key pair for JWT signing and verification.
  * Run this once to generate keys before starting the application.
+ * The optional argument is the signing algorithm (RS256, ES256 or EDDSA; default RS256).
  * 
- * Usage: mvn compile exec:java -Dexec.mainClass="com.marketplace.auth.util.KeyPairGeneratorUtil"
+ * Usage: mvn compile exec:java -Dexec.mainClass="com.marketplace.auth.util.KeyPairGeneratorUtil" [-Dexec.args=ES256]
  */
 public class KeyPairGeneratorUtil {
 
-    private static final String ALGORITHM = "RSA";
-    private static final int KEY_SIZE = 2048;
+    private static final int RSA_KEY_SIZE = 2048;
+    private static final String EC_CURVE = "secp256r1";
     private static final String OUTPUT_DIR = "src/main/resources/keys";
     private static final String PRIVATE_KEY_FILE = "private_key.pem";
     private static final String PUBLIC_KEY_FILE = "public_key.pem";
 
     public static void main(String[] args) {
         try {
-            System.out.println("Generating RSA key pair...");
+            SigningAlgorithm algorithm = args.length > 0
+                    ? SigningAlgorithm.valueOf(args[0].toUpperCase())
+                    : SigningAlgorithm.RS256;
+            System.out.println("Generating " + algorithm.keyAlgorithm() + " key pair...");
             
             // Generate key pair
-            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(ALGORITHM);
-            keyPairGenerator.initialize(KEY_SIZE, new SecureRandom());
-            KeyPair keyPair = keyPairGenerator.generateKeyPair();
+            KeyPair keyPair = generateKeyPair(algorithm);
             
             // Create output directory if it doesn't exist
             Path outputDir = Paths.get(OUTPUT_DIR);
@@ -46,17 +51,38 @@ public class KeyPairGeneratorUtil {
             savePublicKey(keyPair.getPublic(), Paths.get(OUTPUT_DIR, PUBLIC_KEY_FILE));
             System.out.println("Public key saved to: " + OUTPUT_DIR + "/" + PUBLIC_KEY_FILE);
             
-            System.out.println("\nRSA key pair generated successfully!");
-            System.out.println("Key size: " + KEY_SIZE + " bits");
+            System.out.println("\n" + algorithm.keyAlgorithm() + " key pair generated successfully!");
+            System.out.println("Set jwt.signing-algorithm=" + algorithm + " to sign with it.");
             System.out.println("\nIMPORTANT: Keep the private key secure and never commit it to version control.");
             
-        } catch (NoSuchAlgorithmException | IOException e) {
+        } catch (GeneralSecurityException | IOException e) {
             System.err.println("Error generating key pair: " + e.getMessage());
             e.printStackTrace();
             System.exit(1);
         }
     }
 
+    /**
+     * Generate a key pair for the given signing algorithm.
+     */
+    public static KeyPair generateKeyPair(SigningAlgorithm algorithm) throws GeneralSecurityException {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(algorithm.keyAlgorithm());
+        switch (algorithm) {
+            case RS256 -> keyPairGenerator.initialize(RSA_KEY_SIZE, new SecureRandom());
+            case ES256 -> keyPairGenerator.initialize(new ECGenParameterSpec(EC_CURVE), new SecureRandom());
+            case EDDSA -> { }
+        }
+        return keyPairGenerator.generateKeyPair();
+    }
+
+    /**
+     * PEM encoding of a key (PKCS#8 for private keys, X.509 SubjectPublicKeyInfo for public keys).
+     */
+    public static String toPem(Key key) {
+        String type = key instanceof PrivateKey ? "PRIVATE KEY" : "PUBLIC KEY";
+        return formatPem(type, Base64.getEncoder().encodeToString(key.getEncoded()));
+    }
+
     private static void savePrivateKey(PrivateKey privateKey, Path filePath) throws IOException {
         String base64Encoded = Base64.getEncoder().encodeToString(privateKey.getEncoded());
         String pemFormat = formatPem("PRIVATE KEY", base64Encoded);
@@ -0,0 +1,6 @@
+-- The orphaned user cleanup pages through PENDING rows by id (keyset) with FOR UPDATE SKIP LOCKED
+DROP INDEX IF EXISTS idx_orphaned_users_status;
+CREATE INDEX idx_orphaned_users_pending ON orphaned_users(id) WHERE status = 'PENDING';
+
+-- Add comments
+COMMENT ON COLUMN orphaned_users.last_retry_at IS 'Start of the last deletion attempt; the row is leased to that attempt for a while';
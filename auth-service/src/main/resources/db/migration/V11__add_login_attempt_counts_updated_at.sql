@@ -0,0 +1,6 @@
+-- Lets each replica read only the counters changed since its last sync instead of re-aggregating the table
+ALTER TABLE login_attempt_counts ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT clock_timestamp();
+
+CREATE INDEX idx_login_attempt_counts_updated ON login_attempt_counts(updated_at);
+
+COMMENT ON COLUMN login_attempt_counts.updated_at IS 'When the bucket was last incremented or reset';
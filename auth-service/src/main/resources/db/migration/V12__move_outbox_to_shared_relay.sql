@@ -0,0 +1,65 @@
+-- Move the outbox to the shared schema of common/outbox (OutboxWriter / OutboxRelay), as in the
+-- other services: BIGSERIAL ids give the relay a commit-ordered claim, and outbox_sequences numbers
+-- the events of each aggregate. Pending events are carried over; published ones were only kept
+-- for troubleshooting and are dropped.
+ALTER TABLE outbox_events RENAME TO outbox_events_legacy;
+DROP INDEX idx_outbox_events_unpublished;
+DROP INDEX idx_outbox_events_published_at;
+
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_id UUID NOT NULL UNIQUE,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    sequence_number BIGINT NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    payload TEXT,
+    payload_bytes BYTEA,
+    headers JSONB,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP WITH TIME ZONE,
+    parked_at TIMESTAMP WITH TIME ZONE,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    CONSTRAINT chk_outbox_events_one_payload CHECK ((payload IS NULL) <> (payload_bytes IS NULL))
+);
+
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events(id) WHERE published_at IS NULL AND parked_at IS NULL;
+CREATE INDEX idx_outbox_events_unpublished_aggregate
+    ON outbox_events(aggregate_type, aggregate_id, id) WHERE published_at IS NULL AND parked_at IS NULL;
+CREATE INDEX idx_outbox_events_published_at ON outbox_events(published_at) WHERE published_at IS NOT NULL;
+CREATE INDEX idx_outbox_events_parked_at ON outbox_events(parked_at) WHERE parked_at IS NOT NULL;
+
+-- Per-aggregate sequence counters, incremented with INSERT ... ON CONFLICT in the business transaction
+CREATE TABLE outbox_sequences (
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    last_sequence BIGINT NOT NULL,
+    PRIMARY KEY (aggregate_type, aggregate_id)
+);
+
+-- Legacy rows were keyed by the aggregate ID, sent in creation order, and counted as one event each
+INSERT INTO outbox_events (event_id, aggregate_type, aggregate_id, sequence_number, event_type, topic,
+                           message_key, payload, headers, created_at, attempts, last_error)
+SELECT id, aggregate_type, aggregate_id,
+       ROW_NUMBER() OVER (PARTITION BY aggregate_type, aggregate_id ORDER BY created_at, id),
+       event_type, topic, aggregate_id::text, payload, '{}'::jsonb, created_at, attempts, last_error
+FROM outbox_events_legacy
+WHERE published_at IS NULL
+ORDER BY created_at, id;
+
+INSERT INTO outbox_sequences (aggregate_type, aggregate_id, last_sequence)
+SELECT aggregate_type, aggregate_id, COUNT(*)
+FROM outbox_events_legacy
+GROUP BY aggregate_type, aggregate_id;
+
+DROP TABLE outbox_events_legacy;
+
+COMMENT ON TABLE outbox_events IS 'Events pending or recently published to Kafka by the outbox relay';
+COMMENT ON COLUMN outbox_events.event_id IS 'Event ID, sent as the event-id header and used by consumers for deduplication';
+COMMENT ON COLUMN outbox_events.sequence_number IS 'Per-aggregate sequence number from outbox_sequences';
+COMMENT ON COLUMN outbox_events.published_at IS 'Set when Kafka acknowledged the event; NULL while pending';
+COMMENT ON COLUMN outbox_events.parked_at IS 'Set when the relay gave up on the event; clear it to retry';
+COMMENT ON TABLE outbox_sequences IS 'Last event sequence number allocated per aggregate';
@@ -0,0 +1,19 @@
+-- Add indexed selectors so refresh and reset tokens resolve with a single lookup
+-- instead of BCrypt-matching every row. Existing rows keep a NULL selector and
+-- their BCrypt hash; they are verified through a bounded legacy fallback until
+-- they expire or are rotated.
+ALTER TABLE refresh_tokens ADD COLUMN selector VARCHAR(64);
+ALTER TABLE password_reset_tokens ADD COLUMN selector VARCHAR(64);
+
+CREATE UNIQUE INDEX uk_refresh_tokens_selector ON refresh_tokens(selector);
+CREATE UNIQUE INDEX uk_password_reset_tokens_selector ON password_reset_tokens(selector);
+
+-- Legacy reset tokens are scanned only while still redeemable
+CREATE INDEX idx_password_reset_tokens_legacy ON password_reset_tokens(expires_at)
+    WHERE selector IS NULL AND used_at IS NULL;
+
+-- Add comments
+COMMENT ON COLUMN refresh_tokens.selector IS 'Indexed lookup id (JWT jti); NULL for tokens issued before V5';
+COMMENT ON COLUMN refresh_tokens.token_hash IS 'HMAC-SHA256 of the refresh token (BCrypt for rows with NULL selector)';
+COMMENT ON COLUMN password_reset_tokens.selector IS 'Indexed lookup id (token prefix); NULL for tokens issued before V5';
+COMMENT ON COLUMN password_reset_tokens.token_hash IS 'HMAC-SHA256 of the token verifier (BCrypt for rows with NULL selector)';
@@ -0,0 +1,12 @@
+-- Local snapshot of user roles so login and refresh do not call User Service on every request
+CREATE TABLE user_role_snapshots (
+    user_id UUID PRIMARY KEY,
+    roles VARCHAR(500) NOT NULL,
+    refreshed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Add comments
+COMMENT ON TABLE user_role_snapshots IS 'Cached copy of user roles owned by User Service';
+COMMENT ON COLUMN user_role_snapshots.user_id IS 'UUID of the user in User Service';
+COMMENT ON COLUMN user_role_snapshots.roles IS 'Comma-separated role names';
+COMMENT ON COLUMN user_role_snapshots.refreshed_at IS 'When the roles were last confirmed with User Service';
@@ -0,0 +1,17 @@
+-- Shared failed-login counters for brute-force protection across auth-service replicas.
+-- Only written when login-protection.shared-store.enabled is true, in batched upserts.
+-- UNLOGGED: counters are short-lived and may be lost on crash without affecting correctness.
+CREATE UNLOGGED TABLE login_attempt_counts (
+    attempt_key VARCHAR(320) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    failures INTEGER NOT NULL,
+    PRIMARY KEY (attempt_key, bucket_start)
+);
+
+CREATE INDEX idx_login_attempt_counts_bucket ON login_attempt_counts(bucket_start);
+
+-- Add comments
+COMMENT ON TABLE login_attempt_counts IS 'Failed login counts per key and time bucket, aggregated across replicas';
+COMMENT ON COLUMN login_attempt_counts.attempt_key IS 'Scoped key, e.g. email:<address> or ip:<address>';
+COMMENT ON COLUMN login_attempt_counts.bucket_start IS 'Start of the time bucket the failures were counted in';
+COMMENT ON COLUMN login_attempt_counts.failures IS 'Failed attempts in the bucket';
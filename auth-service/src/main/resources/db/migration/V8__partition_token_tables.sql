@@ -0,0 +1,101 @@
+-- Range-partition refresh_tokens and password_reset_tokens by expiry month, so that expired
+-- tokens are removed by dropping whole partitions instead of row-by-row deletes (no bloat,
+-- no long vacuum). Partitions are named <table>_pYYYY_MM; the token pruner creates the
+-- upcoming months ahead of time and drops months whose range has fully expired. Rows
+-- beyond the created months land in the DEFAULT partition and are pruned row-wise.
+--
+-- A partitioned table can only enforce uniqueness together with the partition key, so
+-- id is unique per (id, expires_at) and selector/token_hash lookups use plain indexes.
+-- Selectors are random 128-bit values; uniqueness was never relied on for correctness.
+--
+-- Tokens that expired before the current month are not carried over.
+
+-- Refresh tokens
+ALTER TABLE refresh_tokens RENAME TO refresh_tokens_unpartitioned;
+
+CREATE TABLE refresh_tokens (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL,
+    selector VARCHAR(64),
+    token_hash VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (id, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+-- Password reset tokens
+ALTER TABLE password_reset_tokens RENAME TO password_reset_tokens_unpartitioned;
+
+CREATE TABLE password_reset_tokens (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    email VARCHAR(255) NOT NULL,
+    selector VARCHAR(64),
+    token_hash VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    used_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (id, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+-- Current month plus the next two, and a DEFAULT partition for anything further out
+DO $$
+DECLARE
+    parent TEXT;
+    month_start DATE;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['refresh_tokens', 'password_reset_tokens'] LOOP
+        FOR month_start IN
+            SELECT generate_series(date_trunc('month', now()), date_trunc('month', now()) + INTERVAL '2 months', INTERVAL '1 month')::date
+        LOOP
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                    parent || '_p' || to_char(month_start, 'YYYY_MM'), parent,
+                    month_start, (month_start + INTERVAL '1 month')::date);
+        END LOOP;
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', parent || '_default', parent);
+    END LOOP;
+END $$;
+
+INSERT INTO refresh_tokens (id, user_id, selector, token_hash, expires_at, revoked_at, created_at)
+SELECT id, user_id, selector, token_hash, expires_at, revoked_at, created_at
+FROM refresh_tokens_unpartitioned
+WHERE expires_at >= date_trunc('month', now());
+
+INSERT INTO password_reset_tokens (id, email, selector, token_hash, expires_at, used_at, created_at)
+SELECT id, email, selector, token_hash, expires_at, used_at, created_at
+FROM password_reset_tokens_unpartitioned
+WHERE expires_at >= date_trunc('month', now());
+
+DROP TABLE refresh_tokens_unpartitioned;
+DROP TABLE password_reset_tokens_unpartitioned;
+
+-- Create indexes (partitioned: created on every partition, present and future)
+CREATE INDEX idx_refresh_tokens_selector ON refresh_tokens(selector);
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens(user_id);
+-- Keyset order of the straggler pruner
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at, id);
+
+CREATE INDEX idx_password_reset_tokens_selector ON password_reset_tokens(selector);
+CREATE INDEX idx_password_reset_tokens_email ON password_reset_tokens(email);
+CREATE INDEX idx_password_reset_tokens_expires_at ON password_reset_tokens(expires_at, id);
+CREATE INDEX idx_password_reset_tokens_legacy ON password_reset_tokens(expires_at)
+    WHERE selector IS NULL AND used_at IS NULL;
+
+-- Add comments
+COMMENT ON TABLE refresh_tokens IS 'Stores refresh tokens for JWT authentication, partitioned by expiry month';
+COMMENT ON COLUMN refresh_tokens.id IS 'Primary key (UUID, unique together with expires_at)';
+COMMENT ON COLUMN refresh_tokens.user_id IS 'Reference to user';
+COMMENT ON COLUMN refresh_tokens.selector IS 'Indexed lookup id (JWT jti); NULL for tokens issued before V5';
+COMMENT ON COLUMN refresh_tokens.token_hash IS 'HMAC-SHA256 of the refresh token (BCrypt for rows with NULL selector)';
+COMMENT ON COLUMN refresh_tokens.expires_at IS 'Token expiration timestamp (partition key)';
+COMMENT ON COLUMN refresh_tokens.revoked_at IS 'Timestamp when token was revoked (null if active)';
+
+COMMENT ON TABLE password_reset_tokens IS 'Stores password reset tokens for account recovery, partitioned by expiry month';
+COMMENT ON COLUMN password_reset_tokens.id IS 'Primary key (UUID, unique together with expires_at)';
+COMMENT ON COLUMN password_reset_tokens.email IS 'Email address requesting password reset';
+COMMENT ON COLUMN password_reset_tokens.selector IS 'Indexed lookup id (token prefix); NULL for tokens issued before V5';
+COMMENT ON COLUMN password_reset_tokens.token_hash IS 'HMAC-SHA256 of the token verifier (BCrypt for rows with NULL selector)';
+COMMENT ON COLUMN password_reset_tokens.expires_at IS 'Token expiration timestamp (partition key)';
+COMMENT ON COLUMN password_reset_tokens.used_at IS 'Timestamp when token was used (null if unused)';
@@ -0,0 +1,28 @@
+-- Transactional outbox: domain events written in the same transaction as the state change
+-- (e.g. UserRegistered with the new credentials) and published to Kafka by the outbox relay.
+CREATE TABLE outbox_events (
+    id UUID PRIMARY KEY,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    topic VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500)
+);
+
+-- The relay only ever scans unpublished events, oldest first
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events(created_at) WHERE published_at IS NULL;
+CREATE INDEX idx_outbox_events_published_at ON outbox_events(published_at) WHERE published_at IS NOT NULL;
+
+-- Add comments
+COMMENT ON TABLE outbox_events IS 'Domain events pending or recently published to Kafka (transactional outbox)';
+COMMENT ON COLUMN outbox_events.id IS 'Event ID, sent as the event-id header and used by consumers for deduplication';
+COMMENT ON COLUMN outbox_events.aggregate_id IS 'Aggregate the event belongs to; used as the Kafka record key';
+COMMENT ON COLUMN outbox_events.event_type IS 'Event type, sent as the event-type header (e.g. UserRegistered)';
+COMMENT ON COLUMN outbox_events.payload IS 'JSON event body';
+COMMENT ON COLUMN outbox_events.published_at IS 'Timestamp when Kafka acknowledged the event (null if pending)';
+COMMENT ON COLUMN outbox_events.attempts IS 'Failed publish attempts';
+COMMENT ON COLUMN outbox_events.last_error IS 'Error of the last failed publish attempt';
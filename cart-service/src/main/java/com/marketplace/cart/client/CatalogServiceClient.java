@@ -4,6 +4,8 @@ import com.marketplace.cart.config.CatalogServiceProperties;
 import com.marketplace.cart.exception.CatalogServiceException;
 import com.marketplace.cart.exception.ProductNotActiveException;
 import com.marketplace.cart.exception.ProductNotFoundException;
+import com.marketplace.shared.dto.catalog.BatchProductRequest;
+import com.marketplace.shared.dto.catalog.BatchProductResponse;
 import com.marketplace.shared.dto.catalog.ProductResponse;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.slf4j.Logger;
@@ -12,6 +14,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -22,6 +28,7 @@ public class CatalogServiceClient {
 
     private static final Logger log = LoggerFactory.getLogger(CatalogServiceClient.class);
     private static final String ACTIVE_STATUS = "ACTIVE";
+    private static final int MAX_BATCH_SIZE = 500;
 
     private final RestTemplate restTemplate;
     private final CatalogServiceProperties properties;
@@ -68,6 +75,41 @@ public class CatalogServiceClient {
         }
     }
 
+    /**
+     * Get several products with one batch call per 500 IDs.
+     * Unlike {@link #getProductById(UUID)}, inactive products are returned as well;
+     * IDs that match no product are absent from the result.
+     *
+     * @return products by ID, in the order of the given IDs
+     */
+    @CircuitBreaker(name = "catalogService", fallbackMethod = "getProductsFallback")
+    public Map<UUID, ProductResponse> getProductsByIds(Collection<UUID> productIds) {
+        Map<UUID, ProductResponse> products = new LinkedHashMap<>();
+        List<UUID> ids = List.copyOf(productIds);
+        String url = properties.baseUrl() + "/api/v1/products/batch";
+
+        for (int from = 0; from < ids.size(); from += MAX_BATCH_SIZE) {
+            List<UUID> batch = ids.subList(from, Math.min(from + MAX_BATCH_SIZE, ids.size()));
+            BatchProductResponse response;
+            try {
+                log.debug("Fetching {} products from catalog: {}", batch.size(), url);
+                response = restTemplate.postForObject(url, new BatchProductRequest(batch), BatchProductResponse.class);
+            } catch (Exception e) {
+                log.error("Error fetching {} products from catalog", batch.size(), e);
+                throw new CatalogServiceException("Catalog service unavailable", e);
+            }
+
+            if (response == null) {
+                throw new CatalogServiceException("Empty batch response from catalog");
+            }
+            response.products().forEach(product -> products.put(product.id(), product));
+            if (!response.notFound().isEmpty()) {
+                log.debug("Products not found in catalog: {}", response.notFound());
+            }
+        }
+        return products;
+    }
+
     /**
      * Fallback method for circuit breaker.
      */
@@ -76,4 +118,10 @@ public class CatalogServiceClient {
         log.error("Circuit breaker activated for product {}", productId, e);
         throw new CatalogServiceException("Catalog service is temporarily unavailable", e);
     }
+
+    @SuppressWarnings("unused")
+    private Map<UUID, ProductResponse> getProductsFallback(Collection<UUID> productIds, Exception e) {
+        log.error("Circuit breaker activated for {} products", productIds.size(), e);
+        throw new CatalogServiceException("Catalog service is temporarily unavailable", e);
+    }
 }
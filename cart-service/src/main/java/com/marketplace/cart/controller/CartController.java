@@ -160,11 +160,13 @@ public class CartController {
      */
     @PostMapping("/{userId}/checkout")
     @Operation(summary = "Checkout cart",
-               description = "Mark cart as checked out and create new active cart")
+               description = "Check that all products are still available, mark cart as checked out and create new active cart")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Cart checked out successfully"),
             @ApiResponse(responseCode = "400", description = "Cannot checkout empty cart"),
-            @ApiResponse(responseCode = "404", description = "Cart not found")
+            @ApiResponse(responseCode = "404", description = "Cart not found"),
+            @ApiResponse(responseCode = "422", description = "A product in the cart is no longer available"),
+            @ApiResponse(responseCode = "503", description = "Catalog service unavailable")
     })
     public ResponseEntity<CheckoutResponse> checkout(
             @Parameter(description = "User ID", required = true)
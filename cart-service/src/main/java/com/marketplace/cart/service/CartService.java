@@ -8,6 +8,7 @@ import com.marketplace.cart.domain.repository.CartItemRepository;
 import com.marketplace.cart.domain.repository.CartRepository;
 import com.marketplace.cart.dto.*;
 import com.marketplace.cart.exception.InvalidQuantityException;
+import com.marketplace.cart.exception.ProductNotActiveException;
 import com.marketplace.cart.exception.ResourceNotFoundException;
 import com.marketplace.shared.dto.catalog.ProductResponse;
 import org.slf4j.Logger;
@@ -17,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,6 +29,7 @@ import java.util.stream.Collectors;
 public class CartService {
 
     private static final Logger log = LoggerFactory.getLogger(CartService.class);
+    private static final String ACTIVE_STATUS = "ACTIVE";
 
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
@@ -205,6 +208,7 @@ public class CartService {
         if (cart.getItems().isEmpty()) {
             throw new InvalidQuantityException("Cannot checkout empty cart");
         }
+        validateItemsAvailable(cart);
 
         // Mark cart as CHECKED_OUT
         cart.checkout();
@@ -222,6 +226,26 @@ public class CartService {
         );
     }
 
+    /**
+     * Check that every product in the cart still exists and is ACTIVE, with one batch call to
+     * Catalog Service for the whole cart.
+     */
+    private void validateItemsAvailable(Cart cart) {
+        List<UUID> productIds = cart.getItems().stream()
+                .map(CartItem::getProductId)
+                .distinct()
+                .toList();
+        Map<UUID, ProductResponse> products = catalogServiceClient.getProductsByIds(productIds);
+
+        List<UUID> unavailable = productIds.stream()
+                .filter(id -> products.get(id) == null || !ACTIVE_STATUS.equalsIgnoreCase(products.get(id).status()))
+                .toList();
+        if (!unavailable.isEmpty()) {
+            log.warn("Checkout of cart {} rejected, products no longer available: {}", cart.getCartId(), unavailable);
+            throw new ProductNotActiveException("Products are no longer available for purchase: " + unavailable);
+        }
+    }
+
     /**
      * Convert Cart entity to CartResponse DTO.
      */
@@ -0,0 +1,62 @@
+package com.marketplace.catalog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.shared.dto.event.ProductEventCodec;
+import com.marketplace.shared.outbox.OutboxMetrics;
+import com.marketplace.shared.outbox.OutboxRelay;
+import com.marketplace.shared.outbox.OutboxRelaySettings;
+import com.marketplace.shared.outbox.OutboxWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * Transactional outbox for product events: {@link OutboxWriter} records events in the product
+ * transaction and {@link OutboxRelay} publishes them to Kafka in compressed batches.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public OutboxWriter outboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        return new OutboxWriter(jdbcTemplate, objectMapper);
+    }
+
+    /**
+     * Product event encoding, shared by the publisher and the cache invalidation consumer.
+     */
+    @Bean
+    public ProductEventCodec productEventCodec() {
+        return new ProductEventCodec();
+    }
+
+    @Bean
+    public OutboxMetrics outboxMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OutboxMetrics(meterRegistry.getIfAvailable(SimpleMeterRegistry::new), "catalog-service");
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper,
+                                   OutboxMetrics outboxMetrics,
+                                   OutboxProperties properties) {
+        OutboxRelaySettings settings = new OutboxRelaySettings(
+                properties.bootstrapServers(),
+                Duration.ofMillis(properties.pollIntervalMs()),
+                properties.batchSize(),
+                Duration.ofMillis(properties.sendTimeoutMs()),
+                properties.compressionType(),
+                Duration.ofMillis(properties.lingerMs()),
+                properties.batchSizeBytes(),
+                Duration.ofHours(properties.publishedRetentionHours()),
+                properties.maxAttempts());
+        return new OutboxRelay(jdbcTemplate, transactionManager, objectMapper, settings, outboxMetrics);
+    }
+}
@@ -0,0 +1,49 @@
+package com.marketplace.catalog.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the transactional outbox and its Kafka relay.
+ * Binds to 'outbox' prefix in application.yml
+ */
+@ConfigurationProperties(prefix = "outbox")
+@Validated
+public record OutboxProperties(
+        @NotBlank(message = "Kafka bootstrap servers are required")
+        String bootstrapServers,
+
+        @NotBlank(message = "Product events topic is required")
+        String topic,
+
+        @Pattern(regexp = "json|avro", message = "Product event encoding must be json or avro")
+        String productEventEncoding,
+
+        @Min(value = 10, message = "Poll interval must be at least 10ms")
+        long pollIntervalMs,
+
+        @Min(value = 1, message = "Batch size must be at least 1")
+        int batchSize,
+
+        @Min(value = 100, message = "Send timeout must be at least 100ms")
+        long sendTimeoutMs,
+
+        @NotBlank(message = "Compression type is required")
+        String compressionType,
+
+        @Min(value = 0, message = "Linger cannot be negative")
+        long lingerMs,
+
+        @Min(value = 1024, message = "Producer batch size must be at least 1024 bytes")
+        int batchSizeBytes,
+
+        @Min(value = 0, message = "Published event retention cannot be negative")
+        int publishedRetentionHours,
+
+        @Min(value = 1, message = "Max attempts must be at least 1")
+        int maxAttempts
+) {
+}
@@ -108,6 +108,38 @@ public class CategoryController {
         return ResponseEntity.ok(categoryService.getSubcategories(parentCategoryId));
     }
     
+    @GetMapping("/{id}/subtree")
+    @Operation(
+            summary = "Get category subtree",
+            description = "Retrieves a category followed by all its descendants, each parent before its children. Public endpoint."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Subtree retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Category not found", content = @Content)
+    })
+    @SecurityRequirement(name = "basicAuth")
+    public ResponseEntity<List<CategoryResponse>> getSubtree(
+            @Parameter(description = "Category ID", required = true, example = "1")
+            @PathVariable Long id) {
+        return ResponseEntity.ok(categoryService.getSubtree(id));
+    }
+    
+    @GetMapping("/{id}/path")
+    @Operation(
+            summary = "Get category path",
+            description = "Retrieves the ancestors of a category from its top-level category down to the category itself, e.g. for breadcrumbs. Public endpoint."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Path retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Category not found", content = @Content)
+    })
+    @SecurityRequirement(name = "basicAuth")
+    public ResponseEntity<List<CategoryResponse>> getPath(
+            @Parameter(description = "Category ID", required = true, example = "1")
+            @PathVariable Long id) {
+        return ResponseEntity.ok(categoryService.getPath(id));
+    }
+    
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(
@@ -3,7 +3,10 @@ package com.marketplace.catalog.controller;
 import com.marketplace.catalog.domain.enums.ProductStatus;
 import com.marketplace.catalog.security.UserPrincipal;
 import com.marketplace.catalog.service.ProductService;
+import com.marketplace.shared.dto.catalog.BatchProductRequest;
+import com.marketplace.shared.dto.catalog.BatchProductResponse;
 import com.marketplace.shared.dto.catalog.CreateProductRequest;
+import com.marketplace.shared.dto.catalog.ProductPageResponse;
 import com.marketplace.shared.dto.catalog.ProductResponse;
 import com.marketplace.shared.dto.catalog.UpdateProductRequest;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,18 +18,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -88,79 +88,110 @@ public class ProductController {
         return ResponseEntity.ok(product);
     }
     
-    @Operation(summary = "Get product by ID", description = "Retrieves a single product by its unique identifier")
+    @Operation(summary = "Get product by ID", description = "Retrieves a single product by its unique identifier. " +
+            "Responses carry an ETag; send it back in If-None-Match to get 304 Not Modified while the product is unchanged.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product found"),
+            @ApiResponse(responseCode = "304", description = "Product unchanged since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Product not found")
     })
     @SecurityRequirement(name = "basicAuth")
     @GetMapping("/{productId}")
     public ResponseEntity<ProductResponse> getProduct(
             @Parameter(description = "Product ID", example = "550e8400-e29b-41d4-a716-446655440000")
-            @PathVariable UUID productId) {
-        return ResponseEntity.ok(productService.getProduct(productId));
+            @PathVariable UUID productId,
+            WebRequest webRequest) {
+        ProductResponse product = productService.getProduct(productId);
+        String etag = etag(product);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(product);
+    }
+    
+    @Operation(summary = "Get products by IDs", description = "Retrieves up to 500 products in one call, in request order. " +
+            "IDs that match no product are listed in notFound.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "No IDs or more than 500 IDs given")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchProductResponse> getProductsByIds(@Valid @RequestBody BatchProductRequest request) {
+        return ResponseEntity.ok(productService.getProductsByIds(request.productIds()));
     }
     
-    @Operation(summary = "List products", description = "Retrieves a paginated list of products with optional filters for category, seller, and status")
+    @Operation(summary = "List products", description = "Retrieves a cursor-paginated list of products with optional filters for category, seller, and status. " +
+            "Pass nextCursor from a response as cursor to fetch the next page.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Products retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor or unsupported sort property")
     })
     @SecurityRequirement(name = "basicAuth")
     @GetMapping
-    public ResponseEntity<Page<ProductResponse>> listProducts(
+    public ResponseEntity<ProductPageResponse> listProducts(
             @Parameter(description = "Filter by category ID", example = "1")
             @RequestParam(required = false) Long categoryId,
             @Parameter(description = "Filter by seller ID", example = "650e8400-e29b-41d4-a716-446655440000")
             @RequestParam(required = false) UUID sellerId,
             @Parameter(description = "Filter by product status", example = "ACTIVE")
             @RequestParam(required = false) ProductStatus status,
-            @Parameter(description = "Page number (0-indexed)", example = "0")
-            @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Page size", example = "20")
+            @Parameter(description = "Cursor from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)", example = "20")
             @RequestParam(defaultValue = "20") int size,
-            @Parameter(description = "Sort criteria (field,direction)", example = "createdAt,desc")
-            @RequestParam(defaultValue = "createdAt,desc") String[] sort) {
+            @Parameter(description = "Sort criteria (field,direction); field is one of createdAt, updatedAt, basePrice, name", example = "createdAt,desc")
+            @RequestParam(defaultValue = "createdAt,desc") String sort,
+            @Parameter(description = "Count all matching products on the first page; set to false to skip the count")
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by(parseSortOrders(sort)));
-        return ResponseEntity.ok(productService.listProducts(categoryId, sellerId, status, pageable));
+        return ResponseEntity.ok(productService.listProducts(categoryId, sellerId, status,
+            parseSortOrder(sort), cursor, size, includeTotal));
     }
     
-    @Operation(summary = "Get my products", description = "Retrieves all products owned by the authenticated seller")
+    @Operation(summary = "Get my products", description = "Retrieves a cursor-paginated list of the products owned by the authenticated seller")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor or unsupported sort property"),
             @ApiResponse(responseCode = "401", description = "Authentication required"),
             @ApiResponse(responseCode = "403", description = "Requires SELLER role")
     })
     @SecurityRequirement(name = "basicAuth")
     @GetMapping("/seller/my-products")
     @PreAuthorize("hasRole('SELLER')")
-    public ResponseEntity<Page<ProductResponse>> getMyProducts(
+    public ResponseEntity<ProductPageResponse> getMyProducts(
             @AuthenticationPrincipal UserPrincipal principal,
-            @Parameter(description = "Page number (0-indexed)", example = "0")
-            @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Page size", example = "20")
+            @Parameter(description = "Cursor from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)", example = "20")
             @RequestParam(defaultValue = "20") int size,
-            @Parameter(description = "Sort criteria (field,direction)", example = "createdAt,desc")
-            @RequestParam(defaultValue = "createdAt,desc") String[] sort) {
+            @Parameter(description = "Sort criteria (field,direction); field is one of createdAt, updatedAt, basePrice, name", example = "createdAt,desc")
+            @RequestParam(defaultValue = "createdAt,desc") String sort,
+            @Parameter(description = "Count all matching products on the first page; set to false to skip the count")
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by(parseSortOrders(sort)));
-        return ResponseEntity.ok(productService.getProductsBySeller(principal.getUserId(), pageable));
+        return ResponseEntity.ok(productService.getProductsBySeller(principal.getUserId(),
+            parseSortOrder(sort), cursor, size, includeTotal));
     }
     
-    @Operation(summary = "Get featured products", description = "Retrieves a paginated list of featured products")
+    @Operation(summary = "Get featured products", description = "Retrieves a cursor-paginated list of featured products, newest first")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Featured products retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Featured products retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor")
     })
     @SecurityRequirement(name = "basicAuth")
     @GetMapping("/featured")
-    public ResponseEntity<Page<ProductResponse>> getFeaturedProducts(
-            @Parameter(description = "Page number (0-indexed)", example = "0")
-            @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Page size", example = "20")
-            @RequestParam(defaultValue = "20") int size) {
+    public ResponseEntity<ProductPageResponse> getFeaturedProducts(
+            @Parameter(description = "Cursor from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Count all featured products on the first page; set to false to skip the count")
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
         
-        Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(productService.getFeaturedProducts(pageable));
+        return ResponseEntity.ok(productService.getFeaturedProducts(cursor, size, includeTotal));
     }
     
     @Operation(summary = "Delete product", description = "Deletes a product. Only the product owner or ADMIN can delete.")
@@ -183,16 +214,22 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
     
-    private List<Sort.Order> parseSortOrders(String[] sort) {
-        List<Sort.Order> orders = new ArrayList<>();
-        for (String sortStr : sort) {
-            String[] parts = sortStr.split(",");
-            String property = parts[0];
-            Sort.Direction direction = parts.length > 1 && parts[1].equalsIgnoreCase("asc") 
-                ? Sort.Direction.ASC 
-                : Sort.Direction.DESC;
-            orders.add(new Sort.Order(direction, property));
-        }
-        return orders;
+    /**
+     * Every product write bumps updatedAt, so the ID and updatedAt identify a representation.
+     */
+    private static String etag(ProductResponse product) {
+        long version = product.updatedAt() != null ? product.updatedAt().toInstant().toEpochMilli() : 0L;
+        return "\"" + product.id() + "-" + version + "\"";
+    }
+    
+    /**
+     * Keyset pagination orders by a single column (plus the product ID as tie-breaker).
+     */
+    private Sort.Order parseSortOrder(String sort) {
+        String[] parts = sort.split(",");
+        Sort.Direction direction = parts.length > 1 && parts[1].equalsIgnoreCase("asc")
+            ? Sort.Direction.ASC
+            : Sort.Direction.DESC;
+        return new Sort.Order(direction, parts[0].trim());
     }
 }
@@ -0,0 +1,89 @@
+package com.marketplace.catalog.controller;
+
+import com.marketplace.catalog.domain.enums.ProductImportFormat;
+import com.marketplace.catalog.security.UserPrincipal;
+import com.marketplace.catalog.service.ProductImportService;
+import com.marketplace.shared.dto.catalog.ProductImportResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/products/imports")
+@Tag(name = "Product Imports", description = "Bulk product imports from NDJSON or CSV uploads, processed as asynchronous jobs")
+public class ProductImportController {
+    
+    private static final String NDJSON = "application/x-ndjson";
+    
+    private final ProductImportService productImportService;
+    
+    public ProductImportController(ProductImportService productImportService) {
+        this.productImportService = productImportService;
+    }
+    
+    @Operation(summary = "Start product import", description = "Uploads products as NDJSON (one CreateProductRequest per line) or CSV " +
+            "(header row; list columns separated by '|', stock as variant=quantity) and starts an import job. " +
+            "SELLER role imports for themselves, ADMIN can specify any seller ID. Poll the returned Location for progress.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import job queued"),
+            @ApiResponse(responseCode = "400", description = "Upload too large"),
+            @ApiResponse(responseCode = "401", description = "Authentication required"),
+            @ApiResponse(responseCode = "403", description = "Requires SELLER or ADMIN role"),
+            @ApiResponse(responseCode = "415", description = "Content type is neither application/x-ndjson nor text/csv")
+    })
+    @SecurityRequirement(name = "basicAuth")
+    @PostMapping(consumes = {NDJSON, "text/csv"})
+    @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
+    public ResponseEntity<ProductImportResponse> startImport(
+            @Parameter(description = "Seller to import for (ADMIN only)") @RequestParam(required = false) UUID sellerId,
+            @AuthenticationPrincipal UserPrincipal principal,
+            HttpServletRequest request) throws IOException {
+        
+        // Seller can only import products for themselves
+        UUID effectiveSellerId = principal.hasRole("ADMIN") && sellerId != null
+            ? sellerId
+            : principal.getUserId();
+        
+        ProductImportFormat format = MediaType.parseMediaType(request.getContentType())
+            .isCompatibleWith(MediaType.parseMediaType(NDJSON)) ? ProductImportFormat.NDJSON : ProductImportFormat.CSV;
+        
+        ProductImportResponse job = productImportService.submit(request.getInputStream(), format, effectiveSellerId);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+            .path("/{jobId}")
+            .buildAndExpand(job.jobId())
+            .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+    
+    @Operation(summary = "Get product import", description = "Returns the status and progress of an import job with the rejected rows. " +
+            "Only the importing seller or ADMIN can view a job.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import job found"),
+            @ApiResponse(responseCode = "401", description = "Authentication required"),
+            @ApiResponse(responseCode = "403", description = "Not authorized to view this import"),
+            @ApiResponse(responseCode = "404", description = "Import job not found")
+    })
+    @SecurityRequirement(name = "basicAuth")
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
+    public ResponseEntity<ProductImportResponse> getImport(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        return ResponseEntity.ok(productImportService.getJob(jobId, principal.getUserId(), principal.hasRole("ADMIN")));
+    }
+}
@@ -0,0 +1,8 @@
+package com.marketplace.catalog.domain.enums;
+
+public enum ProductImportFormat {
+    /** One CreateProductRequest JSON object per line */
+    NDJSON,
+    /** Header row plus one product per record; list columns are separated by '|' */
+    CSV
+}
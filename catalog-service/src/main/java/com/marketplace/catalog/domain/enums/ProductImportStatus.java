@@ -0,0 +1,10 @@
+package com.marketplace.catalog.domain.enums;
+
+public enum ProductImportStatus {
+    QUEUED,
+    RUNNING,
+    /** All rows were read; some may have been rejected */
+    COMPLETED,
+    /** Stopped early (unreadable upload, row limit); rows of committed batches stay imported */
+    FAILED
+}
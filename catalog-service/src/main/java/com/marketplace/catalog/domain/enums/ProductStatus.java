@@ -4,5 +4,9 @@ public enum ProductStatus {
     ACTIVE,
     INACTIVE,
     OUT_OF_STOCK,
-    DISCONTINUED
+    DISCONTINUED,
+    /** Created in async image validation mode; image URLs not checked yet */
+    PENDING_VALIDATION,
+    /** Async image validation found definitively invalid image URLs (4xx, not an image); new image URLs revalidate */
+    IMAGES_REJECTED
 }
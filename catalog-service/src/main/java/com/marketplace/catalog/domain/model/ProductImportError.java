@@ -0,0 +1,67 @@
+package com.marketplace.catalog.domain.model;
+
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+/**
+ * A row of a {@link ProductImportJob} that was rejected.
+ */
+@Entity
+@Table(name = "product_import_errors")
+public class ProductImportError {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "job_id", nullable = false)
+    private UUID jobId;
+    
+    @Column(name = "row_number", nullable = false)
+    private long rowNumber;
+    
+    @Column(nullable = false, length = 1000)
+    private String message;
+    
+    public ProductImportError() {
+    }
+    
+    public ProductImportError(UUID jobId, long rowNumber, String message) {
+        this.jobId = jobId;
+        this.rowNumber = rowNumber;
+        this.message = message;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public UUID getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(UUID jobId) {
+        this.jobId = jobId;
+    }
+    
+    public long getRowNumber() {
+        return rowNumber;
+    }
+    
+    public void setRowNumber(long rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,160 @@
+package com.marketplace.catalog.domain.model;
+
+import com.marketplace.catalog.domain.enums.ProductImportFormat;
+import com.marketplace.catalog.domain.enums.ProductImportStatus;
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * An asynchronous bulk product import. Progress counters are advanced with each committed batch.
+ */
+@Entity
+@Table(name = "product_import_jobs")
+public class ProductImportJob {
+    
+    @Id
+    private UUID id;
+    
+    @Column(name = "seller_id", nullable = false)
+    private UUID sellerId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10, nullable = false)
+    private ProductImportFormat format;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private ProductImportStatus status;
+    
+    @Column(name = "processed_rows", nullable = false)
+    private long processedRows;
+    
+    @Column(name = "imported_rows", nullable = false)
+    private long importedRows;
+    
+    @Column(name = "failed_rows", nullable = false)
+    private long failedRows;
+    
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+    
+    @Column(name = "started_at")
+    private OffsetDateTime startedAt;
+    
+    @Column(name = "finished_at")
+    private OffsetDateTime finishedAt;
+    
+    @Column(name = "heartbeat_at", nullable = false)
+    private OffsetDateTime heartbeatAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = OffsetDateTime.now(ZoneOffset.UTC);
+        heartbeatAt = createdAt;
+    }
+    
+    public ProductImportJob() {
+    }
+    
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public UUID getSellerId() {
+        return sellerId;
+    }
+    
+    public void setSellerId(UUID sellerId) {
+        this.sellerId = sellerId;
+    }
+    
+    public ProductImportFormat getFormat() {
+        return format;
+    }
+    
+    public void setFormat(ProductImportFormat format) {
+        this.format = format;
+    }
+    
+    public ProductImportStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(ProductImportStatus status) {
+        this.status = status;
+    }
+    
+    public long getProcessedRows() {
+        return processedRows;
+    }
+    
+    public void setProcessedRows(long processedRows) {
+        this.processedRows = processedRows;
+    }
+    
+    public long getImportedRows() {
+        return importedRows;
+    }
+    
+    public void setImportedRows(long importedRows) {
+        this.importedRows = importedRows;
+    }
+    
+    public long getFailedRows() {
+        return failedRows;
+    }
+    
+    public void setFailedRows(long failedRows) {
+        this.failedRows = failedRows;
+    }
+    
+    public String getFailureReason() {
+        return failureReason;
+    }
+    
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+    
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public OffsetDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(OffsetDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public OffsetDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(OffsetDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+    
+    public OffsetDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+    
+    public void setHeartbeatAt(OffsetDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+}
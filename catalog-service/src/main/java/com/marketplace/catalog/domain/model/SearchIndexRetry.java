@@ -0,0 +1,86 @@
+package com.marketplace.catalog.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A product whose search index update could not be delivered (queue overflow or failed bulk
+ * request). The current product state is re-indexed from the database when the retry runs.
+ * After {@code search-index.retry-max-attempts} failed attempts the row is marked failed.
+ */
+@Entity
+@Table(name = "search_index_retries")
+public class SearchIndexRetry {
+    
+    @Id
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+    
+    @Column(name = "enqueued_at", nullable = false)
+    private OffsetDateTime enqueuedAt;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+    
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    
+    @Column(name = "failed_at")
+    private OffsetDateTime failedAt;
+    
+    public SearchIndexRetry() {
+    }
+    
+    public UUID getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(UUID productId) {
+        this.productId = productId;
+    }
+    
+    public OffsetDateTime getEnqueuedAt() {
+        return enqueuedAt;
+    }
+    
+    public void setEnqueuedAt(OffsetDateTime enqueuedAt) {
+        this.enqueuedAt = enqueuedAt;
+    }
+    
+    public OffsetDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    
+    public void setNextAttemptAt(OffsetDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public OffsetDateTime getFailedAt() {
+        return failedAt;
+    }
+    
+    public void setFailedAt(OffsetDateTime failedAt) {
+        this.failedAt = failedAt;
+    }
+}
@@ -0,0 +1,17 @@
+package com.marketplace.catalog.domain.repository;
+
+import com.marketplace.catalog.domain.model.Product;
+
+import java.util.List;
+
+/**
+ * Inserts many new products with one JDBC batch, bypassing the persistence context.
+ */
+public interface ProductBatchInsertRepository {
+    
+    /**
+     * Insert products that already carry their ID, category and timestamps.
+     * The products are not managed afterwards.
+     */
+    void insertAll(List<Product> products);
+}
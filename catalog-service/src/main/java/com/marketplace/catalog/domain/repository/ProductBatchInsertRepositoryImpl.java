@@ -0,0 +1,70 @@
+package com.marketplace.catalog.domain.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.catalog.domain.model.Product;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+class ProductBatchInsertRepositoryImpl implements ProductBatchInsertRepository {
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO products (id, seller_id, name, description, base_price, category_id, available_sizes, " +
+        "available_colors, stock_per_variant, image_urls, status, is_featured, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    
+    ProductBatchInsertRepositoryImpl(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public void insertAll(List<Product> products) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, products, products.size(), (statement, product) -> {
+            Connection connection = statement.getConnection();
+            statement.setObject(1, product.getId());
+            statement.setObject(2, product.getSellerId());
+            statement.setString(3, product.getName());
+            statement.setString(4, product.getDescription());
+            statement.setBigDecimal(5, product.getBasePrice());
+            statement.setLong(6, product.getCategory().getId());
+            setTextArray(statement, 7, connection, product.getAvailableSizes());
+            setTextArray(statement, 8, connection, product.getAvailableColors());
+            statement.setString(9, toJson(product.getStockPerVariant()));
+            setTextArray(statement, 10, connection, product.getImageUrls());
+            statement.setString(11, product.getStatus().name());
+            statement.setBoolean(12, product.isFeatured());
+            statement.setTimestamp(13, Timestamp.from(product.getCreatedAt().toInstant()));
+            statement.setTimestamp(14, Timestamp.from(product.getUpdatedAt().toInstant()));
+        });
+    }
+    
+    private static void setTextArray(PreparedStatement statement, int index, Connection connection, String[] values)
+            throws SQLException {
+        if (values == null) {
+            statement.setNull(index, Types.ARRAY);
+        } else {
+            statement.setArray(index, connection.createArrayOf("text", values));
+        }
+    }
+    
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Product attribute is not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.marketplace.catalog.domain.repository;
+
+import com.marketplace.catalog.domain.model.ProductEvent;
+
+import java.util.List;
+
+/**
+ * Inserts many product events with one JDBC batch; IDENTITY keys keep Hibernate from batching them.
+ */
+public interface ProductEventBatchInsertRepository {
+    
+    /**
+     * Insert events that already carry their event ID, sequence number and publish time.
+     */
+    void insertAll(List<ProductEvent> events);
+}
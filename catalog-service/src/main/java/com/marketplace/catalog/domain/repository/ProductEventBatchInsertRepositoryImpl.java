@@ -0,0 +1,44 @@
+package com.marketplace.catalog.domain.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.catalog.domain.model.ProductEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+class ProductEventBatchInsertRepositoryImpl implements ProductEventBatchInsertRepository {
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO product_events (event_id, product_id, event_type, sequence_number, payload, published_at) " +
+        "VALUES (?, ?, ?, ?, ?::jsonb, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    
+    ProductEventBatchInsertRepositoryImpl(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public void insertAll(List<ProductEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (statement, event) -> {
+            statement.setObject(1, event.getEventId());
+            statement.setObject(2, event.getProductId());
+            statement.setString(3, event.getEventType());
+            statement.setLong(4, event.getSequenceNumber());
+            statement.setString(5, toJson(event));
+            statement.setTimestamp(6, Timestamp.from(event.getPublishedAt().toInstant()));
+        });
+    }
+    
+    private String toJson(ProductEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Product event payload is not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.marketplace.catalog.domain.repository;
+
+import com.marketplace.catalog.domain.enums.ProductStatus;
+
+import java.util.UUID;
+
+/**
+ * Optional filters of a product listing; null filters (and {@code featuredOnly = false}) are left out of the query.
+ */
+public record ProductFilter(Long categoryId, UUID sellerId, ProductStatus status, boolean featuredOnly) {
+    
+    public static ProductFilter bySeller(UUID sellerId) {
+        return new ProductFilter(null, sellerId, null, false);
+    }
+    
+    public static ProductFilter featured() {
+        return new ProductFilter(null, null, null, true);
+    }
+}
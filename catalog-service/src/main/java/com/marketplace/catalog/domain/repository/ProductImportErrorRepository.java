@@ -0,0 +1,14 @@
+package com.marketplace.catalog.domain.repository;
+
+import com.marketplace.catalog.domain.model.ProductImportError;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProductImportErrorRepository extends JpaRepository<ProductImportError, Long> {
+    
+    List<ProductImportError> findByJobIdOrderByRowNumber(UUID jobId);
+}
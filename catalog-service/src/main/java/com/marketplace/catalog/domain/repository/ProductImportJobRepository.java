@@ -0,0 +1,53 @@
+package com.marketplace.catalog.domain.repository;
+
+import com.marketplace.catalog.domain.enums.ProductImportStatus;
+import com.marketplace.catalog.domain.model.ProductImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface ProductImportJobRepository extends JpaRepository<ProductImportJob, UUID> {
+    
+    @Modifying
+    @Query("UPDATE ProductImportJob j SET j.status = :status, j.startedAt = :now WHERE j.id = :id")
+    void markStarted(@Param("id") UUID id, @Param("status") ProductImportStatus status, @Param("now") OffsetDateTime now);
+    
+    /**
+     * Advance the counters of a job by one batch, in the transaction that imports the batch.
+     */
+    @Modifying
+    @Query("UPDATE ProductImportJob j SET j.processedRows = j.processedRows + :processed, " +
+           "j.importedRows = j.importedRows + :imported, j.failedRows = j.failedRows + :failed WHERE j.id = :id")
+    void addProgress(@Param("id") UUID id, @Param("processed") long processed,
+                     @Param("imported") long imported, @Param("failed") long failed);
+    
+    @Modifying
+    @Query("UPDATE ProductImportJob j SET j.status = :status, j.failureReason = :reason, j.finishedAt = :now WHERE j.id = :id")
+    void markFinished(@Param("id") UUID id, @Param("status") ProductImportStatus status,
+                      @Param("reason") String reason, @Param("now") OffsetDateTime now);
+    
+    /**
+     * Report jobs held by this replica (queued or running) as alive.
+     */
+    @Modifying
+    @Query("UPDATE ProductImportJob j SET j.heartbeatAt = :now WHERE j.id IN :ids")
+    int touchHeartbeat(@Param("ids") Collection<UUID> ids, @Param("now") OffsetDateTime now);
+    
+    /**
+     * Fail unfinished jobs whose replica stopped reporting them.
+     */
+    @Modifying
+    @Query("UPDATE ProductImportJob j SET j.status = com.marketplace.catalog.domain.enums.ProductImportStatus.FAILED, " +
+           "j.failureReason = :reason, j.finishedAt = :now " +
+           "WHERE j.status IN (com.marketplace.catalog.domain.enums.ProductImportStatus.QUEUED, " +
+           "com.marketplace.catalog.domain.enums.ProductImportStatus.RUNNING) AND j.heartbeatAt < :staleBefore")
+    int failAbandoned(@Param("staleBefore") OffsetDateTime staleBefore, @Param("reason") String reason,
+                      @Param("now") OffsetDateTime now);
+}
@@ -0,0 +1,24 @@
+package com.marketplace.catalog.domain.repository;
+
+import com.marketplace.catalog.domain.model.Product;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset-paginated product listing. Queries contain only the filters that are actually set,
+ * so the planner can pick the matching composite (filter, sort key, id) index.
+ */
+public interface ProductListingRepository {
+    
+    /**
+     * Load up to {@code limit} products ordered by (sort key, id), with their categories.
+     * @param afterValue sort key value of the last product of the previous page; null for the first page
+     * @param afterId ID of the last product of the previous page; null for the first page
+     */
+    List<Product> findPage(ProductFilter filter, ProductSortKey sortKey, Sort.Direction direction,
+                           Object afterValue, UUID afterId, int limit);
+    
+    long countMatching(ProductFilter filter);
+}
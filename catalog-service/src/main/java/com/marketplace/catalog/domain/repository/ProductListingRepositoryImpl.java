@@ -0,0 +1,77 @@
+package com.marketplace.catalog.domain.repository;
+
+import com.marketplace.catalog.domain.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class ProductListingRepositoryImpl implements ProductListingRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Product> findPage(ProductFilter filter, ProductSortKey sortKey, Sort.Direction direction,
+                                  Object afterValue, UUID afterId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        addFilters(filter, conditions, parameters);
+        
+        String column = "p." + sortKey.property();
+        String order = direction.isAscending() ? "ASC" : "DESC";
+        if (afterId != null) {
+            // Row-value comparison: rendered as (col, id) < (?, ?) so it is a single index range condition
+            conditions.add("(" + column + ", p.id) " + (direction.isAscending() ? ">" : "<") + " (:afterValue, :afterId)");
+            parameters.put("afterValue", afterValue);
+            parameters.put("afterId", afterId);
+        }
+        
+        String jpql = "SELECT p FROM Product p JOIN FETCH p.category" + where(conditions) +
+            " ORDER BY " + column + " " + order + ", p.id " + order;
+        TypedQuery<Product> query = entityManager.createQuery(jpql, Product.class)
+            .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+    
+    @Override
+    public long countMatching(ProductFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        addFilters(filter, conditions, parameters);
+        
+        TypedQuery<Long> query = entityManager.createQuery(
+            "SELECT COUNT(p) FROM Product p" + where(conditions), Long.class);
+        parameters.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+    
+    private static void addFilters(ProductFilter filter, List<String> conditions, Map<String, Object> parameters) {
+        if (filter.categoryId() != null) {
+            conditions.add("p.category.id = :categoryId");
+            parameters.put("categoryId", filter.categoryId());
+        }
+        if (filter.sellerId() != null) {
+            conditions.add("p.sellerId = :sellerId");
+            parameters.put("sellerId", filter.sellerId());
+        }
+        if (filter.status() != null) {
+            conditions.add("p.status = :status");
+            parameters.put("status", filter.status());
+        }
+        if (filter.featuredOnly()) {
+            conditions.add("p.featured = true");
+        }
+    }
+    
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+}
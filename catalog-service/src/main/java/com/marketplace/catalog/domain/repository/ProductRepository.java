@@ -4,32 +4,64 @@ import com.marketplace.catalog.domain.enums.ProductStatus;
 import com.marketplace.catalog.domain.model.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, ProductListingRepository, ProductBatchInsertRepository {
     
-    Page<Product> findBySellerId(UUID sellerId, Pageable pageable);
+    /**
+     * Load a product together with its category in one query.
+     */
+    @EntityGraph(attributePaths = "category")
+    Optional<Product> findWithCategoryById(UUID id);
+    
+    @Query("SELECT p FROM Product p JOIN FETCH p.category WHERE p.id IN :ids")
+    List<Product> findAllWithCategoryByIdIn(@Param("ids") Collection<UUID> ids);
     
     Page<Product> findByStatus(ProductStatus status, Pageable pageable);
     
-    Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
+    /**
+     * Pending products whose image validation is due, oldest first; products backing off after a
+     * transient failure are skipped until their retry time.
+     */
+    @Query(value = "SELECT id FROM products WHERE status = 'PENDING_VALIDATION' " +
+                   "AND (image_validation_retry_at IS NULL OR image_validation_retry_at <= :now) " +
+                   "ORDER BY created_at LIMIT :limit",
+           nativeQuery = true)
+    List<UUID> findIdsDueForImageValidation(@Param("now") OffsetDateTime now, @Param("limit") int limit);
     
-    @Query("SELECT p FROM Product p WHERE " +
-           "(:categoryId IS NULL OR p.category.id = :categoryId) AND " +
-           "(:sellerId IS NULL OR p.sellerId = :sellerId) AND " +
-           "(:status IS NULL OR p.status = :status)")
-    Page<Product> findByFilters(
-        @Param("categoryId") Long categoryId,
-        @Param("sellerId") UUID sellerId,
-        @Param("status") ProductStatus status,
-        Pageable pageable
-    );
+    /**
+     * Back off a pending product after a transient validation failure: base * 2^attempts, capped.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE products SET image_validation_attempts = image_validation_attempts + 1, " +
+                   "image_validation_retry_at = :now + LEAST(:maxSeconds, :baseSeconds * power(2, LEAST(image_validation_attempts, 20))) " +
+                   "* INTERVAL '1 second' " +
+                   "WHERE id = :id AND status = 'PENDING_VALIDATION'",
+           nativeQuery = true)
+    int scheduleImageValidationRetry(@Param("id") UUID id, @Param("now") OffsetDateTime now,
+                                     @Param("baseSeconds") long baseSeconds, @Param("maxSeconds") long maxSeconds);
     
-    Page<Product> findByFeaturedTrue(Pageable pageable);
+    /**
+     * Make a product's image validation due now, e.g. after its image URLs changed.
+     */
+    @Modifying
+    @Query(value = "UPDATE products SET image_validation_attempts = 0, image_validation_retry_at = NULL WHERE id = :id",
+           nativeQuery = true)
+    int resetImageValidationRetry(@Param("id") UUID id);
+    
+    Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
 }
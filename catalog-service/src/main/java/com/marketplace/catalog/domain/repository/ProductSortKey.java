@@ -0,0 +1,63 @@
+package com.marketplace.catalog.domain.repository;
+
+import com.marketplace.catalog.domain.model.Product;
+import com.marketplace.catalog.exception.InvalidPageRequestException;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Columns a product listing can be sorted by. The product ID is always appended as tie-breaker,
+ * so (sort key, id) is unique and can be used as a keyset cursor. Each key has (filters, key, id)
+ * indexes for the seller, category and storefront listings (migrations V8 and V14); add them with
+ * any new key.
+ */
+public enum ProductSortKey {
+    
+    CREATED_AT("createdAt", Product::getCreatedAt, OffsetDateTime::parse),
+    UPDATED_AT("updatedAt", Product::getUpdatedAt, OffsetDateTime::parse),
+    BASE_PRICE("basePrice", Product::getBasePrice, BigDecimal::new),
+    NAME("name", Product::getName, Function.identity());
+    
+    private final String property;
+    private final Function<Product, Object> extractor;
+    private final Function<String, Object> parser;
+    
+    ProductSortKey(String property, Function<Product, ?> extractor, Function<String, ?> parser) {
+        this.property = property;
+        this.extractor = extractor::apply;
+        this.parser = parser::apply;
+    }
+    
+    /**
+     * Entity attribute name, as used in the {@code sort} request parameter and in JPQL.
+     */
+    public String property() {
+        return property;
+    }
+    
+    public Object valueOf(Product product) {
+        return extractor.apply(product);
+    }
+    
+    public String format(Object value) {
+        return value instanceof BigDecimal price ? price.toPlainString() : value.toString();
+    }
+    
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+    
+    public static ProductSortKey fromProperty(String property) {
+        for (ProductSortKey key : values()) {
+            if (key.property.equals(property)) {
+                return key;
+            }
+        }
+        throw new InvalidPageRequestException("Unsupported sort property: " + property + ". Supported: " +
+            Arrays.stream(values()).map(ProductSortKey::property).collect(Collectors.joining(", ")));
+    }
+}
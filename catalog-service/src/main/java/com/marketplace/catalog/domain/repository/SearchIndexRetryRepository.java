@@ -0,0 +1,62 @@
+package com.marketplace.catalog.domain.repository;
+
+import com.marketplace.catalog.domain.model.SearchIndexRetry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SearchIndexRetryRepository extends JpaRepository<SearchIndexRetry, UUID> {
+    
+    /**
+     * Record a product for retry; an existing entry is re-armed with the new enqueue time, and a
+     * failed one starts over with a fresh attempt budget.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO search_index_retries (product_id, enqueued_at, next_attempt_at, attempts, last_error) " +
+                   "VALUES (:productId, :now, :now, 0, :error) " +
+                   "ON CONFLICT (product_id) DO UPDATE SET enqueued_at = EXCLUDED.enqueued_at, " +
+                   "next_attempt_at = EXCLUDED.next_attempt_at, last_error = EXCLUDED.last_error, " +
+                   "attempts = CASE WHEN search_index_retries.failed_at IS NULL THEN search_index_retries.attempts ELSE 0 END, " +
+                   "failed_at = NULL",
+           nativeQuery = true)
+    void upsert(@Param("productId") UUID productId, @Param("now") OffsetDateTime now, @Param("error") String error);
+    
+    /**
+     * Lock due retries that have not failed; rows locked by another replica are skipped.
+     */
+    @Query(value = "SELECT * FROM search_index_retries WHERE next_attempt_at <= :now AND failed_at IS NULL " +
+                   "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<SearchIndexRetry> lockDue(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+    
+    /**
+     * Delete delivered retries unless they were re-enqueued after the delivery started.
+     */
+    @Modifying
+    @Query("DELETE FROM SearchIndexRetry r WHERE r.productId IN :ids AND r.enqueuedAt <= :claimedAt")
+    int deleteDelivered(@Param("ids") Collection<UUID> ids, @Param("claimedAt") OffsetDateTime claimedAt);
+    
+    @Modifying
+    @Query("UPDATE SearchIndexRetry r SET r.lastError = :error WHERE r.productId IN :ids")
+    int recordFailure(@Param("ids") Collection<UUID> ids, @Param("error") String error);
+    
+    /**
+     * Give up on retries that have used their attempts, unless they were re-enqueued after the
+     * failed attempt started.
+     *
+     * @return the number of retries marked failed
+     */
+    @Modifying
+    @Query("UPDATE SearchIndexRetry r SET r.failedAt = :now " +
+           "WHERE r.productId IN :ids AND r.attempts >= :maxAttempts AND r.enqueuedAt <= :claimedAt")
+    int markFailed(@Param("ids") Collection<UUID> ids, @Param("maxAttempts") int maxAttempts,
+                   @Param("claimedAt") OffsetDateTime claimedAt, @Param("now") OffsetDateTime now);
+}
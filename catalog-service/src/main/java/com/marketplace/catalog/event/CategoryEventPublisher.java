@@ -0,0 +1,60 @@
+package com.marketplace.catalog.event;
+
+import com.marketplace.shared.outbox.OutboxMessage;
+import com.marketplace.shared.outbox.OutboxWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Announces category changes through the outbox within the caller's transaction, so that all
+ * replicas rebuild their category tree. The whole tree is one aggregate: events are ordered and
+ * share a partition.
+ */
+@Service
+public class CategoryEventPublisher {
+    
+    private static final Logger log = LoggerFactory.getLogger(CategoryEventPublisher.class);
+    private static final String AGGREGATE_TYPE = "CategoryTree";
+    private static final UUID TREE_ID = UUID.nameUUIDFromBytes("category-tree".getBytes(StandardCharsets.UTF_8));
+    private final OutboxWriter outboxWriter;
+    private final String topic;
+    
+    public CategoryEventPublisher(OutboxWriter outboxWriter,
+                                  @Value("${category-tree.topic:category-events}") String topic) {
+        this.outboxWriter = outboxWriter;
+        this.topic = topic;
+    }
+    
+    public void publishCategoryCreated(Long categoryId) {
+        publishEvent("CategoryCreated", categoryId);
+    }
+    
+    public void publishCategoryDeleted(Long categoryId) {
+        publishEvent("CategoryDeleted", categoryId);
+    }
+    
+    private void publishEvent(String eventType, Long categoryId) {
+        UUID eventId = UUID.randomUUID();
+        long sequenceNumber = outboxWriter.nextSequenceNumber(AGGREGATE_TYPE, TREE_ID);
+        outboxWriter.append(AGGREGATE_TYPE, TREE_ID, sequenceNumber, new OutboxMessage(
+            topic,
+            TREE_ID.toString(),
+            eventId,
+            eventType,
+            Map.of(
+                "eventId", eventId.toString(),
+                "eventType", eventType,
+                "categoryId", categoryId,
+                "sequenceNumber", sequenceNumber
+            ),
+            Map.of("sequence-number", Long.toString(sequenceNumber))
+        ));
+        log.info("Recorded {} event (id: {}, sequence: {}) for category: {}", eventType, eventId, sequenceNumber, categoryId);
+    }
+}
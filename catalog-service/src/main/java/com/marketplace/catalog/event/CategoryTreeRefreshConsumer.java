@@ -0,0 +1,34 @@
+package com.marketplace.catalog.event;
+
+import com.marketplace.catalog.service.CategoryTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Rebuilds the local {@link CategoryTree} when a category changes on any replica.
+ * Bound to {@code category-events} without a consumer group (see application.yml), so every
+ * replica receives every event; the writing replica has already rebuilt and rebuilds once more.
+ */
+@Component("categoryTreeRefresh")
+public class CategoryTreeRefreshConsumer implements Consumer<CategoryTreeRefreshConsumer.CategoryEventNotice> {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryTreeRefreshConsumer.class);
+
+    private final CategoryTree categoryTree;
+
+    public CategoryTreeRefreshConsumer(CategoryTree categoryTree) {
+        this.categoryTree = categoryTree;
+    }
+
+    @Override
+    public void accept(CategoryEventNotice event) {
+        categoryTree.rebuild();
+        log.debug("Rebuilt category tree on {} event for category {}", event.eventType(), event.categoryId());
+    }
+
+    public record CategoryEventNotice(Long categoryId, String eventType) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.marketplace.catalog.event;
+
+import com.marketplace.catalog.service.ProductCache;
+import com.marketplace.shared.dto.event.ProductChangeEvent;
+import com.marketplace.shared.dto.event.ProductEventCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Evicts products changed on other replicas from the local {@link ProductCache}.
+ * Bound to {@code product-events} without a consumer group (see application.yml), so every
+ * replica receives every event; events published by this replica evict an already evicted entry.
+ * Records are decoded by their {@code contentType} header, so JSON and Avro events both work.
+ */
+@Component("productCacheInvalidation")
+public class ProductCacheInvalidationConsumer implements Consumer<Message<byte[]>> {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCacheInvalidationConsumer.class);
+
+    private final ProductCache productCache;
+    private final ProductEventCodec codec;
+
+    public ProductCacheInvalidationConsumer(ProductCache productCache, ProductEventCodec codec) {
+        this.productCache = productCache;
+        this.codec = codec;
+    }
+
+    @Override
+    public void accept(Message<byte[]> message) {
+        Object contentType = message.getHeaders().get(ProductEventCodec.CONTENT_TYPE_HEADER);
+        ProductChangeEvent event;
+        try {
+            event = codec.decode(contentType != null ? contentType.toString() : null, message.getPayload());
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping undecodable product event: {}", e.getMessage());
+            return;
+        }
+        if (event.productId() == null) {
+            return;
+        }
+        productCache.evict(event.productId());
+        log.debug("Evicted product {} from cache on {} event", event.productId(), event.eventType());
+    }
+}
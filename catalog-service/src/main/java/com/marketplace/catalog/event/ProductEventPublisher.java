@@ -1,69 +1,203 @@
 package com.marketplace.catalog.event;
 
+import com.marketplace.catalog.config.OutboxProperties;
 import com.marketplace.catalog.domain.model.Product;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import com.marketplace.catalog.domain.model.ProductEvent;
 import com.marketplace.catalog.domain.repository.ProductEventRepository;
-import jakarta.annotation.PostConstruct;
+import com.marketplace.shared.dto.event.ProductChangeEvent;
+import com.marketplace.shared.dto.event.ProductEventCodec;
+import com.marketplace.shared.outbox.OutboxEntry;
+import com.marketplace.shared.outbox.OutboxMessage;
+import com.marketplace.shared.outbox.OutboxWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cloud.stream.function.StreamBridge;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.Message;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Records product events in {@code product_events} and the outbox within the caller's transaction.
+ * Sequence numbers are allocated per product by the database, so they stay unique across replicas.
+ *
+ * <p>{@code outbox.product-event-encoding} selects the Kafka record value: {@code json} (the
+ * {@link ProductEvent} entity, readable by every consumer) or {@code avro} (a typed, schema-versioned
+ * {@link ProductChangeEvent}, see {@link ProductEventCodec}). The {@code contentType} header tells
+ * consumers which one a record carries; switch to {@code avro} only once all consumers decode it.
+ */
 @Service
 public class ProductEventPublisher {
     
     private static final Logger log = LoggerFactory.getLogger(ProductEventPublisher.class);
+    private static final String AGGREGATE_TYPE = "Product";
     private final ProductEventRepository eventRepository;
-    private final StreamBridge streamBridge;
-    private final AtomicLong sequenceGenerator = new AtomicLong(0);
+    private final OutboxWriter outboxWriter;
+    private final ProductEventCodec codec;
+    private final String topic;
+    private final boolean binary;
     
-    public ProductEventPublisher(ProductEventRepository eventRepository, StreamBridge streamBridge) {
+    public ProductEventPublisher(ProductEventRepository eventRepository,
+                                 OutboxWriter outboxWriter,
+                                 ProductEventCodec codec,
+                                 OutboxProperties outboxProperties) {
         this.eventRepository = eventRepository;
-        this.streamBridge = streamBridge;
+        this.outboxWriter = outboxWriter;
+        this.codec = codec;
+        this.topic = outboxProperties.topic();
+        this.binary = switch (outboxProperties.productEventEncoding()) {
+            case "json" -> false;
+            case "avro" -> true;
+            default -> throw new IllegalArgumentException(
+                "Unsupported product event encoding: " + outboxProperties.productEventEncoding());
+        };
     }
     
-    @PostConstruct
-    public void initSequence() {
-        Long maxSequence = eventRepository.findMaxSequenceNumber();
-        sequenceGenerator.set(maxSequence != null ? maxSequence : 0);
-        log.info("Initialized event sequence number at: {}", sequenceGenerator.get());
+    /**
+     * @return the event's sequence number
+     */
+    public long publishProductCreated(Product product) {
+        return publishEvent(ProductChangeEvent.PRODUCT_CREATED, product.getId(), product);
     }
     
-    public void publishProductCreated(Product product) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("productId", product.getId().toString());
-        payload.put("sellerId", product.getSellerId().toString());
-        payload.put("name", product.getName());
-        payload.put("description", product.getDescription());
-        payload.put("basePrice", product.getBasePrice().toString());
-        payload.put("categoryId", product.getCategory().getId());
-        payload.put("categoryName", product.getCategory().getName());
-        payload.put("status", product.getStatus().name());
-        payload.put("availableSizes", product.getAvailableSizes());
-        payload.put("availableColors", product.getAvailableColors());
-        payload.put("imageUrls", product.getImageUrls());
-        payload.put("featured", product.isFeatured());
-        payload.put("createdAt", product.getCreatedAt().toString());
-        payload.put("updatedAt", product.getUpdatedAt().toString());
-
-        publishEvent(
-            "ProductCreated",
-            product.getId(),
-            payload
+    /**
+     * Record ProductCreated events for many new products with one sequence allocation
+     * and one JDBC batch each for {@code product_events} and the outbox.
+     *
+     * @return the sequence number of each product's event
+     */
+    public Map<UUID, Long> publishProductsCreated(List<Product> products) {
+        if (products.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, Long> sequenceNumbers = outboxWriter.nextSequenceNumbers(AGGREGATE_TYPE,
+            products.stream().map(Product::getId).toList());
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        
+        List<ProductEvent> events = new ArrayList<>(products.size());
+        List<OutboxEntry> entries = new ArrayList<>(products.size());
+        for (Product product : products) {
+            long sequenceNumber = sequenceNumbers.get(product.getId());
+            ProductEvent event = new ProductEvent(null, UUID.randomUUID(), product.getId(),
+                ProductChangeEvent.PRODUCT_CREATED, sequenceNumber, productPayload(product), now);
+            events.add(event);
+            entries.add(new OutboxEntry(product.getId(), sequenceNumber, toOutboxMessage(event, product)));
+        }
+        
+        eventRepository.insertAll(events);
+        outboxWriter.appendAll(AGGREGATE_TYPE, entries);
+        log.info("Recorded {} ProductCreated events", events.size());
+        return sequenceNumbers;
+    }
+    
+    /**
+     * @return the event's sequence number
+     */
+    public long publishProductUpdated(Product product) {
+        return publishEvent(ProductChangeEvent.PRODUCT_UPDATED, product.getId(), product);
+    }
+    
+    /**
+     * @return the event's sequence number
+     */
+    public long publishProductDeleted(UUID productId) {
+        return publishEvent(ProductChangeEvent.PRODUCT_DELETED, productId, null);
+    }
+    
+    /**
+     * Sequence numbers of the latest events of the products, to version a snapshot of their
+     * current state read in the same (repeatable read) transaction.
+     */
+    public Map<UUID, Long> currentSequenceNumbers(Collection<UUID> productIds) {
+        return outboxWriter.lastSequenceNumbers(AGGREGATE_TYPE, productIds);
+    }
+    
+    /**
+     * @param product the product after the change, or null for a deletion
+     * @return the event's sequence number
+     */
+    private long publishEvent(String eventType, UUID productId, Product product) {
+        UUID eventId = UUID.randomUUID();
+        long sequenceNumber = outboxWriter.nextSequenceNumber(AGGREGATE_TYPE, productId);
+        
+        ProductEvent event = new ProductEvent();
+        event.setEventId(eventId);
+        event.setProductId(productId);
+        event.setEventType(eventType);
+        event.setSequenceNumber(sequenceNumber);
+        event.setPayload(product != null ? productPayload(product) : Map.of("productId", productId.toString()));
+        
+        eventRepository.save(event);
+        
+        // Relayed to Kafka after commit, keyed by productId to keep ordering per product
+        outboxWriter.append(AGGREGATE_TYPE, productId, sequenceNumber, toOutboxMessage(event, product));
+        log.info("Recorded {} event (id: {}, sequence: {}) for product: {}", 
+            eventType, eventId, sequenceNumber, productId);
+        return sequenceNumber;
+    }
+    
+    private OutboxMessage toOutboxMessage(ProductEvent event, Product product) {
+        if (binary) {
+            return new OutboxMessage(
+                topic,
+                event.getProductId().toString(),
+                event.getEventId(),
+                event.getEventType(),
+                codec.encode(toChangeEvent(event, product)),
+                Map.of(
+                    "sequence-number", Long.toString(event.getSequenceNumber()),
+                    ProductEventCodec.CONTENT_TYPE_HEADER, ProductEventCodec.AVRO
+                )
+            );
+        }
+        return new OutboxMessage(
+            topic,
+            event.getProductId().toString(),
+            event.getEventId(),
+            event.getEventType(),
+            event,
+            Map.of(
+                "sequence-number", Long.toString(event.getSequenceNumber()),
+                "__TypeId__", ProductEvent.class.getName(),
+                ProductEventCodec.CONTENT_TYPE_HEADER, ProductEventCodec.JSON
+            )
         );
     }
     
-    public void publishProductUpdated(Product product) {
+    private static ProductChangeEvent toChangeEvent(ProductEvent event, Product product) {
+        ProductChangeEvent.ProductState state = null;
+        if (product != null) {
+            state = new ProductChangeEvent.ProductState(
+                product.getSellerId(),
+                product.getName(),
+                product.getDescription(),
+                product.getBasePrice(),
+                product.getCategory().getId(),
+                product.getCategory().getName(),
+                product.getStatus().name(),
+                toList(product.getAvailableSizes()),
+                toList(product.getAvailableColors()),
+                toList(product.getImageUrls()),
+                product.isFeatured(),
+                product.getCreatedAt(),
+                product.getUpdatedAt()
+            );
+        }
+        return new ProductChangeEvent(event.getEventId(), event.getEventType(), event.getProductId(),
+            event.getSequenceNumber(), event.getPublishedAt(), state);
+    }
+    
+    private static List<String> toList(String[] values) {
+        return values != null ? Arrays.asList(values) : List.of();
+    }
+    
+    private static Map<String, Object> productPayload(Product product) {
         Map<String, Object> payload = new HashMap<>();
         payload.put("productId", product.getId().toString());
         payload.put("sellerId", product.getSellerId().toString());
@@ -79,63 +213,6 @@ public class ProductEventPublisher {
         payload.put("featured", product.isFeatured());
         payload.put("createdAt", product.getCreatedAt().toString());
         payload.put("updatedAt", product.getUpdatedAt().toString());
-
-        publishEvent(
-            "ProductUpdated",
-            product.getId(),
-            payload
-        );
-    }
-    
-    public void publishProductDeleted(UUID productId) {
-        publishEvent(
-            "ProductDeleted",
-            productId,
-            Map.of(
-                "productId", productId.toString()
-            )
-        );
-    }
-    
-    private void publishEvent(String eventType, UUID productId, Map<String, Object> payload) {
-        UUID eventId = UUID.randomUUID();
-        long sequenceNumber = sequenceGenerator.incrementAndGet();
-        
-        // Check idempotency (shouldn't happen, but safety check)
-        if (eventRepository.existsByEventId(eventId)) {
-            log.warn("Event {} already exists, skipping publication", eventId);
-            return;
-        }
-        
-        ProductEvent event = new ProductEvent();
-        event.setEventId(eventId);
-        event.setProductId(productId);
-        event.setEventType(eventType);
-        event.setSequenceNumber(sequenceNumber);
-        event.setPayload(payload);
-        
-        eventRepository.save(event);
-        log.info("Saved {} event (id: {}, sequence: {}) for product: {}", 
-            eventType, eventId, sequenceNumber, productId);
-        
-        // Publish to Kafka with ordering key (productId)
-        Message<ProductEvent> message = MessageBuilder
-            .withPayload(event)
-            .setHeader(KafkaHeaders.KEY, productId.toString())  // Ensures ordering per product
-            .setHeader("event-id", eventId.toString())
-            .setHeader("sequence-number", sequenceNumber)
-            .build();
-        
-        try {
-            boolean sent = streamBridge.send("product-events-out-0", message);
-            if (sent) {
-                log.info("Published {} event to Kafka for product: {}", eventType, productId);
-            } else {
-                log.warn("Failed to publish {} event to Kafka for product: {}", eventType, productId);
-            }
-        } catch (Exception e) {
-            // Allow product operations to proceed even if Kafka is unavailable.
-            log.warn("Skipping Kafka publish for {} event (product: {}): {}", eventType, productId, e.getMessage());
-        }
+        return payload;
     }
 }
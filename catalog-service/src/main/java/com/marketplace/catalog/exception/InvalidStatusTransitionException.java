@@ -0,0 +1,7 @@
+package com.marketplace.catalog.exception;
+
+public class InvalidStatusTransitionException extends RuntimeException {
+    public InvalidStatusTransitionException(String message) {
+        super(message);
+    }
+}
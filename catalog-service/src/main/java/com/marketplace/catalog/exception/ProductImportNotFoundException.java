@@ -0,0 +1,9 @@
+package com.marketplace.catalog.exception;
+
+import java.util.UUID;
+
+public class ProductImportNotFoundException extends RuntimeException {
+    public ProductImportNotFoundException(UUID jobId) {
+        super("Product import not found with id: " + jobId);
+    }
+}
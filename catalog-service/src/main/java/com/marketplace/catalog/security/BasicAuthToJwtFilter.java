@@ -4,33 +4,30 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
-import java.util.Map;
 
 /**
  * Filter that converts HTTP Basic Authentication to JWT Bearer token.
  * This enables Swagger UI users to authenticate with username/password
- * instead of manually copying JWT tokens.
+ * instead of manually copying JWT tokens. Tokens are obtained through
+ * {@link BasicAuthTokenCache}, so repeated requests reuse one login.
  */
 @Component
 public class BasicAuthToJwtFilter extends OncePerRequestFilter {
 
-    private final RestTemplate restTemplate;
-    private final String authServiceUrl;
+    private final BasicAuthTokenCache tokenCache;
 
-    public BasicAuthToJwtFilter(
-            RestTemplate restTemplate,
-            @Value("${auth-service.base-url:http://localhost:8080}") String authServiceUrl) {
-        this.restTemplate = restTemplate;
-        this.authServiceUrl = authServiceUrl;
+    public BasicAuthToJwtFilter(BasicAuthTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
     }
 
     @Override
@@ -51,50 +48,34 @@ public class BasicAuthToJwtFilter extends OncePerRequestFilter {
                     String email = parts[0];
                     String password = parts[1];
                     
-                    // Call Auth Service to get JWT token
-                    HttpHeaders headers = new HttpHeaders();
-                    headers.setContentType(MediaType.APPLICATION_JSON);
-                    
-                    Map<String, String> loginRequest = Map.of(
-                            "email", email,
-                            "password", password
-                    );
-                    
-                    HttpEntity<Map<String, String>> httpEntity = new HttpEntity<>(loginRequest, headers);
+                    // Get a JWT token from the cache or the Auth Service
+                    String accessToken = tokenCache.accessToken(email, password, request.getRemoteAddr());
+                    if (accessToken == null) {
+                        writeUnauthorized(response);
+                        return;
+                    }
                     
-                    ResponseEntity<Map> authResponse = restTemplate.exchange(
-                            authServiceUrl + "/api/v1/auth/login",
-                            HttpMethod.POST,
-                            httpEntity,
-                            Map.class
-                    );
+                    // Create a wrapper that replaces Basic Auth with Bearer token
+                    jakarta.servlet.http.HttpServletRequestWrapper wrappedRequest = 
+                        new jakarta.servlet.http.HttpServletRequestWrapper(request) {
+                            @Override
+                            public String getHeader(String name) {
+                                if ("Authorization".equalsIgnoreCase(name)) {
+                                    return "Bearer " + accessToken;
+                                }
+                                return super.getHeader(name);
+                            }
+                        };
                     
-                    if (authResponse.getStatusCode() == HttpStatus.OK && authResponse.getBody() != null) {
-                        String accessToken = (String) authResponse.getBody().get("accessToken");
-                        
-                        if (accessToken != null) {
-                            // Create a wrapper that replaces Basic Auth with Bearer token
-                            jakarta.servlet.http.HttpServletRequestWrapper wrappedRequest = 
-                                new jakarta.servlet.http.HttpServletRequestWrapper(request) {
-                                    @Override
-                                    public String getHeader(String name) {
-                                        if ("Authorization".equalsIgnoreCase(name)) {
-                                            return "Bearer " + accessToken;
-                                        }
-                                        return super.getHeader(name);
-                                    }
-                                };
-                            
-                            filterChain.doFilter(wrappedRequest, response);
-                            return;
-                        }
-                    }
+                    filterChain.doFilter(wrappedRequest, response);
+                    return;
                 }
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                writeTooManyRequests(response, e.getResponseHeaders());
+                return;
             } catch (Exception e) {
                 // If Basic Auth conversion fails, return 401
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-                response.getWriter().write("{\"error\":\"Authentication failed\",\"message\":\"Invalid credentials\"}");
+                writeUnauthorized(response);
                 return;
             }
         }
@@ -102,4 +83,20 @@ public class BasicAuthToJwtFilter extends OncePerRequestFilter {
         // Continue with original request if not Basic Auth
         filterChain.doFilter(request, response);
     }
+
+    private static void writeUnauthorized(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Authentication failed\",\"message\":\"Invalid credentials\"}");
+    }
+
+    private static void writeTooManyRequests(HttpServletResponse response, HttpHeaders authHeaders) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        String retryAfter = authHeaders != null ? authHeaders.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (retryAfter != null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many login attempts\",\"message\":\"Try again later\"}");
+    }
 }
@@ -0,0 +1,225 @@
+package com.marketplace.catalog.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Caches the access tokens the Auth Service issues for HTTP Basic credentials, so that repeated
+ * Basic-auth requests do not each cost a login round trip, a BCrypt verification and a refresh token.
+ *
+ * <p>Entries are keyed by an HMAC-SHA256 of the credentials under a random per-instance key, so
+ * neither passwords nor offline-crackable hashes are held in memory. A token is served until
+ * shortly before it expires; rejected credentials are cached briefly. Concurrent lookups of the
+ * same credentials share a single login. Errors talking to the Auth Service and rate-limit
+ * responses (429) are not cached.
+ *
+ * <p>Logins carry the caller's address in {@code X-Forwarded-For}, so the Auth Service throttles
+ * the real client rather than this service (it trusts the header only from its configured
+ * internal proxies).
+ *
+ * <p>Metrics (tagged with {@code service}):
+ * <ul>
+ *   <li>{@code basic.auth.token.cache.*} - Caffeine cache gets/evictions/size</li>
+ *   <li>{@code basic.auth.logins.avoided} - lookups answered without a login (cached or coalesced)</li>
+ *   <li>{@code basic.auth.logins} - logins performed, by result</li>
+ * </ul>
+ */
+@Component
+public class BasicAuthTokenCache {
+
+    private static final Logger log = LoggerFactory.getLogger(BasicAuthTokenCache.class);
+    private static final String SERVICE_NAME = "catalog-service";
+    private static final String CACHE_NAME = "basic.auth.token";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private final RestTemplate restTemplate;
+    private final String authServiceUrl;
+    private final Duration expiryMargin;
+    private final Duration rejectionTtl;
+    private final SecretKeySpec digestKey;
+    private final AsyncCache<String, CachedLogin> tokens;
+    private final Counter avoidedCounter;
+    private final Counter successCounter;
+    private final Counter rejectedCounter;
+
+    public BasicAuthTokenCache(
+            RestTemplate restTemplate,
+            @Value("${auth-service.base-url:http://localhost:8080}") String authServiceUrl,
+            @Value("${basic-auth.token-cache.max-size:10000}") long maxSize,
+            @Value("${basic-auth.token-cache.expiry-margin-seconds:60}") long expiryMarginSeconds,
+            @Value("${basic-auth.token-cache.rejection-ttl-seconds:30}") long rejectionTtlSeconds,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.restTemplate = restTemplate;
+        this.authServiceUrl = authServiceUrl;
+        this.expiryMargin = Duration.ofSeconds(expiryMarginSeconds);
+        this.rejectionTtl = Duration.ofSeconds(rejectionTtlSeconds);
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.digestKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilRefreshDue())
+                .recordStats()
+                .buildAsync();
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, CACHE_NAME, "service", SERVICE_NAME);
+
+        this.avoidedCounter = Counter.builder("basic.auth.logins.avoided")
+                .description("Basic-auth requests served without a login to the Auth Service")
+                .tag("service", SERVICE_NAME)
+                .register(meterRegistry);
+
+        this.successCounter = Counter.builder("basic.auth.logins")
+                .description("Logins performed against the Auth Service for Basic-auth requests")
+                .tag("service", SERVICE_NAME)
+                .tag("result", "success")
+                .register(meterRegistry);
+
+        this.rejectedCounter = Counter.builder("basic.auth.logins")
+                .description("Logins performed against the Auth Service for Basic-auth requests")
+                .tag("service", SERVICE_NAME)
+                .tag("result", "rejected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get an access token for the credentials, logging in only when no usable token is cached.
+     *
+     * @param email the user email
+     * @param password the user password
+     * @param clientIp address of the client presenting the credentials, forwarded to the Auth Service
+     * @return the access token, or null if the Auth Service rejected the credentials
+     * @throws HttpClientErrorException.TooManyRequests if the Auth Service is throttling the client
+     * @throws RuntimeException if the Auth Service could not be reached or answered with an error
+     */
+    public String accessToken(String email, String password, String clientIp) {
+        CompletableFuture<CachedLogin> login = new CompletableFuture<>();
+        CompletableFuture<CachedLogin> result = tokens.get(digest(email, password), (key, executor) -> login);
+
+        if (result == login) {
+            try {
+                login.complete(login(email, password, clientIp));
+            } catch (RuntimeException e) {
+                login.completeExceptionally(e);
+            }
+        } else {
+            avoidedCounter.increment();
+        }
+
+        try {
+            return result.join().accessToken();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private CachedLogin login(String email, String password, String clientIp) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (clientIp != null) {
+            headers.set(FORWARDED_FOR_HEADER, clientIp);
+        }
+        HttpEntity<Map<String, String>> httpEntity = new HttpEntity<>(Map.of("email", email, "password", password), headers);
+
+        try {
+            ResponseEntity<Map> response = restTemplate.exchange(
+                    authServiceUrl + "/api/v1/auth/login",
+                    HttpMethod.POST,
+                    httpEntity,
+                    Map.class
+            );
+
+            Map body = response.getBody();
+            String accessToken = body != null ? (String) body.get("accessToken") : null;
+            if (!response.getStatusCode().is2xxSuccessful() || accessToken == null) {
+                throw new IllegalStateException("Auth Service login returned no access token");
+            }
+
+            long expiresIn = body.get("expiresIn") instanceof Number number ? number.longValue() : 0L;
+            successCounter.increment();
+            return new CachedLogin(accessToken, Instant.now().plusSeconds(expiresIn).minus(expiryMargin));
+
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            // Throttling applies to the client, not the credentials: do not cache it
+            throw e;
+        } catch (HttpClientErrorException e) {
+            // Wrong credentials or locked account: remember briefly
+            log.debug("Basic-auth login rejected with status {}", e.getStatusCode());
+            rejectedCounter.increment();
+            return new CachedLogin(null, Instant.now().plus(rejectionTtl));
+        }
+    }
+
+    private String digest(String email, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(digestKey);
+            mac.update(email.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().withoutPadding().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    /**
+     * Outcome of a login: the access token (null if rejected) and when to stop serving it.
+     */
+    private record CachedLogin(String accessToken, Instant refreshAt) {
+    }
+
+    /**
+     * Expires each entry shortly before its token expires, or after the rejection TTL.
+     */
+    private static final class UntilRefreshDue implements Expiry<String, CachedLogin> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedLogin value, long currentTime) {
+            return Math.max(0L, Duration.between(Instant.now(), value.refreshAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedLogin value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedLogin value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.marketplace.catalog.security;
 
+import com.marketplace.shared.jwt.JwtVerifier;
+import com.marketplace.shared.jwt.VerifiedClaims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,18 +16,16 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.UUID;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     
-    private final JwtTokenProvider tokenProvider;
+    private final JwtVerifier jwtVerifier;
     
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider) {
-        this.tokenProvider = tokenProvider;
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier) {
+        this.jwtVerifier = jwtVerifier;
     }
     
     @Override
@@ -36,11 +36,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = getJwtFromRequest(request);
             
             if (StringUtils.hasText(jwt)) {
-                UUID userId = tokenProvider.getUserIdFromToken(jwt);
-                String email = tokenProvider.getEmailFromToken(jwt);
-                List<String> roles = tokenProvider.getRolesFromToken(jwt);
+                // Parse and verify once; claims are served from cache for repeated tokens
+                VerifiedClaims claims = jwtVerifier.verify(jwt);
                 
-                UserPrincipal userPrincipal = new UserPrincipal(userId, email, roles);
+                UserPrincipal userPrincipal = new UserPrincipal(claims.userId(), claims.email(), claims.roles());
                 
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities());
@@ -1,81 +0,0 @@
-package com.marketplace.catalog.security;
-
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import jakarta.annotation.PostConstruct;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.stereotype.Component;
-
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.security.KeyFactory;
-import java.security.PublicKey;
-import java.security.spec.X509EncodedKeySpec;
-import java.util.Base64;
-import java.util.List;
-import java.util.UUID;
-
-@Component
-public class JwtTokenProvider {
-
-    private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
-    
-    @Value("${jwt.public-key-location:classpath:keys/public_key.pem}")
-    private Resource publicKeyResource;
-    
-    private PublicKey publicKey;
-    
-    @PostConstruct
-    public void init() {
-        try {
-            this.publicKey = loadPublicKey();
-            log.info("RSA public key loaded successfully for JWT verification");
-        } catch (Exception e) {
-            log.error("Failed to load RSA public key", e);
-            throw new RuntimeException("Failed to load RSA public key for JWT verification", e);
-        }
-    }
-    
-    private PublicKey loadPublicKey() throws Exception {
-        try (InputStream is = publicKeyResource.getInputStream()) {
-            String keyContent = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-            // Remove PEM headers and whitespace
-            keyContent = keyContent
-                    .replace("-----BEGIN PUBLIC KEY-----", "")
-                    .replace("-----END PUBLIC KEY-----", "")
-                    .replaceAll("\\s", "");
-            
-            byte[] keyBytes = Base64.getDecoder().decode(keyContent);
-            X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
-            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-            return keyFactory.generatePublic(spec);
-        }
-    }
-    
-    public Claims validateToken(String token) {
-        return Jwts.parser()
-            .verifyWith(publicKey)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-    }
-    
-    public UUID getUserIdFromToken(String token) {
-        Claims claims = validateToken(token);
-        return UUID.fromString(claims.getSubject());
-    }
-    
-    public String getEmailFromToken(String token) {
-        Claims claims = validateToken(token);
-        return claims.get("email", String.class);
-    }
-    
-    @SuppressWarnings("unchecked")
-    public List<String> getRolesFromToken(String token) {
-        Claims claims = validateToken(token);
-        return claims.get("roles", List.class);
-    }
-}
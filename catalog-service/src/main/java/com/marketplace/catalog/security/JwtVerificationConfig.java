@@ -0,0 +1,72 @@
+package com.marketplace.catalog.security;
+
+import com.marketplace.shared.jwt.HttpJwksSource;
+import com.marketplace.shared.jwt.JwtKeyException;
+import com.marketplace.shared.jwt.JwtVerifier;
+import com.marketplace.shared.jwt.KeySetHolder;
+import com.marketplace.shared.jwt.KeySetSource;
+import com.marketplace.shared.jwt.PemPublicKeys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration for shared JWT verification.
+ * Verification keys come from the Auth Service JWKS endpoint when {@code jwt.jwks-endpoint} is set,
+ * otherwise from a local PEM resource (identified by its thumbprint {@code kid}).
+ * Verified claims are cached until token expiry.
+ */
+@Configuration
+public class JwtVerificationConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtVerificationConfig.class);
+    private static final String SERVICE_NAME = "catalog-service";
+    private static final Duration JWKS_FETCH_TIMEOUT = Duration.ofSeconds(5);
+
+    @Bean
+    public JwtVerifier jwtVerifier(
+            @Value("${jwt.jwks-endpoint:}") String jwksEndpoint,
+            @Value("${jwt.public-key-location:classpath:keys/public_key.pem}") Resource publicKeyResource,
+            @Value("${jwt.public-key-cache-ttl-minutes:60}") long publicKeyCacheTtlMinutes,
+            @Value("${jwt.key-refresh-min-interval-seconds:30}") long keyRefreshMinIntervalSeconds,
+            @Value("${jwt.verified-claims-cache-size:10000}") long verifiedClaimsCacheSize,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        KeySetSource keySource = jwksEndpoint.isBlank()
+                ? () -> readPemKey(publicKeyResource)
+                : new HttpJwksSource(jwksEndpoint, JWKS_FETCH_TIMEOUT);
+        KeySetHolder keyHolder = new KeySetHolder(
+                keySource,
+                Duration.ofMinutes(publicKeyCacheTtlMinutes),
+                Duration.ofSeconds(keyRefreshMinIntervalSeconds)
+        );
+
+        // Fail fast on startup if the keys cannot be loaded
+        log.info("JWT verification keys loaded successfully: {}", keyHolder.keys().keySet());
+
+        return new JwtVerifier(
+                keyHolder,
+                verifiedClaimsCacheSize,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                SERVICE_NAME
+        );
+    }
+
+    private static Map<String, PublicKey> readPemKey(Resource publicKeyResource) {
+        try {
+            return PemPublicKeys.asKeySet(PemPublicKeys.read(publicKeyResource.getInputStream()));
+        } catch (IOException e) {
+            throw new JwtKeyException("Failed to read public key from " + publicKeyResource, e);
+        }
+    }
+}
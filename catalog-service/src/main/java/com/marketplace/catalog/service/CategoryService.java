@@ -2,6 +2,7 @@ package com.marketplace.catalog.service;
 
 import com.marketplace.catalog.domain.model.Category;
 import com.marketplace.catalog.domain.repository.CategoryRepository;
+import com.marketplace.catalog.event.CategoryEventPublisher;
 import com.marketplace.catalog.exception.CategoryNotFoundException;
 import com.marketplace.catalog.exception.DuplicateCategoryException;
 import com.marketplace.shared.dto.catalog.CategoryResponse;
@@ -9,20 +10,27 @@ import com.marketplace.shared.dto.catalog.CreateCategoryRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Category writes go to the database; all reads are served from the in-memory {@link CategoryTree}.
+ */
 @Service
 @Transactional
 public class CategoryService {
     
     private static final Logger log = LoggerFactory.getLogger(CategoryService.class);
     private final CategoryRepository categoryRepository;
+    private final CategoryTree categoryTree;
+    private final CategoryEventPublisher eventPublisher;
     
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, CategoryTree categoryTree, CategoryEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
+        this.categoryTree = categoryTree;
+        this.eventPublisher = eventPublisher;
     }
     
     public CategoryResponse createCategory(CreateCategoryRequest request) {
@@ -34,44 +42,79 @@ public class CategoryService {
         category.setName(request.name());
         category.setDescription(request.description());
         
+        Category parentCategory = null;
         if (request.parentCategoryId() != null) {
-            Category parentCategory = categoryRepository.findById(request.parentCategoryId())
+            parentCategory = categoryRepository.findById(request.parentCategoryId())
                 .orElseThrow(() -> new CategoryNotFoundException(request.parentCategoryId()));
             category.setParentCategory(parentCategory);
         }
         
         category = categoryRepository.save(category);
+        eventPublisher.publishCategoryCreated(category.getId());
+        categoryTree.rebuildAfterCommit();
         log.info("Created category: {} (id: {})", category.getName(), category.getId());
         
-        return toResponse(category);
+        return new CategoryResponse(
+            category.getId(),
+            category.getName(),
+            category.getDescription(),
+            parentCategory != null ? parentCategory.getId() : null,
+            parentCategory != null ? parentCategory.getName() : null,
+            category.getCreatedAt(),
+            category.getUpdatedAt()
+        );
     }
     
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public CategoryResponse getCategory(Long id) {
-        Category category = categoryRepository.findById(id)
-            .orElseThrow(() -> new CategoryNotFoundException(id));
-        return toResponse(category);
+        CategoryResponse category = categoryTree.current().get(id);
+        if (category == null) {
+            throw new CategoryNotFoundException(id);
+        }
+        return category;
     }
     
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<CategoryResponse> getAllCategories() {
-        return categoryRepository.findAll().stream()
-            .map(this::toResponse)
-            .collect(Collectors.toList());
+        return categoryTree.current().all();
     }
     
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<CategoryResponse> getTopLevelCategories() {
-        return categoryRepository.findByParentCategoryIsNull().stream()
-            .map(this::toResponse)
-            .collect(Collectors.toList());
+        return categoryTree.current().topLevel();
     }
     
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<CategoryResponse> getSubcategories(Long parentCategoryId) {
-        return categoryRepository.findByParentCategoryId(parentCategoryId).stream()
-            .map(this::toResponse)
-            .collect(Collectors.toList());
+        CategorySnapshot tree = categoryTree.current();
+        if (tree.get(parentCategoryId) == null) {
+            throw new CategoryNotFoundException(parentCategoryId);
+        }
+        return tree.children(parentCategoryId);
+    }
+    
+    /**
+     * The category followed by all its descendants, parents before their children.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<CategoryResponse> getSubtree(Long id) {
+        List<CategoryResponse> subtree = categoryTree.current().subtree(id);
+        if (subtree.isEmpty()) {
+            throw new CategoryNotFoundException(id);
+        }
+        return subtree;
+    }
+    
+    /**
+     * The ancestors of a category from its top-level category down to the category itself.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<CategoryResponse> getPath(Long id) {
+        List<CategoryResponse> path = categoryTree.current().path(id);
+        if (path.isEmpty()) {
+            throw new CategoryNotFoundException(id);
+        }
+        return path;
     }
     
     public void deleteCategory(Long id) {
@@ -79,18 +122,8 @@ public class CategoryService {
             .orElseThrow(() -> new CategoryNotFoundException(id));
         
         categoryRepository.delete(category);
+        eventPublisher.publishCategoryDeleted(id);
+        categoryTree.rebuildAfterCommit();
         log.info("Deleted category: {} (id: {})", category.getName(), id);
     }
-    
-    private CategoryResponse toResponse(Category category) {
-        return new CategoryResponse(
-            category.getId(),
-            category.getName(),
-            category.getDescription(),
-            category.getParentCategory() != null ? category.getParentCategory().getId() : null,
-            category.getParentCategory() != null ? category.getParentCategory().getName() : null,
-            category.getCreatedAt(),
-            category.getUpdatedAt()
-        );
-    }
 }
@@ -0,0 +1,127 @@
+package com.marketplace.catalog.service;
+
+import com.marketplace.catalog.domain.model.Category;
+import com.marketplace.shared.dto.catalog.CategoryResponse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the whole category tree. Built once from all category rows and then only read,
+ * so it can be shared between request threads without locking; changes build a new snapshot.
+ */
+final class CategorySnapshot {
+
+    static final CategorySnapshot EMPTY = new CategorySnapshot(List.of());
+
+    private final Map<Long, CategoryResponse> byId;
+    private final Map<Long, List<CategoryResponse>> children;
+    private final List<CategoryResponse> all;
+    private final List<CategoryResponse> topLevel;
+
+    /**
+     * Only the parent's ID is read from each row, so uninitialized parent proxies are not loaded.
+     */
+    CategorySnapshot(List<Category> categories) {
+        Map<Long, Category> rows = new HashMap<>();
+        for (Category category : categories) {
+            rows.put(category.getId(), category);
+        }
+
+        Map<Long, CategoryResponse> responses = new HashMap<>();
+        Map<Long, List<CategoryResponse>> childLists = new HashMap<>();
+        List<CategoryResponse> roots = new ArrayList<>();
+        for (Category category : categories) {
+            Long parentId = category.getParentCategory() != null ? category.getParentCategory().getId() : null;
+            Category parent = parentId != null ? rows.get(parentId) : null;
+            CategoryResponse response = new CategoryResponse(
+                category.getId(),
+                category.getName(),
+                category.getDescription(),
+                parentId,
+                parent != null ? parent.getName() : null,
+                category.getCreatedAt(),
+                category.getUpdatedAt()
+            );
+            responses.put(category.getId(), response);
+            if (parentId == null) {
+                roots.add(response);
+            } else {
+                childLists.computeIfAbsent(parentId, id -> new ArrayList<>()).add(response);
+            }
+        }
+
+        Comparator<CategoryResponse> byIdOrder = Comparator.comparing(CategoryResponse::id);
+        Map<Long, List<CategoryResponse>> sortedChildren = new HashMap<>();
+        childLists.forEach((parentId, list) -> sortedChildren.put(parentId, list.stream().sorted(byIdOrder).toList()));
+
+        this.byId = Map.copyOf(responses);
+        this.children = Map.copyOf(sortedChildren);
+        this.all = responses.values().stream().sorted(byIdOrder).toList();
+        this.topLevel = roots.stream().sorted(byIdOrder).toList();
+    }
+
+    /**
+     * @return the category, or null if there is none with this ID
+     */
+    CategoryResponse get(Long id) {
+        return byId.get(id);
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    List<CategoryResponse> all() {
+        return all;
+    }
+
+    List<CategoryResponse> topLevel() {
+        return topLevel;
+    }
+
+    List<CategoryResponse> children(Long parentId) {
+        return children.getOrDefault(parentId, List.of());
+    }
+
+    /**
+     * The category and all its descendants, depth-first with parents before their children.
+     */
+    List<CategoryResponse> subtree(Long rootId) {
+        CategoryResponse root = byId.get(rootId);
+        if (root == null) {
+            return List.of();
+        }
+        List<CategoryResponse> result = new ArrayList<>();
+        Deque<CategoryResponse> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            CategoryResponse category = stack.pop();
+            result.add(category);
+            List<CategoryResponse> kids = children(category.id());
+            for (int i = kids.size() - 1; i >= 0; i--) {
+                stack.push(kids.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ancestors of the category from its top-level category down to the category itself.
+     */
+    List<CategoryResponse> path(Long id) {
+        List<CategoryResponse> path = new ArrayList<>();
+        CategoryResponse category = byId.get(id);
+        // Bounded by the tree size, in case the rows ever contain a parent cycle
+        while (category != null && path.size() <= byId.size()) {
+            path.add(category);
+            category = category.parentCategoryId() != null ? byId.get(category.parentCategoryId()) : null;
+        }
+        return path.reversed();
+    }
+}
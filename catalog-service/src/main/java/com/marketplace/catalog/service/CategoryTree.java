@@ -0,0 +1,109 @@
+package com.marketplace.catalog.service;
+
+import com.marketplace.catalog.domain.repository.CategoryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Holds the current {@link CategorySnapshot}; category reads never touch the database.
+ *
+ * <p>The snapshot is rebuilt from all category rows and swapped in with a single volatile write,
+ * so readers see either the old or the new tree, never a partial one. This replica rebuilds after
+ * its own category writes commit; other replicas rebuild on the resulting category event (see
+ * {@code CategoryTreeRefreshConsumer}). A periodic rebuild bounds staleness if an event is missed.
+ *
+ * <p>Metrics: {@code catalog.category.tree.size} and {@code catalog.category.tree.rebuild}.
+ */
+@Component
+public class CategoryTree {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryTree.class);
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Timer rebuildTimer;
+    private final Object rebuildLock = new Object();
+
+    private volatile CategorySnapshot snapshot = CategorySnapshot.EMPTY;
+
+    public CategoryTree(CategoryRepository categoryRepository,
+                        PlatformTransactionManager transactionManager,
+                        ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.categoryRepository = categoryRepository;
+        // Rebuilds also run from afterCommit callbacks, where the finished transaction cannot be joined
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readOnlyTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        Gauge.builder("catalog.category.tree.size", this, tree -> tree.snapshot.size())
+            .description("Categories in the in-memory category tree")
+            .tag("service", "catalog-service")
+            .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("catalog.category.tree.rebuild")
+            .description("Time to load all categories and rebuild the category tree")
+            .tag("service", "catalog-service")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        rebuild();
+    }
+
+    CategorySnapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Reload all categories and swap in the new tree. Rebuilds are serialized, so a rebuild that
+     * starts after a change committed always ends up as the current snapshot.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            CategorySnapshot rebuilt = rebuildTimer.record(() -> readOnlyTransactionTemplate.execute(
+                status -> new CategorySnapshot(categoryRepository.findAll())));
+            snapshot = rebuilt;
+            log.debug("Rebuilt category tree with {} categories", rebuilt.size());
+        }
+    }
+
+    /**
+     * Rebuild once the current transaction commits, or right away outside a transaction.
+     */
+    public void rebuildAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuild();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rebuild();
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${category-tree.refresh-interval-ms:300000}",
+               initialDelayString = "${category-tree.refresh-interval-ms:300000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Periodic category tree rebuild failed; keeping the current tree: {}", e.getMessage());
+        }
+    }
+}
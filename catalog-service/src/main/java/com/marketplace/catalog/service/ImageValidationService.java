@@ -1,82 +1,278 @@
 package com.marketplace.catalog.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.marketplace.catalog.exception.InvalidImageUrlException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Checks that image URLs are reachable with HTTP HEAD requests.
+ *
+ * <p>All URLs of a product are checked concurrently, at most {@code per-host-concurrency} at a
+ * time against the same host, and the whole check is bounded by {@code deadline-ms}. Any 2xx
+ * response is valid; the Content-Type is only checked when {@code require-image-content-type} is
+ * set, since many CDNs and object stores answer HEAD with a generic type. Definitive results
+ * (2xx/3xx responses, 4xx errors and, if checked, non-image content types) are cached per URL, so
+ * re-saving a product does not re-validate URLs that were just checked; transient failures
+ * (timeouts, connection errors, 5xx, the deadline) are not cached, and
+ * {@link #checkImageUrls(String[])} reports them separately so they can be retried.
+ * Cache stats are exported as {@code catalog.image.validation.cache.*}.
+ */
 @Service
 public class ImageValidationService {
-    
+
     private static final Logger log = LoggerFactory.getLogger(ImageValidationService.class);
-    
+    private static final String CACHE_NAME = "catalog.image.validation";
+
+    /** Outcome of checking one URL; {@code cacheable} is false for transient failures. */
+    private record UrlCheck(boolean valid, String problem, boolean cacheable) {
+
+        static final UrlCheck OK = new UrlCheck(true, null, true);
+    }
+
+    /**
+     * Result of checking a product's image URLs, as descriptions of the failing URLs.
+     *
+     * @param rejected    URLs that are definitively invalid (malformed, 4xx, not an image if checked)
+     * @param unavailable URLs that could not be checked right now (timeout, connection error, 5xx)
+     */
+    public record ImageCheckResult(List<String> rejected, List<String> unavailable) {
+
+        public List<String> all() {
+            List<String> all = new ArrayList<>(rejected);
+            all.addAll(unavailable);
+            return all;
+        }
+    }
+
     private final WebClient webClient;
-    
-    public ImageValidationService(WebClient.Builder webClientBuilder) {
+    private final Cache<String, UrlCheck> results;
+    private final Duration requestTimeout;
+    private final Duration deadline;
+    private final int perHostConcurrency;
+    private final boolean requireImageContentType;
+
+    public ImageValidationService(
+            WebClient.Builder webClientBuilder,
+            @Value("${image-validation.request-timeout-ms:3000}") long requestTimeoutMs,
+            @Value("${image-validation.deadline-ms:5000}") long deadlineMs,
+            @Value("${image-validation.per-host-concurrency:4}") int perHostConcurrency,
+            @Value("${image-validation.require-image-content-type:false}") boolean requireImageContentType,
+            @Value("${image-validation.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${image-validation.cache.valid-ttl-seconds:600}") long validTtlSeconds,
+            @Value("${image-validation.cache.invalid-ttl-seconds:60}") long invalidTtlSeconds,
+            ObjectProvider<MeterRegistry> meterRegistry) {
         this.webClient = webClientBuilder
             .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024))
             .build();
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.deadline = Duration.ofMillis(deadlineMs);
+        this.perHostConcurrency = perHostConcurrency;
+        this.requireImageContentType = requireImageContentType;
+
+        long validTtlNanos = Duration.ofSeconds(validTtlSeconds).toNanos();
+        long invalidTtlNanos = Duration.ofSeconds(invalidTtlSeconds).toNanos();
+        this.results = Caffeine.newBuilder()
+            .maximumSize(cacheMaxSize)
+            .expireAfter(new Expiry<String, UrlCheck>() {
+                @Override
+                public long expireAfterCreate(String url, UrlCheck check, long currentTime) {
+                    return check.valid() ? validTtlNanos : invalidTtlNanos;
+                }
+
+                @Override
+                public long expireAfterUpdate(String url, UrlCheck check, long currentTime, long currentDuration) {
+                    return expireAfterCreate(url, check, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String url, UrlCheck check, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+            results, CACHE_NAME, "service", "catalog-service");
     }
-    
+
     /**
      * Validates that all image URLs are accessible via HTTP HEAD request
      * @throws InvalidImageUrlException if any URL is not accessible
      */
     public void validateImageUrls(String[] imageUrls) {
-        if (imageUrls == null || imageUrls.length == 0) {
-            throw new InvalidImageUrlException("At least one image URL is required");
+        List<String> invalidUrls = findInvalidImageUrls(imageUrls);
+        if (!invalidUrls.isEmpty()) {
+            throw new InvalidImageUrlException(
+                "Invalid or inaccessible image URLs: " + String.join(", ", invalidUrls)
+            );
+        }
+    }
+
+    /**
+     * Validates only that image URLs are present and well-formed, without contacting the hosts.
+     * Used when reachability is checked later by {@link ImageValidationWorker}.
+     * @throws InvalidImageUrlException if no URL is given or a URL is malformed
+     */
+    public void validateImageUrlFormat(String[] imageUrls) {
+        requireImageUrls(imageUrls);
+        List<String> invalidUrls = Arrays.stream(imageUrls)
+            .filter(url -> !isValidUrl(url))
+            .map(url -> url + " (invalid format)")
+            .toList();
+        if (!invalidUrls.isEmpty()) {
+            throw new InvalidImageUrlException(
+                "Invalid or inaccessible image URLs: " + String.join(", ", invalidUrls)
+            );
         }
-        
-        List<String> invalidUrls = new ArrayList<>();
-        
-        for (String url : imageUrls) {
+    }
+
+    /**
+     * Checks all image URLs and describes the ones that are malformed or not accessible.
+     * @return descriptions of the invalid URLs; empty if all are valid
+     * @throws InvalidImageUrlException if no URL is given
+     */
+    public List<String> findInvalidImageUrls(String[] imageUrls) {
+        return checkImageUrls(imageUrls).all();
+    }
+
+    /**
+     * Checks all image URLs, separating definitive failures from transient ones.
+     * @throws InvalidImageUrlException if no URL is given
+     */
+    public ImageCheckResult checkImageUrls(String[] imageUrls) {
+        requireImageUrls(imageUrls);
+
+        Map<String, String> rejected = new LinkedHashMap<>();
+        Map<String, String> unavailable = new LinkedHashMap<>();
+        List<String> toCheck = new ArrayList<>();
+        for (String url : new LinkedHashSet<>(Arrays.asList(imageUrls))) {
             if (!isValidUrl(url)) {
-                invalidUrls.add(url + " (invalid format)");
+                rejected.put(url, "invalid format");
                 continue;
             }
-            
-            try {
-                var response = webClient.head()
-                    .uri(url)
-                    .retrieve()
-                    .toBodilessEntity()
-                    .timeout(Duration.ofSeconds(3))
-                    .block();
-                
-                if (response != null && !response.getStatusCode().is2xxSuccessful()) {
-                    invalidUrls.add(url + " (status: " + response.getStatusCode().value() + ")");
+            UrlCheck cached = results.getIfPresent(url);
+            if (cached == null) {
+                toCheck.add(url);
+            } else if (!cached.valid()) {
+                rejected.put(url, cached.problem());
+            }
+        }
+
+        if (!toCheck.isEmpty()) {
+            Map<String, UrlCheck> checked = checkConcurrently(toCheck);
+            for (String url : toCheck) {
+                UrlCheck check = checked.get(url);
+                if (check == null) {
+                    unavailable.put(url, "not accessible: validation deadline exceeded");
+                } else if (!check.valid()) {
+                    (check.cacheable() ? rejected : unavailable).put(url, check.problem());
                 }
-            } catch (WebClientResponseException e) {
-                invalidUrls.add(url + " (HTTP " + e.getStatusCode().value() + ")");
-                log.warn("Image URL validation failed for {}: {}", url, e.getMessage());
-            } catch (Exception e) {
-                invalidUrls.add(url + " (not accessible: " + e.getMessage() + ")");
-                log.warn("Image URL validation failed for {}: {}", url, e.getMessage());
             }
         }
-        
-        if (!invalidUrls.isEmpty()) {
-            throw new InvalidImageUrlException(
-                "Invalid or inaccessible image URLs: " + String.join(", ", invalidUrls)
-            );
+
+        return new ImageCheckResult(describe(rejected), describe(unavailable));
+    }
+
+    private static List<String> describe(Map<String, String> problems) {
+        return problems.entrySet().stream()
+            .map(entry -> entry.getKey() + " (" + entry.getValue() + ")")
+            .toList();
+    }
+
+    /**
+     * HEAD all URLs concurrently, capped per host; URLs still running at the deadline are absent.
+     */
+    private Map<String, UrlCheck> checkConcurrently(List<String> urls) {
+        Map<String, UrlCheck> checked = Flux.fromIterable(urls)
+            .groupBy(ImageValidationService::hostOf)
+            .flatMap(sameHost -> sameHost.flatMap(
+                    url -> check(url).map(result -> Map.entry(url, result)),
+                    perHostConcurrency),
+                urls.size())
+            .take(deadline)
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+            .block();
+        return checked != null ? checked : Map.of();
+    }
+
+    private Mono<UrlCheck> check(String url) {
+        return webClient.head()
+            .uri(url)
+            .retrieve()
+            .toBodilessEntity()
+            .timeout(requestTimeout)
+            .map(response -> {
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    return new UrlCheck(false, "status: " + response.getStatusCode().value(), true);
+                }
+                MediaType contentType = response.getHeaders().getContentType();
+                if (requireImageContentType && contentType != null && !"image".equalsIgnoreCase(contentType.getType())) {
+                    return new UrlCheck(false, "not an image: " + contentType, true);
+                }
+                return UrlCheck.OK;
+            })
+            .onErrorResume(WebClientResponseException.class, e -> {
+                log.warn("Image URL validation failed for {}: {}", url, e.getMessage());
+                return Mono.just(new UrlCheck(false, "HTTP " + e.getStatusCode().value(),
+                    e.getStatusCode().is4xxClientError()));
+            })
+            .onErrorResume(e -> {
+                log.warn("Image URL validation failed for {}: {}", url, e.getMessage());
+                return Mono.just(new UrlCheck(false, "not accessible: " + e.getMessage(), false));
+            })
+            .doOnNext(result -> {
+                if (result.cacheable()) {
+                    results.put(url, result);
+                }
+            });
+    }
+
+    private static void requireImageUrls(String[] imageUrls) {
+        if (imageUrls == null || imageUrls.length == 0) {
+            throw new InvalidImageUrlException("At least one image URL is required");
         }
     }
-    
-    private boolean isValidUrl(String url) {
+
+    private static String hostOf(String url) {
+        String host = URI.create(url).getHost();
+        return host != null ? host.toLowerCase() : "";
+    }
+
+    private static boolean isValidUrl(String url) {
+        if (url == null) {
+            return false;
+        }
         try {
-            new URL(url);
+            new URL(url).toURI();
             return url.startsWith("http://") || url.startsWith("https://");
-        } catch (MalformedURLException e) {
+        } catch (MalformedURLException | URISyntaxException e) {
             return false;
         }
     }
@@ -0,0 +1,84 @@
+package com.marketplace.catalog.service;
+
+import com.marketplace.catalog.domain.enums.ProductStatus;
+import com.marketplace.catalog.domain.model.Product;
+import com.marketplace.catalog.domain.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Validates the image URLs of products created in {@code PENDING_VALIDATION} status
+ * (opt-in with {@code image-validation.async.enabled}).
+ *
+ * <p>Products are polled oldest first and checked outside any transaction; the result is
+ * applied only if the product is still pending, so replicas polling the same products
+ * at worst repeat a (cached) check. Only definitive failures reject a product; if some URLs
+ * could not be checked (timeout, connection error, 5xx), it stays pending and is retried after
+ * {@code retry-backoff-base-seconds * 2^attempts}, at most {@code retry-backoff-max-seconds}.
+ */
+@Component
+@ConditionalOnProperty(name = "image-validation.async.enabled", havingValue = "true")
+public class ImageValidationWorker {
+    
+    private static final Logger log = LoggerFactory.getLogger(ImageValidationWorker.class);
+    
+    private final ProductRepository productRepository;
+    private final ImageValidationService imageValidationService;
+    private final ProductService productService;
+    
+    @Value("${image-validation.async.batch-size:20}")
+    private int batchSize;
+    
+    @Value("${image-validation.async.retry-backoff-base-seconds:10}")
+    private long retryBackoffBaseSeconds;
+    
+    @Value("${image-validation.async.retry-backoff-max-seconds:3600}")
+    private long retryBackoffMaxSeconds;
+    
+    public ImageValidationWorker(ProductRepository productRepository,
+                                 ImageValidationService imageValidationService,
+                                 ProductService productService) {
+        this.productRepository = productRepository;
+        this.imageValidationService = imageValidationService;
+        this.productService = productService;
+    }
+    
+    @Scheduled(fixedDelayString = "${image-validation.async.poll-interval-ms:1000}")
+    public void validatePendingProducts() {
+        try {
+            List<UUID> productIds = productRepository.findIdsDueForImageValidation(
+                OffsetDateTime.now(ZoneOffset.UTC), batchSize);
+            for (UUID productId : productIds) {
+                validate(productId);
+            }
+        } catch (Exception e) {
+            log.warn("Image validation run failed: {}", e.getMessage());
+        }
+    }
+    
+    private void validate(UUID productId) {
+        Product product = productRepository.findById(productId).orElse(null);
+        if (product == null || product.getStatus() != ProductStatus.PENDING_VALIDATION) {
+            return;
+        }
+        
+        ImageValidationService.ImageCheckResult result = imageValidationService.checkImageUrls(product.getImageUrls());
+        if (result.rejected().isEmpty() && !result.unavailable().isEmpty()) {
+            productRepository.scheduleImageValidationRetry(productId, OffsetDateTime.now(ZoneOffset.UTC),
+                retryBackoffBaseSeconds, retryBackoffMaxSeconds);
+            log.info("Image validation of product {} deferred, images not checkable now: {}",
+                productId, String.join(", ", result.unavailable()));
+            return;
+        }
+        productService.completeImageValidation(productId, result.rejected());
+    }
+}
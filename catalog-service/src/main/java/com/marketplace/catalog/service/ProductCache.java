@@ -0,0 +1,82 @@
+package com.marketplace.catalog.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.marketplace.shared.dto.catalog.ProductResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of {@link ProductResponse} by product ID.
+ *
+ * <p>Entries are evicted by the write paths of this replica (see {@link ProductService}) and by
+ * product events from other replicas; the write TTL only bounds staleness if an event is missed.
+ * Caffeine stats are exported as {@code catalog.products.cache.*}.
+ */
+@Component
+public class ProductCache {
+
+    private static final String CACHE_NAME = "catalog.products";
+
+    private final Cache<UUID, ProductResponse> products;
+
+    public ProductCache(
+            @Value("${product-cache.max-size:10000}") long maxSize,
+            @Value("${product-cache.expire-after-write-seconds:300}") long expireAfterWriteSeconds,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                products, CACHE_NAME, "service", "catalog-service");
+    }
+
+    /**
+     * Get a cached product or load it; concurrent misses for the same ID share one load.
+     * Loader exceptions (e.g. product not found) propagate and nothing is cached.
+     */
+    public ProductResponse get(UUID productId, Function<UUID, ProductResponse> loader) {
+        return products.get(productId, loader);
+    }
+
+    /**
+     * Get several products, loading all misses with one call of the loader.
+     * IDs the loader does not return are absent from the result and not cached.
+     */
+    public Map<UUID, ProductResponse> getAll(Collection<UUID> productIds,
+                                             Function<Set<? extends UUID>, Map<UUID, ProductResponse>> loader) {
+        return products.getAll(productIds, loader);
+    }
+
+    /**
+     * Evict a product now and again once the surrounding transaction commits, so that a
+     * concurrent read cannot re-cache the pre-commit state.
+     */
+    public void evict(UUID productId) {
+        products.invalidate(productId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    products.invalidate(productId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.marketplace.catalog.service;
+
+import com.marketplace.catalog.domain.model.Product;
+import com.marketplace.catalog.domain.repository.ProductSortKey;
+import com.marketplace.catalog.exception.InvalidPageRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a product listing: the (sort key, id) of the last product of a page.
+ *
+ * <p>Encoded as URL-safe base64 of {@code property|direction|id|value}. The sort is part of the
+ * cursor so a cursor cannot be replayed against a listing sorted differently.
+ */
+record ProductCursor(ProductSortKey sortKey, Sort.Direction direction, Object value, UUID id) {
+
+    static ProductCursor after(Product last, ProductSortKey sortKey, Sort.Direction direction) {
+        return new ProductCursor(sortKey, direction, sortKey.valueOf(last), last.getId());
+    }
+
+    String encode() {
+        String raw = sortKey.property() + "|" + direction.name() + "|" + id + "|" + sortKey.format(value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws InvalidPageRequestException if the cursor is malformed or was issued for another sort
+     */
+    static ProductCursor decode(String cursor, ProductSortKey sortKey, Sort.Direction direction) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+        if (parts.length != 4) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+        if (!parts[0].equals(sortKey.property()) || !parts[1].equals(direction.name())) {
+            throw new InvalidPageRequestException("Cursor was issued for a different sort order");
+        }
+        try {
+            return new ProductCursor(sortKey, direction, sortKey.parse(parts[3]), UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+    }
+}
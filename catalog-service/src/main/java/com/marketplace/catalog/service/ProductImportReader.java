@@ -0,0 +1,189 @@
+package com.marketplace.catalog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.marketplace.catalog.domain.enums.ProductImportFormat;
+import com.marketplace.shared.dto.catalog.CreateProductRequest;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads an import upload one row at a time, so memory use does not grow with the upload size.
+ *
+ * <p>A row that cannot be converted to a {@link CreateProductRequest} is returned with an error and
+ * reading continues. An {@link IOException} means the rest of the upload cannot be read.
+ */
+abstract class ProductImportReader implements Closeable {
+
+    /** One row of the upload: either a request or the reason it could not be read. */
+    record Row(long number, CreateProductRequest request, String error) {
+    }
+
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("name", "description", "basePrice",
+        "categoryId", "imageUrls");
+
+    static ProductImportReader open(ProductImportFormat format, Reader reader, ObjectMapper objectMapper)
+            throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonReader(new BufferedReader(reader), objectMapper);
+            case CSV -> new CsvReader(reader);
+        };
+    }
+
+    /**
+     * @return the next row, or null at the end of the upload
+     */
+    abstract Row next() throws IOException;
+
+    /**
+     * One JSON object per line; the row number is the line number. Blank lines are skipped.
+     */
+    private static final class NdjsonReader extends ProductImportReader {
+
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private long lineNumber;
+
+        NdjsonReader(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNumber++;
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            try {
+                return new Row(lineNumber, objectMapper.readValue(line, CreateProductRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(lineNumber, null, "invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Header row plus one product per record; the row number is the record number without the header.
+     * List columns are separated by '|', stock per variant is written as {@code S-Red=10|M-Blue=5}.
+     */
+    private static final class CsvReader extends ProductImportReader {
+
+        private final MappingIterator<Map<String, String>> records;
+        private long recordNumber;
+
+        CsvReader(Reader reader) throws IOException {
+            CsvMapper mapper = new CsvMapper();
+            this.records = mapper.readerForMapOf(String.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(reader);
+            if (records.hasNextValue()) {
+                CsvSchema header = (CsvSchema) records.getParserSchema();
+                List<String> missing = REQUIRED_CSV_COLUMNS.stream()
+                    .filter(column -> header.column(column) == null)
+                    .toList();
+                if (!missing.isEmpty()) {
+                    throw new IOException("CSV header is missing columns: " + String.join(", ", missing));
+                }
+            }
+        }
+
+        @Override
+        Row next() throws IOException {
+            if (!records.hasNextValue()) {
+                return null;
+            }
+            Map<String, String> record = records.nextValue();
+            recordNumber++;
+            try {
+                return new Row(recordNumber, toRequest(record), null);
+            } catch (IllegalArgumentException e) {
+                return new Row(recordNumber, null, e.getMessage());
+            }
+        }
+
+        private static CreateProductRequest toRequest(Map<String, String> record) {
+            return new CreateProductRequest(
+                null,
+                blankToNull(record.get("name")),
+                blankToNull(record.get("description")),
+                parse("basePrice", record.get("basePrice"), BigDecimal::new),
+                parse("categoryId", record.get("categoryId"), Long::valueOf),
+                split(record.get("availableSizes")),
+                split(record.get("availableColors")),
+                stock(record.get("stockPerVariant")),
+                split(record.get("imageUrls"))
+            );
+        }
+
+        private static <T> T parse(String column, String value, Function<String, T> parser) {
+            String trimmed = blankToNull(value);
+            if (trimmed == null) {
+                return null;
+            }
+            try {
+                return parser.apply(trimmed.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(column + ": not a number: " + trimmed);
+            }
+        }
+
+        private static String[] split(String value) {
+            String trimmed = blankToNull(value);
+            if (trimmed == null) {
+                return null;
+            }
+            return Arrays.stream(trimmed.split("\\|"))
+                .map(String::trim)
+                .filter(part -> !part.isEmpty())
+                .toArray(String[]::new);
+        }
+
+        private static Map<String, Integer> stock(String value) {
+            String[] entries = split(value);
+            if (entries == null) {
+                return null;
+            }
+            Map<String, Integer> stock = new LinkedHashMap<>();
+            for (String entry : entries) {
+                int separator = entry.lastIndexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("stockPerVariant: expected variant=quantity, got " + entry);
+                }
+                stock.put(entry.substring(0, separator).trim(),
+                    parse("stockPerVariant", entry.substring(separator + 1), Integer::valueOf));
+            }
+            return stock;
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isBlank() ? null : value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            records.close();
+        }
+    }
+}
@@ -0,0 +1,528 @@
+package com.marketplace.catalog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.catalog.domain.enums.ProductImportFormat;
+import com.marketplace.catalog.domain.enums.ProductImportStatus;
+import com.marketplace.catalog.domain.enums.ProductStatus;
+import com.marketplace.catalog.domain.model.Category;
+import com.marketplace.catalog.domain.model.Product;
+import com.marketplace.catalog.domain.model.ProductImportError;
+import com.marketplace.catalog.domain.model.ProductImportJob;
+import com.marketplace.catalog.domain.repository.ProductImportErrorRepository;
+import com.marketplace.catalog.domain.repository.ProductImportJobRepository;
+import com.marketplace.catalog.domain.repository.ProductRepository;
+import com.marketplace.catalog.event.ProductEventPublisher;
+import com.marketplace.catalog.exception.ForbiddenException;
+import com.marketplace.catalog.exception.InvalidImageUrlException;
+import com.marketplace.catalog.exception.InvalidImportException;
+import com.marketplace.catalog.exception.ProductImportNotFoundException;
+import com.marketplace.shared.dto.catalog.CategoryResponse;
+import com.marketplace.shared.dto.catalog.CreateProductRequest;
+import com.marketplace.shared.dto.catalog.ProductImportResponse;
+import com.marketplace.shared.dto.catalog.ProductImportRowError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Imports many products from an NDJSON or CSV upload as an asynchronous job.
+ *
+ * <p>The upload is spooled to a temporary file while the request is read, and a job row is created
+ * in {@code QUEUED} status. A background thread then reads the file one row at a time and handles
+ * it in batches of {@code product-import.batch-size}: the rows of a batch are validated in parallel
+ * (bean validation, category from the in-memory {@link CategoryTree}, image URLs), and the valid
+ * ones are inserted with one JDBC batch, recorded as ProductCreated events with one outbox batch and
+ * queued for search indexing, in one transaction together with the job's progress counters and the
+ * rejected rows. Memory use is bounded by the batch size, not the upload size.
+ *
+ * <p>The spool file lives only on the replica that accepted the upload, so a job cannot outlive it.
+ * Each replica refreshes the heartbeat of the jobs it holds every {@code product-import.heartbeat-interval-ms},
+ * and fails unfinished jobs whose heartbeat is older than {@code product-import.abandoned-after-seconds}
+ * (their replica stopped or crashed); this also runs once at startup. Jobs still queued at shutdown are
+ * failed right away.
+ *
+ * <p>Metrics: {@code catalog.product.import.rows{result}} and {@code catalog.product.import.jobs.active}.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+    private static final int MAX_REASON_LENGTH = 500;
+    private static final String ABANDONED_REASON = "Abandoned: the replica running the import stopped";
+    private static final String SHUTDOWN_REASON = "Service shut down before the import started";
+
+    private final ProductImportJobRepository jobRepository;
+    private final ProductImportErrorRepository errorRepository;
+    private final ProductRepository productRepository;
+    private final ProductEventPublisher eventPublisher;
+    private final SearchIndexDispatcher searchIndexDispatcher;
+    private final ImageValidationService imageValidationService;
+    private final CategoryTree categoryTree;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService validationExecutor;
+    private final int batchSize;
+    private final long maxRows;
+    private final int maxErrors;
+    private final long maxUploadBytes;
+    private final boolean asyncImageValidation;
+    private final Duration abandonedAfter;
+
+    /** Jobs queued or running on this replica, whose heartbeat it refreshes. */
+    private final Set<UUID> localJobs = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger activeJobs = new AtomicInteger();
+    private final Counter importedCounter;
+    private final Counter failedCounter;
+
+    public ProductImportService(
+            ProductImportJobRepository jobRepository,
+            ProductImportErrorRepository errorRepository,
+            ProductRepository productRepository,
+            ProductEventPublisher eventPublisher,
+            SearchIndexDispatcher searchIndexDispatcher,
+            ImageValidationService imageValidationService,
+            CategoryTree categoryTree,
+            Validator validator,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${product-import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+            @Value("${product-import.validation-concurrency:8}") int validationConcurrency,
+            @Value("${product-import.batch-size:500}") int batchSize,
+            @Value("${product-import.max-rows:100000}") long maxRows,
+            @Value("${product-import.max-errors:1000}") int maxErrors,
+            @Value("${product-import.max-upload-mb:256}") long maxUploadMb,
+            @Value("${image-validation.async.enabled:false}") boolean asyncImageValidation,
+            @Value("${product-import.abandoned-after-seconds:120}") long abandonedAfterSeconds,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.jobRepository = jobRepository;
+        this.errorRepository = errorRepository;
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.searchIndexDispatcher = searchIndexDispatcher;
+        this.imageValidationService = imageValidationService;
+        this.categoryTree = categoryTree;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobExecutor = Executors.newFixedThreadPool(maxConcurrentJobs, namedThreads("product-import-"));
+        this.validationExecutor = Executors.newFixedThreadPool(validationConcurrency, namedThreads("product-import-validation-"));
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+        this.maxErrors = maxErrors;
+        this.maxUploadBytes = maxUploadMb * 1024 * 1024;
+        this.asyncImageValidation = asyncImageValidation;
+        this.abandonedAfter = Duration.ofSeconds(abandonedAfterSeconds);
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        Gauge.builder("catalog.product.import.jobs.active", activeJobs, AtomicInteger::get)
+            .description("Product import jobs being processed by this replica")
+            .tag("service", "catalog-service")
+            .register(meterRegistry);
+        this.importedCounter = Counter.builder("catalog.product.import.rows")
+            .description("Product import rows handled")
+            .tag("service", "catalog-service")
+            .tag("result", "imported")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("catalog.product.import.rows")
+            .description("Product import rows handled")
+            .tag("service", "catalog-service")
+            .tag("result", "failed")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Spool the upload and queue an import job for it.
+     * @throws InvalidImportException if the upload exceeds {@code product-import.max-upload-mb}
+     */
+    public ProductImportResponse submit(InputStream upload, ProductImportFormat format, UUID sellerId) throws IOException {
+        Path file = spool(upload);
+
+        ProductImportJob job = new ProductImportJob();
+        job.setId(UUID.randomUUID());
+        job.setSellerId(sellerId);
+        job.setFormat(format);
+        job.setStatus(ProductImportStatus.QUEUED);
+        ProductImportJob saved;
+        try {
+            saved = transactionTemplate.execute(status -> jobRepository.save(job));
+            localJobs.add(saved.getId());
+            jobExecutor.execute(new ImportTask(saved.getId(), file, format, sellerId));
+        } catch (RuntimeException e) {
+            localJobs.remove(job.getId());
+            Files.deleteIfExists(file);
+            if (e instanceof RejectedExecutionException) {
+                finish(job.getId(), ProductImportStatus.FAILED, "Service is shutting down");
+            }
+            throw e;
+        }
+        log.info("Queued product import {} ({}) for seller {}", saved.getId(), format, sellerId);
+        return toResponse(saved, List.of());
+    }
+
+    /**
+     * @throws ForbiddenException if the job belongs to another seller and the caller is no admin
+     */
+    public ProductImportResponse getJob(UUID jobId, UUID requesterId, boolean admin) {
+        ProductImportJob job = jobRepository.findById(jobId)
+            .orElseThrow(() -> new ProductImportNotFoundException(jobId));
+        if (!admin && !job.getSellerId().equals(requesterId)) {
+            throw new ForbiddenException("You can only view your own product imports");
+        }
+        List<ProductImportRowError> errors = errorRepository.findByJobIdOrderByRowNumber(jobId).stream()
+            .map(error -> new ProductImportRowError(error.getRowNumber(), error.getMessage()))
+            .toList();
+        return toResponse(job, errors);
+    }
+
+    private Path spool(InputStream upload) throws IOException {
+        Path file = Files.createTempFile("product-import-", ".upload");
+        try (InputStream in = upload; OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            long total = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > maxUploadBytes) {
+                    throw new InvalidImportException("Upload exceeds " + (maxUploadBytes / (1024 * 1024)) + " MB");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    private void run(UUID jobId, Path file, ProductImportFormat format, UUID sellerId) {
+        activeJobs.incrementAndGet();
+        JobProgress progress = new JobProgress(jobId, sellerId);
+        String failureReason = null;
+        try (Reader input = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             ProductImportReader reader = ProductImportReader.open(format, input, objectMapper)) {
+            transactionTemplate.executeWithoutResult(status ->
+                jobRepository.markStarted(jobId, ProductImportStatus.RUNNING, OffsetDateTime.now(ZoneOffset.UTC)));
+
+            List<ProductImportReader.Row> batch = new ArrayList<>(batchSize);
+            long rows = 0;
+            try {
+                ProductImportReader.Row row;
+                while ((row = reader.next()) != null) {
+                    if (++rows > maxRows) {
+                        failureReason = "Upload has more than " + maxRows + " rows; the remaining rows were not imported";
+                        break;
+                    }
+                    batch.add(row);
+                    if (batch.size() == batchSize) {
+                        importBatch(progress, batch);
+                        batch.clear();
+                        if (Thread.currentThread().isInterrupted()) {
+                            failureReason = "Interrupted by service shutdown";
+                            break;
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // Unreadable rest of the upload; the rows read so far are still imported
+                failureReason = "Could not read upload after row " + rows + ": " + e.getMessage();
+            }
+            importBatch(progress, batch);
+        } catch (IOException | RuntimeException e) {
+            log.error("Product import {} failed", jobId, e);
+            failureReason = "Import failed: " + e.getMessage();
+        } finally {
+            activeJobs.decrementAndGet();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import spool file {}: {}", file, e.getMessage());
+            }
+        }
+
+        finish(jobId, failureReason == null ? ProductImportStatus.COMPLETED : ProductImportStatus.FAILED, failureReason);
+        localJobs.remove(jobId);
+        log.info("Product import {} finished: {} imported, {} failed{}", jobId, progress.imported, progress.failed,
+            failureReason != null ? " (" + failureReason + ")" : "");
+    }
+
+    /**
+     * Validate the rows of a batch in parallel, then import the valid ones in one transaction.
+     */
+    private void importBatch(JobProgress progress, List<ProductImportReader.Row> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        CategorySnapshot categories = categoryTree.current();
+        List<CompletableFuture<String>> checks = batch.stream()
+            .map(row -> row.error() != null
+                ? CompletableFuture.completedFuture(row.error())
+                : CompletableFuture.supplyAsync(() -> validate(row.request(), categories), validationExecutor))
+            .toList();
+
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Product> products = new ArrayList<>();
+        List<ProductImportRowError> rejected = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ProductImportReader.Row row = batch.get(i);
+            String error = checks.get(i).join();
+            if (error != null) {
+                rejected.add(new ProductImportRowError(row.number(), error));
+            } else {
+                products.add(toProduct(row.request(), progress.sellerId, categories.get(row.request().categoryId()), now));
+            }
+        }
+
+        try {
+            int recorded = transactionTemplate.execute(status -> {
+                productRepository.insertAll(products);
+                Map<UUID, Long> sequenceNumbers = eventPublisher.publishProductsCreated(products);
+                searchIndexDispatcher.enqueueUpserts(products, sequenceNumbers);
+                return recordProgress(progress, batch.size(), products.size(), rejected);
+            });
+            progress.add(products.size(), rejected.size(), recorded);
+        } catch (DataAccessException e) {
+            // E.g. a category was deleted since the snapshot was taken; reject the whole batch
+            log.warn("Product import {}: batch insert failed: {}", progress.jobId, e.getMessage());
+            String message = "batch insert failed: " + e.getMostSpecificCause().getMessage();
+            List<ProductImportRowError> all = new ArrayList<>(rejected);
+            for (int i = 0; i < batch.size(); i++) {
+                if (checks.get(i).join() == null) {
+                    all.add(new ProductImportRowError(batch.get(i).number(), message));
+                }
+            }
+            all.sort(Comparator.comparingLong(ProductImportRowError::row));
+            int recorded = transactionTemplate.execute(status -> recordProgress(progress, batch.size(), 0, all));
+            progress.add(0, all.size(), recorded);
+        }
+        importedCounter.increment(progress.lastImported);
+        failedCounter.increment(progress.lastFailed);
+    }
+
+    /**
+     * @return the number of rejected rows stored; beyond {@code product-import.max-errors} they are only counted
+     */
+    private int recordProgress(JobProgress progress, int processed, int imported, List<ProductImportRowError> rejected) {
+        int capacity = Math.max(0, maxErrors - progress.recordedErrors);
+        List<ProductImportError> errors = rejected.stream()
+            .limit(capacity)
+            .map(error -> new ProductImportError(progress.jobId, error.row(), truncate(error.message(), MAX_MESSAGE_LENGTH)))
+            .toList();
+        errorRepository.saveAll(errors);
+        jobRepository.addProgress(progress.jobId, processed, imported, rejected.size());
+        return errors.size();
+    }
+
+    /**
+     * @return why the row is rejected, or null if it can be imported
+     */
+    private String validate(CreateProductRequest request, CategorySnapshot categories) {
+        String violations = validator.validate(request).stream()
+            .sorted(Comparator.comparing((ConstraintViolation<CreateProductRequest> v) -> v.getPropertyPath().toString()))
+            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+            .collect(Collectors.joining("; "));
+        if (!violations.isEmpty()) {
+            return violations;
+        }
+        if (categories.get(request.categoryId()) == null) {
+            return "categoryId: category not found with id: " + request.categoryId();
+        }
+        try {
+            if (asyncImageValidation) {
+                imageValidationService.validateImageUrlFormat(request.imageUrls());
+            } else {
+                imageValidationService.validateImageUrls(request.imageUrls());
+            }
+        } catch (InvalidImageUrlException e) {
+            return "imageUrls: " + e.getMessage();
+        }
+        return null;
+    }
+
+    /**
+     * The category is a detached copy from the category tree; products are inserted with JDBC.
+     */
+    private Product toProduct(CreateProductRequest request, UUID sellerId, CategoryResponse category, OffsetDateTime now) {
+        return new Product(
+            UUID.randomUUID(),
+            sellerId,
+            request.name(),
+            request.description(),
+            request.basePrice(),
+            new Category(category.id(), category.name(), category.description(), null, category.createdAt(), category.updatedAt()),
+            request.availableSizes(),
+            request.availableColors(),
+            request.stockPerVariant(),
+            request.imageUrls(),
+            asyncImageValidation ? ProductStatus.PENDING_VALIDATION : ProductStatus.ACTIVE,
+            false,
+            now,
+            now
+        );
+    }
+
+    private void finish(UUID jobId, ProductImportStatus status, String reason) {
+        try {
+            transactionTemplate.executeWithoutResult(tx ->
+                jobRepository.markFinished(jobId, status, truncate(reason, MAX_REASON_LENGTH), OffsetDateTime.now(ZoneOffset.UTC)));
+        } catch (RuntimeException e) {
+            log.error("Could not record the end of product import {}", jobId, e);
+        }
+    }
+
+    private static ProductImportResponse toResponse(ProductImportJob job, List<ProductImportRowError> errors) {
+        return new ProductImportResponse(
+            job.getId(),
+            job.getSellerId(),
+            job.getFormat().name(),
+            job.getStatus().name(),
+            job.getProcessedRows(),
+            job.getImportedRows(),
+            job.getFailedRows(),
+            errors,
+            job.getFailedRows() > errors.size(),
+            job.getFailureReason(),
+            job.getCreatedAt(),
+            job.getStartedAt(),
+            job.getFinishedAt()
+        );
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Refresh the heartbeat of this replica's jobs and fail the jobs of replicas that stopped. The
+     * first run happens at startup, so jobs left behind by this replica's previous run are failed
+     * once their heartbeat has gone stale.
+     */
+    @Scheduled(fixedDelayString = "${product-import.heartbeat-interval-ms:30000}")
+    void maintainJobs() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        try {
+            int abandoned = transactionTemplate.execute(status -> {
+                if (!localJobs.isEmpty()) {
+                    jobRepository.touchHeartbeat(List.copyOf(localJobs), now);
+                }
+                return jobRepository.failAbandoned(now.minus(abandonedAfter), ABANDONED_REASON, now);
+            });
+            if (abandoned > 0) {
+                log.warn("Failed {} product imports abandoned by a stopped replica", abandoned);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not maintain product import jobs", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Runnable queued : jobExecutor.shutdownNow()) {
+            if (queued instanceof ImportTask task) {
+                finish(task.jobId, ProductImportStatus.FAILED, SHUTDOWN_REASON);
+                localJobs.remove(task.jobId);
+                try {
+                    Files.deleteIfExists(task.file);
+                } catch (IOException e) {
+                    log.warn("Could not delete import spool file {}: {}", task.file, e.getMessage());
+                }
+            }
+        }
+        validationExecutor.shutdownNow();
+    }
+
+    /** A queued import; kept as a type so that shutdown can fail the jobs that never started. */
+    private final class ImportTask implements Runnable {
+
+        private final UUID jobId;
+        private final Path file;
+        private final ProductImportFormat format;
+        private final UUID sellerId;
+
+        ImportTask(UUID jobId, Path file, ProductImportFormat format, UUID sellerId) {
+            this.jobId = jobId;
+            this.file = file;
+            this.format = format;
+            this.sellerId = sellerId;
+        }
+
+        @Override
+        public void run() {
+            ProductImportService.this.run(jobId, file, format, sellerId);
+        }
+    }
+
+    /** Counters of a running job, kept by the job's thread. */
+    private static final class JobProgress {
+
+        private final UUID jobId;
+        private final UUID sellerId;
+        private long imported;
+        private long failed;
+        private int recordedErrors;
+        private long lastImported;
+        private long lastFailed;
+
+        JobProgress(UUID jobId, UUID sellerId) {
+            this.jobId = jobId;
+            this.sellerId = sellerId;
+        }
+
+        void add(long batchImported, long batchFailed, int batchErrors) {
+            imported += batchImported;
+            failed += batchFailed;
+            recordedErrors += batchErrors;
+            lastImported = batchImported;
+            lastFailed = batchFailed;
+        }
+    }
+}
@@ -6,48 +6,69 @@ import org.slf4j.LoggerFactory;
 import com.marketplace.catalog.domain.model.Category;
 import com.marketplace.catalog.domain.model.Product;
 import com.marketplace.catalog.domain.repository.CategoryRepository;
+import com.marketplace.catalog.domain.repository.ProductFilter;
 import com.marketplace.catalog.domain.repository.ProductRepository;
+import com.marketplace.catalog.domain.repository.ProductSortKey;
 import com.marketplace.catalog.event.ProductEventPublisher;
 import com.marketplace.catalog.exception.CategoryNotFoundException;
 import com.marketplace.catalog.exception.ForbiddenException;
+import com.marketplace.catalog.exception.InvalidStatusTransitionException;
 import com.marketplace.catalog.exception.ProductNotFoundException;
+import com.marketplace.shared.dto.catalog.BatchProductResponse;
 import com.marketplace.shared.dto.catalog.CreateProductRequest;
+import com.marketplace.shared.dto.catalog.ProductPageResponse;
 import com.marketplace.shared.dto.catalog.ProductResponse;
 import com.marketplace.shared.dto.catalog.UpdateProductRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ProductService {
     
     private static final Logger log = LoggerFactory.getLogger(ProductService.class);
+    private static final int MAX_PAGE_SIZE = 100;
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ImageValidationService imageValidationService;
     private final PriceHistoryService priceHistoryService;
     private final ProductEventPublisher eventPublisher;
-    private final SearchServiceClient searchServiceClient;
+    private final SearchIndexDispatcher searchIndexDispatcher;
+    private final ProductCache productCache;
     
-    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository, ImageValidationService imageValidationService, PriceHistoryService priceHistoryService, ProductEventPublisher eventPublisher, SearchServiceClient searchServiceClient) {
+    @Value("${image-validation.async.enabled:false}")
+    private boolean asyncImageValidation;
+    
+    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository, ImageValidationService imageValidationService, PriceHistoryService priceHistoryService, ProductEventPublisher eventPublisher, SearchIndexDispatcher searchIndexDispatcher, ProductCache productCache) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.imageValidationService = imageValidationService;
         this.priceHistoryService = priceHistoryService;
         this.eventPublisher = eventPublisher;
-        this.searchServiceClient = searchServiceClient;
+        this.searchIndexDispatcher = searchIndexDispatcher;
+        this.productCache = productCache;
     }
     
     public ProductResponse createProduct(CreateProductRequest request, UUID effectiveSellerId) {
-        // Validate image URLs BEFORE saving
-        imageValidationService.validateImageUrls(request.imageUrls());
+        // Validate image URLs BEFORE saving, or only their format when ImageValidationWorker checks them later
+        if (asyncImageValidation) {
+            imageValidationService.validateImageUrlFormat(request.imageUrls());
+        } else {
+            imageValidationService.validateImageUrls(request.imageUrls());
+        }
         
         Category category = categoryRepository.findById(request.categoryId())
             .orElseThrow(() -> new CategoryNotFoundException(request.categoryId()));
@@ -62,16 +83,16 @@ public class ProductService {
         product.setAvailableColors(request.availableColors());
         product.setStockPerVariant(request.stockPerVariant());
         product.setImageUrls(request.imageUrls());
-        product.setStatus(ProductStatus.ACTIVE);
+        product.setStatus(asyncImageValidation ? ProductStatus.PENDING_VALIDATION : ProductStatus.ACTIVE);
         
         product = productRepository.save(product);
         log.info("Created product: {} (id: {}) for seller: {}", product.getName(), product.getId(), effectiveSellerId);
         
         // Publish event with idempotency
-        eventPublisher.publishProductCreated(product);
+        long sequenceNumber = eventPublisher.publishProductCreated(product);
         
-        // Synchronous search service indexing
-        searchServiceClient.indexProduct(product);
+        // Indexed asynchronously after commit
+        searchIndexDispatcher.enqueueUpsert(product, sequenceNumber);
         
         return toResponse(product);
     }
@@ -79,9 +100,22 @@ public class ProductService {
     public ProductResponse updateProduct(UUID productId, UpdateProductRequest request) {
         Product product = productRepository.findById(productId)
             .orElseThrow(() -> new ProductNotFoundException(productId));
+        ProductStatus newStatus = request.status() != null ? ProductStatus.valueOf(request.status()) : null;
+        boolean newImages = request.imageUrls() != null && request.imageUrls().length > 0;
+        boolean awaitingValidation = isValidationStatus(product.getStatus());
+        
+        // Only image validation moves a product into or out of the validation statuses
+        if (newStatus != null && newStatus != product.getStatus()
+            && (awaitingValidation || isValidationStatus(newStatus))) {
+            throw new InvalidStatusTransitionException("Cannot change status of product " + productId + " from "
+                + product.getStatus() + " to " + newStatus + "; it is set by image validation");
+        }
         
-        // Validate new image URLs if provided
-        if (request.imageUrls() != null && request.imageUrls().length > 0) {
+        // Validate new image URLs if provided; a product awaiting validation is validated again in the background
+        boolean revalidate = newImages && awaitingValidation && asyncImageValidation;
+        if (revalidate) {
+            imageValidationService.validateImageUrlFormat(request.imageUrls());
+        } else if (newImages) {
             imageValidationService.validateImageUrls(request.imageUrls());
         }
         
@@ -103,44 +137,109 @@ public class ProductService {
         if (request.availableSizes() != null) product.setAvailableSizes(request.availableSizes());
         if (request.availableColors() != null) product.setAvailableColors(request.availableColors());
         if (request.stockPerVariant() != null) product.setStockPerVariant(request.stockPerVariant());
-        if (request.imageUrls() != null && request.imageUrls().length > 0) product.setImageUrls(request.imageUrls());
-        if (request.status() != null) product.setStatus(ProductStatus.valueOf(request.status()));
+        if (newImages) product.setImageUrls(request.imageUrls());
+        if (newStatus != null) product.setStatus(newStatus);
+        if (newImages && awaitingValidation) {
+            // Synchronously validated images need no further check
+            product.setStatus(revalidate ? ProductStatus.PENDING_VALIDATION : ProductStatus.ACTIVE);
+        }
         
-        product = productRepository.save(product);
+        // Flushed so that updatedAt is current in the event and the search document
+        product = productRepository.saveAndFlush(product);
+        if (revalidate) {
+            productRepository.resetImageValidationRetry(productId);
+        }
         log.info("Updated product: {} (id: {})", product.getName(), productId);
         
         // Publish event with idempotency
-        eventPublisher.publishProductUpdated(product);
+        long sequenceNumber = eventPublisher.publishProductUpdated(product);
+        productCache.evict(productId);
         
-        // Synchronous search service update
-        searchServiceClient.updateProduct(product);
+        // Re-indexed asynchronously after commit
+        searchIndexDispatcher.enqueueUpsert(product, sequenceNumber);
         
         return toResponse(product);
     }
     
-    @Transactional(readOnly = true)
+    /**
+     * Served from {@link ProductCache}; a miss loads the product and its category in one query,
+     * so cache hits never touch a connection.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public ProductResponse getProduct(UUID productId) {
-        Product product = productRepository.findById(productId)
-            .orElseThrow(() -> new ProductNotFoundException(productId));
-        return toResponse(product);
+        return productCache.get(productId, id -> productRepository.findWithCategoryById(id)
+            .map(this::toResponse)
+            .orElseThrow(() -> new ProductNotFoundException(id)));
+    }
+    
+    /**
+     * Fetch several products in request order (duplicates once). Cached products are served from
+     * {@link ProductCache}; the rest are loaded with their categories in a single query.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public BatchProductResponse getProductsByIds(List<UUID> productIds) {
+        LinkedHashSet<UUID> ids = new LinkedHashSet<>(productIds);
+        Map<UUID, ProductResponse> found = productCache.getAll(ids, missing ->
+            productRepository.findAllWithCategoryByIdIn(List.copyOf(missing)).stream()
+                .collect(Collectors.toMap(Product::getId, this::toResponse)));
+        
+        List<ProductResponse> products = new ArrayList<>(found.size());
+        List<UUID> notFound = new ArrayList<>();
+        for (UUID id : ids) {
+            ProductResponse product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            } else {
+                notFound.add(id);
+            }
+        }
+        return new BatchProductResponse(products, notFound);
     }
     
     @Transactional(readOnly = true)
-    public Page<ProductResponse> listProducts(Long categoryId, UUID sellerId, ProductStatus status, Pageable pageable) {
-        return productRepository.findByFilters(categoryId, sellerId, status, pageable)
-            .map(this::toResponse);
+    public ProductPageResponse listProducts(Long categoryId, UUID sellerId, ProductStatus status,
+                                            Sort.Order order, String cursor, int size, boolean includeTotal) {
+        return listPage(new ProductFilter(categoryId, sellerId, status, false), order, cursor, size, includeTotal);
     }
     
     @Transactional(readOnly = true)
-    public Page<ProductResponse> getProductsBySeller(UUID sellerId, Pageable pageable) {
-        return productRepository.findBySellerId(sellerId, pageable)
-            .map(this::toResponse);
+    public ProductPageResponse getProductsBySeller(UUID sellerId, Sort.Order order, String cursor,
+                                                   int size, boolean includeTotal) {
+        return listPage(ProductFilter.bySeller(sellerId), order, cursor, size, includeTotal);
     }
     
     @Transactional(readOnly = true)
-    public Page<ProductResponse> getFeaturedProducts(Pageable pageable) {
-        return productRepository.findByFeaturedTrue(pageable)
-            .map(this::toResponse);
+    public ProductPageResponse getFeaturedProducts(String cursor, int size, boolean includeTotal) {
+        return listPage(ProductFilter.featured(), Sort.Order.desc(ProductSortKey.CREATED_AT.property()),
+            cursor, size, includeTotal);
+    }
+    
+    /**
+     * Keyset pagination: fetch one row more than the page size to learn whether a next page exists,
+     * and count matches only for the first page, and only when that page is full.
+     */
+    private ProductPageResponse listPage(ProductFilter filter, Sort.Order order, String cursor,
+                                         int size, boolean includeTotal) {
+        ProductSortKey sortKey = ProductSortKey.fromProperty(order.getProperty());
+        Sort.Direction direction = order.getDirection();
+        ProductCursor after = cursor != null && !cursor.isBlank()
+            ? ProductCursor.decode(cursor, sortKey, direction)
+            : null;
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        
+        List<Product> rows = productRepository.findPage(filter, sortKey, direction,
+            after != null ? after.value() : null, after != null ? after.id() : null, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<Product> page = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext
+            ? ProductCursor.after(page.get(page.size() - 1), sortKey, direction).encode()
+            : null;
+        
+        Long total = null;
+        if (includeTotal && after == null) {
+            total = hasNext ? productRepository.countMatching(filter) : (long) page.size();
+        }
+        return new ProductPageResponse(page.stream().map(this::toResponse).toList(), limit, nextCursor, hasNext, total);
     }
     
     public void deleteProduct(UUID productId) {
@@ -151,10 +250,41 @@ public class ProductService {
         log.info("Deleted product: {} (id: {})", product.getName(), productId);
         
         // Publish event
-        eventPublisher.publishProductDeleted(productId);
+        long sequenceNumber = eventPublisher.publishProductDeleted(productId);
+        productCache.evict(productId);
+        
+        // Removed from search index asynchronously after commit
+        searchIndexDispatcher.enqueueDelete(productId, sequenceNumber);
+    }
+    
+    /**
+     * Apply the result of an asynchronous image validation: the product becomes ACTIVE, or
+     * IMAGES_REJECTED if any image URL is definitively invalid (transient failures are retried by
+     * {@link ImageValidationWorker} instead). Ignored if the product is gone or no longer pending
+     * (e.g. another replica or the seller got there first).
+     */
+    public void completeImageValidation(UUID productId, List<String> invalidUrls) {
+        Product product = productRepository.findWithCategoryById(productId).orElse(null);
+        if (product == null || product.getStatus() != ProductStatus.PENDING_VALIDATION) {
+            return;
+        }
         
-        // Remove from search index
-        searchServiceClient.deleteProductFromIndex(productId);
+        if (invalidUrls.isEmpty()) {
+            product.setStatus(ProductStatus.ACTIVE);
+            log.info("Image validation passed for product: {}", productId);
+        } else {
+            product.setStatus(ProductStatus.IMAGES_REJECTED);
+            log.warn("Image validation rejected product {}: {}", productId, String.join(", ", invalidUrls));
+        }
+        
+        product = productRepository.saveAndFlush(product);
+        long sequenceNumber = eventPublisher.publishProductUpdated(product);
+        productCache.evict(productId);
+        searchIndexDispatcher.enqueueUpsert(product, sequenceNumber);
+    }
+    
+    private static boolean isValidationStatus(ProductStatus status) {
+        return status == ProductStatus.PENDING_VALIDATION || status == ProductStatus.IMAGES_REJECTED;
     }
     
     /**
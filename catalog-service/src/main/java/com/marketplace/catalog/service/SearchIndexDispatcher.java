@@ -0,0 +1,410 @@
+package com.marketplace.catalog.service;
+
+import com.marketplace.catalog.domain.model.Product;
+import com.marketplace.catalog.domain.model.SearchIndexRetry;
+import com.marketplace.catalog.domain.repository.ProductRepository;
+import com.marketplace.catalog.domain.repository.SearchIndexRetryRepository;
+import com.marketplace.catalog.event.ProductEventPublisher;
+import com.marketplace.shared.dto.catalog.BulkIndexRequest;
+import com.marketplace.shared.dto.catalog.BulkIndexResponse;
+import com.marketplace.shared.dto.catalog.ProductSearchDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Queues search index updates off the request thread and flushes them to search-service in bulk.
+ *
+ * <p>Updates are enqueued once the product transaction commits. The queue holds at most one
+ * pending update per product, so rapid successive changes to a product coalesce into the latest
+ * one. The queue is bounded by {@code search-index.max-pending}; updates beyond that, and batches
+ * whose bulk request fails, are parked in {@code search_index_retries} and re-indexed later from
+ * the current product state with exponential backoff. Products search-service rejects are parked
+ * on their own; the rest of their batch counts as delivered. A retry that fails
+ * {@code search-index.retry-max-attempts} times is marked failed and no longer claimed, until a
+ * new change to the product re-arms it.
+ *
+ * <p>Every update carries the sequence number of the product event recorded with it (see
+ * {@link ProductEventPublisher}). search-service applies an update only over an older indexed
+ * state, so these requests and the product-events consumer can race without regressing the index.
+ *
+ * <p>Metrics: {@code search.index.pending}, {@code search.index.coalesced},
+ * {@code search.index.overflowed}, {@code search.index.flushed{result}},
+ * {@code search.index.batch.size} and {@code search.index.retries.failed}.
+ */
+@Component
+public class SearchIndexDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    /** A pending index update; a null document removes the product from the index. */
+    private record IndexUpdate(UUID productId, ProductSearchDocument document, long sequenceNumber) {
+
+        static IndexUpdate newer(IndexUpdate current, IndexUpdate update) {
+            return update.sequenceNumber() >= current.sequenceNumber() ? update : current;
+        }
+    }
+
+    private final Map<UUID, IndexUpdate> pending = new ConcurrentHashMap<>();
+    private final SearchServiceClient searchServiceClient;
+    private final ProductRepository productRepository;
+    private final ProductEventPublisher eventPublisher;
+    private final SearchIndexRetryRepository retryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int maxPending;
+    private final int batchSize;
+    private final Duration retryBackoffMax;
+    private final int retryMaxAttempts;
+
+    private final Counter coalescedCounter;
+    private final Counter overflowedCounter;
+    private final Counter flushedSuccessCounter;
+    private final Counter flushedFailureCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter retriesFailedCounter;
+
+    public SearchIndexDispatcher(
+            SearchServiceClient searchServiceClient,
+            ProductRepository productRepository,
+            ProductEventPublisher eventPublisher,
+            SearchIndexRetryRepository retryRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${search-index.max-pending:10000}") int maxPending,
+            @Value("${search-index.batch-size:500}") int batchSize,
+            @Value("${search-index.retry-backoff-max-seconds:300}") long retryBackoffMaxSeconds,
+            @Value("${search-index.retry-max-attempts:20}") int retryMaxAttempts,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.searchServiceClient = searchServiceClient;
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.retryRepository = retryRepository;
+        // Retries are recorded from afterCommit callbacks, so they need their own transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        // Products and their sequence numbers must come from the same snapshot
+        this.readOnlyTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        this.retryBackoffMax = Duration.ofSeconds(retryBackoffMaxSeconds);
+        this.retryMaxAttempts = retryMaxAttempts;
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        Gauge.builder("search.index.pending", pending, Map::size)
+            .description("Search index updates waiting in memory")
+            .tag("service", "catalog-service")
+            .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("search.index.coalesced")
+            .description("Search index updates merged into an already pending update of the same product")
+            .tag("service", "catalog-service")
+            .register(meterRegistry);
+        this.overflowedCounter = Counter.builder("search.index.overflowed")
+            .description("Search index updates parked in the retry table because the queue was full")
+            .tag("service", "catalog-service")
+            .register(meterRegistry);
+        this.flushedSuccessCounter = Counter.builder("search.index.flushed")
+            .description("Search index updates sent to search-service")
+            .tag("service", "catalog-service")
+            .tag("result", "success")
+            .register(meterRegistry);
+        this.flushedFailureCounter = Counter.builder("search.index.flushed")
+            .description("Search index updates sent to search-service")
+            .tag("service", "catalog-service")
+            .tag("result", "failure")
+            .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("search.index.batch.size")
+            .description("Search index updates per bulk request")
+            .tag("service", "catalog-service")
+            .register(meterRegistry);
+        this.retriesFailedCounter = Counter.builder("search.index.retries.failed")
+            .description("Parked search index updates given up on after the maximum number of attempts")
+            .tag("service", "catalog-service")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Index a created or updated product once the current transaction commits.
+     * The document is captured now, while the product and its category are loaded,
+     * so the product must already be flushed.
+     *
+     * @param sequenceNumber sequence number of the product event recorded for this change
+     */
+    public void enqueueUpsert(Product product, long sequenceNumber) {
+        enqueueAfterCommit(new IndexUpdate(product.getId(), toSearchDocument(product, sequenceNumber), sequenceNumber));
+    }
+
+    /**
+     * Index several created or updated products once the current transaction commits.
+     *
+     * @param sequenceNumbers sequence number of the product event recorded for each product
+     */
+    public void enqueueUpserts(List<Product> products, Map<UUID, Long> sequenceNumbers) {
+        enqueueAfterCommit(products.stream()
+            .map(product -> {
+                long sequenceNumber = sequenceNumbers.get(product.getId());
+                return new IndexUpdate(product.getId(), toSearchDocument(product, sequenceNumber), sequenceNumber);
+            })
+            .toList());
+    }
+
+    /**
+     * Remove a product from the index once the current transaction commits.
+     *
+     * @param sequenceNumber sequence number of the product event recorded for the deletion
+     */
+    public void enqueueDelete(UUID productId, long sequenceNumber) {
+        enqueueAfterCommit(new IndexUpdate(productId, null, sequenceNumber));
+    }
+
+    private void enqueueAfterCommit(IndexUpdate update) {
+        enqueueAfterCommit(List.of(update));
+    }
+
+    private void enqueueAfterCommit(List<IndexUpdate> updates) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    updates.forEach(SearchIndexDispatcher.this::enqueue);
+                }
+            });
+        } else {
+            updates.forEach(this::enqueue);
+        }
+    }
+
+    private void enqueue(IndexUpdate update) {
+        if (pending.size() >= maxPending && !pending.containsKey(update.productId())) {
+            overflowedCounter.increment();
+            parkForRetry(List.of(update.productId()), "Index queue full");
+            return;
+        }
+        if (pending.containsKey(update.productId())) {
+            coalescedCounter.increment();
+        }
+        // afterCommit callbacks of successive changes may run out of order on different threads
+        pending.merge(update.productId(), update, IndexUpdate::newer);
+    }
+
+    /**
+     * Send pending updates in batches until the queue is drained.
+     */
+    @Scheduled(fixedDelayString = "${search-index.flush-interval-ms:250}")
+    public void flush() {
+        List<IndexUpdate> batch;
+        do {
+            batch = drainBatch();
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * Re-index parked products from their current state.
+     */
+    @Scheduled(fixedDelayString = "${search-index.retry-interval-ms:5000}")
+    public void retryParked() {
+        try {
+            OffsetDateTime claimedAt = OffsetDateTime.now(ZoneOffset.UTC);
+            List<UUID> productIds = transactionTemplate.execute(status -> claimDueRetries(claimedAt));
+            if (productIds == null || productIds.isEmpty()) {
+                return;
+            }
+
+            BulkIndexRequest request = readOnlyTransactionTemplate.execute(status -> loadCurrentState(productIds));
+            Map<UUID, String> rejected;
+            try {
+                rejected = rejectedIn(searchServiceClient.bulkIndex(request));
+            } catch (Exception e) {
+                recordRetryFailure(productIds, e.getMessage(), claimedAt);
+                log.warn("Retry of {} parked search index updates failed: {}", productIds.size(), e.getMessage());
+                return;
+            }
+
+            List<UUID> delivered = productIds.stream().filter(productId -> !rejected.containsKey(productId)).toList();
+            if (!delivered.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status ->
+                    retryRepository.deleteDelivered(delivered, claimedAt));
+            }
+            rejected.forEach((productId, error) -> recordRetryFailure(List.of(productId), error, claimedAt));
+            log.info("Re-indexed {} parked products, {} rejected by search-service", delivered.size(), rejected.size());
+        } catch (Exception e) {
+            log.warn("Search index retry run failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Flush what is still queued on shutdown; anything that cannot be sent is parked.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private List<IndexUpdate> drainBatch() {
+        List<IndexUpdate> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        Iterator<UUID> productIds = pending.keySet().iterator();
+        while (batch.size() < batchSize && productIds.hasNext()) {
+            IndexUpdate update = pending.remove(productIds.next());
+            if (update != null) {
+                batch.add(update);
+            }
+        }
+        return batch;
+    }
+
+    private void send(List<IndexUpdate> batch) {
+        List<ProductSearchDocument> upserts = new ArrayList<>();
+        List<BulkIndexRequest.Deletion> deletes = new ArrayList<>();
+        for (IndexUpdate update : batch) {
+            if (update.document() != null) {
+                upserts.add(update.document());
+            } else {
+                deletes.add(new BulkIndexRequest.Deletion(update.productId(), update.sequenceNumber()));
+            }
+        }
+
+        batchSizeSummary.record(batch.size());
+        Map<UUID, String> rejected;
+        try {
+            rejected = rejectedIn(searchServiceClient.bulkIndex(new BulkIndexRequest(upserts, deletes)));
+        } catch (Exception e) {
+            flushedFailureCounter.increment(batch.size());
+            log.warn("Bulk index of {} products failed, parking for retry: {}", batch.size(), e.getMessage());
+            parkForRetry(batch.stream().map(IndexUpdate::productId).toList(), e.getMessage());
+            return;
+        }
+
+        flushedSuccessCounter.increment(batch.size() - rejected.size());
+        if (!rejected.isEmpty()) {
+            flushedFailureCounter.increment(rejected.size());
+            log.warn("search-service rejected {} of {} products, parking them for retry", rejected.size(), batch.size());
+            rejected.forEach((productId, error) -> parkForRetry(List.of(productId), error));
+        }
+    }
+
+    private void recordRetryFailure(List<UUID> productIds, String error, OffsetDateTime claimedAt) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        Integer failed = transactionTemplate.execute(status -> {
+            retryRepository.recordFailure(productIds, truncate(error));
+            return retryRepository.markFailed(productIds, retryMaxAttempts, claimedAt, now);
+        });
+        if (failed != null && failed > 0) {
+            retriesFailedCounter.increment(failed);
+            log.error("Gave up re-indexing {} products after {} attempts: {}", failed, retryMaxAttempts, error);
+        }
+    }
+
+    private static Map<UUID, String> rejectedIn(BulkIndexResponse response) {
+        return response != null ? response.rejected() : Map.of();
+    }
+
+    private void parkForRetry(Collection<UUID> productIds, String error) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        String truncated = truncate(error);
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                productIds.forEach(productId -> retryRepository.upsert(productId, now, truncated)));
+        } catch (Exception e) {
+            // Search and the database are both unavailable; Kafka product events still reach search
+            log.error("Failed to park {} search index updates for retry: {}", productIds.size(), e.getMessage());
+        }
+    }
+
+    private List<UUID> claimDueRetries(OffsetDateTime now) {
+        List<SearchIndexRetry> due = retryRepository.lockDue(now, batchSize);
+        for (SearchIndexRetry retry : due) {
+            retry.setAttempts(retry.getAttempts() + 1);
+            // Doubles as a lease: the row is not picked up again until the backoff elapses
+            retry.setNextAttemptAt(now.plus(backoff(retry.getAttempts())));
+        }
+        return due.stream().map(SearchIndexRetry::getProductId).toList();
+    }
+
+    /**
+     * Snapshot of the products with the sequence numbers of their latest events. Runs in a
+     * repeatable read transaction, so a change committed in between cannot pair an older state
+     * with a newer sequence number.
+     */
+    private BulkIndexRequest loadCurrentState(List<UUID> productIds) {
+        Map<UUID, Long> sequenceNumbers = eventPublisher.currentSequenceNumbers(productIds);
+        Map<UUID, Product> products = productRepository.findAllWithCategoryByIdIn(productIds).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductSearchDocument> upserts = new ArrayList<>(products.size());
+        List<BulkIndexRequest.Deletion> deletes = new ArrayList<>();
+        for (UUID productId : productIds) {
+            Product product = products.get(productId);
+            Long sequenceNumber = sequenceNumbers.get(productId);
+            if (product != null) {
+                upserts.add(toSearchDocument(product, sequenceNumber));
+            } else {
+                deletes.add(new BulkIndexRequest.Deletion(productId, sequenceNumber));
+            }
+        }
+        return new BulkIndexRequest(upserts, deletes);
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = Duration.ofSeconds(1L << Math.min(attempts, 20));
+        return delay.compareTo(retryBackoffMax) > 0 ? retryBackoffMax : delay;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private static ProductSearchDocument toSearchDocument(Product product, Long sequenceNumber) {
+        return new ProductSearchDocument(
+            product.getId(),
+            product.getName(),
+            product.getDescription(),
+            product.getBasePrice(),
+            product.getCategory().getName(),
+            product.getSellerId(),
+            product.getStatus().toString(),
+            product.getAvailableSizes(),
+            product.getAvailableColors(),
+            product.getImageUrls() != null && product.getImageUrls().length > 0
+                ? product.getImageUrls()[0]
+                : null,
+            product.isFeatured(),
+            product.getCreatedAt(),
+            product.getUpdatedAt(),
+            sequenceNumber
+        );
+    }
+}
@@ -1,9 +1,7 @@
 package com.marketplace.catalog.service;
 
-import com.marketplace.catalog.domain.model.Product;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import com.marketplace.shared.dto.catalog.ProductSearchDocument;
+import com.marketplace.shared.dto.catalog.BulkIndexRequest;
+import com.marketplace.shared.dto.catalog.BulkIndexResponse;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,8 +11,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.time.Duration;
-import java.util.UUID;
 
+/**
+ * Client for the search-service index API. Only called from {@link SearchIndexDispatcher},
+ * off the request thread; failures propagate so the dispatcher can park the batch for retry, and
+ * products search-service rejects are returned in the response so only they are parked.
+ */
 @Service
 public class SearchServiceClient {
     
@@ -25,93 +27,30 @@ public class SearchServiceClient {
     @Value("${search-service.base-url}")
     private String searchServiceBaseUrl;
     
+    @Value("${search-service.bulk-timeout-seconds:10}")
+    private long bulkTimeoutSeconds;
+    
     public SearchServiceClient(WebClient.Builder webClientBuilder) {
         this.webClient = webClientBuilder.build();
     }
     
-    @CircuitBreaker(name = "searchService", fallbackMethod = "indexProductFallback")
-    public void indexProduct(Product product) {
-        try {
-            webClient.post()
-                .uri(searchServiceBaseUrl + "/api/v1/search/index/product")
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(toSearchDocument(product))
-                .retrieve()
-                .toBodilessEntity()
-                .timeout(Duration.ofSeconds(5))
-                .block();
-            
-            log.info("Indexed product {} in search service", product.getId());
-        } catch (Exception e) {
-            log.warn("Skipping search index for product {}: {}", product.getId(), e.getMessage());
-        }
-    }
-    
-    @CircuitBreaker(name = "searchService", fallbackMethod = "updateProductFallback")
-    public void updateProduct(Product product) {
-        try {
-            webClient.put()
-                .uri(searchServiceBaseUrl + "/api/v1/search/index/product/" + product.getId())
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(toSearchDocument(product))
-                .retrieve()
-                .toBodilessEntity()
-                .timeout(Duration.ofSeconds(5))
-                .block();
-            
-            log.info("Updated product {} in search service", product.getId());
-        } catch (Exception e) {
-            log.warn("Skipping search update for product {}: {}", product.getId(), e.getMessage());
-        }
-    }
-    
-    @CircuitBreaker(name = "searchService", fallbackMethod = "deleteProductFallback")
-    public void deleteProductFromIndex(UUID productId) {
-        try {
-            webClient.delete()
-                .uri(searchServiceBaseUrl + "/api/v1/search/index/product/" + productId)
-                .retrieve()
-                .toBodilessEntity()
-                .timeout(Duration.ofSeconds(5))
-                .block();
-            
-            log.info("Deleted product {} from search service", productId);
-        } catch (Exception e) {
-            log.warn("Skipping search delete for product {}: {}", productId, e.getMessage());
-        }
-    }
-    
-    // Fallback methods - log error but don't fail the main operation
-    private void indexProductFallback(Product product, Throwable t) {
-        log.error("Circuit breaker activated: Failed to index product {} in search service: {}", 
-            product.getId(), t.getMessage());
-        // Could queue for retry or emit event for async processing
-    }
-    
-    private void updateProductFallback(Product product, Throwable t) {
-        log.error("Circuit breaker activated: Failed to update product {} in search service: {}", 
-            product.getId(), t.getMessage());
-    }
-    
-    private void deleteProductFallback(UUID productId, Throwable t) {
-        log.error("Circuit breaker activated: Failed to delete product {} from search service: {}", 
-            productId, t.getMessage());
-    }
-    
-    private ProductSearchDocument toSearchDocument(Product product) {
-        return new ProductSearchDocument(
-            product.getId(),
-            product.getName(),
-            product.getDescription(),
-            product.getBasePrice(),
-            product.getCategory().getName(),
-            product.getSellerId(),
-            product.getStatus().toString(),
-            product.getAvailableSizes(),
-            product.getAvailableColors(),
-            product.getImageUrls() != null && product.getImageUrls().length > 0 
-                ? product.getImageUrls()[0] 
-                : null
-        );
+    /**
+     * Apply a batch of index upserts and deletes with one request.
+     * Throws if search-service fails, times out, or the circuit breaker is open.
+     */
+    @CircuitBreaker(name = "searchService")
+    public BulkIndexResponse bulkIndex(BulkIndexRequest request) {
+        BulkIndexResponse response = webClient.post()
+            .uri(searchServiceBaseUrl + "/api/v1/search/index/products/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .retrieve()
+            .bodyToMono(BulkIndexResponse.class)
+            .timeout(Duration.ofSeconds(bulkTimeoutSeconds))
+            .block();
+        
+        log.debug("Bulk indexed {} products and deleted {} in search service",
+            request.upserts().size(), request.deletes().size());
+        return response;
     }
 }
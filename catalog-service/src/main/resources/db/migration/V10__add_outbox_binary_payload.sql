@@ -0,0 +1,8 @@
+-- Binary record values (e.g. Avro-encoded events) are stored as is; JSON values stay in payload
+ALTER TABLE outbox_events ALTER COLUMN payload DROP NOT NULL;
+ALTER TABLE outbox_events ADD COLUMN payload_bytes BYTEA;
+ALTER TABLE outbox_events ADD CONSTRAINT chk_outbox_events_one_payload
+    CHECK ((payload IS NULL) <> (payload_bytes IS NULL));
+
+COMMENT ON COLUMN outbox_events.payload IS 'JSON record value; NULL when payload_bytes is set';
+COMMENT ON COLUMN outbox_events.payload_bytes IS 'Binary record value, sent without conversion; the contentType header names its encoding';
@@ -0,0 +1,7 @@
+-- Transient image validation failures (timeouts, connection errors, 5xx) keep the product
+-- PENDING_VALIDATION and are retried with exponential backoff
+ALTER TABLE products ADD COLUMN image_validation_attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN image_validation_retry_at TIMESTAMP;
+
+COMMENT ON COLUMN products.image_validation_attempts IS 'Image validation attempts that failed transiently';
+COMMENT ON COLUMN products.image_validation_retry_at IS 'When the image validation worker may retry a PENDING_VALIDATION product; null means now';
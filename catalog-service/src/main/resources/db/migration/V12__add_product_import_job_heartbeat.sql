@@ -0,0 +1,10 @@
+-- Replicas refresh the heartbeat of the import jobs they hold; jobs whose replica stopped
+-- (restart, crash) are failed once their heartbeat is stale, since their spool file is gone
+ALTER TABLE product_import_jobs ADD COLUMN heartbeat_at TIMESTAMP;
+UPDATE product_import_jobs SET heartbeat_at = COALESCE(started_at, created_at);
+ALTER TABLE product_import_jobs ALTER COLUMN heartbeat_at SET NOT NULL;
+
+CREATE INDEX idx_product_import_jobs_unfinished ON product_import_jobs(heartbeat_at)
+    WHERE status IN ('QUEUED', 'RUNNING');
+
+COMMENT ON COLUMN product_import_jobs.heartbeat_at IS 'Last time the replica holding the job reported it alive';
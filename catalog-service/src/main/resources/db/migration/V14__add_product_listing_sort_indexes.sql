@@ -0,0 +1,15 @@
+-- Keyset indexes for the remaining listing sorts (see V8): updatedAt and name, and basePrice within
+-- a seller and in the storefront listing. Each ends in (sort column, id) after the equality filters,
+-- so a page is an index range scan whatever the sort. A status filter alone uses the storewide index.
+CREATE INDEX idx_products_updated_id ON products(updated_at, id);
+CREATE INDEX idx_products_seller_updated_id ON products(seller_id, updated_at, id);
+CREATE INDEX idx_products_category_updated_id ON products(category_id, updated_at, id);
+CREATE INDEX idx_products_category_status_updated_id ON products(category_id, status, updated_at, id);
+
+CREATE INDEX idx_products_name_id ON products(name, id);
+CREATE INDEX idx_products_seller_name_id ON products(seller_id, name, id);
+CREATE INDEX idx_products_category_name_id ON products(category_id, name, id);
+CREATE INDEX idx_products_category_status_name_id ON products(category_id, status, name, id);
+
+CREATE INDEX idx_products_seller_price_id ON products(seller_id, base_price, id);
+CREATE INDEX idx_products_category_status_price_id ON products(category_id, status, base_price, id);
@@ -0,0 +1,9 @@
+-- Retries that used up search-index.retry-max-attempts are marked failed: kept for inspection,
+-- but no longer claimed. A later change to the product re-arms the row.
+ALTER TABLE search_index_retries ADD COLUMN failed_at TIMESTAMP WITH TIME ZONE;
+
+DROP INDEX idx_search_index_retries_next_attempt;
+CREATE INDEX idx_search_index_retries_next_attempt ON search_index_retries(next_attempt_at) WHERE failed_at IS NULL;
+CREATE INDEX idx_search_index_retries_failed_at ON search_index_retries(failed_at) WHERE failed_at IS NOT NULL;
+
+COMMENT ON COLUMN search_index_retries.failed_at IS 'Set when retries gave up on the product; clear it to retry';
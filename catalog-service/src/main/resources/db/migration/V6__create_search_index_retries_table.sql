@@ -0,0 +1,15 @@
+-- Durable retry queue for search index updates that overflowed the in-memory queue or failed
+-- to reach search-service. The product is re-indexed from its current state on retry.
+CREATE TABLE search_index_retries (
+    product_id UUID PRIMARY KEY,
+    enqueued_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500)
+);
+
+CREATE INDEX idx_search_index_retries_next_attempt ON search_index_retries(next_attempt_at);
+
+COMMENT ON TABLE search_index_retries IS 'Products whose search index update is pending a retry';
+COMMENT ON COLUMN search_index_retries.enqueued_at IS 'Last time the product was (re-)enqueued; newer than a delivery keeps the row';
+COMMENT ON COLUMN search_index_retries.next_attempt_at IS 'Earliest next delivery attempt (exponential backoff)';
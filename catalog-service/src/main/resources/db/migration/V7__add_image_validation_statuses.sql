@@ -0,0 +1,9 @@
+-- Statuses for asynchronous image validation (image-validation.async.enabled)
+ALTER TABLE products DROP CONSTRAINT chk_status;
+ALTER TABLE products ADD CONSTRAINT chk_status
+    CHECK (status IN ('ACTIVE', 'INACTIVE', 'OUT_OF_STOCK', 'DISCONTINUED', 'PENDING_VALIDATION', 'IMAGES_REJECTED'));
+
+-- The validation worker polls pending products oldest first
+CREATE INDEX idx_products_pending_validation ON products(created_at) WHERE status = 'PENDING_VALIDATION';
+
+COMMENT ON COLUMN products.status IS 'ACTIVE, INACTIVE, OUT_OF_STOCK, DISCONTINUED, or PENDING_VALIDATION/IMAGES_REJECTED while image URLs are validated asynchronously';
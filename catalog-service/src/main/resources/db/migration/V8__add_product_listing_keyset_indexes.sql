@@ -0,0 +1,21 @@
+-- Keyset pagination of product listings: every listing orders by (sort column, id) and seeks with
+-- (sort column, id) < (?, ?), so each index ends in (sort column, id) after the equality filters.
+-- B-tree indexes are scanned backwards for descending sorts.
+CREATE INDEX idx_products_created_id ON products(created_at, id);
+CREATE INDEX idx_products_seller_created_id ON products(seller_id, created_at, id);
+CREATE INDEX idx_products_category_created_id ON products(category_id, created_at, id);
+CREATE INDEX idx_products_status_created_id ON products(status, created_at, id);
+CREATE INDEX idx_products_category_status_created_id ON products(category_id, status, created_at, id);
+CREATE INDEX idx_products_featured_created_id ON products(created_at, id) WHERE is_featured = true;
+
+-- Price sort, storewide and within a category
+CREATE INDEX idx_products_price_id ON products(base_price, id);
+CREATE INDEX idx_products_category_price_id ON products(category_id, base_price, id);
+
+-- Superseded by the composite indexes above (same leading columns)
+DROP INDEX idx_products_seller;
+DROP INDEX idx_products_category;
+DROP INDEX idx_products_status;
+DROP INDEX idx_products_featured;
+
+COMMENT ON INDEX idx_products_category_status_created_id IS 'Serves the default storefront listing: category + status filter, newest first';
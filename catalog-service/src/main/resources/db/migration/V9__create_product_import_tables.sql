@@ -0,0 +1,31 @@
+CREATE TABLE product_import_jobs (
+    id UUID PRIMARY KEY,
+    seller_id UUID NOT NULL,
+    format VARCHAR(10) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    processed_rows BIGINT NOT NULL DEFAULT 0,
+    imported_rows BIGINT NOT NULL DEFAULT 0,
+    failed_rows BIGINT NOT NULL DEFAULT 0,
+    failure_reason VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    CONSTRAINT chk_import_format CHECK (format IN ('NDJSON', 'CSV')),
+    CONSTRAINT chk_import_status CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED'))
+);
+
+CREATE INDEX idx_product_import_jobs_seller ON product_import_jobs(seller_id, created_at);
+
+CREATE TABLE product_import_errors (
+    id BIGSERIAL PRIMARY KEY,
+    job_id UUID NOT NULL,
+    row_number BIGINT NOT NULL,
+    message VARCHAR(1000) NOT NULL,
+    CONSTRAINT fk_product_import_error_job FOREIGN KEY (job_id)
+        REFERENCES product_import_jobs(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_product_import_errors_job ON product_import_errors(job_id, row_number);
+
+COMMENT ON TABLE product_import_jobs IS 'Asynchronous bulk product imports (NDJSON/CSV); counters are updated per committed batch';
+COMMENT ON TABLE product_import_errors IS 'Rejected rows of an import, capped at product-import.max-errors per job';
@@ -0,0 +1,86 @@
+package com.marketplace.shared.jwt;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fetches the JWK Set published by the Auth Service JWKS endpoint.
+ * Keys that are not public signature keys are ignored.
+ */
+public class HttpJwksSource implements KeySetSource {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpJwksSource.class);
+    private static final String ENCRYPTION_USE = "enc";
+
+    private final URI endpoint;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+
+    public HttpJwksSource(String endpoint, Duration timeout) {
+        this.endpoint = URI.create(endpoint);
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @Override
+    public Map<String, PublicKey> fetchKeys() {
+        log.debug("Fetching JWKS from: {}", endpoint);
+
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new JwtKeyException("Unexpected response from Auth Service: " + response.statusCode());
+            }
+            return parse(response.body());
+
+        } catch (IOException e) {
+            throw new JwtKeyException("Failed to fetch JWKS from " + endpoint, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JwtKeyException("Interrupted while fetching JWKS", e);
+        }
+    }
+
+    static Map<String, PublicKey> parse(String json) {
+        JwkSet jwkSet;
+        try {
+            jwkSet = Jwks.setParser().ignoreUnsupported(true).build().parse(json);
+        } catch (RuntimeException e) {
+            throw new JwtKeyException("Invalid JWKS document", e);
+        }
+
+        Map<String, PublicKey> keys = new LinkedHashMap<>();
+        for (Jwk<?> jwk : jwkSet) {
+            if (!(jwk.toKey() instanceof PublicKey publicKey) || ENCRYPTION_USE.equals(jwk.get("use"))) {
+                continue;
+            }
+            String keyId = jwk.getId() != null ? jwk.getId() : jwk.thumbprint().toString();
+            keys.putIfAbsent(keyId, publicKey);
+        }
+        if (keys.isEmpty()) {
+            throw new JwtKeyException("JWKS contains no public signature keys");
+        }
+        return keys;
+    }
+}
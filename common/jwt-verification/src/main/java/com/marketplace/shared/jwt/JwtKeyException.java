@@ -0,0 +1,15 @@
+package com.marketplace.shared.jwt;
+
+/**
+ * Exception thrown when a verification key cannot be loaded or parsed.
+ */
+public class JwtKeyException extends RuntimeException {
+
+    public JwtKeyException(String message) {
+        super(message);
+    }
+
+    public JwtKeyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
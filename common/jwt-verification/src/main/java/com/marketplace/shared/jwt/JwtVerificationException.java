@@ -0,0 +1,25 @@
+package com.marketplace.shared.jwt;
+
+/**
+ * Exception thrown when an access token cannot be verified.
+ */
+public class JwtVerificationException extends RuntimeException {
+
+    private final boolean expired;
+
+    public JwtVerificationException(String message, Throwable cause) {
+        this(message, cause, false);
+    }
+
+    public JwtVerificationException(String message, Throwable cause, boolean expired) {
+        super(message, cause);
+        this.expired = expired;
+    }
+
+    /**
+     * Whether verification failed only because the token has expired.
+     */
+    public boolean isExpired() {
+        return expired;
+    }
+}
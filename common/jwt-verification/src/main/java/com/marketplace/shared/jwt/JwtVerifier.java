@@ -0,0 +1,219 @@
+package com.marketplace.shared.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.Key;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Verifies access tokens issued by the Auth Service.
+ * Each token is parsed and signature-checked once; the resulting claims are cached under the
+ * SHA-256 digest of the token until the token's {@code exp}, bounded by a maximum entry count.
+ * The verification key is selected by the token's {@code kid} header from a {@link KeySetHolder}.
+ *
+ * <p>Metrics (tagged with {@code service}):
+ * <ul>
+ *   <li>{@code jwt.verified.claims.cache.*} - Caffeine cache gets/evictions/size</li>
+ *   <li>{@code jwt.verification.cache.hit.ratio} - hit rate of the verified-claims cache</li>
+ *   <li>{@code jwt.verification.duration} - latency of full signature verification (cache misses)</li>
+ *   <li>{@code jwt.verification.failures} - rejected tokens by reason</li>
+ *   <li>{@code jwt.keys.fetches} - key set fetches by result</li>
+ * </ul>
+ */
+public class JwtVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtVerifier.class);
+    private static final String EMAIL_CLAIM = "email";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String CACHE_NAME = "jwt.verified.claims";
+
+    private final KeySetHolder keyHolder;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedClaims> verifiedClaims;
+    private final Timer verifyTimer;
+    private final Counter expiredCounter;
+    private final Counter invalidCounter;
+    private final Counter unknownKeyCounter;
+
+    public JwtVerifier(KeySetHolder keyHolder, long maxCachedTokens, MeterRegistry meterRegistry, String serviceName) {
+        this.keyHolder = keyHolder;
+        this.parser = Jwts.parser()
+                .keyLocator(this::locateKey)
+                .build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(maxCachedTokens)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedClaims, CACHE_NAME, "service", serviceName);
+
+        Gauge.builder("jwt.verification.cache.hit.ratio", verifiedClaims, cache -> cache.stats().hitRate())
+                .description("Hit rate of the verified JWT claims cache")
+                .tag("service", serviceName)
+                .register(meterRegistry);
+
+        this.verifyTimer = Timer.builder("jwt.verification.duration")
+                .description("Duration of JWT parsing and signature verification on cache miss")
+                .tag("service", serviceName)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+
+        this.expiredCounter = Counter.builder("jwt.verification.failures")
+                .description("Number of rejected JWTs")
+                .tag("service", serviceName)
+                .tag("reason", "expired")
+                .register(meterRegistry);
+
+        this.invalidCounter = Counter.builder("jwt.verification.failures")
+                .description("Number of rejected JWTs")
+                .tag("service", serviceName)
+                .tag("reason", "invalid")
+                .register(meterRegistry);
+
+        this.unknownKeyCounter = Counter.builder("jwt.verification.failures")
+                .description("Number of rejected JWTs")
+                .tag("service", serviceName)
+                .tag("reason", "unknown-key")
+                .register(meterRegistry);
+
+        for (boolean successful : new boolean[]{true, false}) {
+            FunctionCounter.builder("jwt.keys.fetches", keyHolder, holder -> holder.fetchCount(successful))
+                    .description("Number of verification key set fetches")
+                    .tag("service", serviceName)
+                    .tag("result", successful ? "success" : "failure")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Verify a token and return its claims, using the verified-claims cache when possible.
+     *
+     * @param token the compact JWT
+     * @return verified claims
+     * @throws JwtVerificationException if the token is invalid or expired
+     */
+    public VerifiedClaims verify(String token) {
+        String cacheKey = digest(token);
+
+        VerifiedClaims cached = verifiedClaims.getIfPresent(cacheKey);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return cached;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            VerifiedClaims claims = parseAndVerify(token);
+            verifiedClaims.put(cacheKey, claims);
+            return claims;
+        } finally {
+            sample.stop(verifyTimer);
+        }
+    }
+
+    private VerifiedClaims parseAndVerify(String token) {
+        try {
+            return toVerifiedClaims(parser.parseSignedClaims(token).getPayload());
+
+        } catch (ExpiredJwtException e) {
+            expiredCounter.increment();
+            throw new JwtVerificationException("Token has expired", e, true);
+
+        } catch (UnknownKeyIdException e) {
+            unknownKeyCounter.increment();
+            log.debug("Rejected token signed with unknown key: {}", e.getMessage());
+            throw new JwtVerificationException("Invalid token", e);
+
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidCounter.increment();
+            throw new JwtVerificationException("Invalid token", e);
+        }
+    }
+
+    private Key locateKey(Header header) {
+        String keyId = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        PublicKey key = keyHolder.resolve(keyId);
+        if (key == null) {
+            throw new UnknownKeyIdException(keyId);
+        }
+        return key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VerifiedClaims toVerifiedClaims(Claims claims) {
+        return new VerifiedClaims(
+                UUID.fromString(claims.getSubject()),
+                claims.get(EMAIL_CLAIM, String.class),
+                claims.get(ROLES_CLAIM, List.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Thrown from the key locator when the token's {@code kid} is not in the key set.
+     */
+    private static final class UnknownKeyIdException extends JwtException {
+
+        UnknownKeyIdException(String keyId) {
+            super("Unknown signing key id: " + keyId);
+        }
+    }
+
+    /**
+     * Expires each entry when the token itself expires.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedClaims> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedClaims value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return 0L;
+            }
+            return Math.max(0L, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedClaims value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedClaims value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.marketplace.shared.jwt;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.PublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free holder of the verification key set, indexed by key ID ({@code kid}).
+ *
+ * <p>Fetches are single-flight (concurrent callers share one in-flight fetch) and rate-limited:
+ * at most one fetch starts per {@code minRefreshInterval}, whatever triggers it. Once keys are
+ * loaded readers never block on routine refreshes: a background fetch starts when the key set
+ * reaches 80% of its TTL, and the current keys keep being served until it completes (or past the
+ * TTL if the source is unavailable). A token with an unknown {@code kid} waits for a fetch only if
+ * one is running or the rate limit allows a new one; otherwise it is rejected immediately.
+ */
+public class KeySetHolder {
+
+    private static final Logger log = LoggerFactory.getLogger(KeySetHolder.class);
+    private static final double REFRESH_AHEAD_FRACTION = 0.8;
+
+    private final KeySetSource source;
+    private final Duration refreshAfter;
+    private final Duration minRefreshInterval;
+    private final Clock clock;
+    private final ExecutorService refreshExecutor;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    private final AtomicLong nextFetchAllowedAt = new AtomicLong(Long.MIN_VALUE);
+    private final LongAdder successfulFetches = new LongAdder();
+    private final LongAdder failedFetches = new LongAdder();
+
+    public KeySetHolder(KeySetSource source, Duration ttl, Duration minRefreshInterval) {
+        this(source, ttl, minRefreshInterval, Clock.systemUTC());
+    }
+
+    KeySetHolder(KeySetSource source, Duration ttl, Duration minRefreshInterval, Clock clock) {
+        this.source = source;
+        this.refreshAfter = Duration.ofMillis((long) (ttl.toMillis() * REFRESH_AHEAD_FRACTION));
+        this.minRefreshInterval = minRefreshInterval;
+        this.clock = clock;
+        this.refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Resolve the verification key for a token.
+     *
+     * @param keyId the token's {@code kid}, or null for tokens issued without one (uses the active key)
+     * @return the public key, or null if the key ID is unknown
+     * @throws JwtKeyException if no keys have ever been loaded and they cannot be loaded now
+     */
+    public PublicKey resolve(String keyId) {
+        Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            snapshot = await(refresh());
+        } else if (!snapshot.fetchedAt().plus(refreshAfter).isAfter(clock.instant())) {
+            refresh();
+        }
+
+        PublicKey key = snapshot.find(keyId);
+        if (key != null) {
+            return key;
+        }
+
+        // The key set may have been rotated; join or start a (rate-limited) fetch
+        try {
+            return await(refresh()).find(keyId);
+        } catch (JwtKeyException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the current key set, loading it if necessary (e.g. to fail fast on startup).
+     *
+     * @return keys by key ID, active key first
+     */
+    public Map<String, PublicKey> keys() {
+        Snapshot snapshot = current.get();
+        return (snapshot != null ? snapshot : await(refresh())).keys();
+    }
+
+    /**
+     * Number of key set fetches attempted, by outcome.
+     */
+    public long fetchCount(boolean successful) {
+        return successful ? successfulFetches.sum() : failedFetches.sum();
+    }
+
+    private CompletableFuture<Snapshot> refresh() {
+        CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            return running;
+        }
+
+        if (!tryAcquireFetchPermit()) {
+            Snapshot snapshot = current.get();
+            inFlight.compareAndSet(mine, null);
+            if (snapshot != null) {
+                mine.complete(snapshot);
+            } else {
+                mine.completeExceptionally(new JwtKeyException("Verification keys unavailable, fetch rate-limited"));
+            }
+            return mine;
+        }
+
+        try {
+            refreshExecutor.execute(() -> fetch(mine));
+        } catch (RejectedExecutionException e) {
+            fetch(mine);
+        }
+        return mine;
+    }
+
+    private boolean tryAcquireFetchPermit() {
+        long now = clock.millis();
+        long allowedAt = nextFetchAllowedAt.get();
+        return now >= allowedAt
+                && nextFetchAllowedAt.compareAndSet(allowedAt, now + minRefreshInterval.toMillis());
+    }
+
+    private void fetch(CompletableFuture<Snapshot> target) {
+        Snapshot previous = current.get();
+        try {
+            Map<String, PublicKey> keys = source.fetchKeys();
+            if (keys.isEmpty()) {
+                throw new JwtKeyException("Key set is empty");
+            }
+            Snapshot fresh = new Snapshot(Collections.unmodifiableMap(new LinkedHashMap<>(keys)), clock.instant());
+            current.set(fresh);
+            successfulFetches.increment();
+            log.info("Verification keys loaded: {}", fresh.keys().keySet());
+            inFlight.compareAndSet(target, null);
+            target.complete(fresh);
+
+        } catch (RuntimeException e) {
+            failedFetches.increment();
+            inFlight.compareAndSet(target, null);
+            if (previous != null) {
+                log.warn("Failed to refresh verification keys, keeping previous keys: {}", e.getMessage());
+                target.complete(previous);
+            } else {
+                log.error("Failed to load verification keys and no cached keys available", e);
+                target.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static Snapshot await(CompletableFuture<Snapshot> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof JwtKeyException cause) {
+                throw cause;
+            }
+            throw new JwtKeyException("Failed to load verification keys", e.getCause());
+        }
+    }
+
+    private record Snapshot(Map<String, PublicKey> keys, Instant fetchedAt) {
+
+        PublicKey find(String keyId) {
+            if (keyId == null) {
+                return keys.values().iterator().next();
+            }
+            return keys.get(keyId);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.marketplace.shared.jwt;
+
+import java.security.PublicKey;
+import java.util.Map;
+
+/**
+ * Source of the public keys used to verify access tokens (Auth Service JWKS endpoint, local PEM file, ...).
+ */
+@FunctionalInterface
+public interface KeySetSource {
+
+    /**
+     * Load the currently valid verification keys.
+     *
+     * @return keys by key ID ({@code kid}), in publication order with the active signing key first
+     * @throws JwtKeyException if the keys cannot be loaded
+     */
+    Map<String, PublicKey> fetchKeys();
+}
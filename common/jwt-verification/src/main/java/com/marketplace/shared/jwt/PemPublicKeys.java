@@ -0,0 +1,82 @@
+package com.marketplace.shared.jwt;
+
+import io.jsonwebtoken.security.Jwks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers for reading PEM-encoded RSA, EC (P-256) and Ed25519 public keys.
+ */
+public final class PemPublicKeys {
+
+    private static final List<String> KEY_ALGORITHMS = List.of("RSA", "EC", "Ed25519");
+
+    private PemPublicKeys() {
+    }
+
+    /**
+     * Parse a PEM-encoded (X.509 SubjectPublicKeyInfo) public key of any supported algorithm.
+     *
+     * @param pem the PEM string
+     * @return the public key
+     */
+    public static PublicKey parse(String pem) {
+        if (pem == null || pem.isBlank()) {
+            throw new JwtKeyException("Public key PEM is empty");
+        }
+        try {
+            String keyContent = pem
+                    .replace("-----BEGIN PUBLIC KEY-----", "")
+                    .replace("-----END PUBLIC KEY-----", "")
+                    .replaceAll("\\s", "");
+
+            byte[] keyBytes = Base64.getDecoder().decode(keyContent);
+            X509EncodedKeySpec keySpec = new X509EncodedKeySpec(keyBytes);
+            for (String algorithm : KEY_ALGORITHMS) {
+                try {
+                    return KeyFactory.getInstance(algorithm).generatePublic(keySpec);
+                } catch (InvalidKeySpecException e) {
+                    // Not a key of this algorithm, try the next one
+                }
+            }
+        } catch (Exception e) {
+            throw new JwtKeyException("Invalid public key format", e);
+        }
+        throw new JwtKeyException("Unsupported public key algorithm");
+    }
+
+    /**
+     * Read and parse a PEM-encoded public key.
+     *
+     * @param inputStream stream containing the PEM; closed by this method
+     * @return the public key
+     */
+    public static PublicKey read(InputStream inputStream) {
+        try (InputStream is = inputStream) {
+            return parse(new String(is.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new JwtKeyException("Failed to read public key", e);
+        }
+    }
+
+    /**
+     * Wrap a single public key as a key set, identified by its RFC 7638 thumbprint.
+     * This is the {@code kid} the Auth Service uses when no explicit key ID is configured.
+     *
+     * @param publicKey the public key
+     * @return single-entry key set
+     */
+    public static Map<String, PublicKey> asKeySet(PublicKey publicKey) {
+        String keyId = Jwks.builder().key(publicKey).idFromThumbprint().build().getId();
+        return Map.of(keyId, publicKey);
+    }
+}
@@ -0,0 +1,29 @@
+package com.marketplace.shared.jwt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Claims of an access token whose signature and expiry have been verified.
+ * Immutable so one instance can be shared by every request presenting the same token.
+ */
+public record VerifiedClaims(
+    UUID userId,
+    String email,
+    List<String> roles,
+    Instant expiresAt
+) {
+
+    public VerifiedClaims {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,13 @@
+package com.marketplace.shared.outbox;
+
+import java.util.UUID;
+
+/**
+ * One event of a batch appended with {@link OutboxWriter#appendAll(String, java.util.List)}.
+ *
+ * @param aggregateId    aggregate ID
+ * @param sequenceNumber sequence number from {@link OutboxWriter#nextSequenceNumbers(String, java.util.Collection)}
+ * @param message        the record to publish
+ */
+public record OutboxEntry(UUID aggregateId, long sequenceNumber, OutboxMessage message) {
+}
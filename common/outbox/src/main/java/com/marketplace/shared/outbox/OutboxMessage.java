@@ -0,0 +1,29 @@
+package com.marketplace.shared.outbox;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A Kafka record to be published by the outbox relay.
+ *
+ * @param topic     destination topic
+ * @param key       record key; events of one aggregate share a key and so a partition
+ * @param eventId   unique event ID, also sent as the {@code event-id} header
+ * @param eventType event type, e.g. {@code OrderCreated}
+ * @param payload   record value; a {@code byte[]} is sent as is, anything else is serialized to JSON
+ *                  when appended (set a {@code contentType} header for binary values)
+ * @param headers   additional record headers
+ */
+public record OutboxMessage(
+        String topic,
+        String key,
+        UUID eventId,
+        String eventType,
+        Object payload,
+        Map<String, String> headers
+) {
+
+    public OutboxMessage {
+        headers = headers != null ? Map.copyOf(headers) : Map.of();
+    }
+}
@@ -0,0 +1,87 @@
+package com.marketplace.shared.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of the outbox relay (tagged with {@code service}):
+ * <ul>
+ *   <li>{@code outbox.relay.lag} - time from outbox write to broker acknowledgement</li>
+ *   <li>{@code outbox.relay.batch.size} - rows published per batch</li>
+ *   <li>{@code outbox.events.published} / {@code outbox.events.failed} - relayed and failed sends</li>
+ *   <li>{@code outbox.events.parked} - events given up on after too many failed sends</li>
+ *   <li>{@code outbox.events.pending} - unpublished rows, sampled once per relay run</li>
+ *   <li>{@code outbox.events.oldest.pending.age} - age of the oldest unpublished row in seconds</li>
+ * </ul>
+ */
+public class OutboxMetrics {
+
+    private final Timer lagTimer;
+    private final DistributionSummary batchSize;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingSeconds = new AtomicLong();
+
+    public OutboxMetrics(MeterRegistry meterRegistry, String serviceName) {
+        this.lagTimer = Timer.builder("outbox.relay.lag")
+                .description("Time from outbox write to broker acknowledgement")
+                .tag("service", serviceName)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+
+        this.batchSize = DistributionSummary.builder("outbox.relay.batch.size")
+                .description("Outbox rows published per relay batch")
+                .tag("service", serviceName)
+                .register(meterRegistry);
+
+        this.publishedCounter = Counter.builder("outbox.events.published")
+                .description("Outbox events acknowledged by Kafka")
+                .tag("service", serviceName)
+                .register(meterRegistry);
+
+        this.failedCounter = Counter.builder("outbox.events.failed")
+                .description("Outbox event sends that failed and will be retried")
+                .tag("service", serviceName)
+                .register(meterRegistry);
+
+        this.parkedCounter = Counter.builder("outbox.events.parked")
+                .description("Outbox events parked after too many failed sends")
+                .tag("service", serviceName)
+                .register(meterRegistry);
+
+        Gauge.builder("outbox.events.pending", pending, AtomicLong::get)
+                .description("Outbox events not yet published")
+                .tag("service", serviceName)
+                .register(meterRegistry);
+
+        Gauge.builder("outbox.events.oldest.pending.age", oldestPendingSeconds, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .tag("service", serviceName)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    void recordBatch(int published, int failed, int parked) {
+        batchSize.record(published);
+        publishedCounter.increment(published);
+        failedCounter.increment(failed);
+        parkedCounter.increment(parked);
+    }
+
+    void recordLag(Duration lag) {
+        lagTimer.record(lag);
+    }
+
+    void recordBacklog(long pendingEvents, long oldestPendingAgeSeconds) {
+        pending.set(pendingEvents);
+        oldestPendingSeconds.set(oldestPendingAgeSeconds);
+    }
+}
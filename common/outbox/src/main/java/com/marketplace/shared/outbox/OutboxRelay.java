@@ -0,0 +1,329 @@
+package com.marketplace.shared.outbox;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox events to Kafka (at-least-once) from a single background thread.
+ *
+ * <p>Each batch is claimed with {@code FOR UPDATE SKIP LOCKED}, so several replicas can relay
+ * concurrently without publishing a row twice. A row is only claimed when no earlier unpublished
+ * row of the same aggregate is held by another relay, which keeps events of one aggregate in
+ * sequence order. The batch is sent without waiting per record, flushed, and marked published
+ * once Kafka acknowledges it, all in one transaction. The producer uses compression and linger so
+ * a batch leaves as a few compressed requests instead of one request per event.
+ *
+ * <p>Events that fail stay pending and are retried on the next run; later events of the same
+ * aggregate in the batch are held back with them. After {@code maxAttempts} failed sends an event
+ * is parked ({@code parked_at} set): it is no longer retried and no longer holds back the later
+ * events of its aggregate, so one poison row cannot stall its key forever. Parked rows are kept
+ * (not purged) for inspection and can be replayed by clearing {@code parked_at}. A crash between the acknowledgement and the
+ * commit publishes an event twice, which consumers absorb by deduplicating on the
+ * {@code event-id} header. Full batches are drained back to back; a partial or failed batch waits
+ * for the next poll.
+ */
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final String EVENT_ID_HEADER = "event-id";
+    private static final String EVENT_TYPE_HEADER = "event-type";
+    private static final TypeReference<Map<String, String>> HEADERS_TYPE = new TypeReference<>() {};
+
+    private static final String CLAIM_SQL =
+            "WITH claimed AS (" +
+            "  SELECT id, aggregate_type, aggregate_id FROM outbox_events" +
+            "  WHERE published_at IS NULL AND parked_at IS NULL ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED" +
+            ") " +
+            "SELECT o.id, o.event_id, o.aggregate_type, o.aggregate_id, o.event_type, o.topic, " +
+            "o.message_key, o.payload, o.payload_bytes, o.headers, o.created_at, o.attempts " +
+            "FROM outbox_events o JOIN claimed c ON c.id = o.id " +
+            "WHERE NOT EXISTS (" +
+            "  SELECT 1 FROM outbox_events p" +
+            "  WHERE p.published_at IS NULL AND p.parked_at IS NULL" +
+            "    AND p.aggregate_type = c.aggregate_type AND p.aggregate_id = c.aggregate_id" +
+            "    AND p.id < c.id AND p.id NOT IN (SELECT id FROM claimed)" +
+            ") " +
+            "ORDER BY o.id";
+    private static final String MARK_PUBLISHED_SQL =
+            "UPDATE outbox_events SET published_at = ? WHERE id = ?";
+    private static final String MARK_FAILED_SQL =
+            "UPDATE outbox_events SET attempts = attempts + 1, last_error = ?, parked_at = ? WHERE id = ?";
+    private static final String BACKLOG_SQL =
+            "SELECT COUNT(*) AS pending, MIN(created_at) AS oldest FROM outbox_events " +
+            "WHERE published_at IS NULL AND parked_at IS NULL";
+    private static final String PURGE_SQL =
+            "DELETE FROM outbox_events WHERE published_at < ?";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelaySettings settings;
+    private final OutboxMetrics metrics;
+    private final DefaultKafkaProducerFactory<String, byte[]> producerFactory;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    private volatile ScheduledExecutorService executor;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       ObjectMapper objectMapper,
+                       OutboxRelaySettings settings,
+                       OutboxMetrics metrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.settings = settings;
+        this.metrics = metrics;
+        this.producerFactory = new DefaultKafkaProducerFactory<>(producerConfig(settings));
+        this.kafkaTemplate = new KafkaTemplate<>(producerFactory);
+    }
+
+    private static Map<String, Object> producerConfig(OutboxRelaySettings settings) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, settings.bootstrapServers());
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, settings.compressionType());
+        config.put(ProducerConfig.LINGER_MS_CONFIG, (int) settings.linger().toMillis());
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, settings.producerBatchBytes());
+        config.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG,
+                (int) Math.max(settings.sendTimeout().toMillis(), settings.linger().toMillis() + 30_000));
+        return config;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long pollMs = settings.pollInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::relay, pollMs, pollMs, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::purgePublished, 1, 60, TimeUnit.MINUTES);
+        log.info("Outbox relay started: batch size {}, poll interval {} ms, compression {}",
+                settings.batchSize(), pollMs, settings.compressionType());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(settings.sendTimeout().toMillis() + 1000, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+        producerFactory.destroy();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * Publish pending events until a batch comes back short.
+     */
+    public void relay() {
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch());
+            } while (published != null && published == settings.batchSize());
+
+            sampleBacklog();
+        } catch (Exception e) {
+            log.warn("Outbox relay run failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Delete published events after the retention period.
+     */
+    public void purgePublished() {
+        try {
+            int deleted = jdbcTemplate.update(PURGE_SQL,
+                    Timestamp.from(Instant.now().minus(settings.publishedRetention())));
+            if (deleted > 0) {
+                log.info("Purged {} published outbox events", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Outbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return number of events published (equals the batch size only if all events succeeded)
+     */
+    private int publishBatch() {
+        List<PendingEvent> batch = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new PendingEvent(
+                rs.getLong("id"),
+                rs.getObject("event_id", UUID.class),
+                rs.getString("aggregate_type"),
+                rs.getObject("aggregate_id", UUID.class),
+                rs.getString("event_type"),
+                rs.getString("topic"),
+                rs.getString("message_key"),
+                rs.getString("payload"),
+                rs.getBytes("payload_bytes"),
+                rs.getString("headers"),
+                rs.getTimestamp("created_at").toInstant(),
+                rs.getInt("attempts")), settings.batchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(batch.size());
+        for (PendingEvent event : batch) {
+            sends.add(send(event));
+        }
+        kafkaTemplate.flush();
+
+        long deadline = System.nanoTime() + settings.sendTimeout().toNanos();
+        Set<String> heldBack = new HashSet<>();
+        List<Object[]> published = new ArrayList<>(batch.size());
+        List<Object[]> failed = new ArrayList<>();
+        int parked = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            PendingEvent event = batch.get(i);
+            String error;
+            try {
+                sends.get(i).get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                error = null;
+            } catch (ExecutionException e) {
+                error = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            } catch (TimeoutException e) {
+                error = "Timed out waiting for Kafka acknowledgement";
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = "Interrupted while waiting for Kafka acknowledgement";
+            }
+
+            // Keep the aggregate in order: once one of its events fails, its later events are retried too
+            if (error == null && !heldBack.contains(event.aggregateKey())) {
+                Instant now = Instant.now();
+                published.add(new Object[]{Timestamp.from(now), event.id()});
+                metrics.recordLag(Duration.between(event.createdAt(), now));
+            } else if (error != null) {
+                heldBack.add(event.aggregateKey());
+                boolean park = event.attempts() + 1 >= settings.maxAttempts();
+                failed.add(new Object[]{truncate(error), park ? Timestamp.from(Instant.now()) : null, event.id()});
+                if (park) {
+                    parked++;
+                    log.error("Parked outbox event {} ({}) of {} after {} failed attempts: {}", event.eventId(),
+                            event.eventType(), event.aggregateKey(), event.attempts() + 1, error);
+                } else {
+                    log.warn("Failed to publish outbox event {} ({}): {}", event.eventId(), event.eventType(), error);
+                }
+            } else {
+                heldBack.add(event.aggregateKey());
+            }
+        }
+
+        if (!published.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_PUBLISHED_SQL, published);
+        }
+        if (!failed.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_FAILED_SQL, failed);
+        }
+        metrics.recordBatch(published.size(), failed.size(), parked);
+
+        log.debug("Outbox batch: {} of {} events published", published.size(), batch.size());
+        return published.size();
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> send(PendingEvent event) {
+        try {
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(
+                    event.topic(), event.messageKey(), event.value());
+            Map<String, String> headers = event.headers() != null
+                    ? objectMapper.readValue(event.headers(), HEADERS_TYPE)
+                    : Map.of();
+            headers.forEach((name, value) -> record.headers().add(name, value.getBytes(StandardCharsets.UTF_8)));
+            record.headers()
+                    .add(EVENT_ID_HEADER, event.eventId().toString().getBytes(StandardCharsets.UTF_8))
+                    .add(EVENT_TYPE_HEADER, event.eventType().getBytes(StandardCharsets.UTF_8));
+            return kafkaTemplate.send(record);
+        } catch (Exception e) {
+            // e.g. unreadable headers, or broker metadata not available within max.block.ms
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void sampleBacklog() {
+        jdbcTemplate.query(BACKLOG_SQL, rs -> {
+            Timestamp oldest = rs.getTimestamp("oldest");
+            long ageSeconds = oldest != null
+                    ? Math.max(0L, Duration.between(oldest.toInstant(), Instant.now()).toSeconds())
+                    : 0L;
+            metrics.recordBacklog(rs.getLong("pending"), ageSeconds);
+        });
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private record PendingEvent(long id, UUID eventId, String aggregateType, UUID aggregateId,
+                                String eventType, String topic, String messageKey, String payload,
+                                byte[] payloadBytes, String headers, Instant createdAt, int attempts) {
+
+        /**
+         * Binary payloads are sent as stored, JSON payloads as UTF-8.
+         */
+        byte[] value() {
+            return payloadBytes != null ? payloadBytes : payload.getBytes(StandardCharsets.UTF_8);
+        }
+
+        String aggregateKey() {
+            return aggregateType + ":" + aggregateId;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.marketplace.shared.outbox;
+
+import java.time.Duration;
+
+/**
+ * Settings of an {@link OutboxRelay} and its Kafka producer.
+ *
+ * @param bootstrapServers   Kafka bootstrap servers
+ * @param pollInterval       delay between relay runs; a run drains full batches back to back
+ * @param batchSize          outbox rows claimed and published per batch
+ * @param sendTimeout        how long a batch waits for broker acknowledgements
+ * @param compressionType    producer {@code compression.type}, e.g. {@code lz4} or {@code zstd}
+ * @param linger             producer {@code linger.ms}
+ * @param producerBatchBytes producer {@code batch.size}
+ * @param publishedRetention published rows are deleted after this
+ * @param maxAttempts        failed sends after which a row is parked and no longer blocks its aggregate
+ */
+public record OutboxRelaySettings(
+        String bootstrapServers,
+        Duration pollInterval,
+        int batchSize,
+        Duration sendTimeout,
+        String compressionType,
+        Duration linger,
+        int producerBatchBytes,
+        Duration publishedRetention,
+        int maxAttempts
+) {
+
+    public OutboxRelaySettings {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Outbox batch size must be at least 1");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Outbox max attempts must be at least 1");
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.marketplace.shared.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes events to the outbox inside the caller's (business) transaction.
+ * The event becomes visible to the {@link OutboxRelay} only if that transaction commits.
+ *
+ * <p>Sequence numbers are assigned per aggregate by the database ({@code outbox_sequences}).
+ * The sequence row stays locked until commit, so concurrent writers of the same aggregate are
+ * serialized and their events are committed, relayed and numbered in the same order.
+ */
+public class OutboxWriter {
+
+    private static final String NEXT_SEQUENCE_SQL =
+            "INSERT INTO outbox_sequences (aggregate_type, aggregate_id, last_sequence) VALUES (?, ?, 1) " +
+            "ON CONFLICT (aggregate_type, aggregate_id) " +
+            "DO UPDATE SET last_sequence = outbox_sequences.last_sequence + 1 " +
+            "RETURNING last_sequence";
+    private static final String NEXT_SEQUENCES_SQL =
+            "INSERT INTO outbox_sequences (aggregate_type, aggregate_id, last_sequence) " +
+            "SELECT ?, id, 1 FROM unnest(?::uuid[]) AS id " +
+            "ON CONFLICT (aggregate_type, aggregate_id) " +
+            "DO UPDATE SET last_sequence = outbox_sequences.last_sequence + 1 " +
+            "RETURNING aggregate_id, last_sequence";
+    private static final String LAST_SEQUENCES_SQL =
+            "SELECT aggregate_id, last_sequence FROM outbox_sequences " +
+            "WHERE aggregate_type = ? AND aggregate_id = ANY(?::uuid[])";
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_events (event_id, aggregate_type, aggregate_id, sequence_number, event_type, " +
+            "topic, message_key, payload, payload_bytes, headers) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Allocate the next sequence number of an aggregate.
+     *
+     * @param aggregateType aggregate type, e.g. {@code Order}
+     * @param aggregateId   aggregate ID
+     * @return the sequence number, starting at 1 per aggregate
+     * @throws IllegalStateException if no transaction is active
+     */
+    public long nextSequenceNumber(String aggregateType, UUID aggregateId) {
+        requireTransaction();
+        Long sequence = jdbcTemplate.queryForObject(NEXT_SEQUENCE_SQL, Long.class, aggregateType, aggregateId);
+        if (sequence == null) {
+            throw new IllegalStateException("No sequence number returned for " + aggregateType + " " + aggregateId);
+        }
+        return sequence;
+    }
+
+    /**
+     * Append an event to the outbox.
+     *
+     * @param aggregateType  aggregate type, e.g. {@code Order}
+     * @param aggregateId    aggregate ID
+     * @param sequenceNumber sequence number from {@link #nextSequenceNumber(String, UUID)}
+     * @param message        the record to publish
+     * @throws IllegalStateException if no transaction is active
+     */
+    public void append(String aggregateType, UUID aggregateId, long sequenceNumber, OutboxMessage message) {
+        requireTransaction();
+        jdbcTemplate.update(INSERT_SQL,
+                message.eventId(),
+                aggregateType,
+                aggregateId,
+                sequenceNumber,
+                message.eventType(),
+                message.topic(),
+                message.key(),
+                textPayload(message),
+                binaryPayload(message),
+                toJson(message.headers()));
+    }
+
+    /**
+     * Allocate the next sequence number of several aggregates of one type in a single statement.
+     *
+     * @param aggregateType aggregate type, e.g. {@code Product}
+     * @param aggregateIds  distinct aggregate IDs
+     * @return the sequence number per aggregate ID
+     * @throws IllegalStateException if no transaction is active
+     */
+    public Map<UUID, Long> nextSequenceNumbers(String aggregateType, Collection<UUID> aggregateIds) {
+        requireTransaction();
+        if (aggregateIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, Long> sequences = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(NEXT_SEQUENCES_SQL);
+            statement.setString(1, aggregateType);
+            statement.setArray(2, connection.createArrayOf("uuid", aggregateIds.toArray()));
+            return statement;
+        }, (RowCallbackHandler) rs -> sequences.put(rs.getObject(1, UUID.class), rs.getLong(2)));
+        if (sequences.size() != aggregateIds.size()) {
+            throw new IllegalStateException("Expected " + aggregateIds.size() + " sequence numbers for "
+                    + aggregateType + ", got " + sequences.size());
+        }
+        return sequences;
+    }
+
+    /**
+     * Read the last allocated sequence number of several aggregates, e.g. to version a snapshot of
+     * their current state. Read it in the same snapshot as that state (repeatable read), or it may
+     * belong to a later change.
+     *
+     * @param aggregateType aggregate type, e.g. {@code Product}
+     * @param aggregateIds  aggregate IDs
+     * @return the sequence number per aggregate ID; aggregates without events are absent
+     */
+    public Map<UUID, Long> lastSequenceNumbers(String aggregateType, Collection<UUID> aggregateIds) {
+        if (aggregateIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, Long> sequences = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LAST_SEQUENCES_SQL);
+            statement.setString(1, aggregateType);
+            statement.setArray(2, connection.createArrayOf("uuid", aggregateIds.toArray()));
+            return statement;
+        }, (RowCallbackHandler) rs -> sequences.put(rs.getObject(1, UUID.class), rs.getLong(2)));
+        return sequences;
+    }
+
+    /**
+     * Append several events of one aggregate type with one JDBC batch.
+     *
+     * @param aggregateType aggregate type, e.g. {@code Product}
+     * @param entries       events with their aggregate IDs and sequence numbers
+     * @throws IllegalStateException if no transaction is active
+     */
+    public void appendAll(String aggregateType, List<OutboxEntry> entries) {
+        requireTransaction();
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (OutboxEntry entry : entries) {
+            OutboxMessage message = entry.message();
+            rows.add(new Object[] {
+                    message.eventId(),
+                    aggregateType,
+                    entry.aggregateId(),
+                    entry.sequenceNumber(),
+                    message.eventType(),
+                    message.topic(),
+                    message.key(),
+                    textPayload(message),
+                    binaryPayload(message),
+                    toJson(message.headers())
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private String textPayload(OutboxMessage message) {
+        return message.payload() instanceof byte[] ? null : toJson(message.payload());
+    }
+
+    private static byte[] binaryPayload(OutboxMessage message) {
+        return message.payload() instanceof byte[] bytes ? bytes : null;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload is not serializable", e);
+        }
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be written inside the business transaction");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.marketplace.shared.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request to delete several users at once (from Auth Service to User Service).
+ * Version: 1.0.0
+ */
+@Schema(description = "Request to delete several users")
+public record BulkDeleteUsersRequest(
+    @NotEmpty(message = "At least one user ID is required")
+    @Size(max = 500, message = "At most 500 users can be deleted per request")
+    @Schema(description = "IDs of the users to delete", requiredMode = Schema.RequiredMode.REQUIRED)
+    List<@NotNull UUID> userIds
+) {
+}
@@ -0,0 +1,21 @@
+package com.marketplace.shared.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a bulk user deletion. Users that did not exist are reported separately;
+ * for the caller they are as good as deleted.
+ * Version: 1.0.0
+ */
+@Schema(description = "Bulk user deletion result")
+public record BulkDeleteUsersResponse(
+    @Schema(description = "IDs of the users that were deleted")
+    List<UUID> deleted,
+
+    @Schema(description = "IDs that did not match any user")
+    List<UUID> notFound
+) {
+}
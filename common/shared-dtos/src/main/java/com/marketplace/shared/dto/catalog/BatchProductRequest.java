@@ -0,0 +1,22 @@
+package com.marketplace.shared.dto.catalog;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request to fetch several products at once.
+ * Version: 1.0.0
+ */
+@Schema(description = "Request to fetch several products by ID")
+public record BatchProductRequest(
+    @NotEmpty(message = "At least one product ID is required")
+    @Size(max = 500, message = "At most 500 products can be fetched per request")
+    @Schema(description = "IDs of the products to fetch; duplicates are returned once", requiredMode = Schema.RequiredMode.REQUIRED)
+    List<@NotNull UUID> productIds
+) {
+}
@@ -0,0 +1,20 @@
+package com.marketplace.shared.dto.catalog;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a batch product lookup, in request order. IDs that match no product are reported separately.
+ * Version: 1.0.0
+ */
+@Schema(description = "Batch product lookup result")
+public record BatchProductResponse(
+    @Schema(description = "Products found, in the order of the requested IDs")
+    List<ProductResponse> products,
+
+    @Schema(description = "Requested IDs that did not match any product")
+    List<UUID> notFound
+) {
+}
@@ -0,0 +1,43 @@
+package com.marketplace.shared.dto.catalog;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Batch of search index changes, applied with one bulk request. Each change carries the catalog
+ * sequence number of the product state it reflects, so search-service never lets an older state
+ * overwrite a newer one, whichever path (this request or product-events) delivers it first.
+ * Version: 2.0.0
+ */
+@Schema(description = "Batch of product documents to index and product IDs to remove from the index")
+public record BulkIndexRequest(
+    @Size(max = 1000, message = "At most 1000 documents can be indexed per request")
+    @Schema(description = "Product documents to index (upsert)")
+    List<@NotNull @Valid ProductSearchDocument> upserts,
+
+    @Size(max = 1000, message = "At most 1000 products can be removed per request")
+    @Schema(description = "Products to remove from the index")
+    List<@NotNull @Valid Deletion> deletes
+) {
+
+    public BulkIndexRequest {
+        upserts = upserts != null ? upserts : List.of();
+        deletes = deletes != null ? deletes : List.of();
+    }
+
+    @Schema(description = "Removal of a product from the index")
+    public record Deletion(
+        @NotNull
+        @Schema(description = "Product ID")
+        UUID productId,
+
+        @Schema(description = "Catalog sequence number of the deletion; null deletes unversioned")
+        Long sequenceNumber
+    ) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.marketplace.shared.dto.catalog;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Result of a bulk index request.
+ * Version: 1.1.0
+ */
+@Schema(description = "Result of a bulk index request")
+public record BulkIndexResponse(
+    @Schema(description = "Number of documents indexed")
+    int indexed,
+
+    @Schema(description = "Number of products removed from the index")
+    int deleted,
+
+    @Schema(description = "Products Elasticsearch rejected with a non-retryable error, with the error; "
+        + "the rest of the batch was applied")
+    Map<UUID, String> rejected
+) {
+
+    public BulkIndexResponse {
+        rejected = rejected != null ? Map.copyOf(rejected) : Map.of();
+    }
+}
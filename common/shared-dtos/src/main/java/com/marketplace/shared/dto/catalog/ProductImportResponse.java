@@ -0,0 +1,58 @@
+package com.marketplace.shared.dto.catalog;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * State and progress of an asynchronous product import job.
+ * Version: 1.0.0
+ */
+@Schema(description = "Product import job status")
+public record ProductImportResponse(
+    @Schema(description = "Import job identifier")
+    UUID jobId,
+
+    @Schema(description = "Seller the products are imported for")
+    UUID sellerId,
+
+    @Schema(description = "Upload format", example = "NDJSON")
+    String format,
+
+    @Schema(description = "Job status: QUEUED, RUNNING, COMPLETED or FAILED", example = "RUNNING")
+    String status,
+
+    @Schema(description = "Rows read and validated so far")
+    long processedRows,
+
+    @Schema(description = "Rows imported as products so far")
+    long importedRows,
+
+    @Schema(description = "Rows rejected so far")
+    long failedRows,
+
+    @Schema(description = "Rejected rows in row order; capped, see errorsTruncated")
+    List<ProductImportRowError> errors,
+
+    @Schema(description = "Whether more rows were rejected than are listed in errors")
+    boolean errorsTruncated,
+
+    @Schema(description = "Why the job stopped early; null unless status is FAILED")
+    String failureReason,
+
+    @Schema(description = "Submission timestamp")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX")
+    OffsetDateTime createdAt,
+
+    @Schema(description = "Processing start timestamp")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX")
+    OffsetDateTime startedAt,
+
+    @Schema(description = "Processing end timestamp")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX")
+    OffsetDateTime finishedAt
+) {
+}
@@ -0,0 +1,17 @@
+package com.marketplace.shared.dto.catalog;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A row of a product import that was not imported.
+ * Version: 1.0.0
+ */
+@Schema(description = "Rejected row of a product import")
+public record ProductImportRowError(
+    @Schema(description = "Line number for NDJSON, record number (header excluded) for CSV", example = "42")
+    long row,
+
+    @Schema(description = "Why the row was rejected", example = "basePrice: Price must be positive")
+    String message
+) {
+}
@@ -0,0 +1,29 @@
+package com.marketplace.shared.dto.catalog;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * One page of a product listing. Pages are addressed by an opaque cursor instead of a page number:
+ * pass {@code nextCursor} back as {@code cursor} to fetch the following page.
+ * Version: 1.0.0
+ */
+@Schema(description = "Cursor-paginated product listing page")
+public record ProductPageResponse(
+    @Schema(description = "Products on this page, in the requested sort order")
+    List<ProductResponse> content,
+
+    @Schema(description = "Requested page size after clamping to the server maximum")
+    int size,
+
+    @Schema(description = "Cursor of the next page; null on the last page")
+    String nextCursor,
+
+    @Schema(description = "Whether another page follows this one")
+    boolean hasNext,
+
+    @Schema(description = "Total matching products; only computed for the first page and omitted when includeTotal=false")
+    Long totalElements
+) {
+}
@@ -3,6 +3,7 @@ package com.marketplace.shared.dto.catalog;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Schema(description = "Product search document for search service indexing")
@@ -35,5 +36,18 @@ public record ProductSearchDocument(
     String[] availableColors,
     
     @Schema(description = "Thumbnail image URL")
-    String thumbnailUrl
+    String thumbnailUrl,
+    
+    @Schema(description = "Whether the product is featured")
+    Boolean featured,
+    
+    @Schema(description = "Creation timestamp")
+    OffsetDateTime createdAt,
+    
+    @Schema(description = "Last update timestamp")
+    OffsetDateTime updatedAt,
+    
+    @Schema(description = "Catalog sequence number of the product state; older states are not applied over newer ones. "
+        + "Null writes the document unversioned")
+    Long sequenceNumber
 ) {}
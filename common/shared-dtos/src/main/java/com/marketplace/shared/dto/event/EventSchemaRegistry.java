@@ -0,0 +1,77 @@
+package com.marketplace.shared.dto.event;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaCompatibility;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * File-based stand-in for a schema registry: the versions of a subject are the Avro schema files
+ * {@code schemas/<subject>/v1.avsc}, {@code v2.avsc}, ... on the classpath (in this module).
+ *
+ * <p>Producers write with the latest version and put its number in the message; consumers look up
+ * that writer schema here and resolve it against their latest version. A new version must be able
+ * to read all earlier ones (add fields with defaults, never remove required ones); this is checked
+ * when the subject is loaded. Consumers therefore have to be upgraded before producers.
+ */
+public class EventSchemaRegistry {
+
+    private final String subject;
+    private final List<Schema> versions;
+
+    /**
+     * @throws IllegalStateException if the subject has no schema files or a version cannot read an earlier one
+     */
+    public EventSchemaRegistry(String subject) {
+        this.subject = subject;
+        List<Schema> loaded = new ArrayList<>();
+        Schema schema;
+        while ((schema = load(subject, loaded.size() + 1)) != null) {
+            loaded.add(schema);
+        }
+        if (loaded.isEmpty()) {
+            throw new IllegalStateException("No schema files found for subject " + subject);
+        }
+        Schema latest = loaded.get(loaded.size() - 1);
+        for (int i = 0; i < loaded.size() - 1; i++) {
+            SchemaCompatibility.SchemaPairCompatibility compatibility =
+                SchemaCompatibility.checkReaderWriterCompatibility(latest, loaded.get(i));
+            if (compatibility.getType() != SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE) {
+                throw new IllegalStateException("Schema " + subject + " v" + loaded.size()
+                    + " cannot read v" + (i + 1) + ": " + compatibility.getDescription());
+            }
+        }
+        this.versions = List.copyOf(loaded);
+    }
+
+    public int latestVersion() {
+        return versions.size();
+    }
+
+    public Schema latest() {
+        return versions.get(versions.size() - 1);
+    }
+
+    /**
+     * @throws IllegalArgumentException if this build does not know the version
+     */
+    public Schema version(int version) {
+        if (version < 1 || version > versions.size()) {
+            throw new IllegalArgumentException("Unknown " + subject + " schema version " + version
+                + " (known: 1.." + versions.size() + ")");
+        }
+        return versions.get(version - 1);
+    }
+
+    private static Schema load(String subject, int version) {
+        String resource = "schemas/" + subject + "/v" + version + ".avsc";
+        try (InputStream in = EventSchemaRegistry.class.getClassLoader().getResourceAsStream(resource)) {
+            return in != null ? new Schema.Parser().parse(in) : null;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read schema " + resource, e);
+        }
+    }
+}
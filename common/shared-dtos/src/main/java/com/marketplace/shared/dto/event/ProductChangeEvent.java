@@ -0,0 +1,67 @@
+package com.marketplace.shared.dto.event;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Event published by Catalog Service (via its outbox) when a product is created, updated or deleted.
+ * Encoded and decoded with {@link ProductEventCodec}; consumers must be idempotent on {@code eventId}.
+ * Kafka record key: productId.
+ * Version: 1 (schemas/product-event/v1.avsc)
+ */
+@Schema(description = "Product change event")
+public record ProductChangeEvent(
+    @Schema(description = "Unique event ID (deduplication key)")
+    UUID eventId,
+
+    @Schema(description = "Event type", example = "ProductCreated")
+    String eventType,
+
+    @Schema(description = "Product ID")
+    UUID productId,
+
+    @Schema(description = "Per-product sequence number, starting at 1; null for legacy JSON events recorded without one")
+    Long sequenceNumber,
+
+    @Schema(description = "When the event was recorded")
+    OffsetDateTime publishedAt,
+
+    @Schema(description = "Product state after the change; null for ProductDeleted")
+    ProductState product
+) {
+
+    public static final String PRODUCT_CREATED = "ProductCreated";
+    public static final String PRODUCT_UPDATED = "ProductUpdated";
+    public static final String PRODUCT_DELETED = "ProductDeleted";
+
+    /**
+     * The product fields carried by created and updated events.
+     */
+    @Schema(description = "Product state")
+    public record ProductState(
+        UUID sellerId,
+        String name,
+        String description,
+        BigDecimal basePrice,
+        long categoryId,
+        String categoryName,
+        String status,
+        List<String> availableSizes,
+        List<String> availableColors,
+        List<String> imageUrls,
+        boolean featured,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt
+    ) {
+
+        public ProductState {
+            availableSizes = availableSizes != null ? List.copyOf(availableSizes) : List.of();
+            availableColors = availableColors != null ? List.copyOf(availableColors) : List.of();
+            imageUrls = imageUrls != null ? List.copyOf(imageUrls) : List.of();
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.marketplace.shared.dto.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.Conversions;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads and writes {@link ProductChangeEvent}s in both encodings found on {@code product-events}.
+ * The encoding of a record is given by its {@code contentType} header:
+ * <ul>
+ *   <li>{@value #AVRO}: a zero magic byte, the writer schema version as a 4-byte big-endian int and
+ *       the Avro binary body. Fields are typed (16-byte UUIDs, decimal price, microsecond timestamps),
+ *       so nothing is parsed from strings.</li>
+ *   <li>{@value #JSON} or no header: the JSON form of Catalog Service's {@code ProductEvent} entity,
+ *       with the product in a string-valued {@code payload} map. Still read so that records published
+ *       before the switch, and by publishers configured for JSON, can be consumed.</li>
+ * </ul>
+ * Instances are thread-safe.
+ */
+public class ProductEventCodec {
+
+    public static final String SUBJECT = "product-event";
+    public static final String CONTENT_TYPE_HEADER = "contentType";
+    public static final String JSON = "application/json";
+    public static final String AVRO = "application/vnd.marketplace.product-event+avro";
+
+    private static final byte MAGIC_BYTE = 0;
+    private static final int HEADER_LENGTH = 5;
+    private static final Conversions.DecimalConversion DECIMALS = new Conversions.DecimalConversion();
+
+    private final EventSchemaRegistry registry;
+    private final Schema writerSchema;
+    private final Schema stateSchema;
+    private final Schema uuidSchema;
+    private final Schema priceSchema;
+    private final int priceScale;
+    private final GenericDatumWriter<GenericRecord> writer;
+    private final Map<Integer, GenericDatumReader<GenericRecord>> readers = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ProductEventCodec() {
+        this(new EventSchemaRegistry(SUBJECT));
+    }
+
+    public ProductEventCodec(EventSchemaRegistry registry) {
+        this.registry = registry;
+        this.writerSchema = registry.latest();
+        this.stateSchema = writerSchema.getField("product").schema().getTypes().get(1);
+        this.uuidSchema = writerSchema.getField("eventId").schema();
+        this.priceSchema = stateSchema.getField("basePrice").schema();
+        this.priceScale = ((LogicalTypes.Decimal) priceSchema.getLogicalType()).getScale();
+        this.writer = new GenericDatumWriter<>(writerSchema);
+    }
+
+    /**
+     * @return whether the content type denotes the binary encoding
+     */
+    public static boolean isAvro(String contentType) {
+        return contentType != null && contentType.startsWith(AVRO);
+    }
+
+    /**
+     * Encode with the latest schema version.
+     *
+     * @throws NullPointerException if the event has no sequence number
+     */
+    public byte[] encode(ProductChangeEvent event) {
+        Objects.requireNonNull(event.sequenceNumber(), "sequenceNumber");
+        GenericRecord record = new GenericData.Record(writerSchema);
+        record.put("eventId", uuid(event.eventId()));
+        record.put("eventType", event.eventType());
+        record.put("productId", uuid(event.productId()));
+        record.put("sequenceNumber", event.sequenceNumber());
+        record.put("publishedAt", micros(event.publishedAt()));
+        record.put("product", event.product() != null ? toRecord(event.product()) : null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        out.write(MAGIC_BYTE);
+        out.writeBytes(ByteBuffer.allocate(4).putInt(registry.latestVersion()).array());
+        try {
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+            writer.write(record, encoder);
+            encoder.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param contentType the record's {@code contentType} header, or null
+     * @throws IllegalArgumentException if the value cannot be decoded
+     */
+    public ProductChangeEvent decode(String contentType, byte[] value) {
+        return isAvro(contentType) ? decodeAvro(value) : decodeJson(value);
+    }
+
+    private ProductChangeEvent decodeAvro(byte[] value) {
+        if (value == null || value.length < HEADER_LENGTH || value[0] != MAGIC_BYTE) {
+            throw new IllegalArgumentException("Not a product event envelope");
+        }
+        int version = ByteBuffer.wrap(value, 1, 4).getInt();
+        GenericDatumReader<GenericRecord> reader = readers.computeIfAbsent(version,
+            v -> new GenericDatumReader<>(registry.version(v), writerSchema));
+        GenericRecord record;
+        try {
+            BinaryDecoder decoder = DecoderFactory.get()
+                .binaryDecoder(value, HEADER_LENGTH, value.length - HEADER_LENGTH, null);
+            record = reader.read(null, decoder);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Malformed product event (schema v" + version + "): " + e.getMessage(), e);
+        }
+
+        GenericRecord product = (GenericRecord) record.get("product");
+        return new ProductChangeEvent(
+            uuid(record.get("eventId")),
+            record.get("eventType").toString(),
+            uuid(record.get("productId")),
+            (Long) record.get("sequenceNumber"),
+            timestamp((Long) record.get("publishedAt")),
+            product != null ? toState(product) : null
+        );
+    }
+
+    private GenericRecord toRecord(ProductChangeEvent.ProductState state) {
+        GenericRecord record = new GenericData.Record(stateSchema);
+        record.put("sellerId", uuid(state.sellerId()));
+        record.put("name", state.name());
+        record.put("description", state.description());
+        record.put("basePrice", DECIMALS.toBytes(state.basePrice().setScale(priceScale, RoundingMode.UNNECESSARY),
+            priceSchema, priceSchema.getLogicalType()));
+        record.put("categoryId", state.categoryId());
+        record.put("categoryName", state.categoryName());
+        record.put("status", state.status());
+        record.put("availableSizes", state.availableSizes());
+        record.put("availableColors", state.availableColors());
+        record.put("imageUrls", state.imageUrls());
+        record.put("featured", state.featured());
+        record.put("createdAt", micros(state.createdAt()));
+        record.put("updatedAt", micros(state.updatedAt()));
+        return record;
+    }
+
+    private ProductChangeEvent.ProductState toState(GenericRecord record) {
+        Object description = record.get("description");
+        return new ProductChangeEvent.ProductState(
+            uuid(record.get("sellerId")),
+            record.get("name").toString(),
+            description != null ? description.toString() : null,
+            DECIMALS.fromBytes((ByteBuffer) record.get("basePrice"), priceSchema, priceSchema.getLogicalType()),
+            (Long) record.get("categoryId"),
+            record.get("categoryName").toString(),
+            record.get("status").toString(),
+            strings(record.get("availableSizes")),
+            strings(record.get("availableColors")),
+            strings(record.get("imageUrls")),
+            (Boolean) record.get("featured"),
+            timestamp((Long) record.get("createdAt")),
+            timestamp((Long) record.get("updatedAt"))
+        );
+    }
+
+    private ProductChangeEvent decodeJson(byte[] value) {
+        JsonNode event;
+        try {
+            event = objectMapper.readTree(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed product event JSON: " + e.getMessage(), e);
+        }
+        if (event == null || !event.isObject()) {
+            throw new IllegalArgumentException("Product event JSON is not an object");
+        }
+        String eventType = event.path("eventType").asText(null);
+        JsonNode payload = event.path("payload");
+        ProductChangeEvent.ProductState product = null;
+        if (!ProductChangeEvent.PRODUCT_DELETED.equals(eventType) && payload.hasNonNull("name")) {
+            product = new ProductChangeEvent.ProductState(
+                jsonUuid(payload.get("sellerId")),
+                payload.get("name").asText(),
+                payload.path("description").asText(null),
+                payload.hasNonNull("basePrice") ? new BigDecimal(payload.get("basePrice").asText()) : null,
+                payload.path("categoryId").asLong(),
+                payload.path("categoryName").asText(null),
+                payload.path("status").asText(null),
+                jsonStrings(payload.get("availableSizes")),
+                jsonStrings(payload.get("availableColors")),
+                jsonStrings(payload.get("imageUrls")),
+                payload.path("featured").asBoolean(false),
+                jsonTimestamp(payload.get("createdAt")),
+                jsonTimestamp(payload.get("updatedAt"))
+            );
+        }
+        UUID productId = jsonUuid(event.get("productId"));
+        if (productId == null) {
+            productId = jsonUuid(payload.get("productId"));
+        }
+        return new ProductChangeEvent(
+            jsonUuid(event.get("eventId")),
+            eventType,
+            productId,
+            event.hasNonNull("sequenceNumber") ? event.get("sequenceNumber").asLong() : null,
+            jsonTimestamp(event.get("publishedAt")),
+            product
+        );
+    }
+
+    private GenericData.Fixed uuid(UUID id) {
+        ByteBuffer bytes = ByteBuffer.allocate(16)
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits());
+        return new GenericData.Fixed(uuidSchema, bytes.array());
+    }
+
+    private static UUID uuid(Object fixed) {
+        ByteBuffer bytes = ByteBuffer.wrap(((GenericData.Fixed) fixed).bytes());
+        return new UUID(bytes.getLong(), bytes.getLong());
+    }
+
+    private static long micros(OffsetDateTime timestamp) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, timestamp.toInstant());
+    }
+
+    private static OffsetDateTime timestamp(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS).atOffset(ZoneOffset.UTC);
+    }
+
+    private static List<String> strings(Object array) {
+        Collection<?> items = (Collection<?>) array;
+        List<String> strings = new ArrayList<>(items.size());
+        for (Object item : items) {
+            strings.add(item.toString());
+        }
+        return strings;
+    }
+
+    private static UUID jsonUuid(JsonNode node) {
+        return node != null && node.isTextual() ? UUID.fromString(node.asText()) : null;
+    }
+
+    private static List<String> jsonStrings(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return List.of();
+        }
+        List<String> strings = new ArrayList<>();
+        if (node.isArray()) {
+            node.forEach(item -> strings.add(item.asText()));
+        } else {
+            strings.add(node.asText());
+        }
+        return strings;
+    }
+
+    /**
+     * ISO-8601 text, or decimal epoch seconds as written by Jackson with timestamps enabled.
+     */
+    private static OffsetDateTime jsonTimestamp(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (node.isNumber()) {
+            BigDecimal seconds = node.decimalValue();
+            return Instant.ofEpochSecond(seconds.longValue(), seconds.remainder(BigDecimal.ONE).movePointRight(9).longValue())
+                .atOffset(ZoneOffset.UTC);
+        }
+        return OffsetDateTime.parse(node.asText()).withOffsetSameInstant(ZoneOffset.UTC);
+    }
+}
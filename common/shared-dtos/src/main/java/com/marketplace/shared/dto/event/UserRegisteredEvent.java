@@ -0,0 +1,42 @@
+package com.marketplace.shared.dto.event;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Event published by Auth Service (via its outbox) when a user has registered.
+ * User Service creates the user profile from it; consumers must be idempotent on {@code eventId}.
+ * Kafka record key: userId.
+ * Version: 1.0.0
+ */
+@Schema(description = "User registered event")
+public record UserRegisteredEvent(
+    @Schema(description = "Unique event ID (deduplication key)", example = "9b2f4c1e-2d1a-4f7e-8a4b-0c6f7d8e9a10")
+    UUID eventId,
+
+    @Schema(description = "User ID (generated by Auth Service)", example = "123e4567-e89b-12d3-a456-426614174000")
+    UUID userId,
+
+    @Schema(description = "Email address", example = "user@example.com")
+    String email,
+
+    @Schema(description = "Full name", example = "John Doe")
+    String name,
+
+    @Schema(description = "User roles", example = "[\"CUSTOMER\"]")
+    List<String> roles,
+
+    @Schema(description = "Registration timestamp", example = "2024-01-15T10:30:00Z")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX")
+    OffsetDateTime occurredAt
+) {
+
+    /**
+     * Event type, sent as the {@code event-type} record header.
+     */
+    public static final String EVENT_TYPE = "UserRegistered";
+}
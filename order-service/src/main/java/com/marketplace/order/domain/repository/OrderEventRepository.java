@@ -2,7 +2,6 @@ package com.marketplace.order.domain.repository;
 
 import com.marketplace.order.domain.model.OrderEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -24,10 +23,4 @@ public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
      * Find event by event ID for idempotency check.
      */
     Optional<OrderEvent> findByEventId(UUID eventId);
-
-    /**
-     * Get the maximum sequence number across all events.
-     */
-    @Query("SELECT COALESCE(MAX(e.sequenceNumber), 0) FROM OrderEvent e")
-    Long findMaxSequenceNumber();
 }
@@ -3,44 +3,39 @@ package com.marketplace.order.service;
 import com.marketplace.order.domain.model.Order;
 import com.marketplace.order.domain.model.OrderEvent;
 import com.marketplace.order.domain.repository.OrderEventRepository;
-import jakarta.annotation.PostConstruct;
+import com.marketplace.order.config.OutboxProperties;
+import com.marketplace.shared.outbox.OutboxMessage;
+import com.marketplace.shared.outbox.OutboxWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cloud.stream.function.StreamBridge;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.Message;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service for publishing order events to Kafka.
- * Implements event sourcing pattern with idempotency and ordering guarantees.
+ * Events are recorded in {@code order_events} and the outbox within the caller's transaction and
+ * relayed to Kafka by the outbox relay once it commits. Sequence numbers are allocated per order
+ * by the database, so they stay unique and gap-free across replicas.
  */
 @Service
 public class OrderEventPublisher {
 
     private static final Logger log = LoggerFactory.getLogger(OrderEventPublisher.class);
-    private static final String BINDING_NAME = "order-events-out-0";
+    private static final String AGGREGATE_TYPE = "Order";
 
     private final OrderEventRepository eventRepository;
-    private final StreamBridge streamBridge;
-    private final AtomicLong sequenceGenerator = new AtomicLong(0);
+    private final OutboxWriter outboxWriter;
+    private final OutboxProperties outboxProperties;
 
-    public OrderEventPublisher(OrderEventRepository eventRepository, StreamBridge streamBridge) {
+    public OrderEventPublisher(OrderEventRepository eventRepository,
+                               OutboxWriter outboxWriter,
+                               OutboxProperties outboxProperties) {
         this.eventRepository = eventRepository;
-        this.streamBridge = streamBridge;
-    }
-
-    @PostConstruct
-    public void initSequence() {
-        Long maxSequence = eventRepository.findMaxSequenceNumber();
-        sequenceGenerator.set(maxSequence != null ? maxSequence : 0);
-        log.info("Initialized order event sequence number at: {}", sequenceGenerator.get());
+        this.outboxWriter = outboxWriter;
+        this.outboxProperties = outboxProperties;
     }
 
     /**
@@ -133,17 +128,11 @@ public class OrderEventPublisher {
     }
 
     /**
-     * Core event publishing logic with idempotency and ordering.
+     * Core event publishing logic: sequence allocation, event log and outbox in one transaction.
      */
     private void publishEvent(String eventType, UUID orderId, Map<String, Object> payload) {
         UUID eventId = UUID.randomUUID();
-        long sequenceNumber = sequenceGenerator.incrementAndGet();
-
-        // Check idempotency
-        if (eventRepository.findByEventId(eventId).isPresent()) {
-            log.warn("Event {} already exists, skipping publication", eventId);
-            return;
-        }
+        long sequenceNumber = outboxWriter.nextSequenceNumber(AGGREGATE_TYPE, orderId);
 
         // Save event to database first (event sourcing)
         OrderEvent event = new OrderEvent(
@@ -156,23 +145,20 @@ public class OrderEventPublisher {
         );
 
         eventRepository.save(event);
-        log.info("Saved {} event (id: {}, sequence: {}) for order: {}",
-                eventType, eventId, sequenceNumber, orderId);
-
-        // Publish to Kafka with ordering key (orderId ensures ordering per order)
-        Message<OrderEvent> message = MessageBuilder
-                .withPayload(event)
-                .setHeader(KafkaHeaders.KEY, orderId.toString())  // Ensures ordering per order
-                .setHeader("event-id", eventId.toString())
-                .setHeader("sequence-number", sequenceNumber)
-                .setHeader("orderId", orderId.toString())
-                .build();
 
-        boolean sent = streamBridge.send(BINDING_NAME, message);
-        if (sent) {
-            log.info("Published {} event to Kafka for order: {}", eventType, orderId);
-        } else {
-            log.error("Failed to publish {} event to Kafka for order: {}", eventType, orderId);
-        }
+        // Relayed to Kafka after commit, keyed by orderId to keep ordering per order
+        outboxWriter.append(AGGREGATE_TYPE, orderId, sequenceNumber, new OutboxMessage(
+                outboxProperties.orderEventsTopic(),
+                orderId.toString(),
+                eventId,
+                eventType,
+                event,
+                Map.of(
+                        "sequence-number", Long.toString(sequenceNumber),
+                        "orderId", orderId.toString()
+                )
+        ));
+        log.info("Recorded {} event (id: {}, sequence: {}) for order: {}",
+                eventType, eventId, sequenceNumber, orderId);
     }
 }
@@ -0,0 +1,43 @@
+-- Transactional outbox: events are written in the business transaction and relayed to Kafka
+-- in batches by OutboxRelay. No foreign keys: outbox rows outlive the aggregate rows they describe.
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_id UUID NOT NULL UNIQUE,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    sequence_number BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    payload TEXT NOT NULL,
+    headers JSONB,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP WITH TIME ZONE,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000)
+);
+
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events(id) WHERE published_at IS NULL;
+CREATE INDEX idx_outbox_events_unpublished_aggregate
+    ON outbox_events(aggregate_type, aggregate_id, id) WHERE published_at IS NULL;
+CREATE INDEX idx_outbox_events_published_at ON outbox_events(published_at) WHERE published_at IS NOT NULL;
+
+COMMENT ON TABLE outbox_events IS 'Events pending or recently published to Kafka by the outbox relay';
+COMMENT ON COLUMN outbox_events.sequence_number IS 'Per-aggregate sequence number from outbox_sequences';
+COMMENT ON COLUMN outbox_events.published_at IS 'Set when Kafka acknowledged the event; NULL while pending';
+
+-- Per-aggregate sequence counters, incremented with INSERT ... ON CONFLICT in the business transaction
+CREATE TABLE outbox_sequences (
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    last_sequence BIGINT NOT NULL,
+    PRIMARY KEY (aggregate_type, aggregate_id)
+);
+
+COMMENT ON TABLE outbox_sequences IS 'Last event sequence number allocated per aggregate';
+
+-- Continue from the numbers already issued by the in-memory generator
+INSERT INTO outbox_sequences (aggregate_type, aggregate_id, last_sequence)
+SELECT 'Order', order_id, MAX(sequence_number)
+FROM order_events
+GROUP BY order_id;
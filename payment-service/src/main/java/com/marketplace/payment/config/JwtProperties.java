@@ -8,9 +8,15 @@ import org.springframework.validation.annotation.Validated;
 @ConfigurationProperties(prefix = "jwt")
 @Validated
 public record JwtProperties(
-    @NotBlank(message = "JWT public key endpoint must be configured")
-    String publicKeyEndpoint,
+    @NotBlank(message = "JWKS endpoint must be configured")
+    String jwksEndpoint,
 
     @Min(value = 1, message = "Public key cache TTL must be at least 1 minute")
-    int publicKeyCacheTtlMinutes
+    int publicKeyCacheTtlMinutes,
+
+    @Min(value = 1, message = "Key refresh interval must be at least 1 second")
+    int keyRefreshMinIntervalSeconds,
+
+    @Min(value = 1, message = "Verified claims cache size must be at least 1")
+    int verifiedClaimsCacheSize
 ) {}
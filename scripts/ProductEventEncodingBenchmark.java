@@ -0,0 +1,187 @@
+/*
+ * Compare the JSON and Avro encodings of product-events: bytes on the wire and consumer CPU per event.
+ *
+ * Builds a sample of realistic product events, encodes each one as the JSON ProductEvent record the
+ * catalog outbox publishes today and as the Avro envelope (ProductEventCodec), then measures:
+ *   - value bytes per event, raw and after compressing a producer batch (Deflater as a stand-in for
+ *     the relay's lz4; both encodings go through the same compressor)
+ *   - consumer CPU per event to turn the record value into a typed ProductChangeEvent
+ *     (thread CPU time, after a warm-up pass)
+ *
+ * Run from the repository root (Java 21):
+ *   (cd common/shared-dtos && mvn -q install -DskipTests && mvn -q dependency:build-classpath -Dmdep.outputFile=/tmp/shared-dtos.cp)
+ *   java -cp "common/shared-dtos/target/classes:$(cat /tmp/shared-dtos.cp)" scripts/ProductEventEncodingBenchmark.java
+ *
+ * Environment:
+ *   BENCH_EVENTS      events measured per encoding (default 200000)
+ *   BENCH_BATCH_SIZE  events per compressed producer batch (default 500, the relay batch size)
+ */
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.shared.dto.event.ProductChangeEvent;
+import com.marketplace.shared.dto.event.ProductEventCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+public class ProductEventEncodingBenchmark {
+
+    private static final int SAMPLES = 1000;
+    private static final String[] SIZES = {"XS", "S", "M", "L", "XL", "XXL"};
+    private static final String[] COLORS = {"Black", "White", "Red", "Navy", "Olive", "Grey"};
+
+    public static void main(String[] args) {
+        int events = Integer.parseInt(System.getenv().getOrDefault("BENCH_EVENTS", "200000"));
+        int batchSize = Integer.parseInt(System.getenv().getOrDefault("BENCH_BATCH_SIZE", "500"));
+
+        ProductEventCodec codec = new ProductEventCodec();
+        ObjectMapper objectMapper = new ObjectMapper();
+        Random random = new Random(42);
+
+        List<byte[]> json = new ArrayList<>(SAMPLES);
+        List<byte[]> avro = new ArrayList<>(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            ProductChangeEvent event = sampleEvent(random, i);
+            try {
+                json.add(objectMapper.writeValueAsBytes(legacyJson(event)));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            avro.add(codec.encode(event));
+            if (!codec.decode(ProductEventCodec.AVRO, avro.get(i)).equals(codec.decode(ProductEventCodec.JSON, json.get(i)))) {
+                throw new IllegalStateException("Encodings disagree for sample " + i);
+            }
+        }
+
+        System.out.printf("%d events per encoding, compressed in batches of %d%n%n", events, batchSize);
+        System.out.printf("%-6s %12s %24s %20s%n", "format", "bytes/event", "compressed bytes/event", "consumer CPU/event");
+        report("json", ProductEventCodec.JSON, json, codec, events, batchSize);
+        report("avro", ProductEventCodec.AVRO, avro, codec, events, batchSize);
+    }
+
+    private static void report(String name, String contentType, List<byte[]> values, ProductEventCodec codec,
+                               int events, int batchSize) {
+        long raw = 0;
+        for (byte[] value : values) {
+            raw += value.length;
+        }
+        double rawPerEvent = (double) raw / values.size();
+
+        long compressed = 0;
+        int compressedEvents = 0;
+        for (int start = 0; start + batchSize <= values.size(); start += batchSize) {
+            compressed += compressedLength(values.subList(start, start + batchSize));
+            compressedEvents += batchSize;
+        }
+        String compressedPerEvent = compressedEvents > 0
+            ? String.format("%.1f", (double) compressed / compressedEvents)
+            : "n/a";
+
+        // Warm up the decoder, then measure on this thread only
+        decodeAll(contentType, values, codec, Math.min(events, 50_000));
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long checksum = decodeAll(contentType, values, codec, events);
+        long cpuNanos = threads.getCurrentThreadCpuTime() - cpuStart;
+
+        System.out.printf("%-6s %12.1f %24s %17.0f ns   (checksum %d)%n",
+            name, rawPerEvent, compressedPerEvent, (double) cpuNanos / events, checksum);
+    }
+
+    private static long decodeAll(String contentType, List<byte[]> values, ProductEventCodec codec, int events) {
+        long checksum = 0;
+        for (int i = 0; i < events; i++) {
+            ProductChangeEvent event = codec.decode(contentType, values.get(i % values.size()));
+            checksum += event.sequenceNumber() + event.product().basePrice().unscaledValue().longValue();
+        }
+        return checksum;
+    }
+
+    private static int compressedLength(List<byte[]> batch) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        ByteArrayOutputStream input = new ByteArrayOutputStream();
+        batch.forEach(input::writeBytes);
+        deflater.setInput(input.toByteArray());
+        deflater.finish();
+        byte[] buffer = new byte[64 * 1024];
+        int length = 0;
+        while (!deflater.finished()) {
+            length += deflater.deflate(buffer);
+        }
+        deflater.end();
+        return length;
+    }
+
+    private static ProductChangeEvent sampleEvent(Random random, int i) {
+        OffsetDateTime createdAt = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC)
+            .plusSeconds(random.nextInt(30_000_000)).plusNanos(random.nextInt(1_000_000) * 1000L);
+        OffsetDateTime updatedAt = createdAt.plusSeconds(random.nextInt(3_000_000));
+        int imageCount = 1 + random.nextInt(4);
+        List<String> images = new ArrayList<>();
+        for (int n = 0; n < imageCount; n++) {
+            images.add("https://cdn.example.com/products/" + UUID.randomUUID() + "/" + n + ".jpg");
+        }
+        ProductChangeEvent.ProductState state = new ProductChangeEvent.ProductState(
+            UUID.randomUUID(),
+            "Premium Cotton T-Shirt " + i,
+            "Soft, breathable cotton t-shirt with a relaxed fit. Machine washable, pre-shrunk, made from "
+                + "organically grown cotton. Item " + i + ".",
+            BigDecimal.valueOf(500 + random.nextInt(50_000), 2),
+            1 + random.nextInt(40),
+            "Apparel",
+            "ACTIVE",
+            List.of(SIZES).subList(0, 2 + random.nextInt(4)),
+            List.of(COLORS).subList(0, 1 + random.nextInt(5)),
+            images,
+            random.nextInt(10) == 0,
+            createdAt,
+            updatedAt
+        );
+        return new ProductChangeEvent(UUID.randomUUID(),
+            random.nextBoolean() ? ProductChangeEvent.PRODUCT_CREATED : ProductChangeEvent.PRODUCT_UPDATED,
+            UUID.randomUUID(), 1 + random.nextInt(50), updatedAt, state);
+    }
+
+    /**
+     * The shape of the JSON record value: the catalog ProductEvent entity with a stringly payload map.
+     */
+    private static Map<String, Object> legacyJson(ProductChangeEvent event) {
+        ProductChangeEvent.ProductState product = event.product();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("productId", event.productId().toString());
+        payload.put("sellerId", product.sellerId().toString());
+        payload.put("name", product.name());
+        payload.put("description", product.description());
+        payload.put("basePrice", product.basePrice().toString());
+        payload.put("categoryId", product.categoryId());
+        payload.put("categoryName", product.categoryName());
+        payload.put("status", product.status());
+        payload.put("availableSizes", product.availableSizes());
+        payload.put("availableColors", product.availableColors());
+        payload.put("imageUrls", product.imageUrls());
+        payload.put("featured", product.featured());
+        payload.put("createdAt", product.createdAt().toString());
+        payload.put("updatedAt", product.updatedAt().toString());
+
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("id", 1000L + event.sequenceNumber());
+        value.put("eventId", event.eventId().toString());
+        value.put("productId", event.productId().toString());
+        value.put("eventType", event.eventType());
+        value.put("sequenceNumber", event.sequenceNumber());
+        value.put("payload", payload);
+        value.put("publishedAt", event.publishedAt().toString());
+        return value;
+    }
+}
@@ -0,0 +1,213 @@
+#!/usr/bin/env python3
+"""Measure what facet aggregations add to product search latency on a large index.
+
+Seeds a separate benchmark index in Elasticsearch with the products mapping (2M synthetic
+products by default), then runs the queries search-service sends for a few search shapes:
+
+  - page:   the hits query alone (what pages after the first now send)
+  - +facets: the hits query with the four facet aggregations attached (what every page sent before)
+  - facets: the size-0 aggregation query behind POST /api/v1/search/facets and cache misses
+
+The shard request cache is bypassed (request_cache=false) so every run pays the full cost;
+the search-service facet cache avoids even the facets query on repeated searches.
+
+Environment:
+  ES_URL            Elasticsearch URL (default http://localhost:9200)
+  BENCH_INDEX       benchmark index name (default products_facet_bench)
+  BENCH_DOCS        synthetic products to index (default 2000000)
+  BENCH_RUNS        measured runs per query (default 200)
+  BENCH_PAGE_SIZE   hits per page (default 20)
+  BENCH_KEEP_INDEX  set to 1 to keep the index for another run
+"""
+import json
+import os
+import random
+import sys
+import time
+import urllib.error
+import urllib.request
+
+
+DEFAULTS = {
+    "ES_URL": "http://localhost:9200",
+    "BENCH_INDEX": "products_facet_bench",
+    "BENCH_DOCS": "2000000",
+    "BENCH_RUNS": "200",
+    "BENCH_PAGE_SIZE": "20",
+    "BENCH_KEEP_INDEX": "0",
+}
+
+SEED_CHUNK = 5000
+CATEGORIES = [f"Category {n}" for n in range(60)]
+SIZES = ["XS", "S", "M", "L", "XL", "XXL", "3XL", "28", "30", "32", "34", "36"]
+COLORS = ["Black", "White", "Red", "Navy", "Olive", "Grey", "Beige", "Pink", "Green", "Blue",
+          "Brown", "Yellow", "Purple", "Orange", "Teal"]
+WORDS = ["cotton", "shirt", "premium", "slim", "classic", "linen", "denim", "jacket", "wool",
+         "sweater", "organic", "relaxed", "stretch", "summer", "winter", "casual", "hoodie",
+         "dress", "skirt", "trousers", "shorts", "leather", "boots", "sneakers", "vintage"]
+
+# Same field types as IndexInitializer
+MAPPINGS = {
+    "properties": {
+        "productId": {"type": "keyword"},
+        "name": {"type": "text", "fields": {"keyword": {"type": "keyword"}}},
+        "description": {"type": "text"},
+        "basePrice": {"type": "scaled_float", "scaling_factor": 100},
+        "categoryName": {"type": "text", "fields": {"keyword": {"type": "keyword"}}},
+        "sellerId": {"type": "keyword"},
+        "status": {"type": "keyword"},
+        "availableSizes": {"type": "keyword"},
+        "availableColors": {"type": "keyword"},
+        "thumbnailUrl": {"type": "keyword"},
+        "featured": {"type": "boolean"},
+        "createdAt": {"type": "date"},
+        "updatedAt": {"type": "date"},
+    }
+}
+
+# Same aggregations as CustomProductSearchRepositoryImpl.addAggregations
+AGGREGATIONS = {
+    "categories": {"terms": {"field": "categoryName.keyword", "size": 50}},
+    "priceRanges": {
+        "range": {
+            "field": "basePrice",
+            "ranges": [
+                {"to": 25.0, "key": "Under $25"},
+                {"from": 25.0, "to": 50.0, "key": "$25 - $50"},
+                {"from": 50.0, "to": 100.0, "key": "$50 - $100"},
+                {"from": 100.0, "key": "$100 and above"},
+            ],
+        }
+    },
+    "sizes": {"terms": {"field": "availableSizes", "size": 20}},
+    "colors": {"terms": {"field": "availableColors", "size": 30}},
+}
+
+
+def env(name):
+    return os.environ.get(name, DEFAULTS.get(name, ""))
+
+
+def request(method, path, body=None, content_type="application/json", timeout=300):
+    data = None
+    if body is not None:
+        data = body if isinstance(body, bytes) else json.dumps(body).encode("utf-8")
+    req = urllib.request.Request(f"{env('ES_URL')}{path}", data=data, method=method,
+                                 headers={"Content-Type": content_type})
+    try:
+        with urllib.request.urlopen(req, timeout=timeout) as resp:
+            return resp.status, json.loads(resp.read().decode("utf-8") or "null")
+    except urllib.error.HTTPError as exc:
+        return exc.code, exc.read().decode("utf-8")
+
+
+def doc_count(index):
+    status, body = request("GET", f"/{index}/_count")
+    return body["count"] if status == 200 else None
+
+
+def seed(index, target):
+    if doc_count(index) is None:
+        status, body = request("PUT", f"/{index}", {
+            "settings": {"number_of_shards": 1, "number_of_replicas": 0, "refresh_interval": "-1"},
+            "mappings": MAPPINGS,
+        })
+        if status != 200:
+            raise RuntimeError(f"creating {index} failed: {status} {body}")
+    current = doc_count(index)
+    rng = random.Random(current)
+    while current < target:
+        batch = min(SEED_CHUNK, target - current)
+        lines = []
+        for n in range(current, current + batch):
+            name = " ".join(rng.sample(WORDS, 3)).title()
+            lines.append(json.dumps({"index": {"_id": f"bench-{n}"}}))
+            lines.append(json.dumps({
+                "productId": f"bench-{n}",
+                "name": f"{name} {n}",
+                "description": " ".join(rng.choices(WORDS, k=20)),
+                "basePrice": round(rng.uniform(5, 300), 2),
+                "categoryName": rng.choice(CATEGORIES),
+                "sellerId": f"seller-{n % 5000}",
+                "status": "INACTIVE" if n % 10 == 0 else "ACTIVE",
+                "availableSizes": rng.sample(SIZES, rng.randint(1, 6)),
+                "availableColors": rng.sample(COLORS, rng.randint(1, 5)),
+                "thumbnailUrl": "https://example.com/bench.jpg",
+                "featured": n % 100 == 0,
+                "createdAt": 1700000000000 - n * 1000,
+                "updatedAt": 1700000000000 - n * 1000,
+            }))
+        status, body = request("POST", f"/{index}/_bulk", ("\n".join(lines) + "\n").encode("utf-8"),
+                               content_type="application/x-ndjson")
+        if status != 200 or body.get("errors"):
+            raise RuntimeError(f"bulk load failed: {status}")
+        current += batch
+        if current % 100000 == 0 or current == target:
+            print(f"  indexed {current}/{target} products", flush=True)
+    request("PUT", f"/{index}/_settings", {"index": {"refresh_interval": "1s"}})
+    request("POST", f"/{index}/_refresh")
+    request("POST", f"/{index}/_forcemerge?max_num_segments=1", timeout=3600)
+
+
+def query(text, filters):
+    bool_query = {"filter": filters}
+    if text:
+        bool_query["must"] = [{"multi_match": {"query": text, "fields": ["name^2", "description"],
+                                               "type": "best_fields", "fuzziness": "AUTO"}}]
+    return {"bool": bool_query}
+
+
+def timed(index, body, runs):
+    path = f"/{index}/_search?request_cache=false"
+    for _ in range(10):
+        request("POST", path, body)
+    samples = []
+    for _ in range(runs):
+        started = time.perf_counter()
+        status, response = request("POST", path, body)
+        samples.append((time.perf_counter() - started) * 1000.0)
+        if status != 200:
+            raise RuntimeError(f"search failed: {status} {response}")
+    return samples
+
+
+def percentile(samples, pct):
+    ordered = sorted(samples)
+    index = min(len(ordered) - 1, int(round(pct / 100.0 * (len(ordered) - 1))))
+    return ordered[index]
+
+
+def main():
+    index = env("BENCH_INDEX")
+    runs = int(env("BENCH_RUNS"))
+    size = int(env("BENCH_PAGE_SIZE"))
+
+    seed(index, int(env("BENCH_DOCS")))
+    scenarios = [
+        ("browse", query(None, [{"term": {"status": "ACTIVE"}}])),
+        ("category", query(None, [{"terms": {"categoryName.keyword": [CATEGORIES[0], CATEGORIES[1]]}}])),
+        ("text", query("cotton shirt", [])),
+        ("text+colors", query("premium jacket", [{"terms": {"availableColors": ["Black", "Navy"]}}])),
+    ]
+
+    try:
+        print(f"{'scenario':>12} {'query':>8} {'p50 ms':>9} {'p95 ms':>9} {'p99 ms':>9}")
+        for name, bool_query in scenarios:
+            page = {"query": bool_query, "from": size, "size": size, "track_total_hits": True}
+            variants = [
+                ("page", page),
+                ("+facets", dict(page, aggs=AGGREGATIONS)),
+                ("facets", {"query": bool_query, "size": 0, "track_total_hits": False, "aggs": AGGREGATIONS}),
+            ]
+            for variant, body in variants:
+                samples = timed(index, body, runs)
+                print(f"{name:>12} {variant:>8} {percentile(samples, 50):>9.2f} {percentile(samples, 95):>9.2f} "
+                      f"{percentile(samples, 99):>9.2f}", flush=True)
+    finally:
+        if env("BENCH_KEEP_INDEX") != "1":
+            request("DELETE", f"/{index}")
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
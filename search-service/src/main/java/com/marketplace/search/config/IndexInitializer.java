@@ -4,6 +4,7 @@ import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch.indices.CreateIndexRequest;
 import co.elastic.clients.elasticsearch.indices.ExistsRequest;
 import co.elastic.clients.elasticsearch.indices.IndexSettings;
+import co.elastic.clients.elasticsearch.indices.PutMappingRequest;
 import co.elastic.clients.json.JsonData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,9 +48,29 @@ public class IndexInitializer implements ApplicationRunner {
             log.info("Index '{}' created successfully", indexName);
         } else {
             log.info("Index '{}' already exists", indexName);
+            addVersionFields(indexName);
         }
     }
 
+    /**
+     * Map the fields used by versioned updates on indices created before they existed
+     * (adding fields to a mapping is allowed; without this they would be mapped dynamically).
+     */
+    private void addVersionFields(String indexName) throws Exception {
+        String mappings = """
+                {
+                  "properties": {
+                    "sequenceNumber": { "type": "long" },
+                    "contentHash": { "type": "keyword", "index": false, "doc_values": false }
+                  }
+                }
+                """;
+        elasticsearchClient.indices().putMapping(PutMappingRequest.of(m -> m
+                .index(indexName)
+                .withJson(new StringReader(mappings))
+        ));
+    }
+
     private void createIndex(String indexName) throws Exception {
         String mappings = """
                 {
@@ -83,7 +104,9 @@ public class IndexInitializer implements ApplicationRunner {
                     "thumbnailUrl": { "type": "keyword" },
                     "featured": { "type": "boolean" },
                     "createdAt": { "type": "date" },
-                    "updatedAt": { "type": "date" }
+                    "updatedAt": { "type": "date" },
+                    "sequenceNumber": { "type": "long" },
+                    "contentHash": { "type": "keyword", "index": false, "doc_values": false }
                   }
                 }
                 """;
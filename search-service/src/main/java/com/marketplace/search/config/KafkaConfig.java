@@ -1,43 +1,79 @@
 package com.marketplace.search.config;
 
+import com.marketplace.search.consumer.ProductEventDeserializer;
 import com.marketplace.search.consumer.event.ProductCreatedEvent;
 import com.marketplace.search.consumer.event.ProductDeletedEvent;
 import com.marketplace.search.consumer.event.ProductUpdatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.ExponentialBackOff;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Kafka configuration for consuming product events.
+ *
+ * <p>The listener receives one batch per poll ({@code search.kafka.max-poll-records}) and runs one
+ * consumer thread per partition of the topic, up to {@code search.kafka.max-concurrency}. A partition
+ * is only ever consumed by one thread, so events of one product are still applied in order. The
+ * partition count is read at startup; restart after adding partitions to use them.
  */
 @Configuration
 public class KafkaConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(KafkaConfig.class);
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${search.kafka.topic}")
+    private String topic;
+
+    @Value("${search.kafka.max-concurrency:12}")
+    private int maxConcurrency;
+
+    @Value("${search.kafka.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${search.kafka.retry-max-interval-ms:30000}")
+    private long retryMaxIntervalMs;
+
     @Bean
-    public ConsumerFactory<String, Object> consumerFactory() {
+    public ConsumerFactory<String, Object> consumerFactory(ObjectProvider<MeterRegistry> meterRegistry) {
         Map<String, Object> config = new HashMap<>();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        // Avro product events by contentType header, JSON (with the type mappings below) otherwise;
+        // undecodable values reach the listener as null instead of stopping the partition
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, ProductEventDeserializer.class);
         config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
         config.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
 
         // Type mappings for event classes
@@ -48,7 +84,10 @@ public class KafkaConfig {
                 "ProductEvent:com.marketplace.search.consumer.event.CatalogProductEvent," +
                 "com.marketplace.catalog.domain.model.ProductEvent:com.marketplace.search.consumer.event.CatalogProductEvent");
 
-        return new DefaultKafkaConsumerFactory<>(config);
+        DefaultKafkaConsumerFactory<String, Object> factory = new DefaultKafkaConsumerFactory<>(config);
+        // Kafka client metrics, including kafka.consumer.fetch.manager.records.lag per partition
+        meterRegistry.ifAvailable(registry -> factory.addListener(new MicrometerConsumerListener<>(registry)));
+        return factory;
     }
 
     @Bean
@@ -57,8 +96,34 @@ public class KafkaConfig {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        // The listener acknowledges once the batch's bulk request succeeded
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
-        factory.setConcurrency(1); // Single concurrency for ordering
+        factory.setConcurrency(listenerConcurrency());
+
+        // Failed batches (e.g. Elasticsearch unavailable) are retried until they succeed
+        ExponentialBackOff backOff = new ExponentialBackOff(1000L, 2.0);
+        backOff.setMaxInterval(retryMaxIntervalMs);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
         return factory;
     }
+
+    /**
+     * One consumer per partition; more would sit idle without an assignment.
+     */
+    private int listenerConcurrency() {
+        try (AdminClient admin = AdminClient.create(Map.of(
+                AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, 10000))) {
+            int partitions = admin.describeTopics(List.of(topic)).allTopicNames()
+                    .get(10, TimeUnit.SECONDS).get(topic).partitions().size();
+            int concurrency = Math.max(1, Math.min(partitions, maxConcurrency));
+            log.info("Consuming {} ({} partitions) with {} listener threads", topic, partitions, concurrency);
+            return concurrency;
+        } catch (Exception e) {
+            log.warn("Could not read the partition count of {}, consuming with one listener thread: {}",
+                    topic, e.getMessage());
+            return 1;
+        }
+    }
 }
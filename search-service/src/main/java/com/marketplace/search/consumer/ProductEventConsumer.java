@@ -6,165 +6,262 @@ import com.marketplace.search.consumer.event.ProductDeletedEvent;
 import com.marketplace.search.consumer.event.ProductUpdatedEvent;
 import com.marketplace.search.consumer.mapper.ProductEventMapper;
 import com.marketplace.search.document.ProductDocument;
+import com.marketplace.search.service.IndexChange;
 import com.marketplace.search.service.IndexingService;
+import com.marketplace.shared.dto.event.ProductChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Kafka consumer for product events.
- * Listens to product-events topic and updates Elasticsearch index.
+ * Listens to product-events in batches (one batch per poll) and applies each batch to Elasticsearch
+ * with a single bulk request. Within a batch only the latest event per product is applied: events of
+ * one product share a key and therefore a partition, which a single listener thread consumes in
+ * order, so the last event in the batch is the newest. Changes carry the catalog sequence number,
+ * so an event older than the indexed document (redelivered after a rebalance) changes nothing. Offsets are committed after the bulk request
+ * succeeds; a failed batch is retried by the container's error handler, and replaying it is
+ * harmless because upserts and deletes are idempotent.
+ *
+ * <p>Metrics: {@code search.indexing.events{outcome}} and {@code search.indexing.event.lag}
+ * (record timestamp to indexed); offset lag per partition is published by the Kafka client
+ * ({@code kafka.consumer.fetch.manager.records.lag}).
  */
 @Component
 public class ProductEventConsumer {
 
     private static final Logger log = LoggerFactory.getLogger(ProductEventConsumer.class);
     private static final String CORRELATION_ID_KEY = "correlationId";
+    private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
+    private static final String SEQUENCE_NUMBER_HEADER = "sequence-number";
 
     private final IndexingService indexingService;
     private final ProductEventMapper productEventMapper;
+    private final Counter appliedCounter;
+    private final Counter supersededCounter;
+    private final Counter skippedCounter;
+    private final Timer eventLagTimer;
 
     public ProductEventConsumer(IndexingService indexingService,
-                               ProductEventMapper productEventMapper) {
+                               ProductEventMapper productEventMapper,
+                               ObjectProvider<MeterRegistry> meterRegistryProvider) {
         this.indexingService = indexingService;
         this.productEventMapper = productEventMapper;
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        this.appliedCounter = eventCounter(meterRegistry, "applied");
+        this.supersededCounter = eventCounter(meterRegistry, "superseded");
+        this.skippedCounter = eventCounter(meterRegistry, "skipped");
+        this.eventLagTimer = Timer.builder("search.indexing.event.lag")
+                .description("Time from publishing a product event to applying it to the index")
+                .tag("service", "search-service")
+                .register(meterRegistry);
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("search.indexing.events")
+                .description("Product events consumed")
+                .tag("service", "search-service")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     @KafkaListener(
             topics = "${search.kafka.topic}",
             groupId = "${spring.kafka.consumer.group-id}",
-            containerFactory = "kafkaListenerContainerFactory"
+            containerFactory = "kafkaListenerContainerFactory",
+            batch = "true"
     )
-    public void consumeProductEvent(@Payload Object event,
-                                   @Header(value = KafkaHeaders.RECEIVED_KEY, required = false) String key,
-                                   @Header(value = "X-Correlation-ID", required = false) String correlationId,
-                                   Acknowledgment acknowledgment) {
-        try {
-            // Set correlation ID for tracing
-            if (correlationId != null) {
-                MDC.put(CORRELATION_ID_KEY, correlationId);
+    public void consumeProductEvents(List<ConsumerRecord<String, Object>> records, Acknowledgment acknowledgment) {
+        // Latest action per product, in the order products were last touched
+        Map<String, IndexAction> latest = new LinkedHashMap<>();
+        for (ConsumerRecord<String, Object> record : records) {
+            IndexAction action = toAction(record);
+            if (action == null) {
+                skippedCounter.increment();
+                continue;
+            }
+            IndexAction previous = latest.get(action.productId());
+            if (previous != null && previous.isNewerThan(action)) {
+                // Older event after a newer one of the same product (e.g. replayed after a rebalance)
+                supersededCounter.increment();
+                continue;
+            }
+            if (latest.remove(action.productId()) != null) {
+                supersededCounter.increment();
             }
+            latest.put(action.productId(), action);
+        }
+
+        List<IndexChange> changes = new ArrayList<>(latest.size());
+        for (IndexAction action : latest.values()) {
+            changes.add(action.document() != null
+                    ? IndexChange.upsert(action.document(), action.sequenceNumber())
+                    : IndexChange.delete(action.productId(), action.sequenceNumber()));
+        }
+
+        // Throws on retryable failures, so the batch is redelivered; rejected documents are logged.
+        // Events older than the indexed document are dropped by Elasticsearch (see IndexingService).
+        indexingService.applyChanges(changes);
+        acknowledgment.acknowledge();
+
+        long now = System.currentTimeMillis();
+        for (IndexAction action : latest.values()) {
+            eventLagTimer.record(Math.max(0L, now - action.timestamp()), TimeUnit.MILLISECONDS);
+        }
+        appliedCounter.increment(latest.size());
+        log.debug("Applied {} product events as {} index changes", records.size(), changes.size());
+    }
 
-            log.info("Received product event: type={}, key={}", event.getClass().getSimpleName(), key);
+    /**
+     * @return the index change for the record, or null if it changes nothing
+     */
+    private IndexAction toAction(ConsumerRecord<String, Object> record) {
+        Header correlationId = record.headers().lastHeader(CORRELATION_ID_HEADER);
+        if (correlationId != null) {
+            MDC.put(CORRELATION_ID_KEY, new String(correlationId.value(), StandardCharsets.UTF_8));
+        }
+        try {
+            Object event = record.value();
+            if (event == null) {
+                // Tombstone, or a value the deserializer could not read
+                log.warn("Skipping empty or undecodable product event at {}-{}@{}",
+                        record.topic(), record.partition(), record.offset());
+                return null;
+            }
 
-            // Route event to appropriate handler
-            if (event instanceof ProductCreatedEvent createdEvent) {
-                handleProductCreated(createdEvent);
+            IndexAction action;
+            if (event instanceof ProductChangeEvent changeEvent) {
+                action = fromChangeEvent(changeEvent);
+            } else if (event instanceof ProductCreatedEvent createdEvent) {
+                action = upsert(createdEvent.productId(), productEventMapper.toDocument(createdEvent));
             } else if (event instanceof ProductUpdatedEvent updatedEvent) {
-                handleProductUpdated(updatedEvent);
+                action = upsert(updatedEvent.productId(), productEventMapper.toDocument(updatedEvent));
             } else if (event instanceof ProductDeletedEvent deletedEvent) {
-                handleProductDeleted(deletedEvent);
+                action = delete(deletedEvent.productId());
             } else if (event instanceof CatalogProductEvent catalogEvent) {
-                handleCatalogEvent(catalogEvent);
+                action = fromCatalogEvent(catalogEvent);
             } else {
                 log.warn("Unknown event type: {}", event.getClass().getName());
+                action = null;
             }
-
-            // Acknowledge only after successful processing
-            acknowledgment.acknowledge();
-            log.debug("Event processed and acknowledged successfully");
-
-        } catch (Exception e) {
-            log.error("Error processing product event", e);
-            // Do not acknowledge - will retry
-            throw new RuntimeException("Failed to process product event", e);
+            return action != null ? action.at(sequenceNumber(record, event), record.timestamp()) : null;
         } finally {
             MDC.remove(CORRELATION_ID_KEY);
         }
     }
 
     /**
-     * Handle ProductCreatedEvent - index new product.
+     * The catalog's per-product sequence number: the {@code sequence-number} header, or the event's own
+     * field for records without it; null for events that carry neither (applied unversioned).
      */
-    private void handleProductCreated(ProductCreatedEvent event) {
-        log.info("Handling ProductCreatedEvent for productId: {}", event.productId());
-
-        ProductDocument document = productEventMapper.toDocument(event);
-        indexingService.indexProduct(document);
-
-        log.info("Product created and indexed: {}", event.productId());
-    }
-
-    /**
-     * Handle ProductUpdatedEvent - update existing product.
-     */
-    private void handleProductUpdated(ProductUpdatedEvent event) {
-        log.info("Handling ProductUpdatedEvent for productId: {}", event.productId());
-
-        ProductDocument document = productEventMapper.toDocument(event);
-        indexingService.updateProduct(document);
-
-        log.info("Product updated in index: {}", event.productId());
+    private static Long sequenceNumber(ConsumerRecord<String, Object> record, Object event) {
+        Header header = record.headers().lastHeader(SEQUENCE_NUMBER_HEADER);
+        if (header != null) {
+            try {
+                return Long.parseLong(new String(header.value(), StandardCharsets.UTF_8));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed sequence-number header at {}-{}@{}",
+                        record.topic(), record.partition(), record.offset());
+            }
+        }
+        if (event instanceof ProductChangeEvent changeEvent) {
+            return changeEvent.sequenceNumber();
+        }
+        if (event instanceof CatalogProductEvent catalogEvent) {
+            return catalogEvent.sequenceNumber();
+        }
+        return null;
     }
 
     /**
-     * Handle ProductDeletedEvent - remove product from index.
+     * A binary (Avro) catalog event, decoded by {@code ProductEventDeserializer}.
      */
-    private void handleProductDeleted(ProductDeletedEvent event) {
-        log.info("Handling ProductDeletedEvent for productId: {}", event.productId());
-
-        indexingService.deleteProduct(event.productId().toString());
-
-        log.info("Product deleted from index: {}", event.productId());
+    private IndexAction fromChangeEvent(ProductChangeEvent event) {
+        return switch (event.eventType()) {
+            case ProductChangeEvent.PRODUCT_CREATED, ProductChangeEvent.PRODUCT_UPDATED ->
+                    upsert(event.productId(), productEventMapper.toDocument(event));
+            case ProductChangeEvent.PRODUCT_DELETED -> delete(event.productId());
+            default -> {
+                log.warn("Unsupported catalog eventType: {}", event.eventType());
+                yield null;
+            }
+        };
     }
 
-    private void handleCatalogEvent(CatalogProductEvent event) {
+    private IndexAction fromCatalogEvent(CatalogProductEvent event) {
         String eventType = event.eventType();
-        log.info("Handling Catalog event type={} for productId: {}", eventType, event.productId());
-
         if (eventType == null || eventType.isBlank()) {
             log.warn("Catalog event missing eventType for productId: {}", event.productId());
-            return;
+            return null;
         }
 
         switch (eventType) {
-            case "ProductCreated" -> handleCatalogCreated(event);
-            case "ProductUpdated" -> handleCatalogUpdated(event);
-            case "ProductDeleted" -> handleCatalogDeleted(event);
-            default -> log.warn("Unsupported catalog eventType: {}", eventType);
+            case "ProductCreated", "ProductUpdated" -> {
+                ProductDocument document = toDocument(event.payload());
+                if (document == null) {
+                    log.warn("Catalog {} event missing payload for productId: {}", eventType, event.productId());
+                    return null;
+                }
+                return upsert(document.getProductId(), document);
+            }
+            case "ProductDeleted" -> {
+                if (event.payload() != null && event.payload().get("productId") != null) {
+                    return delete(event.payload().get("productId").toString());
+                }
+                if (event.productId() != null) {
+                    return delete(event.productId());
+                }
+                log.warn("Catalog ProductDeleted event missing productId");
+                return null;
+            }
+            default -> {
+                log.warn("Unsupported catalog eventType: {}", eventType);
+                return null;
+            }
         }
     }
 
-    private void handleCatalogCreated(CatalogProductEvent event) {
-        ProductDocument document = toDocument(event.payload());
-        if (document == null) {
-            log.warn("Catalog ProductCreated event missing payload for productId: {}", event.productId());
-            return;
-        }
-        indexingService.indexProduct(document);
+    private static IndexAction upsert(Object productId, ProductDocument document) {
+        return new IndexAction(productId.toString(), document, null, 0L);
     }
 
-    private void handleCatalogUpdated(CatalogProductEvent event) {
-        ProductDocument document = toDocument(event.payload());
-        if (document == null) {
-            log.warn("Catalog ProductUpdated event missing payload for productId: {}", event.productId());
-            return;
-        }
-        indexingService.updateProduct(document);
+    private static IndexAction delete(Object productId) {
+        return new IndexAction(productId.toString(), null, null, 0L);
     }
 
-    private void handleCatalogDeleted(CatalogProductEvent event) {
-        if (event.payload() != null && event.payload().get("productId") != null) {
-            indexingService.deleteProduct(event.payload().get("productId").toString());
-            return;
+    /**
+     * Index change for one product: upsert the document, or delete the product if it is null.
+     */
+    private record IndexAction(String productId, ProductDocument document, Long sequenceNumber, long timestamp) {
+
+        IndexAction at(Long recordSequenceNumber, long recordTimestamp) {
+            return new IndexAction(productId, document, recordSequenceNumber, recordTimestamp);
         }
-        if (event.productId() != null) {
-            indexingService.deleteProduct(event.productId().toString());
-        } else {
-            log.warn("Catalog ProductDeleted event missing productId");
+
+        boolean isNewerThan(IndexAction other) {
+            return sequenceNumber != null && other.sequenceNumber != null && sequenceNumber > other.sequenceNumber;
         }
     }
 
@@ -0,0 +1,47 @@
+package com.marketplace.search.consumer;
+
+import com.marketplace.shared.dto.event.ProductEventCodec;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Value deserializer for product-events that follows the record's {@code contentType} header:
+ * Avro records become {@link com.marketplace.shared.dto.event.ProductChangeEvent}s, everything
+ * else goes to a {@link JsonDeserializer} configured with the consumer properties (type mappings),
+ * so JSON events keep arriving as before.
+ */
+public class ProductEventDeserializer implements Deserializer<Object> {
+
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+    private final ProductEventCodec codec = new ProductEventCodec();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        Header contentType = headers.lastHeader(ProductEventCodec.CONTENT_TYPE_HEADER);
+        if (data != null && contentType != null
+                && ProductEventCodec.isAvro(new String(contentType.value(), StandardCharsets.UTF_8))) {
+            return codec.decode(ProductEventCodec.AVRO, data);
+        }
+        return jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
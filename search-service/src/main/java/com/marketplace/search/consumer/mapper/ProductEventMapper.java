@@ -3,6 +3,7 @@ package com.marketplace.search.consumer.mapper;
 import com.marketplace.search.consumer.event.ProductCreatedEvent;
 import com.marketplace.search.consumer.event.ProductUpdatedEvent;
 import com.marketplace.search.document.ProductDocument;
+import com.marketplace.shared.dto.event.ProductChangeEvent;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
@@ -55,6 +56,28 @@ public class ProductEventMapper {
         return document;
     }
 
+    /**
+     * Map a created or updated ProductChangeEvent to ProductDocument; the fields are already typed.
+     */
+    public ProductDocument toDocument(ProductChangeEvent event) {
+        ProductChangeEvent.ProductState product = event.product();
+        ProductDocument document = new ProductDocument();
+        document.setProductId(event.productId().toString());
+        document.setName(product.name());
+        document.setDescription(product.description());
+        document.setBasePrice(product.basePrice());
+        document.setCategoryName(product.categoryName());
+        document.setSellerId(product.sellerId().toString());
+        document.setStatus(product.status());
+        document.setAvailableSizes(product.availableSizes());
+        document.setAvailableColors(product.availableColors());
+        document.setThumbnailUrl(getThumbnailUrl(product.imageUrls()));
+        document.setFeatured(product.featured());
+        document.setCreatedAt(toInstant(product.createdAt()));
+        document.setUpdatedAt(toInstant(product.updatedAt()));
+        return document;
+    }
+
     /**
      * Get thumbnail URL from image URLs (first image).
      */
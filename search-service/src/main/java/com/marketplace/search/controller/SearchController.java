@@ -1,6 +1,10 @@
 package com.marketplace.search.controller;
 
+import com.marketplace.search.dto.request.CursorSearchRequest;
+import com.marketplace.search.dto.request.FacetRequest;
 import com.marketplace.search.dto.request.SearchRequest;
+import com.marketplace.search.dto.response.CursorSearchResponse;
+import com.marketplace.search.dto.response.SearchFacets;
 import com.marketplace.search.dto.response.SearchResponse;
 import com.marketplace.search.dto.response.SuggestionResponse;
 import com.marketplace.search.service.SearchService;
@@ -49,6 +53,7 @@ public class SearchController {
             - Filtering by category, price range, seller, and availability
             - Multiple sort options (relevance, price, recency)
             - Pagination with configurable page size
+            - Facets on the first page by default (includeFacets overrides)
             """
     )
     @ApiResponses({
@@ -68,6 +73,67 @@ public class SearchController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Search products with cursor pagination, for infinite scroll and crawling.
+     */
+    @PostMapping("/products/cursor")
+    @Operation(
+        summary = "Search products with a cursor",
+        description = """
+            Same query, filters and sort as the products search, paginated with an opaque cursor
+            instead of page numbers. Every page costs the same, and the whole result set can be walked
+            (page numbers are limited by the index's max_result_window).
+
+            Send the same request body with nextCursor from the previous response as cursor to get the
+            next page. Results reflect the index when the first page was requested. A cursor expires
+            when it is not used for two minutes; start again without a cursor.
+            """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Search page returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid search parameters, or a malformed, expired or mismatched cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required"),
+            @ApiResponse(responseCode = "500", description = "Search service error")
+    })
+    @SecurityRequirement(name = "basicAuth")
+    public ResponseEntity<CursorSearchResponse> searchProductsWithCursor(
+            @Parameter(description = "Search request with query, filters, sort, page size and cursor")
+            @Valid @RequestBody CursorSearchRequest request) {
+
+        log.debug("Cursor search request received: {}", request);
+
+        return ResponseEntity.ok(searchService.searchWithCursor(request));
+    }
+
+    /**
+     * Get facets for a search, independent of its sort and page.
+     */
+    @PostMapping("/facets")
+    @Operation(
+        summary = "Get search facets",
+        description = """
+            Get facet counts (categories, price ranges, sizes, colors) for a query and filters.
+
+            Use this to refresh facets without fetching results, or together with
+            searches that set includeFacets to false. Results are cached per query and filters.
+            """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Facets computed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid facet request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required"),
+            @ApiResponse(responseCode = "500", description = "Search service error")
+    })
+    @SecurityRequirement(name = "basicAuth")
+    public ResponseEntity<SearchFacets> getFacets(
+            @Parameter(description = "Query and filters of the search")
+            @Valid @RequestBody FacetRequest request) {
+
+        log.debug("Facets request received: {}", request);
+
+        return ResponseEntity.ok(searchService.getFacets(request));
+    }
+
     /**
      * Get autocomplete suggestions.
      */
@@ -1,17 +1,27 @@
 package com.marketplace.search.controller;
 
 import com.marketplace.search.document.ProductDocument;
+import com.marketplace.search.service.IndexChange;
 import com.marketplace.search.service.IndexingService;
+import com.marketplace.shared.dto.catalog.BulkIndexRequest;
+import com.marketplace.shared.dto.catalog.BulkIndexResponse;
 import com.marketplace.shared.dto.catalog.ProductSearchDocument;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/search/index")
@@ -32,7 +42,7 @@ public class SearchIndexController {
         @ApiResponse(responseCode = "500", description = "Indexing failed")
     })
     public ResponseEntity<Void> indexProduct(@RequestBody ProductSearchDocument request) {
-        indexingService.indexProduct(toDocument(request));
+        indexingService.indexProduct(toDocument(request), request.sequenceNumber());
         return ResponseEntity.ok().build();
     }
 
@@ -46,7 +56,7 @@ public class SearchIndexController {
     public ResponseEntity<Void> updateProduct(@PathVariable String productId,
                                               @RequestBody ProductSearchDocument request) {
         ProductSearchDocument normalized = new ProductSearchDocument(
-            request.productId() != null ? request.productId() : java.util.UUID.fromString(productId),
+            request.productId() != null ? request.productId() : UUID.fromString(productId),
             request.name(),
             request.description(),
             request.basePrice(),
@@ -55,12 +65,44 @@ public class SearchIndexController {
             request.status(),
             request.availableSizes(),
             request.availableColors(),
-            request.thumbnailUrl()
+            request.thumbnailUrl(),
+            request.featured(),
+            request.createdAt(),
+            request.updatedAt(),
+            request.sequenceNumber()
         );
-        indexingService.updateProduct(toDocument(normalized));
+        indexingService.updateProduct(toDocument(normalized), normalized.sequenceNumber());
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/products/bulk")
+    @Operation(summary = "Bulk index products",
+               description = "Index and remove product documents with one Elasticsearch bulk request. "
+                   + "Changes with a sequence number are skipped if the index already holds that or a newer state. "
+                   + "Products Elasticsearch rejects with a non-retryable error are returned; the rest are applied")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Batch applied, except for any rejected products listed"),
+        @ApiResponse(responseCode = "400", description = "Invalid request data"),
+        @ApiResponse(responseCode = "500", description = "Bulk indexing failed")
+    })
+    public ResponseEntity<BulkIndexResponse> bulkIndex(@Valid @RequestBody BulkIndexRequest request) {
+        List<IndexChange> changes = new ArrayList<>(request.upserts().size() + request.deletes().size());
+        request.upserts().forEach(upsert ->
+            changes.add(IndexChange.upsert(toDocument(upsert), upsert.sequenceNumber())));
+        request.deletes().forEach(delete ->
+            changes.add(IndexChange.delete(delete.productId().toString(), delete.sequenceNumber())));
+        Map<UUID, String> rejected = new LinkedHashMap<>();
+        indexingService.applyChanges(changes).forEach((productId, error) ->
+            rejected.put(UUID.fromString(productId), error));
+        int rejectedDeletes = (int) request.deletes().stream()
+            .filter(delete -> rejected.containsKey(delete.productId()))
+            .count();
+        return ResponseEntity.ok(new BulkIndexResponse(
+            request.upserts().size() - (rejected.size() - rejectedDeletes),
+            request.deletes().size() - rejectedDeletes,
+            rejected));
+    }
+
     @DeleteMapping("/product/{productId}")
     @Operation(summary = "Delete product index", description = "Remove a product document from Elasticsearch")
     @ApiResponses({
@@ -91,6 +133,13 @@ public class SearchIndexController {
         document.setAvailableSizes(sizes);
         document.setAvailableColors(colors);
         document.setThumbnailUrl(request.thumbnailUrl());
+        document.setFeatured(request.featured());
+        document.setCreatedAt(toInstant(request.createdAt()));
+        document.setUpdatedAt(toInstant(request.updatedAt()));
         return document;
     }
+
+    private static Instant toInstant(OffsetDateTime value) {
+        return value != null ? value.toInstant() : null;
+    }
 }
@@ -54,6 +54,18 @@ public class ProductDocument {
     @Field(type = FieldType.Date)
     private Instant updatedAt;
 
+    /**
+     * Catalog sequence number of the event last applied; stale events are ignored (see IndexingService).
+     */
+    @Field(type = FieldType.Long)
+    private Long sequenceNumber;
+
+    /**
+     * Hash of the other fields, so events that change nothing are skipped.
+     */
+    @Field(type = FieldType.Keyword, index = false, docValues = false)
+    private String contentHash;
+
     // Default constructor
     public ProductDocument() {
     }
@@ -182,4 +194,20 @@ public class ProductDocument {
     public void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public void setSequenceNumber(Long sequenceNumber) {
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
 }
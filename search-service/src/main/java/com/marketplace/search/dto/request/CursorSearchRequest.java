@@ -0,0 +1,27 @@
+package com.marketplace.search.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Request DTO for cursor-paginated product search.
+ */
+@Schema(description = "Cursor-paginated product search: the same query, filters and sort on every page, plus the cursor")
+public record CursorSearchRequest(
+        @Schema(description = "Search query text (searches product names and descriptions)", example = "laptop", nullable = true)
+        String query,
+
+        @Schema(description = "Search filters (category, price range, status, etc.)", nullable = true)
+        SearchFilters filters,
+
+        @Schema(description = "Sort options (field and direction)", nullable = true)
+        SortOptions sort,
+
+        @Schema(description = "Page size (1-100)", example = "20", defaultValue = "20")
+        @Min(1) @Max(100)
+        Integer size,
+
+        @Schema(description = "nextCursor from the previous page; omit for the first page", nullable = true)
+        String cursor
+) {}
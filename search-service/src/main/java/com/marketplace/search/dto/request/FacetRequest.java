@@ -0,0 +1,15 @@
+package com.marketplace.search.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Request DTO for search facets: the query and filters of a search, without sort and pagination.
+ */
+@Schema(description = "Facet request with the query and filters of a product search")
+public record FacetRequest(
+        @Schema(description = "Search query text (searches product names and descriptions)", example = "laptop", nullable = true)
+        String query,
+
+        @Schema(description = "Search filters (category, price range, status, etc.)", nullable = true)
+        SearchFilters filters
+) {}
@@ -24,5 +24,9 @@ public record SearchRequest(
 
         @Schema(description = "Page size (1-100)", example = "20", defaultValue = "20")
         @Min(1) @Max(100)
-        Integer size
+        Integer size,
+
+        @Schema(description = "Compute facets (category, price, size and color counts); defaults to true on the first page only. "
+                + "Facets for other pages are available from POST /api/v1/search/facets", nullable = true)
+        Boolean includeFacets
 ) {}
@@ -0,0 +1,21 @@
+package com.marketplace.search.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response DTO for cursor-paginated product search.
+ */
+@Schema(description = "One page of a cursor-paginated product search")
+public record CursorSearchResponse(
+        List<ProductSearchResult> products,
+
+        @Schema(description = "Total matching products; only on the first page", nullable = true)
+        Long totalResults,
+
+        @Schema(description = "Cursor for the next page; null on the last page", nullable = true)
+        String nextCursor,
+
+        boolean hasNext
+) {}
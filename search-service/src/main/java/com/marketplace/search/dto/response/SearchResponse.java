@@ -3,7 +3,7 @@ package com.marketplace.search.dto.response;
 import java.util.List;
 
 /**
- * Response DTO for product search.
+ * Response DTO for product search. {@code facets} is null unless the request included them.
  */
 public record SearchResponse(
         List<ProductSearchResult> products,
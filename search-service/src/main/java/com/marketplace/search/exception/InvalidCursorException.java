@@ -0,0 +1,11 @@
+package com.marketplace.search.exception;
+
+/**
+ * Exception thrown when a search cursor is malformed, expired, or was issued for another search.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
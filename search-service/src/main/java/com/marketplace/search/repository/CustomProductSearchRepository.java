@@ -4,6 +4,7 @@ import com.marketplace.search.service.SearchCriteria;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import com.marketplace.search.document.ProductDocument;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -12,10 +13,35 @@ import java.util.List;
 public interface CustomProductSearchRepository {
 
     /**
-     * Perform complex search with filters, sorting, and aggregations.
+     * Perform complex search with filters, sorting, and pagination.
      */
     SearchHits<ProductDocument> search(SearchCriteria criteria);
 
+    /**
+     * Compute the facet aggregations of the criteria's query and filters, without hits.
+     */
+    SearchHits<ProductDocument> aggregateFacets(SearchCriteria criteria);
+
+    /**
+     * Open a point in time on the products index, for paginating a search over a fixed snapshot.
+     */
+    String openPointInTime(Duration keepAlive);
+
+    /**
+     * Release a point in time; unknown or expired IDs are ignored.
+     */
+    void closePointInTime(String pointInTimeId);
+
+    /**
+     * Search within a point in time, returning up to {@code criteria.size() + 1} hits after the given
+     * sort values (from the start if null). Hits are sorted by the criteria's sort with
+     * {@code productId} as tiebreaker, so every hit has a unique position.
+     *
+     * @throws com.marketplace.search.exception.InvalidCursorException if the point in time has expired
+     */
+    SearchHits<ProductDocument> searchAfter(SearchCriteria criteria, String pointInTimeId, Duration keepAlive,
+                                            List<Object> searchAfter, boolean trackTotalHits);
+
     /**
      * Get autocomplete suggestions based on product names.
      */
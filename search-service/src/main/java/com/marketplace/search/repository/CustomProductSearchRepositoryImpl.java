@@ -15,6 +15,7 @@ import com.marketplace.search.document.ProductDocument;
 import com.marketplace.search.dto.request.PriceRange;
 import com.marketplace.search.dto.request.SearchFilters;
 import com.marketplace.search.dto.request.SortOptions;
+import com.marketplace.search.exception.InvalidCursorException;
 import com.marketplace.search.exception.SearchException;
 import com.marketplace.search.service.SearchCriteria;
 import org.slf4j.Logger;
@@ -27,6 +28,7 @@ import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -57,47 +59,21 @@ public class CustomProductSearchRepositoryImpl implements CustomProductSearchRep
         try {
             log.debug("Executing search with criteria: {}", criteria);
 
-            BoolQuery.Builder boolQuery = new BoolQuery.Builder();
-
-            // Add keyword search query
-            if (criteria.query() != null && !criteria.query().isBlank()) {
-                MultiMatchQuery multiMatchQuery = MultiMatchQuery.of(m -> m
-                        .query(criteria.query())
-                        .fields("name^2", "description")
-                        .type(TextQueryType.BestFields)
-                        .fuzziness("AUTO")
-                );
-                boolQuery.must(q -> q.multiMatch(multiMatchQuery));
-            }
-
-            // Add filters
-            if (criteria.filters() != null) {
-                addFilters(boolQuery, criteria.filters());
-            }
+            BoolQuery boolQuery = buildQuery(criteria);
 
             // Build native query
             org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder queryBuilder =
                     org.springframework.data.elasticsearch.client.elc.NativeQuery.builder()
-                            .withQuery(q -> q.bool(boolQuery.build()));
+                            .withQuery(q -> q.bool(boolQuery));
 
             // Add sorting
-            if (criteria.sort() != null) {
-                addSorting(queryBuilder, criteria.sort());
-            } else {
-                // Default sort by score if there's a search query
-                if (criteria.query() != null && !criteria.query().isBlank()) {
-                    queryBuilder.withSort(s -> s.score(sc -> sc.order(SortOrder.Desc)));
-                }
-            }
+            addSort(queryBuilder, criteria);
 
             // Add pagination
             int page = criteria.page() != null ? criteria.page() : 0;
             int size = criteria.size() != null ? criteria.size() : searchProperties.pagination().defaultPageSize();
             queryBuilder.withPageable(org.springframework.data.domain.PageRequest.of(page, size));
 
-            // Add aggregations for facets
-            addAggregations(queryBuilder);
-
             Query nativeQuery = queryBuilder.build();
             SearchHits<ProductDocument> searchHits = elasticsearchOperations.search(nativeQuery, ProductDocument.class);
 
@@ -110,6 +86,122 @@ public class CustomProductSearchRepositoryImpl implements CustomProductSearchRep
         }
     }
 
+    @Override
+    public SearchHits<ProductDocument> aggregateFacets(SearchCriteria criteria) {
+        try {
+            log.debug("Computing facets for criteria: {}", criteria);
+
+            BoolQuery boolQuery = buildQuery(criteria);
+            NativeQueryBuilder queryBuilder = NativeQuery.builder()
+                    .withQuery(q -> q.bool(boolQuery))
+                    .withMaxResults(0)
+                    .withTrackTotalHits(false);
+            addAggregations(queryBuilder);
+
+            return elasticsearchOperations.search(queryBuilder.build(), ProductDocument.class);
+
+        } catch (Exception e) {
+            log.error("Error computing facets", e);
+            throw new SearchException("Failed to compute facets", e);
+        }
+    }
+
+    @Override
+    public String openPointInTime(Duration keepAlive) {
+        try {
+            return elasticsearchOperations.openPointInTime(
+                    elasticsearchOperations.getIndexCoordinatesFor(ProductDocument.class), keepAlive);
+        } catch (Exception e) {
+            log.error("Error opening point in time", e);
+            throw new SearchException("Failed to open point in time", e);
+        }
+    }
+
+    @Override
+    public void closePointInTime(String pointInTimeId) {
+        try {
+            elasticsearchOperations.closePointInTime(pointInTimeId);
+        } catch (Exception e) {
+            // Expires on its own after the keep-alive
+            log.warn("Failed to close point in time: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public SearchHits<ProductDocument> searchAfter(SearchCriteria criteria, String pointInTimeId, Duration keepAlive,
+                                                   List<Object> searchAfter, boolean trackTotalHits) {
+        try {
+            log.debug("Executing search_after with criteria: {}", criteria);
+
+            BoolQuery boolQuery = buildQuery(criteria);
+            NativeQueryBuilder queryBuilder = NativeQuery.builder()
+                    .withQuery(q -> q.bool(boolQuery))
+                    .withPointInTime(new Query.PointInTime(pointInTimeId, keepAlive))
+                    .withPageable(org.springframework.data.domain.PageRequest.of(0, criteria.size() + 1))
+                    .withTrackTotalHits(trackTotalHits);
+            addSort(queryBuilder, criteria);
+            // Tiebreaker: products with equal sort values keep a fixed order across pages
+            queryBuilder.withSort(s -> s.field(f -> f.field("productId").order(SortOrder.Asc)));
+            if (searchAfter != null) {
+                queryBuilder.withSearchAfter(searchAfter);
+            }
+
+            return elasticsearchOperations.search(queryBuilder.build(), ProductDocument.class);
+
+        } catch (Exception e) {
+            if (isExpiredPointInTime(e)) {
+                throw new InvalidCursorException("Cursor expired; start again without a cursor");
+            }
+            log.error("Error executing search_after", e);
+            throw new SearchException("Failed to execute search", e);
+        }
+    }
+
+    private static boolean isExpiredPointInTime(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("search_context_missing_exception")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The requested sort; without one, searches with a query sort by score.
+     */
+    private void addSort(NativeQueryBuilder queryBuilder, SearchCriteria criteria) {
+        if (criteria.sort() != null) {
+            addSorting(queryBuilder, criteria.sort());
+        } else if (criteria.query() != null && !criteria.query().isBlank()) {
+            // Default sort by score if there's a search query
+            queryBuilder.withSort(s -> s.score(sc -> sc.order(SortOrder.Desc)));
+        }
+    }
+
+    /**
+     * Keyword query and filters; shared by searches and facet aggregations.
+     */
+    private BoolQuery buildQuery(SearchCriteria criteria) {
+        BoolQuery.Builder boolQuery = new BoolQuery.Builder();
+
+        // Add keyword search query
+        if (criteria.query() != null && !criteria.query().isBlank()) {
+            MultiMatchQuery multiMatchQuery = MultiMatchQuery.of(m -> m
+                    .query(criteria.query())
+                    .fields("name^2", "description")
+                    .type(TextQueryType.BestFields)
+                    .fuzziness("AUTO")
+            );
+            boolQuery.must(q -> q.multiMatch(multiMatchQuery));
+        }
+
+        // Add filters
+        if (criteria.filters() != null) {
+            addFilters(boolQuery, criteria.filters());
+        }
+        return boolQuery.build();
+    }
+
     @Override
     public List<String> getSuggestions(String query, int maxResults) {
         try {
@@ -0,0 +1,27 @@
+package com.marketplace.search.service;
+
+import com.marketplace.search.document.ProductDocument;
+
+/**
+ * One change to the product index: upsert {@code document}, or delete the product if it is null.
+ * {@code sequenceNumber} is the catalog sequence number of the event; null means unversioned
+ * (applied without the stale check, e.g. admin reindexing, and keeping the stored sequence number).
+ */
+public record IndexChange(
+        String productId,
+        ProductDocument document,
+        Long sequenceNumber
+) {
+
+    public static IndexChange upsert(ProductDocument document, Long sequenceNumber) {
+        return new IndexChange(document.getProductId(), document, sequenceNumber);
+    }
+
+    public static IndexChange delete(String productId, Long sequenceNumber) {
+        return new IndexChange(productId, null, sequenceNumber);
+    }
+
+    public boolean isDelete() {
+        return document == null;
+    }
+}
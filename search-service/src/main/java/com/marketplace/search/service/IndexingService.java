@@ -1,51 +1,158 @@
 package com.marketplace.search.service;
 
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Script;
+import co.elastic.clients.elasticsearch._types.ScriptLanguage;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.json.JsonData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.marketplace.search.document.ProductDocument;
 import com.marketplace.search.exception.IndexingException;
 import com.marketplace.search.repository.ProductDocumentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
 import org.springframework.stereotype.Service;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Service for indexing products in Elasticsearch.
+ *
+ * <p>Metrics: {@code search.indexing.documents{operation}} (rate = documents per second; {@code skipped}
+ * counts stale changes and unchanged unversioned ones) and
+ * {@code search.indexing.bulk}.
  */
 @Service
 public class IndexingService {
 
     private static final Logger log = LoggerFactory.getLogger(IndexingService.class);
+    private static final String SEQUENCE_NUMBER_FIELD = "sequenceNumber";
+    private static final String CONTENT_HASH_FIELD = "contentHash";
+    private static final String NOOP = "noop";
+    private static final ObjectMapper HASH_MAPPER = new ObjectMapper();
+
+    /**
+     * Update script for all upserts and versioned deletes: skip stale changes, delete, record the
+     * sequence number of unchanged content, or write the fields that differ (removing fields the
+     * new state no longer has). Unversioned changes ({@code params.seq} null) keep the stored
+     * sequence number, so the stale-change guard survives them.
+     */
+    static final String VERSIONED_UPDATE = """
+            def source = ctx._source;
+            if (params.seq != null && source.sequenceNumber != null && source.sequenceNumber >= params.seq) {
+              ctx.op = 'noop';
+            } else if (params.delete) {
+              ctx.op = 'delete';
+            } else if (source.contentHash == params.hash) {
+              if (params.seq != null) {
+                source.sequenceNumber = params.seq;
+              } else {
+                ctx.op = 'noop';
+              }
+            } else {
+              for (String key : new ArrayList(source.keySet())) {
+                if (!params.fields.containsKey(key) && key != 'sequenceNumber' && key != 'contentHash') {
+                  source.remove(key);
+                }
+              }
+              for (def field : params.fields.entrySet()) {
+                if (source[field.getKey()] != field.getValue()) {
+                  source[field.getKey()] = field.getValue();
+                }
+              }
+              source.contentHash = params.hash;
+              if (params.seq != null) {
+                source.sequenceNumber = params.seq;
+              }
+            }
+            """;
 
     private final ProductDocumentRepository productDocumentRepository;
+    private final ElasticsearchClient elasticsearchClient;
+    private final SearchResultCache searchResultCache;
+    private final ElasticsearchConverter elasticsearchConverter;
+    private final String indexName;
+    private final Counter indexedCounter;
+    private final Counter deletedCounter;
+    private final Counter skippedCounter;
+    private final Counter rejectedCounter;
+    private final Timer bulkTimer;
 
-    public IndexingService(ProductDocumentRepository productDocumentRepository) {
+    public IndexingService(ProductDocumentRepository productDocumentRepository,
+                           ElasticsearchClient elasticsearchClient,
+                           ElasticsearchOperations elasticsearchOperations,
+                           SearchResultCache searchResultCache,
+                           ObjectProvider<MeterRegistry> meterRegistryProvider) {
         this.productDocumentRepository = productDocumentRepository;
+        this.elasticsearchClient = elasticsearchClient;
+        this.searchResultCache = searchResultCache;
+        this.elasticsearchConverter = elasticsearchOperations.getElasticsearchConverter();
+        this.indexName = elasticsearchOperations.getIndexCoordinatesFor(ProductDocument.class).getIndexName();
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        this.indexedCounter = documentCounter(meterRegistry, "index");
+        this.deletedCounter = documentCounter(meterRegistry, "delete");
+        this.skippedCounter = documentCounter(meterRegistry, "skipped");
+        this.rejectedCounter = documentCounter(meterRegistry, "rejected");
+        this.bulkTimer = Timer.builder("search.indexing.bulk")
+                .description("Elasticsearch bulk request duration")
+                .tag("service", "search-service")
+                .register(meterRegistry);
+    }
+
+    private static Counter documentCounter(MeterRegistry meterRegistry, String operation) {
+        return Counter.builder("search.indexing.documents")
+                .description("Product documents written to the index")
+                .tag("service", "search-service")
+                .tag("operation", operation)
+                .register(meterRegistry);
     }
 
     /**
      * Index a new product document.
+     *
+     * @param sequenceNumber catalog sequence number of the document's state, or null to write it unversioned
      */
-    public void indexProduct(ProductDocument document) {
-        try {
-            log.info("Indexing product: {}", document.getProductId());
-            productDocumentRepository.save(document);
-            log.info("Product indexed successfully: {}", document.getProductId());
-        } catch (Exception e) {
-            log.error("Failed to index product: {}", document.getProductId(), e);
-            throw new IndexingException("Failed to index product: " + document.getProductId(), e);
-        }
+    public void indexProduct(ProductDocument document, Long sequenceNumber) {
+        log.info("Indexing product: {}", document.getProductId());
+        applyChange(IndexChange.upsert(document, sequenceNumber), "index");
+        log.info("Product indexed successfully: {}", document.getProductId());
     }
 
     /**
      * Update an existing product document (upsert operation).
+     *
+     * @param sequenceNumber catalog sequence number of the document's state, or null to write it unversioned
      */
-    public void updateProduct(ProductDocument document) {
-        try {
-            log.info("Updating product: {}", document.getProductId());
-            productDocumentRepository.save(document); // Elasticsearch save is upsert
-            log.info("Product updated successfully: {}", document.getProductId());
-        } catch (Exception e) {
-            log.error("Failed to update product: {}", document.getProductId(), e);
-            throw new IndexingException("Failed to update product: " + document.getProductId(), e);
+    public void updateProduct(ProductDocument document, Long sequenceNumber) {
+        log.info("Updating product: {}", document.getProductId());
+        applyChange(IndexChange.upsert(document, sequenceNumber), "update");
+        log.info("Product updated successfully: {}", document.getProductId());
+    }
+
+    private void applyChange(IndexChange change, String operation) {
+        String error = applyChanges(List.of(change)).get(change.productId());
+        if (error != null) {
+            throw new IndexingException("Failed to " + operation + " product: " + change.productId() + " (" + error + ")");
         }
     }
 
@@ -56,6 +163,7 @@ public class IndexingService {
         try {
             log.info("Deleting product: {}", productId);
             productDocumentRepository.deleteByProductId(productId);
+            searchResultCache.invalidate();
             log.info("Product deleted successfully: {}", productId);
         } catch (Exception e) {
             log.error("Failed to delete product: {}", productId, e);
@@ -63,6 +171,132 @@ public class IndexingService {
         }
     }
 
+    /**
+     * Apply index changes with one {@code _bulk} request. Documents are mapped by the Spring Data
+     * converter, so they are stored exactly as repository saves store them.
+     *
+     * <p>Upserts and versioned deletes run as an update script ({@link #VERSIONED_UPDATE}) that
+     * Elasticsearch turns into a no-op when the indexed document already has the same or a newer
+     * sequence number (a redelivered or reordered event). Unchanged content (same hash) only
+     * advances the stored sequence number; otherwise only the fields that differ are written.
+     * Unversioned upserts skip the sequence check and keep the stored sequence number; unversioned
+     * deletes delete the document.
+     *
+     * <p>Deleting a product that is not in the index counts as deleted. Items rejected with a client
+     * error (e.g. a mapping conflict) would fail again on retry; they are returned, not thrown.
+     *
+     * @return the rejected product IDs with the Elasticsearch error
+     * @throws IndexingException if the request fails or an item fails with a retryable error (429, 5xx)
+     */
+    public Map<String, String> applyChanges(Collection<IndexChange> changes) {
+        if (changes.isEmpty()) {
+            return Map.of();
+        }
+        BulkRequest.Builder request = new BulkRequest.Builder().index(indexName);
+        Set<String> deletes = new HashSet<>();
+        for (IndexChange change : changes) {
+            String productId = change.productId();
+            if (change.isDelete()) {
+                deletes.add(productId);
+                if (change.sequenceNumber() == null) {
+                    request.operations(op -> op.delete(delete -> delete.id(productId)));
+                } else {
+                    Script script = versionedUpdate(change.sequenceNumber(), null, null);
+                    request.operations(op -> op.update(update -> update.id(productId)
+                            .action(action -> action.script(script))));
+                }
+                continue;
+            }
+
+            Map<String, Object> source = elasticsearchConverter.mapObject(change.document());
+            source.remove(SEQUENCE_NUMBER_FIELD);
+            source.remove(CONTENT_HASH_FIELD);
+            String contentHash = contentHash(source);
+            Map<String, Object> stored = new LinkedHashMap<>(source);
+            stored.put(CONTENT_HASH_FIELD, contentHash);
+            if (change.sequenceNumber() != null) {
+                stored.put(SEQUENCE_NUMBER_FIELD, change.sequenceNumber());
+            }
+            Script script = versionedUpdate(change.sequenceNumber(), contentHash, source);
+            request.operations(op -> op.update(update -> update.id(productId)
+                    .action(action -> action.script(script).upsert(stored))));
+        }
+
+        BulkResponse response;
+        try {
+            response = bulkTimer.recordCallable(() -> elasticsearchClient.bulk(request.build()));
+        } catch (Exception e) {
+            log.error("Bulk request for {} product changes failed", changes.size(), e);
+            throw new IndexingException("Failed to bulk index products", e);
+        }
+
+        Map<String, String> rejected = new LinkedHashMap<>();
+        int indexed = 0;
+        int deleted = 0;
+        int skipped = 0;
+        int retryable = 0;
+        for (BulkResponseItem item : response.items()) {
+            boolean delete = deletes.contains(item.id());
+            if (item.error() == null && NOOP.equals(item.result())) {
+                skipped++;
+            } else if (item.error() == null || (delete && item.status() == 404)) {
+                if (delete) {
+                    deleted++;
+                } else {
+                    indexed++;
+                }
+            } else if (item.status() == 429 || item.status() >= 500) {
+                retryable++;
+            } else {
+                rejected.put(item.id(), item.error().type() + ": " + item.error().reason());
+            }
+        }
+        indexedCounter.increment(indexed);
+        deletedCounter.increment(deleted);
+        skippedCounter.increment(skipped);
+        rejectedCounter.increment(rejected.size());
+        if (indexed > 0 || deleted > 0 || retryable > 0) {
+            // Retryable failures may still have written some items
+            searchResultCache.invalidate();
+        }
+
+        if (retryable > 0) {
+            throw new IndexingException("Bulk request had " + retryable + " retryable item failures");
+        }
+        rejected.forEach((id, error) -> log.error("Elasticsearch rejected product {}: {}", id, error));
+        log.info("Bulk indexed {} products, deleted {}, skipped {} stale or unchanged, rejected {} in {} ms",
+                indexed, deleted, skipped, rejected.size(), response.took());
+        return rejected;
+    }
+
+    private static Script versionedUpdate(Long sequenceNumber, String contentHash, Map<String, Object> fields) {
+        Map<String, JsonData> params = new HashMap<>();
+        if (sequenceNumber != null) {
+            params.put("seq", JsonData.of(sequenceNumber));
+        }
+        params.put("delete", JsonData.of(fields == null));
+        if (fields != null) {
+            params.put("hash", JsonData.of(contentHash));
+            params.put("fields", JsonData.of(fields));
+        }
+        return Script.of(script -> script.inline(inline -> inline
+                .lang(ScriptLanguage.Painless)
+                .source(VERSIONED_UPDATE)
+                .params(params)));
+    }
+
+    /**
+     * SHA-256 of the document source (without the version fields), in the converter's field order.
+     */
+    private static String contentHash(Map<String, Object> source) {
+        try {
+            byte[] json = HASH_MAPPER.writeValueAsBytes(source);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash product document", e);
+        }
+    }
+
     /**
      * Check if a product exists in the index.
      */
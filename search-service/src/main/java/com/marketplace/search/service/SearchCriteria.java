@@ -5,11 +5,13 @@ import com.marketplace.search.dto.request.SortOptions;
 
 /**
  * Internal search criteria for Elasticsearch queries.
+ * Facets are computed by a separate aggregation query when {@code includeFacets} is set.
  */
 public record SearchCriteria(
         String query,
         SearchFilters filters,
         SortOptions sort,
         Integer page,
-        Integer size
+        Integer size,
+        boolean includeFacets
 ) {}
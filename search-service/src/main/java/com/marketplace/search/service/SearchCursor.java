@@ -0,0 +1,72 @@
+package com.marketplace.search.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.search.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Position in a cursor-paginated search: the Elasticsearch point in time the search runs against
+ * and the sort values of the last product returned, to continue from with {@code search_after}.
+ *
+ * <p>Encoded as URL-safe base64 of a small JSON object. The cursor carries a fingerprint of the
+ * query, filters and sort, so it cannot be replayed against a different search.
+ */
+record SearchCursor(String pointInTimeId, List<Object> searchAfter, String fingerprint) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    String encode() {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("pit", pointInTimeId);
+        fields.put("after", searchAfter);
+        fields.put("fp", fingerprint);
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(fields));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot encode search cursor", e);
+        }
+    }
+
+    /**
+     * @throws InvalidCursorException if the cursor is malformed or was issued for another search
+     */
+    static SearchCursor decode(String cursor, String expectedFingerprint) {
+        Map<String, Object> fields;
+        try {
+            fields = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), new TypeReference<>() {});
+        } catch (Exception e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (!(fields.get("pit") instanceof String pointInTimeId)
+                || !(fields.get("after") instanceof List<?> searchAfter) || searchAfter.isEmpty()) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (!expectedFingerprint.equals(fields.get("fp"))) {
+            throw new InvalidCursorException("Cursor was issued for a different query, filters or sort");
+        }
+        return new SearchCursor(pointInTimeId, new ArrayList<>(searchAfter), expectedFingerprint);
+    }
+
+    /**
+     * Fingerprint of the normalized query, filters and sort; page and size may change between pages.
+     */
+    static String fingerprint(SearchCriteria criteria) {
+        String search = criteria.query() + "|" + criteria.filters() + "|" + criteria.sort();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(search.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
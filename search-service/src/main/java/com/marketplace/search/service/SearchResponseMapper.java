@@ -28,13 +28,15 @@ public class SearchResponseMapper {
 
     /**
      * Map SearchHits to SearchResponse.
+     *
+     * @param facets facets computed separately, or null if not requested
      */
-    public SearchResponse toSearchResponse(SearchHits<ProductDocument> searchHits, SearchRequest request) {
+    public SearchResponse toSearchResponse(SearchHits<ProductDocument> searchHits, SearchRequest request,
+                                           SearchFacets facets) {
         List<ProductSearchResult> products = searchHits.getSearchHits().stream()
                 .map(this::toSearchResult)
                 .collect(Collectors.toList());
 
-        SearchFacets facets = extractFacets(searchHits);
         PaginationInfo pagination = buildPaginationInfo(searchHits, request);
 
         return new SearchResponse(
@@ -45,6 +47,15 @@ public class SearchResponseMapper {
         );
     }
 
+    /**
+     * Map the hits of one page to results, e.g. for cursor pagination.
+     */
+    public List<ProductSearchResult> toSearchResults(List<SearchHit<ProductDocument>> hits) {
+        return hits.stream()
+                .map(this::toSearchResult)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Map SearchHit to ProductSearchResult.
      */
@@ -71,7 +82,7 @@ public class SearchResponseMapper {
     /**
      * Extract facets from search aggregations.
      */
-    private SearchFacets extractFacets(SearchHits<ProductDocument> searchHits) {
+    public SearchFacets toFacets(SearchHits<ProductDocument> searchHits) {
         AggregationsContainer<?> aggregationsContainer = searchHits.getAggregations();
         if (aggregationsContainer == null) {
             return new SearchFacets(List.of(), List.of(), List.of(), List.of());
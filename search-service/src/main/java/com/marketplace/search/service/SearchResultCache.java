@@ -0,0 +1,185 @@
+package com.marketplace.search.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.marketplace.search.dto.request.SearchFilters;
+import com.marketplace.search.dto.response.SearchFacets;
+import com.marketplace.search.dto.response.SearchResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process caches of search responses by normalized {@link SearchCriteria} (see
+ * {@code SearchService}), and of facets by the criteria's query and filters, so that every page and
+ * sort order of a search shares one facet computation.
+ *
+ * <p>Entries are keyed by an index generation as well. {@link #invalidate()} is called by the
+ * indexing path and moves to a new generation, so every earlier entry stops matching, including
+ * entries that a search running during the write is about to store. Writes become visible to
+ * searches only after the next index refresh, so the generation is bumped again once
+ * {@code search.cache.refresh-delay-ms} has passed. Indexing on other replicas does not bump this
+ * replica's generation; the write TTL bounds how stale their results can get.
+ *
+ * <p>Concurrent misses for the same criteria share one Elasticsearch query, which runs on the
+ * calling thread. Lookups are counted as {@code search.results.cache.requests{shape, result}} and
+ * {@code search.facets.cache.requests{shape, result}}, where shape names the kind of search
+ * ({@code browse} or {@code text}, plus the filters used) and result is {@code hit},
+ * {@code coalesced} (joined a running query) or {@code miss}.
+ */
+@Component
+public class SearchResultCache {
+
+    private static final String RESULTS_CACHE = "search.results";
+    private static final String FACETS_CACHE = "search.facets";
+
+    private final AsyncCache<Key, SearchResponse> results;
+    private final AsyncCache<FacetKey, SearchFacets> facets;
+    private final AtomicLong generation = new AtomicLong();
+    private final Executor delayedInvalidation;
+    private final MeterRegistry meterRegistry;
+
+    public SearchResultCache(
+            @Value("${search.cache.max-size:10000}") long maxSize,
+            @Value("${search.cache.expire-after-write-seconds:30}") long expireAfterWriteSeconds,
+            @Value("${search.cache.facets-max-size:2000}") long facetsMaxSize,
+            @Value("${search.cache.refresh-delay-ms:1000}") long refreshDelayMs,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .buildAsync();
+        this.facets = Caffeine.newBuilder()
+                .maximumSize(facetsMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .buildAsync();
+        this.delayedInvalidation = CompletableFuture.delayedExecutor(refreshDelayMs, TimeUnit.MILLISECONDS);
+
+        this.meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        CaffeineCacheMetrics.monitor(meterRegistry, results, RESULTS_CACHE, "service", "search-service");
+        CaffeineCacheMetrics.monitor(meterRegistry, facets, FACETS_CACHE, "service", "search-service");
+    }
+
+    /**
+     * Get a cached response or load it. Loader exceptions propagate to every caller waiting for
+     * that load, and nothing is cached.
+     *
+     * @param criteria normalized criteria; equal searches must have equal criteria
+     */
+    public SearchResponse get(SearchCriteria criteria, Function<SearchCriteria, SearchResponse> loader) {
+        return lookup(results, new Key(generation.get(), criteria), RESULTS_CACHE, criteria, loader);
+    }
+
+    /**
+     * Get cached facets for the criteria's query and filters, or load them; sort and pagination
+     * of the criteria are ignored.
+     */
+    public SearchFacets getFacets(SearchCriteria criteria, Function<SearchCriteria, SearchFacets> loader) {
+        FacetKey key = new FacetKey(generation.get(), criteria.query(), criteria.filters());
+        return lookup(facets, key, FACETS_CACHE, criteria, loader);
+    }
+
+    private <K, V> V lookup(AsyncCache<K, V> cache, K key, String cacheName, SearchCriteria criteria,
+                            Function<SearchCriteria, V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> cached = cache.asMap().putIfAbsent(key, loading);
+        if (cached != null) {
+            count(cacheName, criteria, cached.isDone() ? "hit" : "coalesced");
+            return join(cached);
+        }
+
+        count(cacheName, criteria, "miss");
+        try {
+            V value = loader.apply(criteria);
+            loading.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            // Failed futures are removed from the cache
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Stop serving cached responses: now, and again after the index refresh that makes the
+     * write searchable.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        delayedInvalidation.execute(generation::incrementAndGet);
+    }
+
+    private void count(String cacheName, SearchCriteria criteria, String result) {
+        Counter.builder(cacheName + ".cache.requests")
+                .description("Search cache lookups")
+                .tag("service", "search-service")
+                .tag("shape", shape(criteria))
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * The kind of search, e.g. {@code browse+categories} or {@code text+price+colors}; the values
+     * are left out to keep the number of meters small.
+     */
+    static String shape(SearchCriteria criteria) {
+        StringJoiner shape = new StringJoiner("+");
+        shape.add(criteria.query() != null ? "text" : "browse");
+        SearchFilters filters = criteria.filters();
+        if (filters != null) {
+            if (filters.categories() != null) {
+                shape.add("categories");
+            }
+            if (filters.priceRange() != null) {
+                shape.add("price");
+            }
+            if (filters.statuses() != null) {
+                shape.add("statuses");
+            }
+            if (filters.sellerId() != null) {
+                shape.add("seller");
+            }
+            if (filters.sizes() != null) {
+                shape.add("sizes");
+            }
+            if (filters.colors() != null) {
+                shape.add("colors");
+            }
+            if (filters.featured() != null) {
+                shape.add("featured");
+            }
+        }
+        return shape.toString();
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Key(long generation, SearchCriteria criteria) {}
+
+    private record FacetKey(long generation, String query, SearchFilters filters) {}
+}
@@ -2,16 +2,31 @@ package com.marketplace.search.service;
 
 import com.marketplace.search.config.SearchProperties;
 import com.marketplace.search.document.ProductDocument;
+import com.marketplace.search.dto.request.CursorSearchRequest;
+import com.marketplace.search.dto.request.FacetRequest;
+import com.marketplace.search.dto.request.PriceRange;
+import com.marketplace.search.dto.request.SearchFilters;
 import com.marketplace.search.dto.request.SearchRequest;
+import com.marketplace.search.dto.request.SortOptions;
+import com.marketplace.search.dto.response.CursorSearchResponse;
+import com.marketplace.search.dto.response.SearchFacets;
 import com.marketplace.search.dto.response.SearchResponse;
+import com.marketplace.search.exception.InvalidCursorException;
 import com.marketplace.search.exception.SearchException;
 import com.marketplace.search.repository.CustomProductSearchRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
 
 /**
  * Service for searching products.
@@ -20,21 +35,32 @@ import java.util.List;
 public class SearchService {
 
     private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final SearchFilters NO_FILTERS = new SearchFilters(null, null, null, null, null, null, null);
+    private static final SortOptions RELEVANCE =
+            new SortOptions(SortOptions.SortField.RELEVANCE, SortOptions.SortDirection.DESC);
 
     private final CustomProductSearchRepository customProductSearchRepository;
     private final SearchResponseMapper searchResponseMapper;
     private final SearchProperties searchProperties;
+    private final SearchResultCache searchResultCache;
+    private final Duration cursorKeepAlive;
 
     public SearchService(CustomProductSearchRepository customProductSearchRepository,
                         SearchResponseMapper searchResponseMapper,
-                        SearchProperties searchProperties) {
+                        SearchProperties searchProperties,
+                        SearchResultCache searchResultCache,
+                        @Value("${search.cursor.keep-alive-seconds:120}") long cursorKeepAliveSeconds) {
         this.customProductSearchRepository = customProductSearchRepository;
         this.searchResponseMapper = searchResponseMapper;
         this.searchProperties = searchProperties;
+        this.searchResultCache = searchResultCache;
+        this.cursorKeepAlive = Duration.ofSeconds(cursorKeepAliveSeconds);
     }
 
     /**
      * Search products with filters, sorting, and pagination.
+     * Responses are cached by normalized criteria (see {@link SearchResultCache}).
      */
     public SearchResponse search(SearchRequest request) {
         try {
@@ -43,14 +69,10 @@ public class SearchService {
             // Validate pagination
             validatePagination(request);
 
-            // Build search criteria
+            // Build search criteria; equivalent requests get equal criteria
             SearchCriteria criteria = buildCriteria(request);
 
-            // Execute search
-            SearchHits<ProductDocument> searchHits = customProductSearchRepository.search(criteria);
-
-            // Map to response
-            SearchResponse response = searchResponseMapper.toSearchResponse(searchHits, request);
+            SearchResponse response = searchResultCache.get(criteria, this::executeSearch);
 
             log.info("Search completed: {} results found", response.totalResults());
             return response;
@@ -88,11 +110,96 @@ public class SearchService {
         }
     }
 
+    /**
+     * Search products page by page with an opaque cursor: the first page opens a point in time, and
+     * later pages continue after the last product of the previous one with {@code search_after}, so
+     * every page costs the same and the whole result set can be walked past max_result_window.
+     * Results reflect the index at the first page. The point in time expires when no page has been
+     * requested for {@code search.cursor.keep-alive-seconds}; it is released after the last page.
+     * Cursor pages are not cached and carry no facets.
+     */
+    public CursorSearchResponse searchWithCursor(CursorSearchRequest request) {
+        try {
+            log.debug("Cursor search with request: {}", request);
+
+            validatePageSize(request.size());
+            SearchCriteria criteria = buildCriteria(new SearchRequest(
+                    request.query(), request.filters(), request.sort(), 0, request.size(), false));
+            String fingerprint = SearchCursor.fingerprint(criteria);
+            SearchCursor after = request.cursor() != null && !request.cursor().isBlank()
+                    ? SearchCursor.decode(request.cursor(), fingerprint)
+                    : null;
+
+            String pointInTimeId = after != null
+                    ? after.pointInTimeId()
+                    : customProductSearchRepository.openPointInTime(cursorKeepAlive);
+            SearchHits<ProductDocument> searchHits;
+            try {
+                searchHits = customProductSearchRepository.searchAfter(criteria, pointInTimeId, cursorKeepAlive,
+                        after != null ? after.searchAfter() : null, after == null);
+            } catch (RuntimeException e) {
+                if (after == null) {
+                    customProductSearchRepository.closePointInTime(pointInTimeId);
+                }
+                throw e;
+            }
+            // Elasticsearch may return a new ID for the point in time; later pages must use it
+            if (searchHits.getPointInTimeId() != null) {
+                pointInTimeId = searchHits.getPointInTimeId();
+            }
+
+            // One hit more than the page size is fetched to tell whether there is a next page
+            List<SearchHit<ProductDocument>> hits = searchHits.getSearchHits();
+            boolean hasNext = hits.size() > criteria.size();
+            String nextCursor = null;
+            if (hasNext) {
+                hits = hits.subList(0, criteria.size());
+                nextCursor = new SearchCursor(pointInTimeId, hits.get(hits.size() - 1).getSortValues(), fingerprint)
+                        .encode();
+            } else {
+                customProductSearchRepository.closePointInTime(pointInTimeId);
+            }
+
+            log.info("Cursor search page completed: {} results, hasNext {}", hits.size(), hasNext);
+            return new CursorSearchResponse(searchResponseMapper.toSearchResults(hits),
+                    after == null ? searchHits.getTotalHits() : null, nextCursor, hasNext);
+
+        } catch (SearchException | InvalidCursorException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error in cursor search", e);
+            throw new SearchException("Failed to search products", e);
+        }
+    }
+
+    /**
+     * Get the facets of a search's query and filters, independent of its sort and page.
+     * Cached separately from search responses (see {@link SearchResultCache}).
+     */
+    public SearchFacets getFacets(FacetRequest request) {
+        try {
+            log.debug("Getting facets with request: {}", request);
+            SearchCriteria criteria = buildCriteria(
+                    new SearchRequest(request.query(), request.filters(), null, null, null, true));
+            return searchResultCache.getFacets(criteria, this::executeFacets);
+
+        } catch (SearchException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error getting facets", e);
+            throw new SearchException("Failed to get facets", e);
+        }
+    }
+
     /**
      * Validate pagination parameters.
      */
     private void validatePagination(SearchRequest request) {
-        if (request.size() != null && request.size() > searchProperties.pagination().maxPageSize()) {
+        validatePageSize(request.size());
+    }
+
+    private void validatePageSize(Integer size) {
+        if (size != null && size > searchProperties.pagination().maxPageSize()) {
             throw new SearchException(
                     "Page size cannot exceed " + searchProperties.pagination().maxPageSize()
             );
@@ -100,15 +207,98 @@ public class SearchService {
     }
 
     /**
-     * Build search criteria from request.
+     * Run the search in Elasticsearch and map the hits; the response depends on the criteria only.
+     * Facets come from their own aggregation query, so pages that do not show them skip the
+     * aggregation cost and pages that do share one result.
+     */
+    private SearchResponse executeSearch(SearchCriteria criteria) {
+        SearchHits<ProductDocument> searchHits = customProductSearchRepository.search(criteria);
+        SearchFacets facets = criteria.includeFacets()
+                ? searchResultCache.getFacets(criteria, this::executeFacets)
+                : null;
+        SearchRequest normalized = new SearchRequest(criteria.query(), criteria.filters(), criteria.sort(),
+                criteria.page(), criteria.size(), criteria.includeFacets());
+        return searchResponseMapper.toSearchResponse(searchHits, normalized, facets);
+    }
+
+    private SearchFacets executeFacets(SearchCriteria criteria) {
+        return searchResponseMapper.toFacets(customProductSearchRepository.aggregateFacets(criteria));
+    }
+
+    /**
+     * Build normalized search criteria from request: whitespace-collapsed lower-case query (the
+     * fields are analyzed, so case does not change results), sorted filter values without
+     * duplicates, empty filters as null, canonical sort and explicit page, size and facets flag
+     * (facets default to the first page only).
      */
     private SearchCriteria buildCriteria(SearchRequest request) {
+        int page = request.page() != null ? request.page() : 0;
         return new SearchCriteria(
-                request.query(),
-                request.filters(),
-                request.sort(),
-                request.page(),
-                request.size()
+                normalizeQuery(request.query()),
+                normalizeFilters(request.filters()),
+                normalizeSort(request.sort()),
+                page,
+                request.size() != null ? request.size() : searchProperties.pagination().defaultPageSize(),
+                request.includeFacets() != null ? request.includeFacets() : page == 0
+        );
+    }
+
+    private static String normalizeQuery(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        return WHITESPACE.matcher(query.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static SearchFilters normalizeFilters(SearchFilters filters) {
+        if (filters == null) {
+            return null;
+        }
+        PriceRange priceRange = filters.priceRange();
+        if (priceRange != null) {
+            priceRange = priceRange.min() == null && priceRange.max() == null ? null
+                    : new PriceRange(stripZeros(priceRange.min()), stripZeros(priceRange.max()));
+        }
+        SearchFilters normalized = new SearchFilters(
+                normalizeValues(filters.categories()),
+                priceRange,
+                normalizeValues(filters.statuses()),
+                filters.sellerId() != null && !filters.sellerId().isBlank() ? filters.sellerId() : null,
+                normalizeValues(filters.sizes()),
+                normalizeValues(filters.colors()),
+                filters.featured()
         );
+        return NO_FILTERS.equals(normalized) ? null : normalized;
+    }
+
+    /**
+     * Filter values are matched as a set; the order and duplicates do not matter.
+     */
+    private static List<String> normalizeValues(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return values.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    private static BigDecimal stripZeros(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros() : null;
+    }
+
+    /**
+     * Relevance is always sorted by descending score, and a missing direction means descending.
+     */
+    private static SortOptions normalizeSort(SortOptions sort) {
+        if (sort == null) {
+            return null;
+        }
+        if (sort.field() == null || sort.field() == SortOptions.SortField.RELEVANCE) {
+            return RELEVANCE;
+        }
+        return sort.direction() != null ? sort : new SortOptions(sort.field(), SortOptions.SortDirection.DESC);
     }
 }
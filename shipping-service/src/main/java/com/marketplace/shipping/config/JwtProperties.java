@@ -4,7 +4,9 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "jwt")
 public record JwtProperties(
-    String publicKeyEndpoint,
-    int publicKeyCacheTtlMinutes
+    String jwksEndpoint,
+    int publicKeyCacheTtlMinutes,
+    int keyRefreshMinIntervalSeconds,
+    int verifiedClaimsCacheSize
 ) {
 }
@@ -0,0 +1,39 @@
+package com.marketplace.shipping.config;
+
+import com.marketplace.shared.jwt.HttpJwksSource;
+import com.marketplace.shared.jwt.JwtVerifier;
+import com.marketplace.shared.jwt.KeySetHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for shared JWT verification.
+ * Verification keys are fetched from the Auth Service JWKS endpoint and selected by {@code kid};
+ * verified claims are cached until token expiry.
+ */
+@Configuration
+public class JwtVerificationConfig {
+
+    private static final String SERVICE_NAME = "shipping-service";
+    private static final Duration JWKS_FETCH_TIMEOUT = Duration.ofSeconds(5);
+
+    @Bean
+    public JwtVerifier jwtVerifier(JwtProperties jwtProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        KeySetHolder keyHolder = new KeySetHolder(
+                new HttpJwksSource(jwtProperties.jwksEndpoint(), JWKS_FETCH_TIMEOUT),
+                Duration.ofMinutes(jwtProperties.publicKeyCacheTtlMinutes()),
+                Duration.ofSeconds(jwtProperties.keyRefreshMinIntervalSeconds())
+        );
+        return new JwtVerifier(
+                keyHolder,
+                jwtProperties.verifiedClaimsCacheSize(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                SERVICE_NAME
+        );
+    }
+}
@@ -0,0 +1,53 @@
+package com.marketplace.shipping.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.shared.outbox.OutboxMetrics;
+import com.marketplace.shared.outbox.OutboxRelay;
+import com.marketplace.shared.outbox.OutboxRelaySettings;
+import com.marketplace.shared.outbox.OutboxWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * Transactional outbox for shipment events: {@link OutboxWriter} records events in the shipment
+ * transaction and {@link OutboxRelay} publishes them to Kafka in compressed batches.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public OutboxWriter outboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        return new OutboxWriter(jdbcTemplate, objectMapper);
+    }
+
+    @Bean
+    public OutboxMetrics outboxMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OutboxMetrics(meterRegistry.getIfAvailable(SimpleMeterRegistry::new), "shipping-service");
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper,
+                                   OutboxMetrics outboxMetrics,
+                                   OutboxProperties properties) {
+        OutboxRelaySettings settings = new OutboxRelaySettings(
+                properties.bootstrapServers(),
+                Duration.ofMillis(properties.pollIntervalMs()),
+                properties.batchSize(),
+                Duration.ofMillis(properties.sendTimeoutMs()),
+                properties.compressionType(),
+                Duration.ofMillis(properties.lingerMs()),
+                properties.batchSizeBytes(),
+                Duration.ofHours(properties.publishedRetentionHours()),
+                properties.maxAttempts());
+        return new OutboxRelay(jdbcTemplate, transactionManager, objectMapper, settings, outboxMetrics);
+    }
+}
@@ -0,0 +1,21 @@
+package com.marketplace.shipping.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the transactional outbox and its Kafka relay.
+ */
+@ConfigurationProperties(prefix = "outbox")
+public record OutboxProperties(
+    String bootstrapServers,
+    String shippingEventsTopic,
+    long pollIntervalMs,
+    int batchSize,
+    long sendTimeoutMs,
+    String compressionType,
+    long lingerMs,
+    int batchSizeBytes,
+    int publishedRetentionHours,
+    int maxAttempts
+) {
+}
@@ -3,7 +3,6 @@ package com.marketplace.shipping.consumer;
 import com.marketplace.shipping.domain.model.AddressSnapshot;
 import com.marketplace.shipping.domain.model.Shipment;
 import com.marketplace.shipping.dto.CreateShipmentRequest;
-import com.marketplace.shipping.service.ShipmentEventPublisher;
 import com.marketplace.shipping.service.ShipmentService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,12 +24,9 @@ public class OrderEventConsumer {
     private static final Logger log = LoggerFactory.getLogger(OrderEventConsumer.class);
 
     private final ShipmentService shipmentService;
-    private final ShipmentEventPublisher eventPublisher;
 
-    public OrderEventConsumer(ShipmentService shipmentService,
-                             ShipmentEventPublisher eventPublisher) {
+    public OrderEventConsumer(ShipmentService shipmentService) {
         this.shipmentService = shipmentService;
-        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -125,14 +121,11 @@ public class OrderEventConsumer {
                     null   // packageDimensions
             );
 
-            // Create shipment
+            // Create shipment (publishes ShipmentCreated)
             Shipment shipment = shipmentService.createShipment(request);
             log.info("Shipment created from OrderConfirmed event: shipmentId={}, trackingNumber={}",
                     shipment.getShipmentId(), shipment.getTrackingNumber());
 
-            // Publish ShipmentCreated event
-            eventPublisher.publishShipmentCreated(shipment);
-
         } catch (Exception e) {
             log.error("Failed to process OrderConfirmed event", e);
             throw e; // Re-throw for Kafka retry
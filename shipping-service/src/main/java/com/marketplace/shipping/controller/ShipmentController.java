@@ -11,7 +11,6 @@ import com.marketplace.shipping.dto.UpdateShipmentStatusRequest;
 import com.marketplace.shipping.exception.InvalidTokenException;
 import com.marketplace.shipping.filter.JwtValidationFilter;
 import com.marketplace.shipping.security.AuthenticatedUser;
-import com.marketplace.shipping.service.ShipmentEventPublisher;
 import com.marketplace.shipping.service.ShipmentService;
 import com.marketplace.shipping.service.ShipmentTrackingService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -43,16 +42,13 @@ public class ShipmentController {
 
     private final ShipmentService shipmentService;
     private final ShipmentTrackingService trackingService;
-    private final ShipmentEventPublisher eventPublisher;
     private final ServiceProperties serviceProperties;
 
     public ShipmentController(ShipmentService shipmentService,
                              ShipmentTrackingService trackingService,
-                             ShipmentEventPublisher eventPublisher,
                              ServiceProperties serviceProperties) {
         this.shipmentService = shipmentService;
         this.trackingService = trackingService;
-        this.eventPublisher = eventPublisher;
         this.serviceProperties = serviceProperties;
     }
 
@@ -75,7 +71,6 @@ public class ShipmentController {
         log.info("Creating shipment for order: {}", request.orderId());
 
         Shipment shipment = shipmentService.createShipment(request);
-        eventPublisher.publishShipmentCreated(shipment);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(mapToResponse(shipment));
     }
@@ -101,7 +96,6 @@ public class ShipmentController {
         log.info("Cancelling shipment: {}", id);
 
         Shipment shipment = shipmentService.cancelShipment(id, reason);
-        eventPublisher.publishShipmentCancelled(shipment, reason);
 
         return ResponseEntity.ok(mapToResponse(shipment));
     }
@@ -222,21 +216,10 @@ public class ShipmentController {
                 user.getUserId(), id, request.status());
 
         ShipmentStatus newStatus = ShipmentStatus.valueOf(request.status());
-        Shipment shipment = shipmentService.getShipment(id);
-        ShipmentStatus previousStatus = shipment.getStatus();
 
         Shipment updatedShipment = shipmentService.updateShipmentStatus(
                 id, newStatus, request.reason());
 
-        // Publish appropriate event
-        if (newStatus == ShipmentStatus.DELIVERED) {
-            eventPublisher.publishShipmentDelivered(updatedShipment);
-        } else if (newStatus == ShipmentStatus.CANCELLED) {
-            eventPublisher.publishShipmentCancelled(updatedShipment, request.reason());
-        } else {
-            eventPublisher.publishShipmentUpdated(updatedShipment, previousStatus);
-        }
-
         return ResponseEntity.ok(mapToResponse(updatedShipment));
     }
 
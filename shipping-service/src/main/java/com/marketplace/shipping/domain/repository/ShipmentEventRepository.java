@@ -2,7 +2,6 @@ package com.marketplace.shipping.domain.repository;
 
 import com.marketplace.shipping.domain.model.ShipmentEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,7 +14,4 @@ public interface ShipmentEventRepository extends JpaRepository<ShipmentEvent, Lo
     Optional<ShipmentEvent> findByEventId(UUID eventId);
 
     List<ShipmentEvent> findByShipmentIdOrderBySequenceNumberAsc(UUID shipmentId);
-
-    @Query("SELECT COALESCE(MAX(e.sequenceNumber), 0) FROM ShipmentEvent e")
-    Long findMaxSequenceNumber();
 }
@@ -2,7 +2,6 @@ package com.marketplace.shipping.scheduler;
 
 import com.marketplace.shipping.domain.model.Shipment;
 import com.marketplace.shipping.domain.model.ShipmentStatus;
-import com.marketplace.shipping.service.ShipmentEventPublisher;
 import com.marketplace.shipping.service.ShipmentService;
 import com.marketplace.shipping.service.ShipmentSimulationService;
 import com.marketplace.shipping.service.ShipmentTrackingService;
@@ -25,16 +24,13 @@ public class ShipmentProgressScheduler {
     private final ShipmentService shipmentService;
     private final ShipmentSimulationService simulationService;
     private final ShipmentTrackingService trackingService;
-    private final ShipmentEventPublisher eventPublisher;
 
     public ShipmentProgressScheduler(ShipmentService shipmentService,
                                     ShipmentSimulationService simulationService,
-                                    ShipmentTrackingService trackingService,
-                                    ShipmentEventPublisher eventPublisher) {
+                                    ShipmentTrackingService trackingService) {
         this.shipmentService = shipmentService;
         this.simulationService = simulationService;
         this.trackingService = trackingService;
-        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -107,21 +103,14 @@ public class ShipmentProgressScheduler {
         log.info("Progressing shipment {} from {} to {}",
                 shipment.getShipmentId(), currentStatus, nextStatus);
 
-        // Update shipment status
+        // Update shipment status (publishes the matching event)
         String reason = "Automatic status progression via simulation";
-        Shipment updatedShipment = shipmentService.updateShipmentStatus(
+        shipmentService.updateShipmentStatus(
                 shipment.getShipmentId(),
                 nextStatus,
                 reason
         );
 
-        // Publish appropriate event
-        if (nextStatus == ShipmentStatus.DELIVERED) {
-            eventPublisher.publishShipmentDelivered(updatedShipment);
-        } else {
-            eventPublisher.publishShipmentUpdated(updatedShipment, currentStatus);
-        }
-
         return true;
     }
 }
@@ -4,44 +4,41 @@ import com.marketplace.shipping.domain.model.Shipment;
 import com.marketplace.shipping.domain.model.ShipmentEvent;
 import com.marketplace.shipping.domain.model.ShipmentStatus;
 import com.marketplace.shipping.domain.repository.ShipmentEventRepository;
-import jakarta.annotation.PostConstruct;
+import com.marketplace.shipping.config.OutboxProperties;
+import com.marketplace.shared.outbox.OutboxMessage;
+import com.marketplace.shared.outbox.OutboxWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
-import org.springframework.cloud.stream.function.StreamBridge;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.Message;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service for publishing shipment events to Kafka.
+ * Must be called inside the shipment transaction: the event is recorded in
+ * {@code shipment_events} and the outbox, and relayed to Kafka once the transaction commits.
  */
 @Service
 public class ShipmentEventPublisher {
 
     private static final Logger log = LoggerFactory.getLogger(ShipmentEventPublisher.class);
 
+    private static final String AGGREGATE_TYPE = "Shipment";
+
     private final ShipmentEventRepository eventRepository;
-    private final StreamBridge streamBridge;
-    private final AtomicLong sequenceGenerator = new AtomicLong(0);
+    private final OutboxWriter outboxWriter;
+    private final OutboxProperties outboxProperties;
 
     public ShipmentEventPublisher(ShipmentEventRepository eventRepository,
-                                 StreamBridge streamBridge) {
+                                 OutboxWriter outboxWriter,
+                                 OutboxProperties outboxProperties) {
         this.eventRepository = eventRepository;
-        this.streamBridge = streamBridge;
-    }
-
-    @PostConstruct
-    public void initSequence() {
-        Long maxSequence = eventRepository.findMaxSequenceNumber();
-        sequenceGenerator.set(maxSequence != null ? maxSequence : 0);
-        log.info("Initialized shipment event sequence number at: {}", sequenceGenerator.get());
+        this.outboxWriter = outboxWriter;
+        this.outboxProperties = outboxProperties;
     }
 
     /**
@@ -125,22 +122,16 @@ public class ShipmentEventPublisher {
     }
 
     /**
-     * Publish event to Kafka with idempotency.
+     * Record event in the event log and the outbox.
      */
     private void publishEvent(String eventType, UUID shipmentId, Map<String, Object> payload) {
         UUID eventId = UUID.randomUUID();
-        long sequenceNumber = sequenceGenerator.incrementAndGet();
+        long sequenceNumber = outboxWriter.nextSequenceNumber(AGGREGATE_TYPE, shipmentId);
 
         MDC.put("eventType", eventType);
         MDC.put("eventId", eventId.toString());
         MDC.put("shipmentId", shipmentId.toString());
 
-        // Check idempotency
-        if (eventRepository.findByEventId(eventId).isPresent()) {
-            log.warn("Event {} already exists, skipping publication", eventId);
-            return;
-        }
-
         // Save event to database first (event sourcing)
         ShipmentEvent event = new ShipmentEvent(
                 eventId,
@@ -152,28 +143,25 @@ public class ShipmentEventPublisher {
         );
 
         eventRepository.save(event);
-        log.info("Saved {} event (id: {}, sequence: {}) for shipment: {}",
-                eventType, eventId, sequenceNumber, shipmentId);
 
-        // Publish to Kafka with ordering key
-        Message<ShipmentEvent> message = MessageBuilder
-                .withPayload(event)
-                .setHeader(KafkaHeaders.KEY, shipmentId.toString())  // Ensures ordering per shipment
-                .setHeader("event-id", eventId.toString())
-                .setHeader("sequence-number", sequenceNumber)
-                .setHeader("shipmentId", shipmentId.toString())
-                .setHeader("correlationId", MDC.get("correlationId"))
-                .build();
-
-        try {
-            boolean sent = streamBridge.send("shippingEvents-out-0", message);
-            if (sent) {
-                log.info("Published {} event to Kafka for shipment: {}", eventType, shipmentId);
-            } else {
-                log.error("Failed to publish {} event to Kafka for shipment: {}", eventType, shipmentId);
-            }
-        } catch (Exception e) {
-            log.warn("Skipping Kafka publish for {} event (shipment: {}): {}", eventType, shipmentId, e.getMessage());
+        // Relayed to Kafka after commit, keyed by shipmentId to keep ordering per shipment
+        Map<String, String> headers = new HashMap<>();
+        headers.put("sequence-number", Long.toString(sequenceNumber));
+        headers.put("shipmentId", shipmentId.toString());
+        String correlationId = MDC.get("correlationId");
+        if (correlationId != null) {
+            headers.put("correlationId", correlationId);
         }
+
+        outboxWriter.append(AGGREGATE_TYPE, shipmentId, sequenceNumber, new OutboxMessage(
+                outboxProperties.shippingEventsTopic(),
+                shipmentId.toString(),
+                eventId,
+                eventType,
+                event,
+                headers
+        ));
+        log.info("Recorded {} event (id: {}, sequence: {}) for shipment: {}",
+                eventType, eventId, sequenceNumber, shipmentId);
     }
 }
@@ -29,17 +29,20 @@ public class ShipmentService {
     private final ShipmentRepository shipmentRepository;
     private final ShipmentTrackingService trackingService;
     private final ShippingConfig shippingConfig;
+    private final ShipmentEventPublisher eventPublisher;
 
     public ShipmentService(ShipmentRepository shipmentRepository,
                           ShipmentTrackingService trackingService,
-                          ShippingConfig shippingConfig) {
+                          ShippingConfig shippingConfig,
+                          ShipmentEventPublisher eventPublisher) {
         this.shipmentRepository = shipmentRepository;
         this.trackingService = trackingService;
         this.shippingConfig = shippingConfig;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
-     * Create a new shipment.
+     * Create a new shipment and record its ShipmentCreated event in the same transaction.
      */
     @Transactional
     public Shipment createShipment(CreateShipmentRequest request) {
@@ -98,6 +101,8 @@ public class ShipmentService {
                 description
         );
 
+        eventPublisher.publishShipmentCreated(savedShipment);
+
         return savedShipment;
     }
 
@@ -173,7 +178,7 @@ public class ShipmentService {
     }
 
     /**
-     * Cancel a shipment.
+     * Cancel a shipment and record its ShipmentCancelled event in the same transaction.
      */
     @Transactional
     public Shipment cancelShipment(UUID shipmentId, String reason) {
@@ -187,7 +192,8 @@ public class ShipmentService {
         // Business logic validation in entity
         shipment.cancel();
 
-        Shipment savedShipment = shipmentRepository.save(shipment);
+        // Flush so the event carries the audited updatedAt
+        Shipment savedShipment = shipmentRepository.saveAndFlush(shipment);
         log.info("Shipment cancelled successfully: {}", shipmentId);
 
         // Add tracking event
@@ -200,11 +206,14 @@ public class ShipmentService {
                 description
         );
 
+        eventPublisher.publishShipmentCancelled(savedShipment, reason);
+
         return savedShipment;
     }
 
     /**
-     * Update shipment status (admin/simulation use).
+     * Update shipment status (admin/simulation use) and record the matching
+     * ShipmentDelivered, ShipmentCancelled or ShipmentUpdated event in the same transaction.
      */
     @Transactional
     public Shipment updateShipmentStatus(UUID shipmentId, ShipmentStatus newStatus, String reason) {
@@ -228,7 +237,8 @@ public class ShipmentService {
             default -> throw new IllegalArgumentException("Invalid status: " + newStatus);
         }
 
-        Shipment savedShipment = shipmentRepository.save(shipment);
+        // Flush so the event carries the audited updatedAt
+        Shipment savedShipment = shipmentRepository.saveAndFlush(shipment);
         log.info("Shipment status updated: {} -> {}", previousStatus, newStatus);
 
         // Add tracking event
@@ -242,6 +252,14 @@ public class ShipmentService {
                 description
         );
 
+        if (newStatus == ShipmentStatus.DELIVERED) {
+            eventPublisher.publishShipmentDelivered(savedShipment);
+        } else if (newStatus == ShipmentStatus.CANCELLED) {
+            eventPublisher.publishShipmentCancelled(savedShipment, reason);
+        } else {
+            eventPublisher.publishShipmentUpdated(savedShipment, previousStatus);
+        }
+
         return savedShipment;
     }
 
@@ -0,0 +1,12 @@
+-- Events that failed outbox.max-attempts sends are parked: no longer retried, and no longer
+-- holding back the later events of their aggregate
+ALTER TABLE outbox_events ADD COLUMN parked_at TIMESTAMP WITH TIME ZONE;
+
+DROP INDEX idx_outbox_events_unpublished;
+DROP INDEX idx_outbox_events_unpublished_aggregate;
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events(id) WHERE published_at IS NULL AND parked_at IS NULL;
+CREATE INDEX idx_outbox_events_unpublished_aggregate
+    ON outbox_events(aggregate_type, aggregate_id, id) WHERE published_at IS NULL AND parked_at IS NULL;
+CREATE INDEX idx_outbox_events_parked_at ON outbox_events(parked_at) WHERE parked_at IS NOT NULL;
+
+COMMENT ON COLUMN outbox_events.parked_at IS 'Set when the relay gave up on the event; clear it to retry';
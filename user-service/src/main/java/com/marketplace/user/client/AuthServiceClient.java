@@ -2,128 +2,71 @@ package com.marketplace.user.client;
 
 import com.marketplace.user.config.AuthServiceProperties;
 import com.marketplace.user.exception.AuthServiceException;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.security.KeyFactory;
-import java.security.PublicKey;
-import java.security.spec.X509EncodedKeySpec;
-import java.time.LocalDateTime;
-import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
 
 /**
- * Client for fetching JWT public key from Auth Service.
- * Implements reactive caching with circuit breaker.
+ * Client for the internal role snapshot endpoints of Auth Service, which serves roles on login
+ * and token refresh from a local snapshot.
  */
 @Component
 public class AuthServiceClient {
 
     private static final Logger log = LoggerFactory.getLogger(AuthServiceClient.class);
+    private static final String ROLES_ENDPOINT = "/api/v1/auth/internal/users/{userId}/roles";
+    private static final String SERVICE_SECRET_HEADER = "X-Service-Secret";
 
     private final RestTemplate restTemplate;
     private final AuthServiceProperties properties;
 
-    // Reactive cache
-    private PublicKey cachedPublicKey;
-    private LocalDateTime cacheExpiration;
-
     public AuthServiceClient(RestTemplate restTemplate, AuthServiceProperties properties) {
         this.restTemplate = restTemplate;
         this.properties = properties;
     }
 
     /**
-     * Get public key with reactive caching.
-     * Fetches from Auth Service on cache miss or expiration.
+     * Replace the role snapshot of a user.
+     *
+     * @throws AuthServiceException if Auth Service is unavailable or rejects the request
      */
-    public synchronized PublicKey getPublicKey() {
-        if (cachedPublicKey != null && LocalDateTime.now().isBefore(cacheExpiration)) {
-            log.debug("Using cached public key");
-            return cachedPublicKey;
-        }
-
-        log.info("Public key cache miss or expired, fetching from Auth Service");
-        return fetchPublicKeyFromAuthService();
+    public void putRoles(UUID userId, List<String> roles) {
+        HttpHeaders headers = headers();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        exchange(HttpMethod.PUT, new HttpEntity<>(roles, headers), userId);
+        log.debug("Pushed roles of user {} to Auth Service: {}", userId, roles);
     }
 
     /**
-     * Fetch public key from Auth Service with circuit breaker.
+     * Evict the role snapshot of a user, so Auth Service reads the roles from User Service again.
+     *
+     * @throws AuthServiceException if Auth Service is unavailable or rejects the request
      */
-    @CircuitBreaker(name = "authService", fallbackMethod = "getCachedPublicKeyFallback")
-    private PublicKey fetchPublicKeyFromAuthService() {
-        try {
-            String url = properties.baseUrl() + properties.publicKeyEndpoint();
-            log.debug("Fetching public key from: {}", url);
-
-            String publicKeyPem = restTemplate.getForObject(url, String.class);
-            
-            if (publicKeyPem == null || publicKeyPem.isEmpty()) {
-                throw new AuthServiceException("Public key response is empty");
-            }
-
-            PublicKey publicKey = parsePublicKey(publicKeyPem);
-            
-            // Update cache
-            cachedPublicKey = publicKey;
-            cacheExpiration = LocalDateTime.now().plusMinutes(properties.publicKeyCacheTtlMinutes());
-            
-            log.info("Public key fetched and cached successfully");
-            return publicKey;
-
-        } catch (Exception e) {
-            log.error("Failed to fetch public key from Auth Service", e);
-            throw new AuthServiceException("Failed to fetch public key", e);
-        }
+    public void evictRoles(UUID userId) {
+        exchange(HttpMethod.DELETE, new HttpEntity<>(headers()), userId);
+        log.debug("Evicted role snapshot of user {} in Auth Service", userId);
     }
 
-    /**
-     * Fallback method for circuit breaker.
-     * Returns cached key even if expired as last resort.
-     */
-    @SuppressWarnings("unused")
-    private PublicKey getCachedPublicKeyFallback(Exception e) {
-        log.warn("Circuit breaker activated, attempting to use cached public key", e);
-        
-        if (cachedPublicKey != null) {
-            log.info("Using expired cached public key as fallback");
-            return cachedPublicKey;
-        }
-        
-        log.error("No cached public key available for fallback");
-        throw new AuthServiceException("Auth Service unavailable and no cached key available", e);
-    }
-
-    /**
-     * Parse PEM-encoded public key string to PublicKey object.
-     */
-    private PublicKey parsePublicKey(String publicKeyPem) {
+    private void exchange(HttpMethod method, HttpEntity<?> request, UUID userId) {
         try {
-            String publicKeyContent = publicKeyPem
-                    .replace("-----BEGIN PUBLIC KEY-----", "")
-                    .replace("-----END PUBLIC KEY-----", "")
-                    .replaceAll("\\s", "");
-
-            byte[] keyBytes = Base64.getDecoder().decode(publicKeyContent);
-            X509EncodedKeySpec keySpec = new X509EncodedKeySpec(keyBytes);
-            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-            
-            return keyFactory.generatePublic(keySpec);
-
-        } catch (Exception e) {
-            log.error("Failed to parse public key", e);
-            throw new AuthServiceException("Invalid public key format", e);
+            restTemplate.exchange(properties.baseUrl() + ROLES_ENDPOINT, method, request, Void.class, userId);
+        } catch (RestClientException e) {
+            throw new AuthServiceException("Role snapshot " + method + " for user " + userId + " failed: " + e.getMessage(), e);
         }
     }
 
-    /**
-     * Clear cached public key (useful for testing or manual refresh).
-     */
-    public synchronized void clearCache() {
-        log.info("Clearing public key cache");
-        cachedPublicKey = null;
-        cacheExpiration = null;
+    private HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(SERVICE_SECRET_HEADER, properties.sharedSecret());
+        return headers;
     }
 }
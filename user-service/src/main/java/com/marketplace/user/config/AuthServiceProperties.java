@@ -15,12 +15,15 @@ public record AuthServiceProperties(
     @NotBlank(message = "Auth service base URL must be configured")
     String baseUrl,
     
-    @NotBlank(message = "Public key endpoint must be configured")
-    String publicKeyEndpoint,
+    @NotBlank(message = "JWKS endpoint must be configured")
+    String jwksEndpoint,
     
     @Min(value = 1, message = "Cache TTL must be at least 1 minute")
     int publicKeyCacheTtlMinutes,
     
+    @Min(value = 1, message = "Key refresh interval must be at least 1 second")
+    int keyRefreshMinIntervalSeconds,
+    
     @NotBlank(message = "Shared secret must be configured")
     String sharedSecret,
     
@@ -28,6 +31,12 @@ public record AuthServiceProperties(
     int connectTimeoutMs,
     
     @Min(value = 100, message = "Read timeout must be at least 100ms")
-    int readTimeoutMs
+    int readTimeoutMs,
+    
+    @Min(value = 1, message = "Verified claims cache size must be at least 1")
+    int verifiedClaimsCacheSize,
+    
+    @Min(value = 1, message = "Role notification queue capacity must be at least 1")
+    int roleNotificationQueueCapacity
 ) {
 }
@@ -0,0 +1,42 @@
+package com.marketplace.user.config;
+
+import com.marketplace.shared.jwt.HttpJwksSource;
+import com.marketplace.shared.jwt.JwtVerifier;
+import com.marketplace.shared.jwt.KeySetHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for shared JWT verification.
+ * Verification keys are fetched from the Auth Service JWKS endpoint and selected by {@code kid};
+ * verified claims are cached until token expiry.
+ */
+@Configuration
+public class JwtVerificationConfig {
+
+    private static final String SERVICE_NAME = "user-service";
+
+    @Bean
+    public JwtVerifier jwtVerifier(AuthServiceProperties authServiceProperties,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        KeySetHolder keyHolder = new KeySetHolder(
+                new HttpJwksSource(
+                        authServiceProperties.baseUrl() + authServiceProperties.jwksEndpoint(),
+                        Duration.ofMillis(authServiceProperties.readTimeoutMs())
+                ),
+                Duration.ofMinutes(authServiceProperties.publicKeyCacheTtlMinutes()),
+                Duration.ofSeconds(authServiceProperties.keyRefreshMinIntervalSeconds())
+        );
+        return new JwtVerifier(
+                keyHolder,
+                authServiceProperties.verifiedClaimsCacheSize(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                SERVICE_NAME
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.marketplace.user.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+/**
+ * Kafka configuration for consuming user events.
+ * Consumer and listener settings come from spring.kafka in application.yml.
+ */
+@Configuration
+public class KafkaConfig {
+
+    /**
+     * Retry a failed event with backoff until it succeeds instead of skipping it:
+     * a skipped UserRegistered event would leave a registered user without a profile.
+     * Malformed events are acknowledged by the listener and never reach this handler.
+     */
+    @Bean
+    public CommonErrorHandler kafkaErrorHandler() {
+        ExponentialBackOff backOff = new ExponentialBackOff(1000L, 2.0);
+        backOff.setMaxInterval(30_000L);
+        return new DefaultErrorHandler(backOff);
+    }
+}
@@ -0,0 +1,64 @@
+package com.marketplace.user.consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.shared.dto.event.UserRegisteredEvent;
+import com.marketplace.user.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kafka consumer for user events published by Auth Service.
+ * Creates the user profile from UserRegistered; delivery is at-least-once, and
+ * {@link UserService#createUserFromRegistration} applies each event once.
+ */
+@Component
+public class UserEventConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(UserEventConsumer.class);
+
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    public UserEventConsumer(UserService userService, ObjectMapper objectMapper) {
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(topics = "${user-events.topic}", groupId = "${spring.kafka.consumer.group-id}")
+    public void consumeUserEvent(@Payload String payload,
+                                 @Header(value = KafkaHeaders.RECEIVED_KEY, required = false) String key,
+                                 @Header(value = "event-type", required = false) String eventType,
+                                 Acknowledgment acknowledgment) {
+        try {
+            if (!UserRegisteredEvent.EVENT_TYPE.equals(eventType)) {
+                log.debug("Ignoring user event type={}, key={}", eventType, key);
+                acknowledgment.acknowledge();
+                return;
+            }
+
+            UserRegisteredEvent event;
+            try {
+                event = objectMapper.readValue(payload, UserRegisteredEvent.class);
+            } catch (JsonProcessingException e) {
+                // Redelivery cannot fix a malformed event; skip it
+                log.error("Skipping malformed UserRegistered event, key={}: {}", key, e.getOriginalMessage());
+                acknowledgment.acknowledge();
+                return;
+            }
+
+            userService.createUserFromRegistration(event);
+            acknowledgment.acknowledge();
+        } finally {
+            MDC.remove("operation");
+            MDC.remove("userId");
+        }
+    }
+}
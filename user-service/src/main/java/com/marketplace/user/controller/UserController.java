@@ -1,6 +1,8 @@
 package com.marketplace.user.controller;
 
 import com.marketplace.user.config.AuthServiceProperties;
+import com.marketplace.shared.dto.BulkDeleteUsersRequest;
+import com.marketplace.shared.dto.BulkDeleteUsersResponse;
 import com.marketplace.shared.dto.CreateUserRequest;
 import com.marketplace.shared.dto.UpdateUserRequest;
 import com.marketplace.shared.dto.UserResponse;
@@ -161,6 +163,34 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Bulk delete users - internal endpoint for Auth Service orphaned-user cleanup.
+     * Requires shared secret header for authorization.
+     */
+    @DeleteMapping("/internal")
+    @Operation(summary = "Delete users (Internal)",
+               description = "Delete several users at once - internal operation for Auth Service cleanup")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Users deleted; unknown IDs are listed as not found"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized request"),
+        @ApiResponse(responseCode = "403", description = "Invalid shared secret")
+    })
+    public ResponseEntity<BulkDeleteUsersResponse> deleteUsers(
+            @RequestHeader(value = SERVICE_SECRET_HEADER, required = false) String sharedSecret,
+            @Valid @RequestBody BulkDeleteUsersRequest request) {
+
+        log.info("Bulk delete request received for {} users", request.userIds().size());
+
+        // Validate shared secret
+        if (sharedSecret == null || !sharedSecret.equals(authServiceProperties.sharedSecret())) {
+            log.error("Invalid or missing shared secret in bulk delete request");
+            throw new InvalidSharedSecretException("Invalid service authentication");
+        }
+
+        BulkDeleteUsersResponse response = userService.deleteUsers(request.userIds());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get user by ID - internal endpoint for Auth Service.
      * Fetches user roles during login. Requires shared secret header.
@@ -0,0 +1,40 @@
+package com.marketplace.user.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A Kafka event that has already been applied.
+ * Inserted in the same transaction as the event's effect, so each event is applied once.
+ */
+@Entity
+@Table(name = "processed_events")
+public class ProcessedEvent {
+
+    @Id
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(name = "processed_at", nullable = false, insertable = false, updatable = false)
+    private OffsetDateTime processedAt;
+
+    protected ProcessedEvent() {
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public OffsetDateTime getProcessedAt() {
+        return processedAt;
+    }
+}
@@ -0,0 +1,28 @@
+package com.marketplace.user.domain.repository;
+
+import com.marketplace.user.domain.model.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Repository for ProcessedEvent entity.
+ */
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, UUID> {
+
+    /**
+     * Record an event as processed. Must run in the transaction that applies the event.
+     *
+     * @return 1 if the event was recorded now, 0 if it had already been processed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO processed_events (event_id, event_type) VALUES (:eventId, :eventType) " +
+            "ON CONFLICT (event_id) DO NOTHING",
+            nativeQuery = true)
+    int markProcessed(@Param("eventId") UUID eventId, @Param("eventType") String eventType);
+}
@@ -1,8 +1,8 @@
 package com.marketplace.user.filter;
 
+import com.marketplace.shared.jwt.JwtVerifier;
+import com.marketplace.shared.jwt.VerifiedClaims;
 import com.marketplace.user.security.AuthenticatedUser;
-import com.marketplace.user.security.JwtValidationService;
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,8 +14,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.UUID;
 
 /**
  * Filter to validate JWT and set authenticated user in request attributes.
@@ -28,10 +26,10 @@ public class JwtValidationFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
     public static final String AUTHENTICATED_USER_ATTRIBUTE = "authenticatedUser";
 
-    private final JwtValidationService jwtValidationService;
+    private final JwtVerifier jwtVerifier;
 
-    public JwtValidationFilter(JwtValidationService jwtValidationService) {
-        this.jwtValidationService = jwtValidationService;
+    public JwtValidationFilter(JwtVerifier jwtVerifier) {
+        this.jwtVerifier = jwtVerifier;
     }
 
     @Override
@@ -45,16 +43,13 @@ public class JwtValidationFilter extends OncePerRequestFilter {
             String token = authHeader.substring(BEARER_PREFIX.length());
             
             try {
-                Claims claims = jwtValidationService.validateToken(token);
+                VerifiedClaims claims = jwtVerifier.verify(token);
                 
-                UUID userId = jwtValidationService.extractUserId(claims);
-                String email = jwtValidationService.extractEmail(claims);
-                List<String> roles = jwtValidationService.extractRoles(claims);
-                
-                AuthenticatedUser authenticatedUser = new AuthenticatedUser(userId, email, roles);
+                AuthenticatedUser authenticatedUser = new AuthenticatedUser(
+                        claims.userId(), claims.email(), claims.roles());
                 request.setAttribute(AUTHENTICATED_USER_ATTRIBUTE, authenticatedUser);
                 
-                log.debug("JWT validated successfully for user: {}", userId);
+                log.debug("JWT validated successfully for user: {}", claims.userId());
                 
             } catch (Exception e) {
                 log.warn("JWT validation failed: {}", e.getMessage());
@@ -0,0 +1,102 @@
+package com.marketplace.user.service;
+
+import com.marketplace.user.client.AuthServiceClient;
+import com.marketplace.user.config.AuthServiceProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tells Auth Service when the roles of a user change, so its role snapshot stops serving the old
+ * roles: created users have their roles pushed, deleted users have their snapshot evicted.
+ *
+ * <p>Notifications are sent after the transaction commits, from a background thread, and are best
+ * effort. If one is lost (Auth Service down, queue full), Auth Service serves the old roles until
+ * its snapshot is older than {@code role-snapshot.ttl-minutes} and a background refresh has read
+ * them again. Tokens issued before that keep their roles until they expire, so the worst-case
+ * staleness is the snapshot TTL plus the access token lifetime; with a delivered notification it
+ * is the access token lifetime alone.
+ */
+@Component
+public class RoleSnapshotNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleSnapshotNotifier.class);
+
+    private final AuthServiceClient authServiceClient;
+    private final ThreadPoolExecutor executor;
+
+    public RoleSnapshotNotifier(AuthServiceClient authServiceClient,
+                                AuthServiceProperties properties) {
+        this.authServiceClient = authServiceClient;
+        this.executor = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.roleNotificationQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "role-snapshot-notifier");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+    }
+
+    /**
+     * Push the roles of a user once the current transaction commits.
+     */
+    public void rolesChanged(UUID userId, Collection<String> roles) {
+        List<String> snapshot = List.copyOf(roles);
+        afterCommit("push roles of user " + userId, () -> authServiceClient.putRoles(userId, snapshot));
+    }
+
+    /**
+     * Evict the role snapshots of deleted users once the current transaction commits.
+     */
+    public void usersDeleted(Collection<UUID> userIds) {
+        List<UUID> deleted = List.copyOf(userIds);
+        afterCommit("evict role snapshots of " + deleted.size() + " users",
+                () -> deleted.forEach(authServiceClient::evictRoles));
+    }
+
+    private void afterCommit(String description, Runnable notification) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(description, notification);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(description, notification);
+            }
+        });
+    }
+
+    private void submit(String description, Runnable notification) {
+        try {
+            executor.execute(() -> {
+                try {
+                    notification.run();
+                } catch (RuntimeException e) {
+                    log.warn("Could not {} in Auth Service; its snapshot TTL bounds the staleness: {}",
+                            description, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Role snapshot notification queue full, could not {}", description);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
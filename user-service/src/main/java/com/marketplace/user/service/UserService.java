@@ -2,11 +2,14 @@ package com.marketplace.user.service;
 
 import com.marketplace.user.domain.model.User;
 import com.marketplace.user.domain.model.UserPreferences;
+import com.marketplace.user.domain.repository.ProcessedEventRepository;
 import com.marketplace.user.domain.repository.UserPreferencesRepository;
 import com.marketplace.user.domain.repository.UserRepository;
+import com.marketplace.shared.dto.BulkDeleteUsersResponse;
 import com.marketplace.shared.dto.CreateUserRequest;
 import com.marketplace.shared.dto.UpdateUserRequest;
 import com.marketplace.shared.dto.UserResponse;
+import com.marketplace.shared.dto.event.UserRegisteredEvent;
 import com.marketplace.user.exception.DuplicateEmailException;
 import com.marketplace.user.exception.ResourceNotFoundException;
 import com.marketplace.user.exception.UnauthorizedException;
@@ -30,14 +33,20 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserPreferencesRepository preferencesRepository;
+    private final ProcessedEventRepository processedEventRepository;
     private final EventLogger eventLogger;
+    private final RoleSnapshotNotifier roleSnapshotNotifier;
 
     public UserService(UserRepository userRepository,
                       UserPreferencesRepository preferencesRepository,
-                      EventLogger eventLogger) {
+                      ProcessedEventRepository processedEventRepository,
+                      EventLogger eventLogger,
+                      RoleSnapshotNotifier roleSnapshotNotifier) {
         this.userRepository = userRepository;
         this.preferencesRepository = preferencesRepository;
+        this.processedEventRepository = processedEventRepository;
         this.eventLogger = eventLogger;
+        this.roleSnapshotNotifier = roleSnapshotNotifier;
     }
 
     /**
@@ -64,8 +73,49 @@ public class UserService {
             throw new DuplicateEmailException("Email already exists: " + request.email());
         }
 
+        User user = saveNewUser(request.userId(), request.email(), request.name(), request.roles());
+        roleSnapshotNotifier.rolesChanged(user.getUserId(), user.getRoles());
+        return toResponse(user);
+    }
+
+    /**
+     * Create a user profile from a UserRegistered event published by Auth Service.
+     * Idempotent: each event is applied once (tracked in processed_events, in the same transaction),
+     * and an existing user with the same userId is left unchanged. An email that already belongs to
+     * another user cannot be retried into success, so the event is recorded and skipped.
+     */
+    @Transactional
+    public void createUserFromRegistration(UserRegisteredEvent event) {
+        MDC.put("operation", "createUserFromRegistration");
+        MDC.put("userId", event.userId().toString());
+
+        if (processedEventRepository.markProcessed(event.eventId(), UserRegisteredEvent.EVENT_TYPE) == 0) {
+            log.info("UserRegistered event already processed, skipping: {}", event.eventId());
+            return;
+        }
+
+        if (userRepository.existsById(event.userId())) {
+            log.info("User with userId already exists, skipping UserRegistered event: {}", event.userId());
+            return;
+        }
+
+        if (userRepository.existsByEmail(event.email())) {
+            log.error("Cannot create user {} from UserRegistered event {}: email already belongs to another user",
+                    event.userId(), event.eventId());
+            return;
+        }
+
+        log.info("Creating user from UserRegistered event: {}", event.email());
+        // Auth Service recorded the role snapshot together with the credentials
+        saveNewUser(event.userId(), event.email(), event.name(), event.roles());
+    }
+
+    /**
+     * Save a new user with default preferences.
+     */
+    private User saveNewUser(UUID userId, String email, String name, List<String> roles) {
         // Create user
-        User user = new User(request.userId(), request.email(), request.name(), new HashSet<>(request.roles()));
+        User user = new User(userId, email, name, new HashSet<>(roles));
         user = userRepository.save(user);
 
         // Create default preferences
@@ -77,7 +127,7 @@ public class UserService {
         // Log event
         eventLogger.logEvent("UserCreated", "USER", user.getUserId(), toResponse(user));
 
-        return toResponse(user);
+        return user;
     }
 
     /**
@@ -168,6 +218,7 @@ public class UserService {
 
         // Delete is cascaded to preferences and addresses via JPA cascade settings
         userRepository.delete(user);
+        roleSnapshotNotifier.usersDeleted(List.of(userId));
 
         log.info("User deleted successfully: {}", userId);
 
@@ -175,6 +226,33 @@ public class UserService {
         eventLogger.logEvent("UserDeleted", "USER", userId, Map.of("email", user.getEmail()));
     }
 
+    /**
+     * Delete several users in one transaction (internal operation for Auth Service cleanup).
+     * IDs that do not exist are reported as not found instead of failing the whole request.
+     */
+    @Transactional
+    public BulkDeleteUsersResponse deleteUsers(List<UUID> userIds) {
+        MDC.put("operation", "deleteUsers");
+
+        Set<UUID> requested = new LinkedHashSet<>(userIds);
+        List<UUID> existing = userRepository.findExistingUserIds(requested);
+        if (!existing.isEmpty()) {
+            userRepository.deleteAllByUserIdIn(existing);
+            roleSnapshotNotifier.usersDeleted(existing);
+        }
+
+        List<UUID> notFound = new ArrayList<>(requested);
+        notFound.removeAll(new HashSet<>(existing));
+
+        log.info("Bulk delete completed: {} deleted, {} not found", existing.size(), notFound.size());
+
+        for (UUID userId : existing) {
+            eventLogger.logEvent("UserDeleted", "USER", userId, Map.of("bulk", true));
+        }
+
+        return new BulkDeleteUsersResponse(existing, notFound);
+    }
+
     /**
      * Validate that the authenticated user can access the resource.
      * Access is granted if:
@@ -0,0 +1,14 @@
+-- V5: Create processed_events table
+-- Records consumed Kafka events so that redelivered events are applied only once
+-- (e.g. a UserRegistered event replayed after the user was deleted does not recreate the user).
+CREATE TABLE processed_events (
+    event_id UUID PRIMARY KEY,
+    event_type VARCHAR(100) NOT NULL,
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Comments
+COMMENT ON TABLE processed_events IS 'Kafka events already applied (idempotent consumers)';
+COMMENT ON COLUMN processed_events.event_id IS 'Event ID from the event-id header / event body';
+COMMENT ON COLUMN processed_events.event_type IS 'Event type, e.g. UserRegistered';
+COMMENT ON COLUMN processed_events.processed_at IS 'When the event was applied';